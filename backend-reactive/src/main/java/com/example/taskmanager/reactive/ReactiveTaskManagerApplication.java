@@ -0,0 +1,12 @@
+package com.example.taskmanager.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveTaskManagerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTaskManagerApplication.class, args);
+    }
+}
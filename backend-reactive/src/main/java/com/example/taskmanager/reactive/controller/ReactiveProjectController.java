@@ -0,0 +1,52 @@
+package com.example.taskmanager.reactive.controller;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.reactive.service.ReactiveProjectService;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/projects")
+public class ReactiveProjectController {
+
+    private final ReactiveProjectService projectService;
+
+    public ReactiveProjectController(ReactiveProjectService projectService) {
+        this.projectService = projectService;
+    }
+
+    @GetMapping
+    public Mono<Page<ProjectDto>> getAllProjects(Pageable pageable) {
+        return projectService.getAllProjects(pageable);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ProjectDto> getProjectById(@PathVariable Long id) {
+        return projectService.getProjectById(id);
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<ProjectDto>> createProject(@Valid @RequestBody ProjectDto projectDto) {
+        return projectService.createProject(projectDto)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ProjectDto> updateProject(@PathVariable Long id, @Valid @RequestBody ProjectDto projectDto) {
+        return projectService.updateProject(id, projectDto);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Void>> deleteProject(@PathVariable Long id) {
+        return projectService.deleteProject(id).thenReturn(ResponseEntity.noContent().build());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.taskmanager.reactive.controller;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.reactive.service.ReactiveTaskService;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/tasks")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @GetMapping
+    public Mono<Page<TaskDto>> getTasksByProjectId(@PathVariable Long projectId, Pageable pageable) {
+        return taskService.getTasksByProjectId(projectId, pageable);
+    }
+
+    /**
+     * The whole task list as newline-delimited JSON, written as rows arrive ({@code Accept: application/x-ndjson}).
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDto> streamTasksByProjectId(@PathVariable Long projectId) {
+        return taskService.streamTasksByProjectId(projectId);
+    }
+
+    @GetMapping("/{taskId}")
+    public Mono<TaskDto> getTaskById(@PathVariable Long projectId, @PathVariable Long taskId) {
+        return taskService.getTaskById(projectId, taskId);
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<ResponseEntity<TaskDto>> createTask(@PathVariable Long projectId, @Valid @RequestBody TaskDto taskDto) {
+        return taskService.createTask(projectId, taskDto)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED));
+    }
+
+    @PutMapping("/{taskId}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public Mono<TaskDto> updateTask(@PathVariable Long projectId, @PathVariable Long taskId,
+                                    @Valid @RequestBody TaskDto taskDto) {
+        return taskService.updateTask(projectId, taskId, taskDto);
+    }
+
+    @DeleteMapping("/{taskId}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable Long projectId, @PathVariable Long taskId) {
+        return taskService.deleteTask(projectId, taskId).thenReturn(ResponseEntity.noContent().build());
+    }
+}
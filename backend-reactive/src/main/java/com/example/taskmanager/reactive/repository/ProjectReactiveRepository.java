@@ -0,0 +1,90 @@
+package com.example.taskmanager.reactive.repository;
+
+import com.example.taskmanager.dto.ProjectDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Project queries over R2DBC. The schema is owned by the Flyway migrations of the servlet backend.
+ */
+@Repository
+public class ProjectReactiveRepository {
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name");
+
+    private final DatabaseClient databaseClient;
+
+    public ProjectReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<ProjectDto> findPage(Pageable pageable) {
+        return databaseClient.sql("SELECT id, name, description FROM projects"
+                        + SqlSupport.orderBy(pageable.getSort(), SORT_COLUMNS, "id")
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ProjectReactiveRepository::toDto)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT count(*) FROM projects")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<ProjectDto> findById(Long id) {
+        return databaseClient.sql("SELECT id, name, description FROM projects WHERE id = :id")
+                .bind("id", id)
+                .map(ProjectReactiveRepository::toDto)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT EXISTS (SELECT 1 FROM projects WHERE id = :id)")
+                .bind("id", id)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    public Mono<ProjectDto> insert(ProjectDto project) {
+        return databaseClient.sql("INSERT INTO projects (name, description) VALUES (:name, :description)"
+                        + " RETURNING id, name, description")
+                .bind("name", project.getName())
+                .bind("description", SqlSupport.nullable(String.class, project.getDescription()))
+                .map(ProjectReactiveRepository::toDto)
+                .one();
+    }
+
+    public Mono<ProjectDto> update(Long id, ProjectDto project) {
+        return databaseClient.sql("UPDATE projects SET name = :name, description = :description,"
+                        + " updated_at = now(), last_activity_at = now() WHERE id = :id"
+                        + " RETURNING id, name, description")
+                .bind("id", id)
+                .bind("name", project.getName())
+                .bind("description", SqlSupport.nullable(String.class, project.getDescription()))
+                .map(ProjectReactiveRepository::toDto)
+                .one();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM projects WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static ProjectDto toDto(Readable row) {
+        return new ProjectDto(row.get("id", Long.class), row.get("name", String.class),
+                row.get("description", String.class));
+    }
+}
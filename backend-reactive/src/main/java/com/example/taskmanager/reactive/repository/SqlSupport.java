@@ -0,0 +1,45 @@
+package com.example.taskmanager.reactive.repository;
+
+import com.example.taskmanager.exception.BadRequestException;
+import io.r2dbc.spi.Parameters;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Helpers shared by the R2DBC repositories.
+ */
+final class SqlSupport {
+
+    private SqlSupport() {
+    }
+
+    /**
+     * Builds an ORDER BY clause from whitelisted properties only; {@code tieBreak} keeps pages stable.
+     * Unknown properties are rejected, never interpolated.
+     */
+    static String orderBy(Sort sort, Map<String, String> columns, String tieBreak) {
+        StringJoiner clause = new StringJoiner(", ", " ORDER BY ", "");
+        boolean tieBreakSeen = false;
+        for (Sort.Order order : sort) {
+            String column = columns.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Unsupported sort property: " + order.getProperty());
+            }
+            clause.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            tieBreakSeen |= column.equals(tieBreak);
+        }
+        if (!tieBreakSeen) {
+            clause.add(tieBreak + " ASC");
+        }
+        return clause.toString();
+    }
+
+    /**
+     * Wraps a possibly null value so it can be bound; DatabaseClient rejects plain nulls.
+     */
+    static Object nullable(Class<?> type, Object value) {
+        return value == null ? Parameters.in(type) : Parameters.in(value);
+    }
+}
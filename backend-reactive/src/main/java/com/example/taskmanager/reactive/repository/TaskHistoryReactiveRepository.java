@@ -0,0 +1,93 @@
+package com.example.taskmanager.reactive.repository;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.service.CycleTimeHistogram;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Status history and its daily rollups over R2DBC: the rows the servlet backend's StatusHistoryWriter
+ * writes, with the same statements. They run in the caller's transaction, one transition at a time,
+ * so a task write and its history commit together. Like the servlet statements, each one selects its
+ * project row and writes nothing for a project that no longer exists.
+ */
+@Repository
+public class TaskHistoryReactiveRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public TaskHistoryReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Records a created task or a status change: its history row, the opened and closed counts of
+     * its day and, for a completed started task, its cycle time.
+     */
+    public Mono<Void> recordTransition(TaskStatusChangedEvent transition) {
+        LocalDate day = dayOf(transition.changedAt());
+        // Created, or reopened from DONE; a task created as DONE is opened and closed at once
+        boolean opened = transition.previousStatus() == null || transition.previousStatus() == Task.TaskStatus.DONE;
+        boolean closed = transition.status() == Task.TaskStatus.DONE;
+        Duration cycleTime = transition.cycleTime();
+        Mono<Void> history = databaseClient.sql(
+                        "INSERT INTO task_status_history (project_id, task_id, from_status, to_status, changed_at)"
+                                + " SELECT p.id, :taskId, :fromStatus, :toStatus, :changedAt FROM projects p WHERE p.id = :projectId")
+                .bind("taskId", transition.taskId())
+                .bind("fromStatus", SqlSupport.nullable(String.class,
+                        transition.previousStatus() != null ? transition.previousStatus().name() : null))
+                .bind("toStatus", transition.status().name())
+                .bind("changedAt", transition.changedAt())
+                .bind("projectId", transition.projectId())
+                .then();
+        Mono<Void> flow = addDailyFlow(transition.projectId(), day, opened ? 1 : 0, closed ? 1 : 0, 0);
+        Mono<Void> cycleTimes = cycleTime == null ? Mono.empty() : databaseClient.sql(
+                        "INSERT INTO project_daily_cycle_times (project_id, day, bucket, tasks)"
+                                + " SELECT p.id, :day, CAST(:bucket AS smallint), 1 FROM projects p WHERE p.id = :projectId"
+                                + " ON CONFLICT (project_id, day, bucket) DO UPDATE SET"
+                                + " tasks = project_daily_cycle_times.tasks + EXCLUDED.tasks")
+                .bind("day", day)
+                .bind("bucket", CycleTimeHistogram.bucketOf(cycleTime))
+                .bind("projectId", transition.projectId())
+                .then();
+        // Flow before cycle times, the order in which the servlet writer locks rollup rows
+        return history.then(flow).then(cycleTimes);
+    }
+
+    /**
+     * Records the deletion of a task that was not done, which lowers the open-task count without a
+     * status transition.
+     */
+    public Mono<Void> recordRemoval(Long projectId, Instant removedAt) {
+        return addDailyFlow(projectId, dayOf(removedAt), 0, 0, 1);
+    }
+
+    private Mono<Void> addDailyFlow(Long projectId, LocalDate day, int opened, int closed, int removed) {
+        if (opened == 0 && closed == 0 && removed == 0) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("INSERT INTO project_daily_flow (project_id, day, opened, closed, removed)"
+                        + " SELECT p.id, :day, :opened, :closed, :removed FROM projects p WHERE p.id = :projectId"
+                        + " ON CONFLICT (project_id, day) DO UPDATE SET"
+                        + " opened = project_daily_flow.opened + EXCLUDED.opened,"
+                        + " closed = project_daily_flow.closed + EXCLUDED.closed,"
+                        + " removed = project_daily_flow.removed + EXCLUDED.removed")
+                .bind("day", day)
+                .bind("opened", opened)
+                .bind("closed", closed)
+                .bind("removed", removed)
+                .bind("projectId", projectId)
+                .then();
+    }
+
+    private static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.taskmanager.reactive.repository;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Task queries over R2DBC. Every statement filters on {@code project_id}, the partition key of
+ * {@code tasks}, so PostgreSQL only touches one partition.
+ */
+@Repository
+public class TaskReactiveRepository {
+
+    private static final String COLUMNS = "id, title, description, status, project_id, rank_key";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "status", "status",
+            "rank", "rank_key");
+
+    private final DatabaseClient databaseClient;
+    private final int streamFetchSize;
+
+    public TaskReactiveRepository(DatabaseClient databaseClient,
+                                  @Value("${tasks.stream.fetch-size:500}") int streamFetchSize) {
+        this.databaseClient = databaseClient;
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    public Flux<TaskDto> findPage(Long projectId, Pageable pageable) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE project_id = :projectId"
+                        + SqlSupport.orderBy(pageable.getSort(), SORT_COLUMNS, "id")
+                        + " LIMIT :limit OFFSET :offset")
+                .bind("projectId", projectId)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(TaskReactiveRepository::toDto)
+                .all();
+    }
+
+    public Mono<Long> countByProjectId(Long projectId) {
+        return databaseClient.sql("SELECT count(*) FROM tasks WHERE project_id = :projectId")
+                .bind("projectId", projectId)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Streams all tasks of a project in board order. Rows are fetched from a portal in chunks of
+     * {@code tasks.stream.fetch-size} as the subscriber requests them, so a slow client holds back the
+     * query instead of buffering the whole project in memory.
+     */
+    public Flux<TaskDto> streamByProjectId(Long projectId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE project_id = :projectId"
+                        + " ORDER BY status, rank_key NULLS LAST, id")
+                .filter(statement -> statement.fetchSize(streamFetchSize))
+                .bind("projectId", projectId)
+                .map(TaskReactiveRepository::toDto)
+                .all();
+    }
+
+    public Mono<TaskDto> findByIdAndProjectId(Long taskId, Long projectId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE project_id = :projectId AND id = :id")
+                .bind("projectId", projectId)
+                .bind("id", taskId)
+                .map(TaskReactiveRepository::toDto)
+                .one();
+    }
+
+    /**
+     * The highest rank key of a status column, or empty if the column has no ranked task.
+     */
+    public Mono<String> findMaxRank(Long projectId, Task.TaskStatus status) {
+        return databaseClient.sql("SELECT rank_key FROM tasks WHERE project_id = :projectId AND status = :status"
+                        + " AND rank_key IS NOT NULL ORDER BY rank_key DESC LIMIT 1")
+                .bind("projectId", projectId)
+                .bind("status", status.name())
+                .map(row -> row.get(0, String.class))
+                .one();
+    }
+
+    public Mono<TaskDto> insert(Long projectId, TaskDto task, String rank, Instant completedAt, Instant startedAt) {
+        return databaseClient.sql("INSERT INTO tasks (title, description, status, project_id, rank_key, completed_at, started_at)"
+                        + " VALUES (:title, :description, :status, :projectId, :rank, :completedAt, :startedAt)"
+                        + " RETURNING " + COLUMNS)
+                .bind("title", task.getTitle())
+                .bind("description", SqlSupport.nullable(String.class, task.getDescription()))
+                .bind("status", task.getStatus().name())
+                .bind("projectId", projectId)
+                .bind("rank", SqlSupport.nullable(String.class, rank))
+                .bind("completedAt", SqlSupport.nullable(Instant.class, completedAt))
+                .bind("startedAt", SqlSupport.nullable(Instant.class, startedAt))
+                .map(TaskReactiveRepository::toDto)
+                .one();
+    }
+
+    /**
+     * Updates title and description; {@code status}, {@code rank} and {@code completedAt} are only
+     * written when the status changes, matching the servlet service. {@code startedAt} is then kept
+     * if the task was started before, so it records the first start.
+     */
+    public Mono<TaskDto> update(Long projectId, Long taskId, TaskDto task, boolean statusChanged,
+                                String rank, Instant completedAt, Instant startedAt) {
+        String statusColumns = statusChanged
+                ? ", status = :status, rank_key = :rank, completed_at = :completedAt"
+                + ", started_at = coalesce(started_at, :startedAt)"
+                : "";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE tasks SET title = :title, description = :description"
+                        + ", updated_at = now()"
+                        + statusColumns
+                        + " WHERE project_id = :projectId AND id = :id RETURNING " + COLUMNS)
+                .bind("projectId", projectId)
+                .bind("id", taskId)
+                .bind("title", task.getTitle())
+                .bind("description", SqlSupport.nullable(String.class, task.getDescription()));
+        if (statusChanged) {
+            spec = spec.bind("status", task.getStatus().name())
+                    .bind("rank", SqlSupport.nullable(String.class, rank))
+                    .bind("completedAt", SqlSupport.nullable(Instant.class, completedAt))
+                    .bind("startedAt", SqlSupport.nullable(Instant.class, startedAt));
+        }
+        return spec.map(TaskReactiveRepository::toDto).one();
+    }
+
+    /**
+     * When the task first entered IN_PROGRESS, or empty if it never did or does not exist.
+     */
+    public Mono<Instant> findStartedAt(Long projectId, Long taskId) {
+        return databaseClient.sql("SELECT started_at FROM tasks WHERE project_id = :projectId AND id = :id"
+                        + " AND started_at IS NOT NULL")
+                .bind("projectId", projectId)
+                .bind("id", taskId)
+                .map(row -> row.get(0, Instant.class))
+                .one();
+    }
+
+    /**
+     * Deletes a task and returns the status it had, or empty if there was no such task.
+     */
+    public Mono<Task.TaskStatus> delete(Long projectId, Long taskId) {
+        return databaseClient.sql("DELETE FROM tasks WHERE project_id = :projectId AND id = :id RETURNING status")
+                .bind("projectId", projectId)
+                .bind("id", taskId)
+                .map(row -> Task.TaskStatus.valueOf(row.get(0, String.class)))
+                .one();
+    }
+
+    public Mono<Long> deleteByProjectId(Long projectId) {
+        return databaseClient.sql("DELETE FROM tasks WHERE project_id = :projectId")
+                .bind("projectId", projectId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static TaskDto toDto(Readable row) {
+        TaskDto dto = new TaskDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setTitle(row.get("title", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setStatus(Task.TaskStatus.valueOf(row.get("status", String.class)));
+        dto.setProjectId(row.get("project_id", Long.class));
+        dto.setRank(row.get("rank_key", String.class));
+        return dto;
+    }
+}
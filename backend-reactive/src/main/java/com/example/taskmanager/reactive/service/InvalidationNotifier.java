@@ -0,0 +1,160 @@
+package com.example.taskmanager.reactive.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Tells servlet instances sharing the database about task and project writes of this instance, so
+ * their caches drop what changed. Sends the notifications of the backend's InvalidationBus,
+ * {@code <instance>:<sequence>:<entry>} on {@code invalidation.channel}, with the same entries:
+ * {@code t<projectId>} for task writes, {@code p<id>} for other project writes and {@code d<id>} for project deletes.
+ *
+ * <p>Entries are queued once the surrounding transaction commits and sent one after the other, so
+ * sequence numbers reach listeners in order. A notification that cannot be sent is dropped and the
+ * next one invalidates everything instead, since listeners cannot tell what they missed.
+ *
+ * <p>Reads {@code invalidation.enabled} at runtime, like the servlet bus; when it is off nothing is sent.
+ */
+@Component
+public class InvalidationNotifier implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationNotifier.class);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    static final String ALL = "*";
+
+    private final DatabaseClient databaseClient;
+    private final boolean enabled;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Sinks.Many<String> entries = Sinks.many().unicast().onBackpressureBuffer();
+    // Only touched by the sending subscription, which handles one entry at a time
+    private long sequence;
+    private boolean lost;
+    private volatile CompletableFuture<Void> sender;
+
+    public InvalidationNotifier(DatabaseClient databaseClient,
+                                @Value("${invalidation.enabled:false}") boolean enabled,
+                                @Value("${invalidation.channel:taskmanager_invalidation}") String channel) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("invalidation.channel must be a lower-case identifier: " + channel);
+        }
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public Mono<Void> tasksChanged(Long projectId) {
+        return afterCommit("t" + projectId);
+    }
+
+    public Mono<Void> projectChanged(Long projectId) {
+        return afterCommit("p" + projectId);
+    }
+
+    public Mono<Void> projectDeleted(Long projectId) {
+        return afterCommit("d" + projectId);
+    }
+
+    /**
+     * Queues {@code entry} when the current transaction commits, or right away outside a transaction.
+     */
+    private Mono<Void> afterCommit(String entry) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .doOnNext(synchronizations -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCommit() {
+                        return Mono.fromRunnable(() -> enqueue(entry));
+                    }
+                }))
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(() -> enqueue(entry)))
+                .then();
+    }
+
+    private synchronized void enqueue(String entry) {
+        Sinks.EmitResult result = entries.tryEmitNext(entry);
+        if (result.isFailure()) {
+            logger.warn("Could not queue invalidation {}: {}", entry, result);
+        }
+    }
+
+    /**
+     * Sends one entry. Failures are logged and turn the next notification into a full invalidation.
+     */
+    Mono<Void> send(String entry) {
+        return Mono.defer(() -> databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                        .bind("channel", channel)
+                        .bind("payload", instanceId + ":" + (sequence + 1) + ":" + (lost ? ALL : entry))
+                        .then())
+                .doOnSuccess(ignored -> {
+                    sequence++;
+                    lost = false;
+                })
+                .onErrorResume(e -> {
+                    lost = true;
+                    logger.warn("Sending invalidation {} failed, the next one invalidates everything: {}",
+                            entry, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            sender = entries.asFlux().concatMap(this::send).then().toFuture();
+        }
+    }
+
+    @Override
+    public void stop() {
+        CompletableFuture<Void> running = sender;
+        sender = null;
+        if (running == null) {
+            return;
+        }
+        // Send what the last requests queued before the connection pool closes
+        entries.tryEmitComplete();
+        try {
+            running.get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Invalidations still queued at shutdown were not sent: {}", e.toString());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sender != null;
+    }
+
+    // Like the servlet bus: stopped after the web server, so writes of in-flight requests are sent
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.taskmanager.reactive.service;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.reactive.repository.ProjectReactiveRepository;
+import com.example.taskmanager.reactive.repository.TaskReactiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveProjectService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveProjectService.class);
+
+    private final ProjectReactiveRepository projectRepository;
+    private final TaskReactiveRepository taskRepository;
+    private final InvalidationNotifier invalidationNotifier;
+
+    public ReactiveProjectService(ProjectReactiveRepository projectRepository, TaskReactiveRepository taskRepository,
+                                  InvalidationNotifier invalidationNotifier) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.invalidationNotifier = invalidationNotifier;
+    }
+
+    public Mono<Page<ProjectDto>> getAllProjects(Pageable pageable) {
+        logger.debug("Fetching projects: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
+        return Mono.zip(projectRepository.findPage(pageable).collectList(), projectRepository.count())
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    public Mono<ProjectDto> getProjectById(Long id) {
+        return projectRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    public Mono<ProjectDto> createProject(ProjectDto projectDto) {
+        logger.info("Creating new project: {}", projectDto.getName());
+        return projectRepository.insert(projectDto)
+                .flatMap(created -> invalidationNotifier.projectChanged(created.getId()).thenReturn(created))
+                .doOnNext(created -> logger.info("Project created successfully with id: {}", created.getId()));
+    }
+
+    public Mono<ProjectDto> updateProject(Long id, ProjectDto projectDto) {
+        logger.info("Updating project with id: {}", id);
+        return projectRepository.update(id, projectDto)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .flatMap(updated -> invalidationNotifier.projectChanged(id).thenReturn(updated));
+    }
+
+    // Tasks reference the project without ON DELETE CASCADE; the servlet stack removes them through JPA
+    @Transactional
+    public Mono<Void> deleteProject(Long id) {
+        logger.info("Deleting project with id: {}", id);
+        return projectRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? taskRepository.deleteByProjectId(id).then(projectRepository.deleteById(id))
+                        : Mono.error(notFound(id)))
+                .then(Mono.defer(() -> invalidationNotifier.projectDeleted(id)));
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        logger.warn("Project not found with id: {}", id);
+        return new ResourceNotFoundException("Project not found with id: " + id);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskmanager.reactive.service;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.reactive.repository.ProjectReactiveRepository;
+import com.example.taskmanager.reactive.repository.TaskHistoryReactiveRepository;
+import com.example.taskmanager.reactive.repository.TaskReactiveRepository;
+import com.example.taskmanager.service.RankKeys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Service
+public class ReactiveTaskService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTaskService.class);
+
+    private final TaskReactiveRepository taskRepository;
+    private final ProjectReactiveRepository projectRepository;
+    private final TaskHistoryReactiveRepository historyRepository;
+    private final InvalidationNotifier invalidationNotifier;
+
+    public ReactiveTaskService(TaskReactiveRepository taskRepository, ProjectReactiveRepository projectRepository,
+                               TaskHistoryReactiveRepository historyRepository, InvalidationNotifier invalidationNotifier) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.historyRepository = historyRepository;
+        this.invalidationNotifier = invalidationNotifier;
+    }
+
+    public Mono<Page<TaskDto>> getTasksByProjectId(Long projectId, Pageable pageable) {
+        logger.debug("Fetching tasks for project id: {} with pagination: page={}, size={}",
+                projectId, pageable.getPageNumber(), pageable.getPageSize());
+        return requireProject(projectId)
+                .then(Mono.defer(() -> Mono.zip(taskRepository.findPage(projectId, pageable).collectList(),
+                        taskRepository.countByProjectId(projectId))))
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    /**
+     * All tasks of a project as a stream; demand from the HTTP response drives the database fetch.
+     */
+    public Flux<TaskDto> streamTasksByProjectId(Long projectId) {
+        logger.debug("Streaming tasks for project id: {}", projectId);
+        return requireProject(projectId).thenMany(Flux.defer(() -> taskRepository.streamByProjectId(projectId)));
+    }
+
+    public Mono<TaskDto> getTaskById(Long projectId, Long taskId) {
+        return taskRepository.findByIdAndProjectId(taskId, projectId)
+                .switchIfEmpty(Mono.error(() -> taskNotFound(projectId, taskId)));
+    }
+
+    @Transactional
+    public Mono<TaskDto> createTask(Long projectId, TaskDto taskDto) {
+        logger.info("Creating new task for project id: {}", projectId);
+        Task.TaskStatus status = taskDto.getStatus() != null ? taskDto.getStatus() : Task.TaskStatus.TODO;
+        taskDto.setStatus(status);
+        Instant now = Instant.now();
+        Instant startedAt = startedAt(status, now);
+        return requireProject(projectId)
+                .then(Mono.defer(() -> taskRepository.findMaxRank(projectId, status).map(RankKeys::after)
+                        .defaultIfEmpty(RankKeys.after(null))))
+                .flatMap(rank -> taskRepository.insert(projectId, taskDto, rank, completedAt(status, now), startedAt))
+                .flatMap(created -> historyRepository.recordTransition(new TaskStatusChangedEvent(
+                                projectId, created.getId(), null, status, now, startedAt))
+                        .then(invalidationNotifier.tasksChanged(projectId))
+                        .thenReturn(created))
+                .doOnNext(created -> logger.info("Task created successfully with id: {}", created.getId()));
+    }
+
+    /**
+     * Updates a task. A status change also moves it to the end of its new column and is recorded in
+     * the status history within the same transaction.
+     */
+    @Transactional
+    public Mono<TaskDto> updateTask(Long projectId, Long taskId, TaskDto taskDto) {
+        logger.info("Updating task with id: {} for project id: {}", taskId, projectId);
+        return getTaskById(projectId, taskId)
+                .flatMap(existing -> {
+                    if (taskDto.getStatus() == null || taskDto.getStatus() == existing.getStatus()) {
+                        return taskRepository.update(projectId, taskId, taskDto, false, null, null, null);
+                    }
+                    Task.TaskStatus status = taskDto.getStatus();
+                    Instant now = Instant.now();
+                    // A task that changes column goes to the end of its new column
+                    return taskRepository.findMaxRank(projectId, status).map(RankKeys::after)
+                            .defaultIfEmpty(RankKeys.after(null))
+                            .flatMap(rank -> taskRepository.update(projectId, taskId, taskDto, true, rank,
+                                    completedAt(status, now), startedAt(status, now)))
+                            // The first start is only needed for the cycle time of a completed task
+                            .flatMap(updated -> (status == Task.TaskStatus.DONE
+                                            ? taskRepository.findStartedAt(projectId, taskId)
+                                            : Mono.<Instant>empty())
+                                    .map(startedAt -> new TaskStatusChangedEvent(
+                                            projectId, taskId, existing.getStatus(), status, now, startedAt))
+                                    .defaultIfEmpty(new TaskStatusChangedEvent(
+                                            projectId, taskId, existing.getStatus(), status, now, null))
+                                    .flatMap(historyRepository::recordTransition)
+                                    .thenReturn(updated));
+                })
+                .flatMap(updated -> invalidationNotifier.tasksChanged(projectId).thenReturn(updated));
+    }
+
+    @Transactional
+    public Mono<Void> deleteTask(Long projectId, Long taskId) {
+        logger.info("Deleting task with id: {} for project id: {}", taskId, projectId);
+        return taskRepository.delete(projectId, taskId)
+                .switchIfEmpty(Mono.error(() -> taskNotFound(projectId, taskId)))
+                .flatMap(status -> status != Task.TaskStatus.DONE
+                        ? historyRepository.recordRemoval(projectId, Instant.now())
+                        : Mono.<Void>empty())
+                .then(Mono.defer(() -> invalidationNotifier.tasksChanged(projectId)));
+    }
+
+    private Mono<Void> requireProject(Long projectId) {
+        return projectRepository.existsById(projectId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new ResourceNotFoundException("Project not found with id: " + projectId)));
+    }
+
+    private static Instant completedAt(Task.TaskStatus status, Instant now) {
+        return status == Task.TaskStatus.DONE ? now : null;
+    }
+
+    // Only written if the task has no start yet, so it keeps the first one
+    private static Instant startedAt(Task.TaskStatus status, Instant now) {
+        return status == Task.TaskStatus.IN_PROGRESS ? now : null;
+    }
+
+    private static ResourceNotFoundException taskNotFound(Long projectId, Long taskId) {
+        logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
+        return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.taskmanager.reactive.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationNotifierTest {
+
+    private static final String CHANNEL = "taskmanager_invalidation";
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec spec;
+
+    @Test
+    void tasksChanged_OutsideTransaction_ShouldSendProjectEntryInBusFormat() {
+        InvalidationNotifier notifier = new InvalidationNotifier(databaseClient, true, CHANNEL);
+        stubNotify(Mono.empty(), Mono.empty());
+
+        notifier.start();
+        StepVerifier.create(notifier.tasksChanged(3L)).verifyComplete();
+        StepVerifier.create(notifier.projectDeleted(4L)).verifyComplete();
+        notifier.stop();
+
+        InOrder order = inOrder(spec);
+        order.verify(spec).bind("payload", notifier.instanceId() + ":1:t3");
+        order.verify(spec).bind("payload", notifier.instanceId() + ":2:d4");
+        verify(spec, times(2)).bind("channel", CHANNEL);
+    }
+
+    @Test
+    void send_AfterFailure_ShouldReuseSequenceAndInvalidateEverything() {
+        InvalidationNotifier notifier = new InvalidationNotifier(databaseClient, true, CHANNEL);
+        stubNotify(Mono.error(new DataAccessResourceFailureException("connection closed")), Mono.empty());
+
+        StepVerifier.create(notifier.send("t3")).verifyComplete();
+        StepVerifier.create(notifier.send("t4")).verifyComplete();
+
+        InOrder order = inOrder(spec);
+        order.verify(spec).bind("payload", notifier.instanceId() + ":1:t3");
+        order.verify(spec).bind("payload", notifier.instanceId() + ":1:" + InvalidationNotifier.ALL);
+    }
+
+    @Test
+    void tasksChanged_WhenDisabled_ShouldNotTouchDatabase() {
+        InvalidationNotifier notifier = new InvalidationNotifier(databaseClient, false, CHANNEL);
+
+        notifier.start();
+        StepVerifier.create(notifier.tasksChanged(3L)).verifyComplete();
+        notifier.stop();
+
+        assertFalse(notifier.isRunning());
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void constructor_WithInvalidChannel_ShouldReject() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InvalidationNotifier(databaseClient, true, "Invalidation; DROP TABLE tasks"));
+    }
+
+    @SafeVarargs
+    private void stubNotify(Mono<Void> first, Mono<Void>... rest) {
+        when(databaseClient.sql(anyString())).thenReturn(spec);
+        when(spec.bind(eq("channel"), anyString())).thenReturn(spec);
+        when(spec.bind(eq("payload"), anyString())).thenReturn(spec);
+        when(spec.then()).thenReturn(first, rest);
+    }
+}
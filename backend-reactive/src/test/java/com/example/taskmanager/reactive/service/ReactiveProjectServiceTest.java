@@ -0,0 +1,84 @@
+package com.example.taskmanager.reactive.service;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.reactive.repository.ProjectReactiveRepository;
+import com.example.taskmanager.reactive.repository.TaskReactiveRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveProjectServiceTest {
+
+    @Mock
+    private ProjectReactiveRepository projectRepository;
+
+    @Mock
+    private TaskReactiveRepository taskRepository;
+
+    @Mock
+    private InvalidationNotifier invalidationNotifier;
+
+    @InjectMocks
+    private ReactiveProjectService projectService;
+
+    @Test
+    void getAllProjects_ShouldReturnPageWithTotal() {
+        PageRequest pageable = PageRequest.of(1, 10);
+        when(projectRepository.findPage(pageable)).thenReturn(Flux.just(new ProjectDto(11L, "Eleven", null)));
+        when(projectRepository.count()).thenReturn(Mono.just(11L));
+
+        StepVerifier.create(projectService.getAllProjects(pageable))
+                .assertNext(page -> {
+                    assertEquals(1, page.getContent().size());
+                    assertEquals(11, page.getTotalElements());
+                    assertEquals(1, page.getNumber());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getProjectById_WhenMissing_ShouldError() {
+        when(projectRepository.findById(7L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(projectService.getProjectById(7L))
+                .expectErrorMessage("Project not found with id: 7")
+                .verify();
+    }
+
+    @Test
+    void deleteProject_ShouldDeleteTasksBeforeProject() {
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(taskRepository.deleteByProjectId(1L)).thenReturn(Mono.just(3L));
+        when(projectRepository.deleteById(1L)).thenReturn(Mono.just(1L));
+        when(invalidationNotifier.projectDeleted(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(projectService.deleteProject(1L)).verifyComplete();
+
+        var order = inOrder(taskRepository, projectRepository);
+        order.verify(taskRepository).deleteByProjectId(1L);
+        order.verify(projectRepository).deleteById(1L);
+    }
+
+    @Test
+    void deleteProject_WhenMissing_ShouldErrorWithoutDeleting() {
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(projectService.deleteProject(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verify(taskRepository, never()).deleteByProjectId(anyLong());
+        verifyNoInteractions(invalidationNotifier);
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.taskmanager.reactive.service;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.reactive.repository.ProjectReactiveRepository;
+import com.example.taskmanager.reactive.repository.TaskHistoryReactiveRepository;
+import com.example.taskmanager.reactive.repository.TaskReactiveRepository;
+import com.example.taskmanager.service.RankKeys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskServiceTest {
+
+    @Mock
+    private TaskReactiveRepository taskRepository;
+
+    @Mock
+    private ProjectReactiveRepository projectRepository;
+
+    @Mock
+    private TaskHistoryReactiveRepository historyRepository;
+
+    @Mock
+    private InvalidationNotifier invalidationNotifier;
+
+    @InjectMocks
+    private ReactiveTaskService taskService;
+
+    @Test
+    void getTasksByProjectId_ShouldReturnPageWithTotal() {
+        PageRequest pageable = PageRequest.of(0, 2);
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(taskRepository.findPage(1L, pageable)).thenReturn(Flux.just(task(1L, Task.TaskStatus.TODO), task(2L, Task.TaskStatus.TODO)));
+        when(taskRepository.countByProjectId(1L)).thenReturn(Mono.just(5L));
+
+        StepVerifier.create(taskService.getTasksByProjectId(1L, pageable))
+                .assertNext(page -> {
+                    assertEquals(2, page.getContent().size());
+                    assertEquals(5, page.getTotalElements());
+                    assertEquals(3, page.getTotalPages());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTasksByProjectId_WhenProjectNotFound_ShouldError() {
+        when(projectRepository.existsById(99L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(taskService.getTasksByProjectId(99L, PageRequest.of(0, 20)))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verify(taskRepository, never()).findPage(any(), any());
+    }
+
+    @Test
+    void streamTasksByProjectId_ShouldEmitRowsOnDemand() {
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(taskRepository.streamByProjectId(1L)).thenReturn(Flux.range(1, 3).map(i -> task((long) i, Task.TaskStatus.TODO)));
+
+        StepVerifier.create(taskService.streamTasksByProjectId(1L), 1)
+                .expectNextCount(1)
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void getTaskById_WhenMissing_ShouldError() {
+        when(taskRepository.findByIdAndProjectId(5L, 1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.getTaskById(1L, 5L))
+                .expectErrorMessage("Task not found with id: 5 for project id: 1")
+                .verify();
+    }
+
+    @Test
+    void createTask_ShouldAppendToEndOfColumn() {
+        TaskDto request = task(null, Task.TaskStatus.TODO);
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.TODO)).thenReturn(Mono.just("V"));
+        when(taskRepository.insert(eq(1L), eq(request), eq(RankKeys.after("V")), isNull(), isNull()))
+                .thenReturn(Mono.just(task(10L, Task.TaskStatus.TODO)));
+        when(historyRepository.recordTransition(any())).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.createTask(1L, request))
+                .assertNext(created -> assertEquals(10L, created.getId()))
+                .verifyComplete();
+        TaskStatusChangedEvent transition = recordedTransition();
+        assertEquals(10L, transition.taskId());
+        assertNull(transition.previousStatus());
+        assertEquals(Task.TaskStatus.TODO, transition.status());
+        verify(invalidationNotifier).tasksChanged(1L);
+    }
+
+    @Test
+    void createTask_InProgress_ShouldStampStart() {
+        TaskDto request = task(null, Task.TaskStatus.IN_PROGRESS);
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.IN_PROGRESS)).thenReturn(Mono.empty());
+        when(taskRepository.insert(eq(1L), eq(request), eq(RankKeys.after(null)), isNull(), notNull()))
+                .thenReturn(Mono.just(task(12L, Task.TaskStatus.IN_PROGRESS)));
+        when(historyRepository.recordTransition(any())).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.createTask(1L, request))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertNotNull(recordedTransition().startedAt());
+    }
+
+    @Test
+    void createTask_InEmptyDoneColumn_ShouldSetFirstRankAndCompletedAt() {
+        TaskDto request = task(null, Task.TaskStatus.DONE);
+        when(projectRepository.existsById(1L)).thenReturn(Mono.just(true));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.DONE)).thenReturn(Mono.empty());
+        when(taskRepository.insert(eq(1L), eq(request), eq(RankKeys.after(null)), notNull(), isNull()))
+                .thenReturn(Mono.just(task(11L, Task.TaskStatus.DONE)));
+        when(historyRepository.recordTransition(any())).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.createTask(1L, request))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateTask_WithSameStatus_ShouldKeepRank() {
+        TaskDto request = task(null, Task.TaskStatus.TODO);
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Mono.just(task(3L, Task.TaskStatus.TODO)));
+        when(taskRepository.update(1L, 3L, request, false, null, null, null)).thenReturn(Mono.just(task(3L, Task.TaskStatus.TODO)));
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.updateTask(1L, 3L, request))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(taskRepository, never()).findMaxRank(any(), any());
+        verifyNoInteractions(historyRepository);
+    }
+
+    @Test
+    void updateTask_WithNewStatus_ShouldMoveToEndOfNewColumn() {
+        TaskDto request = task(null, Task.TaskStatus.DONE);
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Mono.just(task(3L, Task.TaskStatus.TODO)));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.DONE)).thenReturn(Mono.just("k"));
+        when(taskRepository.update(eq(1L), eq(3L), eq(request), eq(true), eq(RankKeys.after("k")), any(Instant.class), isNull()))
+                .thenReturn(Mono.just(task(3L, Task.TaskStatus.DONE)));
+        when(taskRepository.findStartedAt(1L, 3L)).thenReturn(Mono.empty());
+        when(historyRepository.recordTransition(any())).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.updateTask(1L, 3L, request))
+                .assertNext(updated -> assertEquals(Task.TaskStatus.DONE, updated.getStatus()))
+                .verifyComplete();
+        TaskStatusChangedEvent transition = recordedTransition();
+        assertEquals(Task.TaskStatus.TODO, transition.previousStatus());
+        assertNull(transition.cycleTime());
+    }
+
+    @Test
+    void updateTask_CompletingStartedTask_ShouldRecordCycleTime() {
+        TaskDto request = task(null, Task.TaskStatus.DONE);
+        Instant startedAt = Instant.now().minusSeconds(3600);
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Mono.just(task(3L, Task.TaskStatus.IN_PROGRESS)));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.DONE)).thenReturn(Mono.empty());
+        when(taskRepository.update(eq(1L), eq(3L), eq(request), eq(true), any(), any(Instant.class), isNull()))
+                .thenReturn(Mono.just(task(3L, Task.TaskStatus.DONE)));
+        when(taskRepository.findStartedAt(1L, 3L)).thenReturn(Mono.just(startedAt));
+        when(historyRepository.recordTransition(any())).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.updateTask(1L, 3L, request))
+                .expectNextCount(1)
+                .verifyComplete();
+        TaskStatusChangedEvent transition = recordedTransition();
+        assertEquals(startedAt, transition.startedAt());
+        assertTrue(transition.cycleTime().toMinutes() >= 60);
+    }
+
+    @Test
+    void updateTask_Starting_ShouldStampStartWithoutLookingItUp() {
+        TaskDto request = task(null, Task.TaskStatus.IN_PROGRESS);
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Mono.just(task(3L, Task.TaskStatus.TODO)));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.IN_PROGRESS)).thenReturn(Mono.empty());
+        when(taskRepository.update(eq(1L), eq(3L), eq(request), eq(true), any(), isNull(), notNull()))
+                .thenReturn(Mono.just(task(3L, Task.TaskStatus.IN_PROGRESS)));
+        when(historyRepository.recordTransition(any())).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.updateTask(1L, 3L, request))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(taskRepository, never()).findStartedAt(any(), any());
+        assertEquals(Task.TaskStatus.IN_PROGRESS, recordedTransition().status());
+    }
+
+    @Test
+    void deleteTask_WhenNotDone_ShouldRecordRemoval() {
+        when(taskRepository.delete(1L, 3L)).thenReturn(Mono.just(Task.TaskStatus.IN_PROGRESS));
+        when(historyRepository.recordRemoval(eq(1L), any(Instant.class))).thenReturn(Mono.empty());
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.deleteTask(1L, 3L)).verifyComplete();
+        verify(historyRepository).recordRemoval(eq(1L), any(Instant.class));
+    }
+
+    @Test
+    void deleteTask_WhenDone_ShouldNotRecordRemoval() {
+        when(taskRepository.delete(1L, 3L)).thenReturn(Mono.just(Task.TaskStatus.DONE));
+        when(invalidationNotifier.tasksChanged(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.deleteTask(1L, 3L)).verifyComplete();
+        verifyNoInteractions(historyRepository);
+    }
+
+    @Test
+    void deleteTask_WhenNothingDeleted_ShouldError() {
+        when(taskRepository.delete(1L, 3L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(taskService.deleteTask(1L, 3L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        verifyNoInteractions(invalidationNotifier);
+    }
+
+    private TaskStatusChangedEvent recordedTransition() {
+        ArgumentCaptor<TaskStatusChangedEvent> transition = ArgumentCaptor.forClass(TaskStatusChangedEvent.class);
+        verify(historyRepository).recordTransition(transition.capture());
+        return transition.getValue();
+    }
+
+    private static TaskDto task(Long id, Task.TaskStatus status) {
+        TaskDto task = new TaskDto();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setProjectId(1L);
+        return task;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.dto.TaskSearchFilter;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.LabelIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter cost and footprint of {@link LabelIndex} for one large project. Labels follow a skewed
+ * distribution (label-0 is on roughly a third of the tasks, label-49 on well under 1%); {@code idStride}
+ * spreads the project's ids out as if other projects were created in between.
+ * The index size, and its size per million tasks, is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class LabelIndexBenchmark {
+
+    private static final int LABELS = 50;
+
+    @Param({"100000", "1000000"})
+    private int tasks;
+
+    @Param({"1", "16"})
+    private int idStride;
+
+    private LabelIndex labelIndex;
+    private TaskSearchFilter allOfExcluding;
+    private TaskSearchFilter anyOfWithStatus;
+    private TaskSearchFilter rareLabel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        List<Object[]> rows = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            int count = random.nextInt(5);
+            Set<String> labels = new TreeSet<>();
+            for (int j = 0; j < count; j++) {
+                // Roughly Zipf: label k is picked with probability proportional to 1 / (k + 1)
+                int label = (int) Math.min(LABELS - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(LABELS + 1)) - 1));
+                labels.add("label-" + label);
+            }
+            rows.add(new Object[]{(long) (i + 1) * idStride, statuses[random.nextInt(statuses.length)],
+                    labels.toArray(String[]::new)});
+        }
+
+        TaskRepository repository = (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("streamLabelRows")) {
+                        return rows.stream();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        labelIndex = new LabelIndex(repository, meterRegistry, Duration.ofHours(1));
+        labelIndex.openTasks(1L);
+
+        allOfExcluding = new TaskSearchFilter(Set.of("label-0", "label-1"), null, Set.of("label-2"), null, false);
+        anyOfWithStatus = new TaskSearchFilter(null, Set.of("label-3", "label-4", "label-5"), null,
+                Task.TaskStatus.TODO, null);
+        rareLabel = new TaskSearchFilter(Set.of("label-49", "label-0"), null, null, null, null);
+
+        double bytes = meterRegistry.get("tasks.labels.index.bytes").gauge().value();
+        System.out.printf("%n[tasks=%d, idStride=%d] index size: %.0f bytes, %.1f MB per million tasks%n",
+                tasks, idStride, bytes, bytes / tasks * 1_000_000 / (1024 * 1024));
+    }
+
+    @Benchmark
+    public Roaring64Bitmap allOfTwoLabelsExcludingOne() {
+        return labelIndex.match(1L, allOfExcluding);
+    }
+
+    @Benchmark
+    public Roaring64Bitmap anyOfThreeLabelsWithStatus() {
+        return labelIndex.match(1L, anyOfWithStatus);
+    }
+
+    @Benchmark
+    public Roaring64Bitmap rareAndCommonLabel() {
+        return labelIndex.match(1L, rareLabel);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares payload size and encode/decode cost of a {@code Page<TaskDto>} in JSON, CBOR and Smile.
+ * Payload sizes are printed once per trial so they show up next to the timing results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private Page<TaskDto> page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        List<TaskDto> tasks = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            TaskDto task = new TaskDto();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i + " with a few more words to look realistic");
+            task.setStatus(statuses[i % statuses.length]);
+            task.setProjectId(42L);
+            tasks.add(task);
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000);
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.printf("%n[%s, pageSize=%d] payload size: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode deserialize() throws IOException {
+        return mapper.readTree(encoded);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.service.TaskColumnIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Scan cost and footprint of {@link TaskColumnIndex} against the obvious alternative, a
+ * {@code HashMap<Long, TaskSummary>} aggregated in a loop. Tasks are spread over {@code projects}
+ * projects with a skew towards low project ids. Footprint is printed once per trial: the index's own
+ * gauge, and the heap growth caused by building the map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+@State(Scope.Benchmark)
+public class TaskColumnIndexBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int tasks;
+
+    @Param({"1000"})
+    private int projects;
+
+    private TaskColumnIndex columnIndex;
+    private Map<Long, TaskSummary> boxed;
+
+    record TaskSummary(long projectId, Task.TaskStatus status) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        TaskRepository repository = (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("streamStatusRows") && args == null) {
+                        return rows(statuses);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        columnIndex = new TaskColumnIndex(repository, meterRegistry);
+        columnIndex.countByStatus();
+        double indexBytes = meterRegistry.get("tasks.columns.bytes").gauge().value();
+
+        long before = usedHeap();
+        boxed = new HashMap<>();
+        rows(statuses).forEach(row -> boxed.put((Long) row[0], new TaskSummary((Long) row[1], (Task.TaskStatus) row[2])));
+        long boxedBytes = usedHeap() - before;
+
+        System.out.printf("%n[tasks=%d] column index: %.1f bytes per task, HashMap<Long, TaskSummary>: %.1f bytes per task%n",
+                tasks, indexBytes / tasks, (double) boxedBytes / tasks);
+    }
+
+    // Same rows on every call
+    private Stream<Object[]> rows(Task.TaskStatus[] statuses) {
+        SplittableRandom random = new SplittableRandom(42);
+        return LongStream.rangeClosed(1, tasks).mapToObj(id -> {
+            // Roughly Zipf over projects
+            long project = (long) Math.min(projects, Math.floor(Math.exp(random.nextDouble() * Math.log(projects + 1))));
+            return new Object[]{id, project, statuses[random.nextInt(statuses.length)]};
+        });
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public long[] columnsCountByStatus() {
+        return columnIndex.countByStatus();
+    }
+
+    @Benchmark
+    public long[] columnsCountByStatusOfOneProject() {
+        return columnIndex.countByStatus(1L);
+    }
+
+    @Benchmark
+    public TaskColumnIndex.ProjectCounts columnsCountByProjectAndStatus() {
+        return columnIndex.countByProjectAndStatus();
+    }
+
+    @Benchmark
+    public Map<Task.TaskStatus, Long> boxedCountByStatus() {
+        Map<Task.TaskStatus, Long> counts = new EnumMap<>(Task.TaskStatus.class);
+        for (TaskSummary task : boxed.values()) {
+            counts.merge(task.status(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<Long, long[]> boxedCountByProjectAndStatus() {
+        Map<Long, long[]> counts = new HashMap<>();
+        for (TaskSummary task : boxed.values()) {
+            counts.computeIfAbsent(task.projectId(), id -> new long[Task.TaskStatus.values().length])[task.status().ordinal()]++;
+        }
+        return counts;
+    }
+}
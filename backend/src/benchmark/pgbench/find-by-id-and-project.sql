@@ -0,0 +1,4 @@
+-- TaskRepository.findByIdAndProjectId
+\set id random(1, :rows)
+\set project_id 1 + :id % :projects
+SELECT id, title, description, status, rank_key, project_id FROM tasks WHERE id = :id AND project_id = :project_id;
@@ -0,0 +1,4 @@
+-- TaskRepository.findProjectedByProjectId: first page plus count
+\set project_id random(1, :projects)
+SELECT id, title, status, project_id, rank_key FROM tasks WHERE project_id = :project_id ORDER BY id LIMIT 20;
+SELECT count(*) FROM tasks WHERE project_id = :project_id;
@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Compares the single-table and hash-partitioned task layouts with pgbench.
+# Usage: ./run.sh [rows] [projects]    (defaults: 100000000 rows, 200000 projects)
+# Connection settings come from the usual PG* environment variables.
+set -euo pipefail
+
+ROWS=${1:-100000000}
+PROJECTS=${2:-200000}
+CLIENTS=${CLIENTS:-16}
+DURATION=${DURATION:-120}
+DIR=$(cd "$(dirname "$0")" && pwd)
+
+for layout in single partitioned; do
+  db="taskbench_${layout}"
+  if [[ "${SKIP_LOAD:-}" != "1" ]]; then
+    dropdb --if-exists "$db"
+    createdb "$db"
+    echo "Loading $ROWS tasks into $db (this takes a while at 100M rows)"
+    psql -v ON_ERROR_STOP=1 -v rows="$ROWS" -v projects="$PROJECTS" -d "$db" -f "$DIR/setup-$layout.sql"
+  fi
+  psql -At -d "$db" -c "SELECT 'tasks size: ' || pg_size_pretty(sum(pg_total_relation_size(relid))) FROM pg_partition_tree('tasks')"
+
+  for script in find-by-project find-by-id-and-project update-by-id-and-project; do
+    echo "== $layout / $script"
+    pgbench -n -M prepared -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -P 30 \
+      -D rows="$ROWS" -D projects="$PROJECTS" -f "$DIR/$script.sql" "$db"
+  done
+
+  echo "== $layout / vacuum of the whole table"
+  psql -d "$db" -c '\timing on' -c 'VACUUM (VERBOSE false) tasks'
+done
@@ -0,0 +1,18 @@
+-- Loads :projects projects; the tasks table is created by the layout-specific script first.
+-- Task i belongs to project 1 + (i % :projects), which the query scripts rely on to build valid
+-- (id, project_id) pairs without a lookup.
+INSERT INTO projects (id, name)
+SELECT p, 'Project ' || p FROM generate_series(1, :projects) AS p;
+
+INSERT INTO tasks (id, title, description, status, rank_key, project_id)
+SELECT i,
+       'Task ' || i,
+       'Description of task ' || i || ' with a few more words to look realistic',
+       (ARRAY['TODO', 'IN_PROGRESS', 'DONE'])[1 + i % 3],
+       lpad(to_hex(i), 8, '0'),
+       1 + i % :projects
+FROM generate_series(1, :rows) AS i;
+
+CREATE INDEX idx_tasks_project_status_rank ON tasks (project_id, status, rank_key);
+VACUUM ANALYZE projects;
+VACUUM ANALYZE tasks;
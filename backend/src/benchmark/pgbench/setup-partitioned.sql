@@ -0,0 +1,26 @@
+-- Partitioned layout (V2__partition_tasks_by_project.sql)
+DROP TABLE IF EXISTS tasks;
+DROP TABLE IF EXISTS projects;
+
+CREATE TABLE projects (
+    id          bigint PRIMARY KEY,
+    name        varchar(255) NOT NULL,
+    description text
+);
+
+CREATE TABLE tasks (
+    id          bigint       NOT NULL,
+    title       varchar(255) NOT NULL,
+    description text,
+    status      varchar(255) NOT NULL,
+    rank_key    varchar(255) COLLATE "C",
+    project_id  bigint       NOT NULL REFERENCES projects (id),
+    PRIMARY KEY (project_id, id)
+) PARTITION BY HASH (project_id);
+
+SELECT format('CREATE TABLE tasks_p%s PARTITION OF tasks FOR VALUES WITH (MODULUS 32, REMAINDER %s)',
+              lpad(i::text, 2, '0'), i)
+FROM generate_series(0, 31) AS i
+\gexec
+
+\ir setup-common.sql
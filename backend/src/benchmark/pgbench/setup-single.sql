@@ -0,0 +1,21 @@
+-- Pre-partitioning layout (V1__baseline.sql)
+DROP TABLE IF EXISTS tasks;
+DROP TABLE IF EXISTS projects;
+
+CREATE TABLE projects (
+    id          bigint PRIMARY KEY,
+    name        varchar(255) NOT NULL,
+    description text
+);
+
+CREATE TABLE tasks (
+    id          bigint PRIMARY KEY,
+    title       varchar(255) NOT NULL,
+    description text,
+    status      varchar(255) NOT NULL,
+    rank_key    varchar(255) COLLATE "C",
+    project_id  bigint       NOT NULL REFERENCES projects (id)
+);
+
+\ir setup-common.sql
+CREATE INDEX idx_tasks_project_id_id ON tasks (project_id, id);
@@ -0,0 +1,4 @@
+-- Entity update as issued with @PartitionKey
+\set id random(1, :rows)
+\set project_id 1 + :id % :projects
+UPDATE tasks SET title = 'Task ' || :id || ' (edited)' WHERE id = :id AND project_id = :project_id;
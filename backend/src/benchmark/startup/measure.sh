@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request and resident memory of each Docker image variant.
+# Usage: ./measure.sh [runs]    (default: 5 runs per variant; run from backend/)
+# Builds the jvm, cds and native targets, starts PostgreSQL on a private network and prints a
+# markdown table with the median time until the readiness probe reports UP (warm-up included) and
+# the RSS right after. The key-set check is left out of readiness since no Cognito is reachable.
+set -euo pipefail
+
+RUNS=${1:-5}
+NETWORK=startup-bench
+DB=startup-bench-db
+VARIANTS=(jvm cds native)
+
+for variant in "${VARIANTS[@]}"; do
+  docker build -q --target "$variant" -t "task-manager-backend:$variant" . > /dev/null
+done
+
+docker network create "$NETWORK" > /dev/null 2>&1 || true
+docker rm -f "$DB" > /dev/null 2>&1 || true
+docker run -d --name "$DB" --network "$NETWORK" \
+  -e POSTGRES_DB=taskdb -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres postgres:15-alpine > /dev/null
+until docker exec "$DB" pg_isready -q -U postgres; do sleep 0.5; done
+trap 'docker rm -f "$DB" > /dev/null; docker network rm "$NETWORK" > /dev/null' EXIT
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'; }
+
+echo "| Variant | Time to ready (ms) | RSS when ready (MB) |"
+echo "|---------|----------------------------|------------------------------|"
+for variant in "${VARIANTS[@]}"; do
+  times=()
+  rss=()
+  for ((run = 1; run <= RUNS; run++)); do
+    start=$(date +%s%N)
+    container=$(docker run -d --network "$NETWORK" -p 18080:8080 \
+      -e SPRING_DATASOURCE_URL="jdbc:postgresql://$DB:5432/taskdb" \
+      -e SPRING_DATASOURCE_USERNAME=postgres -e SPRING_DATASOURCE_PASSWORD=postgres \
+      -e SECURITY_OAUTH2_RESOURCESERVER_JWT_JWK_SET_URI=http://localhost/jwks.json \
+      -e MANAGEMENT_ENDPOINT_HEALTH_GROUP_READINESS_INCLUDE=readinessState,db \
+      -e COGNITO_USERPOOLID=bench -e COGNITO_REGION=us-east-1 -e COGNITO_APPCLIENTID=bench \
+      "task-manager-backend:$variant")
+    until curl -fs -o /dev/null http://localhost:18080/actuator/health/readiness; do sleep 0.05; done
+    end=$(date +%s%N)
+    times+=($(( (end - start) / 1000000 )))
+    rss+=($(docker exec "$container" awk '/VmRSS/ { print int($2 / 1024) }' /proc/1/status))
+    docker rm -f "$container" > /dev/null
+  done
+  echo "| $variant | $(printf '%s\n' "${times[@]}" | median) | $(printf '%s\n' "${rss[@]}" | median) |"
+done
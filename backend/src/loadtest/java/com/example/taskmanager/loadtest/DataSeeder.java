@@ -0,0 +1,144 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.service.RankKeys;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk-loads a synthetic dataset with {@code COPY ... FROM STDIN}, split over parallel connections.
+ * Task {@code i} belongs to project {@code 1 + (i - 1) % projects}, so the driver can address any
+ * seeded task without reading ids back.
+ */
+final class DataSeeder {
+
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private final String jdbcUrl;
+    private final String user;
+    private final String password;
+
+    DataSeeder(String jdbcUrl, String user, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.user = user;
+        this.password = password;
+    }
+
+    /**
+     * Seeds the dataset unless it is already present; {@code reseed} truncates first.
+     */
+    void seed(int projects, long tasks, boolean reseed) throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            if (reseed) {
+                statement.execute("TRUNCATE tasks, tasks_archive, projects RESTART IDENTITY CASCADE");
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT (SELECT count(*) FROM projects), (SELECT count(*) FROM tasks)")) {
+                rs.next();
+                // Earlier runs add tasks through createTask; the seeded ids are still in place
+                if (rs.getLong(1) == projects && rs.getLong(2) >= tasks) {
+                    System.out.printf("Dataset already seeded: %,d projects, %,d tasks%n", projects, tasks);
+                    return;
+                }
+                if (rs.getLong(1) > 0) {
+                    throw new IllegalStateException("Database holds a different dataset; rerun with --reseed=true");
+                }
+            }
+        }
+
+        long started = System.nanoTime();
+        copy("COPY projects (id, name, description) FROM STDIN", 1, projects,
+                (id, row) -> row.append(id).append("\tProject ").append(id).append("\tLoad test project ").append(id).append('\n'));
+
+        long tasksPerProject = (tasks + projects - 1) / projects;
+        List<String> ranks = RankKeys.evenlySpaced((int) tasksPerProject);
+        String completedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        int workers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+        long slice = (tasks + workers - 1) / workers;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> copies = new ArrayList<>();
+            for (long from = 1; from <= tasks; from += slice) {
+                long first = from;
+                long last = Math.min(tasks, from + slice - 1);
+                copies.add(executor.submit(() -> {
+                    copy("COPY tasks (id, title, description, status, rank_key, project_id, completed_at) FROM STDIN",
+                            first, last, (id, row) -> {
+                                long projectId = 1 + (id - 1) % projects;
+                                int index = (int) ((id - 1) / projects);
+                                String status = STATUSES[index % STATUSES.length];
+                                row.append(id).append("\tTask ").append(id)
+                                        .append("\tSeeded task ").append(id).append(" of project ").append(projectId)
+                                        .append('\t').append(status)
+                                        .append('\t').append(ranks.get(index))
+                                        .append('\t').append(projectId)
+                                        .append('\t').append("DONE".equals(status) ? completedAt : "\\N")
+                                        .append('\n');
+                            });
+                    return null;
+                }));
+            }
+            for (Future<?> copy : copies) {
+                copy.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('projects', 'id'), " + projects + ")");
+            statement.execute("SELECT setval(pg_get_serial_sequence('tasks', 'id'), " + tasks + ")");
+            statement.execute("ANALYZE projects");
+            statement.execute("ANALYZE tasks");
+        }
+        System.out.printf("Seeded %,d projects and %,d tasks in %d s%n",
+                projects, tasks, (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private void copy(String sql, long first, long last, RowWriter writer) throws SQLException {
+        try (Connection connection = connect()) {
+            // Generated rows are consistent by construction, so skip per-row foreign key triggers
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET session_replication_role = replica");
+            }
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            StringBuilder chunk = new StringBuilder(CHUNK_BYTES + 1024);
+            for (long id = first; id <= last; id++) {
+                writer.write(id, chunk);
+                if (chunk.length() >= CHUNK_BYTES) {
+                    flush(copyIn, chunk);
+                }
+            }
+            flush(copyIn, chunk);
+            copyIn.endCopy();
+        }
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, user, password);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long id, StringBuilder row);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.loadtest.WorkloadMix.Operation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP driver: {@code concurrency} virtual threads each issue one request at a time,
+ * picked from the workload mix, for the configured duration. Latencies after the warm-up are recorded
+ * per operation in HdrHistograms; non-2xx responses and transport failures count as errors.
+ */
+final class LoadDriver {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String token;
+    private final int projects;
+    private final long tasks;
+    private final WorkloadMix mix;
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadDriver(String baseUrl, String token, int projects, long tasks, WorkloadMix mix) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.projects = projects;
+        this.tasks = tasks;
+        this.mix = mix;
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_LATENCY_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        long warmupEnds = System.nanoTime() + warmup.toNanos();
+        long ends = warmupEnds + duration.toNanos();
+        System.out.printf("Driving %d concurrent clients: %d s warm-up, %d s measured%n",
+                concurrency, warmup.toSeconds(), duration.toSeconds());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < ends) {
+                        Operation operation = mix.next();
+                        long started = System.nanoTime();
+                        boolean ok = execute(operation);
+                        long finished = System.nanoTime();
+                        if (started >= warmupEnds) {
+                            latencies.get(operation).recordValue(Math.min(finished - started, MAX_LATENCY_NANOS));
+                            if (!ok) {
+                                errors.get(operation).increment();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        report(duration);
+    }
+
+    private boolean execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long projectId = 1 + random.nextInt(projects);
+        try {
+            HttpRequest request = switch (operation) {
+                case GET_PROJECT -> request("/api/projects/" + projectId).GET().build();
+                case LIST_TASKS -> request("/api/projects/" + projectId + "/tasks?page=0&size=20&sort=id,desc").GET().build();
+                case CREATE_TASK -> request("/api/projects/" + projectId + "/tasks")
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .POST(json("{\"title\":\"Load test task\",\"description\":\"Created by the load driver\",\"status\":\"TODO\"}"))
+                        .build();
+                case UPDATE_TASK -> {
+                    long taskId = 1 + random.nextLong(tasks);
+                    long owner = 1 + (taskId - 1) % projects;
+                    yield request("/api/projects/" + owner + "/tasks/" + taskId)
+                            .PUT(json("{\"title\":\"Task " + taskId + " (updated)\",\"status\":\""
+                                    + STATUSES[random.nextInt(STATUSES.length)] + "\"}"))
+                            .build();
+                }
+                case BULK_STATUS -> {
+                    // A handful of tasks of one project, addressed by the seeder's id layout
+                    long first = projectId + (long) projects * random.nextLong(Math.max(1, tasks / projects - 5));
+                    String ids = first + "," + (first + projects) + "," + (first + 2L * projects);
+                    yield request("/api/tasks/bulk/status")
+                            .POST(json("{\"filter\":{\"projectId\":" + projectId + ",\"ids\":[" + ids + "]},\"targetStatus\":\""
+                                    + STATUSES[random.nextInt(STATUSES.length)] + "\"}"))
+                            .build();
+                }
+            };
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private void report(Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalErrors = 0;
+        System.out.printf("%n%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(operation).sum();
+            printRow(operation.label, histogram, errors.get(operation).sum(), seconds);
+        }
+        printRow("total", total, totalErrors, seconds);
+    }
+
+    private static void printRow(String label, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.taskmanager.loadtest;
+
+import com.example.taskmanager.TaskManagerApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the load-test suite.
+ *
+ * <p>Self-contained mode (the default) starts PostgreSQL, a JWKS stub standing in for Cognito and the
+ * application on a random port, seeds the dataset with COPY and drives the HTTP API with a weighted
+ * workload mix. With {@code --target=http://host:port --token=<jwt>} only the driver runs, against an
+ * already deployed instance whose data was seeded with the same layout.
+ *
+ * <p>{@code --stack=reactive} or {@code both} additionally starts the WebFlux variant from
+ * {@code --reactive-jar} as a child process and drives it with the same mix, one stack after the other.
+ * The servlet application still runs in either case because its Flyway migrations create the schema.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        WorkloadMix mix = new WorkloadMix(options.mix());
+
+        if (options.target() != null) {
+            new LoadDriver(options.target(), options.token(), options.projects(), options.tasks(), mix)
+                    .run(options.concurrency(), options.warmup(), options.duration());
+            return;
+        }
+
+        EmbeddedPostgres postgres = null;
+        try (JwksStub jwks = new JwksStub()) {
+            String jdbcUrl = options.jdbcUrl();
+            if (jdbcUrl == null) {
+                Files.createDirectories(options.dataDir());
+                postgres = EmbeddedPostgres.builder()
+                        .setDataDirectory(options.dataDir())
+                        .setCleanDataDirectory(false)
+                        .setServerConfig("shared_buffers", "512MB")
+                        .setServerConfig("max_connections", "200")
+                        .setServerConfig("synchronous_commit", "off")
+                        .setServerConfig("max_wal_size", "4GB")
+                        .start();
+                jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+            }
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                    .properties(applicationProperties(options, jdbcUrl, jwks.jwkSetUri()))
+                    .run();
+            try {
+                new DataSeeder(jdbcUrl, options.jdbcUser(), options.jdbcPassword())
+                        .seed(options.projects(), options.tasks(), options.reseed());
+
+                String token = jwks.mintToken("loadtest", List.of("ADMIN", "USER"),
+                        options.warmup().plus(options.duration()).multipliedBy(2).plus(Duration.ofMinutes(10)));
+                if (options.runsServlet()) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    System.out.println("== servlet stack");
+                    new LoadDriver("http://localhost:" + port, token, options.projects(), options.tasks(), mix)
+                            .run(options.concurrency(), options.warmup(), options.duration());
+                }
+                if (options.runsReactive()) {
+                    try (ReactiveStack reactive = ReactiveStack.start(options.reactiveJar(), jdbcUrl,
+                            options.jdbcUser(), options.jdbcPassword(), jwks.jwkSetUri(), poolSize(options))) {
+                        System.out.println("== reactive stack");
+                        new LoadDriver(reactive.baseUrl(), token, options.projects(), options.tasks(), mix)
+                                .run(options.concurrency(), options.warmup(), options.duration());
+                    }
+                }
+            } finally {
+                context.close();
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    // Both stacks get the same number of database connections
+    private static int poolSize(LoadTestOptions options) {
+        return Math.min(options.concurrency(), 50);
+    }
+
+    private static Map<String, Object> applicationProperties(LoadTestOptions options, String jdbcUrl, String jwkSetUri) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", options.jdbcUser());
+        properties.put("spring.datasource.password", options.jdbcPassword());
+        properties.put("spring.datasource.hikari.maximum-pool-size", poolSize(options));
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.flyway.baseline-on-migrate", true);
+        properties.put("spring.flyway.baseline-version", 0);
+        properties.put("security.oauth2.resourceserver.jwt.jwk-set-uri", jwkSetUri);
+        properties.put("cognito.userPoolId", "loadtest");
+        properties.put("cognito.region", "us-east-1");
+        properties.put("cognito.appClientId", "loadtest");
+        properties.put("server.port", 0);
+        properties.put("grpc.server.port", -1);
+        // Background jobs would compete with the measured traffic
+        properties.put("tasks.archive.enabled", false);
+        properties.put("tasks.rank.rebalance-initial-delay", "PT24H");
+        properties.put("logging.level.com.example.taskmanager", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        return properties;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskmanager.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, passed as {@code --name=value}. Without {@code --target} the suite starts
+ * PostgreSQL (embedded, or {@code --jdbc-url}), a JWKS stub and the application in-process.
+ * {@code --stack=reactive|both} also drives the WebFlux variant, started from {@code --reactive-jar}.
+ */
+record LoadTestOptions(
+        int projects,
+        long tasks,
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        String mix,
+        Path dataDir,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        boolean reseed,
+        String target,
+        String token,
+        String stack,
+        Path reactiveJar) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("projects", "10000")),
+                Long.parseLong(values.getOrDefault("tasks", "1000000")),
+                Duration.parse(values.getOrDefault("duration", "PT2M")),
+                Duration.parse(values.getOrDefault("warmup", "PT30S")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                values.getOrDefault("mix", values.getOrDefault("stack", "servlet").equals("servlet")
+                        ? WorkloadMix.DEFAULT : WorkloadMix.SHARED_ENDPOINTS),
+                Path.of(values.getOrDefault("data-dir", "target/loadtest-pg")),
+                values.get("jdbc-url"),
+                values.getOrDefault("jdbc-user", "postgres"),
+                values.getOrDefault("jdbc-password", "postgres"),
+                Boolean.parseBoolean(values.getOrDefault("reseed", "false")),
+                values.get("target"),
+                values.get("token"),
+                values.getOrDefault("stack", "servlet"),
+                values.containsKey("reactive-jar") ? Path.of(values.get("reactive-jar")) : null);
+        if (options.target() != null && options.token() == null) {
+            throw new IllegalArgumentException("--target requires --token with a JWT the target accepts");
+        }
+        if (!List.of("servlet", "reactive", "both").contains(options.stack())) {
+            throw new IllegalArgumentException("--stack must be servlet, reactive or both");
+        }
+        if (!options.stack().equals("servlet") && options.reactiveJar() == null) {
+            throw new IllegalArgumentException("--stack=" + options.stack() + " requires --reactive-jar");
+        }
+        if (options.runsReactive() && options.mix().contains("bulkStatus")) {
+            throw new IllegalArgumentException("The reactive stack has no bulk endpoints; remove bulkStatus from --mix");
+        }
+        return options;
+    }
+
+    boolean runsServlet() {
+        return !stack.equals("reactive");
+    }
+
+    boolean runsReactive() {
+        return !stack.equals("servlet");
+    }
+}
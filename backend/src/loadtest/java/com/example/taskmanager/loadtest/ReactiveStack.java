@@ -0,0 +1,98 @@
+package com.example.taskmanager.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the backend-reactive jar as a child process against the same database and JWKS stub as the
+ * in-process servlet application, so both stacks are measured with identical data and tokens.
+ */
+final class ReactiveStack implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final int port;
+
+    private ReactiveStack(Process process, int port) {
+        this.process = process;
+        this.port = port;
+    }
+
+    static ReactiveStack start(Path jar, String jdbcUrl, String user, String password, String jwkSetUri,
+                               int poolSize) throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Process process = new ProcessBuilder(List.of(
+                "java", "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.r2dbc.url=" + toR2dbcUrl(jdbcUrl),
+                "--spring.r2dbc.username=" + user,
+                "--spring.r2dbc.password=" + password,
+                "--spring.r2dbc.pool.max-size=" + poolSize,
+                "--security.oauth2.resourceserver.jwt.jwk-set-uri=" + jwkSetUri,
+                "--management.endpoint.health.probes.enabled=true",
+                "--logging.level.com.example.taskmanager=WARN"))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        ReactiveStack stack = new ReactiveStack(process, port);
+        stack.awaitReady();
+        return stack;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    private void awaitReady() throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/health/readiness")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Reactive application exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(200);
+        }
+        close();
+        throw new IllegalStateException("Reactive application did not become ready within " + STARTUP_TIMEOUT);
+    }
+
+    // jdbc:postgresql://host:port/db?user=... -> r2dbc:postgresql://host:port/db
+    private static String toR2dbcUrl(String jdbcUrl) {
+        String url = jdbcUrl.substring("jdbc:".length());
+        int query = url.indexOf('?');
+        return "r2dbc:" + (query >= 0 ? url.substring(0, query) : url);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
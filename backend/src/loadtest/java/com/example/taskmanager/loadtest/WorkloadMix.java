@@ -0,0 +1,70 @@
+package com.example.taskmanager.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of operations, parsed from {@code getProject=25,listTasks=45,...}.
+ */
+final class WorkloadMix {
+
+    static final String DEFAULT = "getProject=25,listTasks=45,createTask=12,updateTask=15,bulkStatus=3";
+
+    /** Read-heavy mix limited to the endpoints both the servlet and the reactive stack serve. */
+    static final String SHARED_ENDPOINTS = "getProject=30,listTasks=60,createTask=5,updateTask=5";
+
+    enum Operation {
+        GET_PROJECT("getProject"),
+        LIST_TASKS("listTasks"),
+        CREATE_TASK("createTask"),
+        UPDATE_TASK("updateTask"),
+        BULK_STATUS("bulkStatus");
+
+        final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation fromLabel(String label) {
+            for (Operation operation : values()) {
+                if (operation.label.equals(label)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + label);
+        }
+    }
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    WorkloadMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(Operation.fromLabel(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        operations = weights.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Workload mix needs at least one positive weight: " + spec);
+        }
+    }
+
+    Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
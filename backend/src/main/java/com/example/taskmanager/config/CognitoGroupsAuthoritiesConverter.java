@@ -0,0 +1,30 @@
+package com.example.taskmanager.config;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Maps the {@code cognito:groups} claim to {@code ROLE_<group>} authorities. Shared by the servlet
+ * and reactive security configurations so both stacks authorize requests the same way.
+ */
+public class CognitoGroupsAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object groups = jwt.getClaim("cognito:groups");
+        
+        if (groups instanceof Collection) {
+            return ((Collection<?>) groups).stream()
+                    .map(group -> new SimpleGrantedAuthority("ROLE_" + group.toString()))
+                    .collect(Collectors.toList());
+        }
+        
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanager.config;
+
+import net.devh.boot.grpc.server.security.authentication.BearerAuthenticationReader;
+import net.devh.boot.grpc.server.security.authentication.GrpcAuthenticationReader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+/**
+ * Authenticates gRPC calls with the same Cognito JWT validation and group-to-role mapping
+ * that {@link SecurityConfig} applies to the REST API. Clients send the ID token as
+ * {@code authorization: Bearer <token>} call metadata.
+ */
+@Configuration
+public class GrpcSecurityConfig {
+
+    @Bean
+    public GrpcAuthenticationReader grpcAuthenticationReader() {
+        return new BearerAuthenticationReader(BearerTokenAuthenticationToken::new);
+    }
+
+    @Bean
+    public AuthenticationManager grpcAuthenticationManager(JwtDecoder jwtDecoder,
+                                                           JwtAuthenticationConverter jwtAuthenticationConverter) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        return new ProviderManager(provider);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.BurndownPoint;
+import com.example.taskmanager.dto.CycleTimeStats;
+import com.example.taskmanager.dto.StatusTransitionDto;
+import com.example.taskmanager.dto.TaskCountsDto;
+import com.example.taskmanager.service.AnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/projects/{projectId}/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/burndown")
+    public ResponseEntity<List<BurndownPoint>> getBurndown(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getBurndown(projectId, from, to));
+    }
+
+    @GetMapping("/cycle-time")
+    public ResponseEntity<CycleTimeStats> getCycleTime(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getCycleTime(projectId, from, to));
+    }
+
+    @GetMapping("/task-counts")
+    public ResponseEntity<TaskCountsDto> getTaskCounts(@PathVariable Long projectId) {
+        return ResponseEntity.ok(analyticsService.getTaskCounts(projectId));
+    }
+
+    @GetMapping("/tasks/{taskId}/history")
+    public ResponseEntity<List<StatusTransitionDto>> getStatusHistory(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(analyticsService.getStatusHistory(projectId, taskId));
+    }
+}
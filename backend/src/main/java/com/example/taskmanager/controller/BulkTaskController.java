@@ -0,0 +1,42 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.BulkMoveRequest;
+import com.example.taskmanager.dto.BulkOperationResult;
+import com.example.taskmanager.dto.BulkStatusUpdateRequest;
+import com.example.taskmanager.service.IdempotencyService;
+import com.example.taskmanager.service.TaskService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tasks/bulk")
+public class BulkTaskController {
+
+    private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+
+    public BulkTaskController(TaskService taskService, IdempotencyService idempotencyService) {
+        this.taskService = taskService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @PostMapping("/status")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<BulkOperationResult> updateStatus(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "bulkUpdateStatus", request,
+                () -> new BulkOperationResult(taskService.bulkUpdateStatus(request.getFilter(), request.getTargetStatus()))));
+    }
+
+    @PostMapping("/move")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<BulkOperationResult> moveTasks(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody BulkMoveRequest request) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "bulkMoveTasks", request,
+                () -> new BulkOperationResult(taskService.bulkMoveTasks(request.getFilter(), request.getTargetProjectId()))));
+    }
+}
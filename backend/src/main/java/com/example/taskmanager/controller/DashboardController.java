@@ -0,0 +1,35 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskCountsDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.AnalyticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Aggregations across all projects.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class DashboardController {
+
+    private final AnalyticsService analyticsService;
+
+    public DashboardController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/task-counts")
+    public ResponseEntity<TaskCountsDto> getTaskCounts() {
+        return ResponseEntity.ok(analyticsService.getTaskCounts());
+    }
+
+    @GetMapping("/task-counts/by-project")
+    public ResponseEntity<List<TaskCountsDto>> getTaskCountsByProject(
+            @RequestParam(required = false) Task.TaskStatus status,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(analyticsService.getTaskCountsByProject(status, limit));
+    }
+}
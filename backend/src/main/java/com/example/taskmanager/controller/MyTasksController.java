@@ -0,0 +1,35 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskFeedDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.TaskService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * Tasks assigned to the caller, identified by the {@code sub} claim of their token, across projects.
+ */
+@RestController
+@RequestMapping("/api/me/tasks")
+public class MyTasksController {
+
+    private final TaskService taskService;
+
+    public MyTasksController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @GetMapping
+    public ResponseEntity<TaskFeedDto> getMyTasks(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) Set<Task.TaskStatus> status,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(taskService.getAssignedTasks(jwt.getSubject(), status, projectId, cursor, size));
+    }
+}
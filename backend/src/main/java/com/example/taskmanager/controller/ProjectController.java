@@ -1,39 +1,72 @@
 package com.example.taskmanager.controller;
 
 import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.ProjectFeedDto;
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.service.IdempotencyService;
+import com.example.taskmanager.service.ProjectReadModel;
 import com.example.taskmanager.service.ProjectService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final IdempotencyService idempotencyService;
+    private final ProjectReadModel readModel;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, IdempotencyService idempotencyService,
+                             ProjectReadModel readModel) {
         this.projectService = projectService;
+        this.idempotencyService = idempotencyService;
+        this.readModel = readModel;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProjectDto>> getAllProjects(Pageable pageable) {
-        return ResponseEntity.ok(projectService.getAllProjects(pageable));
+    public ResponseEntity<Page<ProjectDto>> getAllProjects(
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(required = false) Set<String> include,
+            @RequestParam(defaultValue = "3") int taskLimit,
+            @RequestParam(defaultValue = "id,desc") String taskSort,
+            Pageable pageable) {
+        if (include != null && include.contains("tasks")) {
+            return ResponseEntity.ok(projectService.getAllProjectsWithTaskPreviews(
+                    fields, taskLimit, parseSort(taskSort), pageable));
+        }
+        return ResponseEntity.ok(readModel.findProjects(fields, pageable)
+                .orElseGet(() -> projectService.getAllProjects(fields, pageable)));
+    }
+
+    @GetMapping("/recent")
+    public ResponseEntity<ProjectFeedDto> getRecentlyActiveProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projectService.getRecentlyActiveProjects(cursor, size));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDto> getProjectById(@PathVariable Long id) {
-        return ResponseEntity.ok(projectService.getProjectById(id));
+        return ResponseEntity.ok(readModel.findProject(id).orElseGet(() -> projectService.getProjectById(id)));
     }
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
-    public ResponseEntity<ProjectDto> createProject(@Valid @RequestBody ProjectDto projectDto) {
-        return new ResponseEntity<>(projectService.createProject(projectDto), HttpStatus.CREATED);
+    public ResponseEntity<ProjectDto> createProject(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody ProjectDto projectDto) {
+        ProjectDto created = idempotencyService.execute(idempotencyKey, "createProject", projectDto,
+                () -> projectService.createProject(projectDto));
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
@@ -48,5 +81,16 @@ public class ProjectController {
         projectService.deleteProject(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    private static Sort parseSort(String sort) {
+        String[] parts = sort.split(",");
+        try {
+            Sort.Direction direction = parts.length > 1
+                    ? Sort.Direction.fromString(parts[1].trim())
+                    : Sort.Direction.ASC;
+            return Sort.by(direction, parts[0].trim());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid taskSort: " + sort);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskAttachmentDto;
+import com.example.taskmanager.service.AttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Attachment endpoints. Uploads are the raw request body (not multipart), streamed to the store.
+ * Downloads support {@code Range} (a single range; several ranges get the whole file) and
+ * {@code If-None-Match}/{@code If-Range} against the content hash. The file is handed to Tomcat's
+ * sendfile, which copies it to the socket with {@code FileChannel.transferTo}; other containers get a
+ * {@code transferTo} into the response stream.
+ */
+@RestController
+@RequestMapping("/api/projects/{projectId}/tasks/{taskId}/attachments")
+public class TaskAttachmentController {
+
+    // Request attributes of Tomcat's sendfile support (org.apache.tomcat.util.net.Constants)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // An attachment id always names the same content, so clients may cache it for long
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().getHeaderValue();
+
+    private final AttachmentService attachmentService;
+
+    public TaskAttachmentController(AttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TaskAttachmentDto>> getAttachments(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(attachmentService.getAttachments(projectId, taskId));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<TaskAttachmentDto> uploadAttachment(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestParam String fileName,
+            HttpServletRequest request) throws IOException {
+        TaskAttachmentDto created = attachmentService.uploadAttachment(projectId, taskId, fileName,
+                request.getContentType(), request.getContentLengthLong(), request.getInputStream());
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{attachmentId}")
+    public void downloadAttachment(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @PathVariable Long attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AttachmentService.Content content = attachmentService.getAttachmentContent(projectId, taskId, attachmentId);
+        TaskAttachmentDto attachment = content.attachment();
+        String etag = "\"" + attachment.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        long length = attachment.getSize();
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            // HttpRange does not reject a start past the end of the file, and nothing of an empty one is satisfiable
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(attachment.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(end - start + 1);
+        if (!"HEAD".equals(request.getMethod()) && length > 0) {
+            send(request, response, content.path(), start, end + 1);
+        }
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<Void> deleteAttachment(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @PathVariable Long attachmentId) {
+        attachmentService.deleteAttachment(projectId, taskId, attachmentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // The single range to serve, or null for the whole file. Malformed and multiple ranges are ignored,
+    // as is a Range whose If-Range validator no longer matches
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // end is exclusive
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path file,
+                             long start, long end) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat sends the file after this method returns, from its poller thread
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent == 0 && position >= channel.size()) {
+                    throw new IOException("Attachment file " + file + " is shorter than recorded");
+                }
+                position += sent;
+            }
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.dto.TaskAssigneeRequest;
+import com.example.taskmanager.dto.TaskDueDateRequest;
 import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskParentRequest;
+import com.example.taskmanager.dto.TaskPositionRequest;
+import com.example.taskmanager.dto.TaskSearchFilter;
+import com.example.taskmanager.dto.TaskTreeDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.IdempotencyService;
+import com.example.taskmanager.service.ProjectReadModel;
 import com.example.taskmanager.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -10,36 +19,77 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
 public class TaskController {
 
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+    private final ProjectReadModel readModel;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, IdempotencyService idempotencyService, ProjectReadModel readModel) {
         this.taskService = taskService;
+        this.idempotencyService = idempotencyService;
+        this.readModel = readModel;
     }
 
     @GetMapping
     public ResponseEntity<Page<TaskDto>> getTasksByProjectId(
             @PathVariable Long projectId,
+            @RequestParam(required = false) Set<String> fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             Pageable pageable) {
-        return ResponseEntity.ok(taskService.getTasksByProjectId(projectId, pageable));
+        Optional<Page<TaskDto>> cached = includeArchived ? Optional.empty() : readModel.findTasks(projectId, fields, pageable);
+        return ResponseEntity.ok(cached.orElseGet(
+                () -> taskService.getTasksByProjectId(projectId, fields, includeArchived, pageable)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<TaskDto>> searchTasks(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Set<String> labels,
+            @RequestParam(required = false) Set<String> anyLabels,
+            @RequestParam(required = false) Set<String> excludedLabels,
+            @RequestParam(required = false) Task.TaskStatus status,
+            @RequestParam(required = false) Boolean blocked,
+            @RequestParam(required = false) Set<String> fields,
+            Pageable pageable) {
+        TaskSearchFilter filter = new TaskSearchFilter(labels, anyLabels, excludedLabels, status, blocked);
+        return ResponseEntity.ok(taskService.searchTasks(projectId, filter, fields, pageable));
+    }
+
+    @GetMapping("/topological-order")
+    public ResponseEntity<Page<TaskDto>> getTasksInTopologicalOrder(@PathVariable Long projectId, Pageable pageable) {
+        return ResponseEntity.ok(taskService.getTasksInTopologicalOrder(projectId, pageable));
+    }
+
+    @GetMapping("/unblocked")
+    public ResponseEntity<Page<TaskDto>> getUnblockedTasks(@PathVariable Long projectId, Pageable pageable) {
+        return ResponseEntity.ok(taskService.getUnblockedTasks(projectId, pageable));
     }
 
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskDto> getTaskById(
             @PathVariable Long projectId,
-            @PathVariable Long taskId) {
-        return ResponseEntity.ok(taskService.getTaskById(projectId, taskId));
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(readModel.findTask(projectId, taskId)
+                .orElseGet(() -> taskService.getTaskById(projectId, taskId, includeArchived)));
     }
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
     public ResponseEntity<TaskDto> createTask(
             @PathVariable Long projectId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody TaskDto taskDto) {
-        return new ResponseEntity<>(taskService.createTask(projectId, taskDto), HttpStatus.CREATED);
+        TaskDto created = idempotencyService.execute(idempotencyKey, "createTask:" + projectId, taskDto,
+                () -> taskService.createTask(projectId, taskDto));
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
     @PutMapping("/{taskId}")
@@ -51,6 +101,83 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTask(projectId, taskId, taskDto));
     }
 
+    @PutMapping("/{taskId}/position")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<TaskDto> moveTask(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody TaskPositionRequest position) {
+        return ResponseEntity.ok(taskService.moveTask(projectId, taskId, position));
+    }
+
+    @PutMapping("/{taskId}/assignee")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<TaskDto> assignTask(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskAssigneeRequest assignee) {
+        return ResponseEntity.ok(taskService.assignTask(projectId, taskId, assignee.getAssignee()));
+    }
+
+    @PutMapping("/{taskId}/due-date")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<TaskDto> setDueDate(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody TaskDueDateRequest dueDate) {
+        return ResponseEntity.ok(taskService.setDueDate(projectId, taskId, dueDate.getDueAt()));
+    }
+
+    @GetMapping("/{taskId}/tree")
+    public ResponseEntity<TaskTreeDto> getTaskTree(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskService.getTaskTree(projectId, taskId));
+    }
+
+    @PutMapping("/{taskId}/parent")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<TaskDto> moveSubtree(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @RequestBody TaskParentRequest parent) {
+        return ResponseEntity.ok(taskService.moveSubtree(projectId, taskId, parent.getParentId()));
+    }
+
+    @PostMapping("/{taskId}/restore")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<TaskDto> restoreTask(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskService.restoreTask(projectId, taskId));
+    }
+
+    @GetMapping("/{taskId}/dependencies")
+    public ResponseEntity<List<Long>> getDependencies(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId) {
+        return ResponseEntity.ok(taskService.getDependencies(projectId, taskId));
+    }
+
+    @PutMapping("/{taskId}/dependencies/{blockedById}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<List<Long>> addDependency(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @PathVariable Long blockedById) {
+        return ResponseEntity.ok(taskService.addDependency(projectId, taskId, blockedById));
+    }
+
+    @DeleteMapping("/{taskId}/dependencies/{blockedById}")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public ResponseEntity<Void> removeDependency(
+            @PathVariable Long projectId,
+            @PathVariable Long taskId,
+            @PathVariable Long blockedById) {
+        taskService.removeDependency(projectId, taskId, blockedById);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{taskId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<Void> deleteTask(
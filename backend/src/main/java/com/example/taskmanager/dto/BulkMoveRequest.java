@@ -0,0 +1,22 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMoveRequest {
+
+    @Valid
+    @NotNull(message = "Filter is required")
+    private TaskFilter filter;
+
+    @NotNull(message = "Target project id is required")
+    private Long targetProjectId;
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+
+    @Valid
+    @NotNull(message = "Filter is required")
+    private TaskFilter filter;
+
+    @NotNull(message = "Target status is required")
+    private Task.TaskStatus targetStatus;
+}
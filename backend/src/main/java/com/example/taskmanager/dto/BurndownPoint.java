@@ -0,0 +1,29 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One UTC day of a project's burndown: tasks that became open, were completed (the day's throughput)
+ * or were deleted while open that day, and the open tasks left at the end of it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BurndownPoint {
+
+    private LocalDate day;
+
+    private long opened;
+
+    private long closed;
+
+    private long removed;
+
+    private long remaining;
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Cycle-time percentiles, in seconds, of the tasks a project completed between two UTC days
+ * (inclusive). Cycle time runs from the first move to IN_PROGRESS to DONE; tasks that were never
+ * started are not counted. The percentiles are null when no task was counted.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleTimeStats {
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private long tasks;
+
+    private Long p50Seconds;
+
+    private Long p85Seconds;
+
+    private Long p95Seconds;
+}
@@ -1,7 +1,12 @@
 package com.example.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 
+import java.time.Instant;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProjectDto {
 
     private Long id;
@@ -11,6 +16,15 @@ public class ProjectDto {
 
     private String description;
 
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    // Latest change to the project or any of its tasks, written with a delay of a few seconds
+    private Instant lastActivityAt;
+
+    private List<TaskDto> tasks;
+
     public ProjectDto() {}
 
     public ProjectDto(Long id, String name, String description) {
@@ -42,4 +56,36 @@ public class ProjectDto {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(Instant lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public List<TaskDto> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskDto> tasks) {
+        this.tasks = tasks;
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of the recently-active-projects feed. {@code nextCursor} is passed back as {@code cursor}
+ * to read the following page and is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectFeedDto {
+
+    private List<ProjectDto> projects;
+
+    private String nextCursor;
+}
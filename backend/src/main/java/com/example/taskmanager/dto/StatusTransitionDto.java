@@ -0,0 +1,25 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One entry of a task's status history; {@code fromStatus} is null for the creation of the task.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusTransitionDto {
+
+    private Task.TaskStatus fromStatus;
+
+    private Task.TaskStatus toStatus;
+
+    private Instant changedAt;
+}
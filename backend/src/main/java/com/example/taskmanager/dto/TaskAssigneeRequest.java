@@ -0,0 +1,20 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * New assignee of a task, as a Cognito user's {@code sub}; {@code null} unassigns the task.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAssigneeRequest {
+
+    @Size(min = 1, max = 255, message = "Assignee must be 1-255 characters")
+    private String assignee;
+}
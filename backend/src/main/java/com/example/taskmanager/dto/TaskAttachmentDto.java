@@ -0,0 +1,32 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a task attachment. {@code sha256} (hex) identifies the content and is its ETag.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAttachmentDto {
+
+    private Long id;
+
+    private Long taskId;
+
+    private String fileName;
+
+    private String contentType;
+
+    private long size;
+
+    private String sha256;
+
+    private Instant createdAt;
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Number of (non-archived) tasks per status, of one project or, without {@code projectId}, of all
+ * projects. Every status is present, with zero when no task has it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskCountsDto {
+
+    private Long projectId;
+
+    private long total;
+
+    private Map<Task.TaskStatus, Long> byStatus;
+}
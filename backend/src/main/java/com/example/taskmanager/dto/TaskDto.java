@@ -1,17 +1,24 @@
 package com.example.taskmanager.dto;
 
 import com.example.taskmanager.entity.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
+import java.util.Set;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TaskDto {
 
     private Long id;
@@ -25,6 +32,32 @@ public class TaskDto {
     private Task.TaskStatus status;
 
     private Long projectId;
+
+    // Replaces the task's labels when present; names are trimmed and lower-cased
+    @Size(max = 20, message = "A task can have at most 20 labels")
+    private Set<@Pattern(regexp = "\\s*[A-Za-z0-9][A-Za-z0-9_-]{0,31}\\s*",
+            message = "Labels are 1-32 letters, digits, '-' or '_'") String> labels;
+
+    // Only honoured on creation; subtasks are moved through the parent endpoint
+    private Long parentId;
+
+    // Cognito "sub" of the assignee. Only honoured on creation; reassign through the assignee endpoint
+    @Size(max = 255, message = "Assignee must be at most 255 characters")
+    private String assignee;
+
+    // Kept by updates that leave it out, like labels; removed through the due-date endpoint. A reminder fires when it is reached
+    private Instant dueAt;
+
+    // Assigned by the server; clients reorder through the position endpoint
+    private String rank;
+
+    // Assigned by the server
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    // Only set when archived tasks were requested
+    private Boolean archived;
 }
 
 
@@ -0,0 +1,23 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paged task list. {@code nextCursor} is passed back as {@code cursor} to read
+ * the following page and is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFeedDto {
+
+    private List<TaskDto> tasks;
+
+    private String nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Selects the tasks a bulk operation applies to. Criteria are combined with AND;
+ * {@code minId}/{@code maxId} are inclusive.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+
+    private Long projectId;
+
+    private Task.TaskStatus status;
+
+    private Long minId;
+
+    private Long maxId;
+
+    private List<Long> ids;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return projectId == null && status == null && minId == null && maxId == null
+                && (ids == null || ids.isEmpty());
+    }
+}
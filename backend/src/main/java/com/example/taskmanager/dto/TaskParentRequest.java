@@ -0,0 +1,18 @@
+package com.example.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * New parent of a task; {@code null} makes it a top-level task. Its subtasks move along with it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskParentRequest {
+
+    private Long parentId;
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Target position of a task on a board: the column ({@code status}, defaults to the current one)
+ * and the tasks that should end up directly above and below it. Leaving both neighbours out
+ * appends the task to the end of the column.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPositionRequest {
+
+    private Task.TaskStatus status;
+
+    private Long previousTaskId;
+
+    private Long nextTaskId;
+}
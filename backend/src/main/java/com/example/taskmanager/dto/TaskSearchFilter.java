@@ -0,0 +1,31 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Set;
+
+/**
+ * Label search within a project: tasks carrying every one of {@code labels}, at least one of
+ * {@code anyLabels} (if given) and none of {@code excludedLabels}, optionally narrowed to a status and
+ * to tasks that are (or are not) blocked by an open task. Empty criteria are ignored.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchFilter {
+
+    private Set<String> labels;
+
+    private Set<String> anyLabels;
+
+    private Set<String> excludedLabels;
+
+    private Task.TaskStatus status;
+
+    private Boolean blocked;
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A task in its hierarchy: the path from the top-level task down to its parent, every subtask at any
+ * depth (ordered by depth, then board order; {@code parentId} links them), and how many tasks of the
+ * subtree, the task itself included, are in each status. Descriptions are not selected.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTreeDto {
+
+    private TaskDto task;
+
+    private List<TaskDto> ancestors;
+
+    private List<TaskDto> subtasks;
+
+    private Map<Task.TaskStatus, Long> statusCounts;
+}
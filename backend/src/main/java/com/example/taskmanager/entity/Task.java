@@ -1,13 +1,23 @@
 package com.example.taskmanager.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "tasks")
+@EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,16 +31,73 @@ public class Task {
     @Column(nullable = false)
     private String title;
 
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "text")
     private String description;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.TODO;
 
+    // Fractional ordering key within a (project, status) column, see RankKeys; "C" collation keeps byte order
+    @Column(name = "rank_key", columnDefinition = "varchar(255) collate \"C\"")
+    private String rank;
+
+    // Normalized (trimmed, lower-case, sorted) label names; LabelIndex keeps a bitmap per label for filtering
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "text[]", nullable = false)
+    private String[] labels = new String[0];
+
+    // Set when the task enters DONE; TaskArchiver moves tasks that have been done for long enough
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    // Set the first time the task enters IN_PROGRESS; the start of its cycle time
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    // Cognito "sub" of the user the task is assigned to; null when unassigned
+    @Column(name = "assignee")
+    private String assignee;
+
+    // When the task is due; TaskReminderScheduler fires a reminder at this time unless the task is done
+    @Column(name = "due_at")
+    private Instant dueAt;
+
+    // Set when the reminder for dueAt has fired; cleared whenever dueAt changes
+    @Column(name = "reminded_at")
+    private Instant remindedAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Set by entity writes; bulk and native updates of tasks set it themselves
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // Parent task in the same project, null for top-level tasks. Set on creation only: re-parenting goes
+    // through TaskRepository.updateParent so the task_tree triggers move the whole subtree
+    @Column(name = "parent_id", updatable = false)
+    private Long parentId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    // Read-only copy of the partition key; Hibernate adds it to the WHERE clause of entity
+    // updates and deletes so they touch a single partition (see V2__partition_tasks_by_project.sql)
+    @PartitionKey
+    @Column(name = "project_id", insertable = false, updatable = false)
+    @Setter(AccessLevel.NONE)
+    private Long projectId;
+
+    public void setProject(Project project) {
+        this.project = project;
+        this.projectId = project != null ? project.getId() : null;
+    }
+
     public enum TaskStatus {
         TODO,
         IN_PROGRESS,
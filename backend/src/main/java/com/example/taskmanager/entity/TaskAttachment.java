@@ -0,0 +1,51 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A file attached to task {@code taskId} of {@code projectId}. The content is the blob named by
+ * {@code sha256} in AttachmentStore; Task has no association to this entity, so attachments are
+ * only loaded by the attachment endpoints.
+ */
+@Entity
+@Table(name = "task_attachments")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(columnDefinition = "char(64)", nullable = false, updatable = false)
+    @JdbcTypeCode(SqlTypes.CHAR)
+    private String sha256;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
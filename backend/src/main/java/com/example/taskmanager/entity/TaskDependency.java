@@ -0,0 +1,47 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * "Task {@code taskId} is blocked by task {@code blockedById}". Both tasks belong to {@code projectId};
+ * rows disappear with either task and when a task moves to another project.
+ */
+@Entity
+@Table(name = "task_dependencies")
+@IdClass(TaskDependency.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependency {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Id
+    @Column(name = "blocked_by_id")
+    private Long blockedById;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    public static class Key implements Serializable {
+        private Long projectId;
+        private Long taskId;
+        private Long blockedById;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.taskmanager.event;
+
+/**
+ * Published by {@code ProjectService} for every project write and delivered to listeners after the
+ * transaction commits. Deleting a project also deletes its tasks, without a {@link TaskChangedEvent} each.
+ * {@code remote} events are republished by {@code InvalidationBus} for writes made by another instance.
+ */
+public record ProjectChangedEvent(Long projectId, Type type, boolean remote) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public ProjectChangedEvent(Long projectId, Type type) {
+        this(projectId, type, false);
+    }
+}
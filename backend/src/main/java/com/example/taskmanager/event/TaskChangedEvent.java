@@ -0,0 +1,46 @@
+package com.example.taskmanager.event;
+
+import com.example.taskmanager.entity.Task;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Published by {@code TaskService} for every single-task write and delivered to listeners after the
+ * transaction commits. Carries the state before and after the change so listeners can update derived
+ * structures without reading the task back; {@code previous*} are null for {@link Type#CREATED},
+ * the current values are null for {@link Type#DELETED}.
+ */
+public record TaskChangedEvent(
+        Long projectId,
+        Long taskId,
+        Type type,
+        Task.TaskStatus previousStatus,
+        Task.TaskStatus status,
+        Set<String> previousLabels,
+        Set<String> labels) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(task.getProjectId(), task.getId(), Type.CREATED,
+                null, task.getStatus(), null, labelsOf(task));
+    }
+
+    public static TaskChangedEvent updated(Task task, Task.TaskStatus previousStatus, Set<String> previousLabels) {
+        return new TaskChangedEvent(task.getProjectId(), task.getId(), Type.UPDATED,
+                previousStatus, task.getStatus(), previousLabels, labelsOf(task));
+    }
+
+    public static Set<String> labelsOf(Task task) {
+        return Set.copyOf(Arrays.asList(task.getLabels()));
+    }
+
+    public static TaskChangedEvent deleted(Long projectId, Long taskId, Task.TaskStatus status, Set<String> labels) {
+        return new TaskChangedEvent(projectId, taskId, Type.DELETED, status, null, labels, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.event;
+
+import com.example.taskmanager.entity.Task;
+
+import java.time.Instant;
+
+/**
+ * Published by {@code TaskService} when a single-task write changes when the task's reminder is due,
+ * and delivered to listeners after the transaction commits. {@code dueAt} is null when the task no longer
+ * has a pending reminder: no due date, done, or already reminded.
+ */
+public record TaskReminderChangedEvent(Long projectId, Long taskId, Instant dueAt) {
+
+    public static Instant pendingReminder(Task task) {
+        return task.getStatus() != Task.TaskStatus.DONE && task.getRemindedAt() == null ? task.getDueAt() : null;
+    }
+
+    public static TaskReminderChangedEvent of(Task task) {
+        return new TaskReminderChangedEvent(task.getProjectId(), task.getId(), pendingReminder(task));
+    }
+}
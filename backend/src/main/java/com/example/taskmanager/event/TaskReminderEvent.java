@@ -0,0 +1,10 @@
+package com.example.taskmanager.event;
+
+import java.time.Instant;
+
+/**
+ * Published by {@code TaskReminderScheduler}, outside any transaction, once a task's due date has been
+ * reached and its reminder recorded. Published by the one instance that holds the reminder lease.
+ */
+public record TaskReminderEvent(Long projectId, Long taskId, Instant dueAt) {
+}
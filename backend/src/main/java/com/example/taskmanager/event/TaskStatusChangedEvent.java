@@ -0,0 +1,35 @@
+package com.example.taskmanager.event;
+
+import com.example.taskmanager.entity.Task;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Published by {@code TaskService} when a write creates a task or changes its status (one event per task
+ * for bulk status updates), and delivered to listeners after the transaction commits. {@code previousStatus} is null for a new task;
+ * {@code startedAt} is when the task first entered IN_PROGRESS, if it has.
+ */
+public record TaskStatusChangedEvent(
+        Long projectId,
+        Long taskId,
+        Task.TaskStatus previousStatus,
+        Task.TaskStatus status,
+        Instant changedAt,
+        Instant startedAt) {
+
+    public static TaskStatusChangedEvent of(Task task, Task.TaskStatus previousStatus, Instant changedAt) {
+        return new TaskStatusChangedEvent(task.getProjectId(), task.getId(), previousStatus, task.getStatus(),
+                changedAt, task.getStartedAt());
+    }
+
+    /**
+     * Time from the first start to completion, or null unless this transition completed a started task.
+     */
+    public Duration cycleTime() {
+        if (status != Task.TaskStatus.DONE || previousStatus == Task.TaskStatus.DONE || startedAt == null) {
+            return null;
+        }
+        return Duration.between(startedAt, changedAt);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.event;
+
+/**
+ * Published after set-based writes (bulk updates, archival) that change tasks without reading them.
+ * Listeners drop whatever they derived from the affected tasks; a null {@code projectId} means any project.
+ * {@code remote} events are republished by {@code InvalidationBus} for writes made by another instance.
+ */
+public record TasksInvalidatedEvent(Long projectId, boolean remote) {
+
+    public TasksInvalidatedEvent(Long projectId) {
+        this(projectId, false);
+    }
+
+    public static TasksInvalidatedEvent allProjects() {
+        return new TasksInvalidatedEvent(null);
+    }
+}
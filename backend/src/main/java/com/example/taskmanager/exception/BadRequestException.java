@@ -0,0 +1,10 @@
+package com.example.taskmanager.exception;
+
+/**
+ * A request parameter or body the API rejects with 400 Bad Request; the message is returned to the client.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
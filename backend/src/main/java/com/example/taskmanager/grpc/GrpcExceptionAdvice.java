@@ -0,0 +1,42 @@
+package com.example.taskmanager.grpc;
+
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import io.grpc.Status;
+import jakarta.validation.ConstraintViolationException;
+import net.devh.boot.grpc.server.advice.GrpcAdvice;
+import net.devh.boot.grpc.server.advice.GrpcExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * gRPC counterpart of {@link com.example.taskmanager.exception.ApiExceptionHandler}:
+ * maps service exceptions to status codes instead of HTTP responses.
+ */
+@GrpcAdvice
+public class GrpcExceptionAdvice {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcExceptionAdvice.class);
+
+    @GrpcExceptionHandler(ResourceNotFoundException.class)
+    public Status handleResourceNotFoundException(ResourceNotFoundException ex) {
+        logger.error("Resource not found: {}", ex.getMessage());
+        return toStatus(ex);
+    }
+
+    @GrpcExceptionHandler({ConstraintViolationException.class, BadRequestException.class})
+    public Status handleInvalidArgument(RuntimeException ex) {
+        logger.error("Invalid gRPC request: {}", ex.getMessage());
+        return toStatus(ex);
+    }
+
+    static Status toStatus(RuntimeException ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return Status.NOT_FOUND.withDescription(ex.getMessage());
+        }
+        if (ex instanceof ConstraintViolationException || ex instanceof BadRequestException) {
+            return Status.INVALID_ARGUMENT.withDescription(ex.getMessage());
+        }
+        return Status.INTERNAL.withDescription("An unexpected error occurred: " + ex.getMessage());
+    }
+}
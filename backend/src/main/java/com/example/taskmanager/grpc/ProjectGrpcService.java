@@ -0,0 +1,84 @@
+package com.example.taskmanager.grpc;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.grpc.proto.DeleteProjectRequest;
+import com.example.taskmanager.grpc.proto.GetProjectRequest;
+import com.example.taskmanager.grpc.proto.ListProjectsRequest;
+import com.example.taskmanager.grpc.proto.ListProjectsResponse;
+import com.example.taskmanager.grpc.proto.ProjectMessage;
+import com.example.taskmanager.grpc.proto.ProjectServiceGrpc;
+import com.example.taskmanager.grpc.proto.UpdateProjectRequest;
+import com.example.taskmanager.service.ProjectService;
+import com.google.protobuf.Empty;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+@GrpcService
+@PreAuthorize("isAuthenticated()")
+public class ProjectGrpcService extends ProjectServiceGrpc.ProjectServiceImplBase {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final ProjectService projectService;
+    private final Validator validator;
+
+    public ProjectGrpcService(ProjectService projectService, Validator validator) {
+        this.projectService = projectService;
+        this.validator = validator;
+    }
+
+    @Override
+    public void listProjects(ListProjectsRequest request, StreamObserver<ListProjectsResponse> responseObserver) {
+        int size = request.getSize() > 0 ? request.getSize() : DEFAULT_PAGE_SIZE;
+        Page<ProjectDto> page = projectService.getAllProjects(PageRequest.of(request.getPage(), size));
+        ListProjectsResponse.Builder response = ListProjectsResponse.newBuilder()
+                .setTotalElements(page.getTotalElements())
+                .setTotalPages(page.getTotalPages());
+        page.forEach(project -> response.addProjects(ProtoMapper.toMessage(project)));
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getProject(GetProjectRequest request, StreamObserver<ProjectMessage> responseObserver) {
+        responseObserver.onNext(ProtoMapper.toMessage(projectService.getProjectById(request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public void createProject(ProjectMessage request, StreamObserver<ProjectMessage> responseObserver) {
+        ProjectDto projectDto = validated(ProtoMapper.toDto(request));
+        responseObserver.onNext(ProtoMapper.toMessage(projectService.createProject(projectDto)));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public void updateProject(UpdateProjectRequest request, StreamObserver<ProjectMessage> responseObserver) {
+        ProjectDto projectDto = validated(ProtoMapper.toDto(request.getProject()));
+        responseObserver.onNext(ProtoMapper.toMessage(projectService.updateProject(request.getId(), projectDto)));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public void deleteProject(DeleteProjectRequest request, StreamObserver<Empty> responseObserver) {
+        projectService.deleteProject(request.getId());
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    private ProjectDto validated(ProjectDto projectDto) {
+        var violations = validator.validate(projectDto);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return projectDto;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.taskmanager.grpc;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.grpc.proto.ProjectMessage;
+import com.example.taskmanager.grpc.proto.TaskMessage;
+import com.example.taskmanager.grpc.proto.TaskStatus;
+
+final class ProtoMapper {
+
+    private ProtoMapper() {
+    }
+
+    static ProjectMessage toMessage(ProjectDto dto) {
+        ProjectMessage.Builder builder = ProjectMessage.newBuilder()
+                .setId(dto.getId())
+                .setName(dto.getName());
+        if (dto.getDescription() != null) {
+            builder.setDescription(dto.getDescription());
+        }
+        return builder.build();
+    }
+
+    static ProjectDto toDto(ProjectMessage message) {
+        ProjectDto dto = new ProjectDto();
+        dto.setName(message.getName());
+        dto.setDescription(emptyToNull(message.getDescription()));
+        return dto;
+    }
+
+    static TaskMessage toMessage(TaskDto dto) {
+        TaskMessage.Builder builder = TaskMessage.newBuilder()
+                .setId(dto.getId())
+                .setTitle(dto.getTitle())
+                .setStatus(TaskStatus.valueOf(dto.getStatus().name()))
+                .setProjectId(dto.getProjectId());
+        if (dto.getDescription() != null) {
+            builder.setDescription(dto.getDescription());
+        }
+        return builder.build();
+    }
+
+    static TaskDto toDto(TaskMessage message) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(message.getTitle());
+        dto.setDescription(emptyToNull(message.getDescription()));
+        dto.setStatus(Task.TaskStatus.valueOf(message.getStatus().name()));
+        return dto;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
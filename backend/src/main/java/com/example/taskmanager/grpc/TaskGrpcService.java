@@ -0,0 +1,197 @@
+package com.example.taskmanager.grpc;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.grpc.proto.CreateTaskRequest;
+import com.example.taskmanager.grpc.proto.CreateTasksResponse;
+import com.example.taskmanager.grpc.proto.DeleteTaskRequest;
+import com.example.taskmanager.grpc.proto.GetTaskRequest;
+import com.example.taskmanager.grpc.proto.ListTasksRequest;
+import com.example.taskmanager.grpc.proto.TaskMessage;
+import com.example.taskmanager.grpc.proto.TaskServiceGrpc;
+import com.example.taskmanager.grpc.proto.UpdateTaskRequest;
+import com.example.taskmanager.service.TaskService;
+import com.google.protobuf.Empty;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+@GrpcService
+@PreAuthorize("isAuthenticated()")
+public class TaskGrpcService extends TaskServiceGrpc.TaskServiceImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskGrpcService.class);
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final TaskService taskService;
+    private final Validator validator;
+
+    public TaskGrpcService(TaskService taskService, Validator validator) {
+        this.taskService = taskService;
+        this.validator = validator;
+    }
+
+    /**
+     * Streams every task of a project in id order, reading it from the database one keyset batch at a
+     * time, so large projects never have to be held in memory at once. Batches are only read while the
+     * call is ready to send; a slow client holds back the reads instead of filling the server's buffers.
+     */
+    @Override
+    public void listTasks(ListTasksRequest request, StreamObserver<TaskMessage> responseObserver) {
+        int batchSize = request.getBatchSize() > 0
+                ? Math.min(request.getBatchSize(), MAX_BATCH_SIZE)
+                : DEFAULT_BATCH_SIZE;
+        TaskStream stream = new TaskStream(request.getProjectId(), batchSize, responseObserver);
+        if (responseObserver instanceof ServerCallStreamObserver<TaskMessage> serverObserver) {
+            serverObserver.setOnCancelHandler(() ->
+                    logger.info("Task stream for project id: {} cancelled by client", request.getProjectId()));
+            // Also runs once the call is ready, which gRPC replays if it happened before this method
+            serverObserver.setOnReadyHandler(stream);
+        } else {
+            stream.run();
+        }
+    }
+
+    /**
+     * Sends tasks while the call is ready and reads the next batch when the current one is sent.
+     * gRPC runs the ready handler on one thread at a time, so the state needs no locking.
+     */
+    private final class TaskStream implements Runnable {
+
+        private final Long projectId;
+        private final int batchSize;
+        private final StreamObserver<TaskMessage> observer;
+        private Iterator<TaskDto> batch = Collections.emptyIterator();
+        private Long lastId;
+        private boolean exhausted;
+        private boolean done;
+
+        TaskStream(Long projectId, int batchSize, StreamObserver<TaskMessage> observer) {
+            this.projectId = projectId;
+            this.batchSize = batchSize;
+            this.observer = observer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!done && isReady(observer)) {
+                    if (batch.hasNext()) {
+                        observer.onNext(ProtoMapper.toMessage(batch.next()));
+                    } else if (exhausted) {
+                        done = true;
+                        observer.onCompleted();
+                    } else {
+                        List<TaskDto> tasks = taskService.getTasksAfterId(projectId, lastId, batchSize);
+                        exhausted = tasks.size() < batchSize;
+                        if (!tasks.isEmpty()) {
+                            lastId = tasks.get(tasks.size() - 1).getId();
+                        }
+                        batch = tasks.iterator();
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                observer.onError(GrpcExceptionAdvice.toStatus(e).asRuntimeException());
+            }
+        }
+    }
+
+    @Override
+    public void getTask(GetTaskRequest request, StreamObserver<TaskMessage> responseObserver) {
+        responseObserver.onNext(ProtoMapper.toMessage(
+                taskService.getTaskById(request.getProjectId(), request.getTaskId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public void createTask(CreateTaskRequest request, StreamObserver<TaskMessage> responseObserver) {
+        TaskDto created = taskService.createTask(request.getProjectId(), validated(ProtoMapper.toDto(request.getTask())));
+        responseObserver.onNext(ProtoMapper.toMessage(created));
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Creates tasks as they arrive on the client stream and answers once with the created ids.
+     * The first failure aborts the call; tasks created before it are kept.
+     */
+    @Override
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public StreamObserver<CreateTaskRequest> createTasks(StreamObserver<CreateTasksResponse> responseObserver) {
+        return new StreamObserver<>() {
+            private final CreateTasksResponse.Builder response = CreateTasksResponse.newBuilder();
+            private boolean failed;
+
+            @Override
+            public void onNext(CreateTaskRequest request) {
+                if (failed) {
+                    return;
+                }
+                try {
+                    TaskDto created = taskService.createTask(request.getProjectId(),
+                            validated(ProtoMapper.toDto(request.getTask())));
+                    response.addTaskIds(created.getId());
+                } catch (RuntimeException e) {
+                    failed = true;
+                    logger.warn("Bulk task creation aborted after {} tasks: {}", response.getTaskIdsCount(), e.getMessage());
+                    responseObserver.onError(GrpcExceptionAdvice.toStatus(e).asRuntimeException());
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                logger.warn("Bulk task creation stream failed after {} tasks: {}", response.getTaskIdsCount(), t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                response.setCreatedCount(response.getTaskIdsCount());
+                responseObserver.onNext(response.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public void updateTask(UpdateTaskRequest request, StreamObserver<TaskMessage> responseObserver) {
+        TaskDto updated = taskService.updateTask(request.getProjectId(), request.getTaskId(),
+                validated(ProtoMapper.toDto(request.getTask())));
+        responseObserver.onNext(ProtoMapper.toMessage(updated));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public void deleteTask(DeleteTaskRequest request, StreamObserver<Empty> responseObserver) {
+        taskService.deleteTask(request.getProjectId(), request.getTaskId());
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    private TaskDto validated(TaskDto taskDto) {
+        var violations = validator.validate(taskDto);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return taskDto;
+    }
+
+    private static boolean isReady(StreamObserver<?> observer) {
+        return !(observer instanceof ServerCallStreamObserver<?> serverObserver)
+                || (serverObserver.isReady() && !serverObserver.isCancelled());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskmanager.health;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reports whether the JWT signing keys can be fetched from {@code jwk-set-uri}. Without them no
+ * request can be authenticated, so the indicator is part of the readiness group. A successful fetch
+ * is remembered for {@code health.jwks.cache-ttl} to keep probes from hammering the key-set endpoint.
+ */
+@Component
+public class JwksHealthIndicator extends AbstractHealthIndicator {
+
+    private static final int SIZE_LIMIT = 64 * 1024;
+
+    private final URI jwkSetUri;
+    private final Duration timeout;
+    private final Duration cacheTtl;
+    private volatile Instant lastSuccess;
+    private volatile int lastKeyCount;
+
+    public JwksHealthIndicator(@Value("${security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                               @Value("${health.jwks.timeout:PT2S}") Duration timeout,
+                               @Value("${health.jwks.cache-ttl:PT1M}") Duration cacheTtl) {
+        super("JWK set check failed");
+        this.jwkSetUri = URI.create(jwkSetUri);
+        this.timeout = timeout;
+        this.cacheTtl = cacheTtl;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        Instant success = lastSuccess;
+        if (success == null || success.plus(cacheTtl).isBefore(Instant.now())) {
+            int millis = (int) timeout.toMillis();
+            JWKSet keys = JWKSet.load(jwkSetUri.toURL(), millis, millis, SIZE_LIMIT);
+            if (keys.getKeys().isEmpty()) {
+                builder.down().withDetail("uri", jwkSetUri.toString()).withDetail("keys", 0);
+                return;
+            }
+            lastKeyCount = keys.getKeys().size();
+            lastSuccess = success = Instant.now();
+        }
+        builder.up()
+                .withDetail("uri", jwkSetUri.toString())
+                .withDetail("keys", lastKeyCount)
+                .withDetail("fetchedAt", success.toString());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.taskmanager.health;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.service.ProjectService;
+import com.example.taskmanager.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Exercises the hot paths before the instance reports ready. Spring Boot only switches readiness to
+ * ACCEPTING_TRAFFIC after all runners have finished, so until then the readiness probe fails and no
+ * traffic is routed here.
+ *
+ * <p>Each iteration reads a page of projects, one project and its first page of tasks through the
+ * services, serializes the results with the application's ObjectMapper, and verifies and converts a
+ * locally signed JWT. Decoding one token with the real decoder also loads the remote key set.
+ * Failures are logged and end the warm-up early; the readiness health checks report the cause.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class StartupWarmUp implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    public StartupWarmUp(ProjectService projectService,
+                         TaskService taskService,
+                         ObjectMapper objectMapper,
+                         JwtDecoder jwtDecoder,
+                         JwtAuthenticationConverter jwtAuthenticationConverter,
+                         @Value("${warmup.iterations:200}") int iterations,
+                         @Value("${warmup.max-duration:PT60S}") Duration maxDuration) {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.jwtDecoder = jwtDecoder;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        int completed = 0;
+        try {
+            RSAKey signingKey = new RSAKeyGenerator(2048).keyID("warm-up").generate();
+            String token = sign(signingKey);
+            JwtDecoder localDecoder = NimbusJwtDecoder.withPublicKey(signingKey.toRSAPublicKey()).build();
+            loadRemoteKeySet(token);
+
+            while (completed < iterations && System.nanoTime() < deadline) {
+                Page<ProjectDto> projects = projectService.getAllProjects(FIRST_PAGE);
+                objectMapper.writeValueAsBytes(projects);
+                if (!projects.isEmpty()) {
+                    Long projectId = projects.getContent().get(completed % projects.getNumberOfElements()).getId();
+                    objectMapper.writeValueAsBytes(projectService.getProjectById(projectId));
+                    objectMapper.writeValueAsBytes(taskService.getTasksByProjectId(projectId, FIRST_PAGE));
+                }
+                Jwt jwt = localDecoder.decode(token);
+                jwtAuthenticationConverter.convert(jwt);
+                completed++;
+            }
+            logger.info("Warm-up finished: {} iterations in {} ms", completed,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (Exception ex) {
+            logger.warn("Warm-up stopped after {} iterations: {}", completed, ex.getMessage());
+        }
+    }
+
+    // The real decoder rejects the foreign key id, but only after fetching and caching the key set
+    private void loadRemoteKeySet(String token) {
+        try {
+            jwtDecoder.decode(token);
+        } catch (JwtException expected) {
+            logger.debug("Warm-up token rejected by the configured decoder: {}", expected.getMessage());
+        }
+    }
+
+    private static String sign(RSAKey key) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("warm-up")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                .claim("cognito:groups", List.of("USER"))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -2,9 +2,23 @@ package com.example.taskmanager.repository;
 
 import com.example.taskmanager.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
+
+    // Both feed queries are range scans of idx_projects_last_activity
+    @Query(value = "SELECT * FROM projects ORDER BY last_activity_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Project> findMostRecentlyActive(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM projects WHERE (last_activity_at, id) < (:lastActivityAt, :id)"
+            + " ORDER BY last_activity_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Project> findMostRecentlyActiveBefore(@Param("lastActivityAt") Instant lastActivityAt,
+                                               @Param("id") Long id, @Param("limit") int limit);
 }
 
@@ -0,0 +1,19 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.ProjectDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+public interface ProjectRepositoryCustom {
+
+    List<String> PROJECTABLE_FIELDS = List.of(
+            "id", "name", "description", "createdAt", "updatedAt", "lastActivityAt");
+
+    /**
+     * Selects only the given {@link #PROJECTABLE_FIELDS} columns; fields that were not selected stay null.
+     */
+    Page<ProjectDto> findAllProjected(Set<String> fields, Pageable pageable);
+}
@@ -0,0 +1,75 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.entity.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProjectDto> findAllProjected(Set<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Project> root = query.from(Project.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections)
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<ProjectDto> content = typedQuery.getResultList().stream()
+                .map(tuple -> toDto(tuple, fields))
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, this::countAll);
+    }
+
+    private long countAll() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        query.select(cb.count(query.from(Project.class)));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static ProjectDto toDto(Tuple tuple, Set<String> fields) {
+        ProjectDto dto = new ProjectDto();
+        for (String field : fields) {
+            Object value = tuple.get(field);
+            switch (field) {
+                case "id" -> dto.setId((Long) value);
+                case "name" -> dto.setName((String) value);
+                case "description" -> dto.setDescription((String) value);
+                case "createdAt" -> dto.setCreatedAt((Instant) value);
+                case "updatedAt" -> dto.setUpdatedAt((Instant) value);
+                case "lastActivityAt" -> dto.setLastActivityAt((Instant) value);
+                default -> throw new IllegalArgumentException("Unknown project field: " + field);
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.StatusTransitionDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Status history and its daily rollups (see V7__task_status_history.sql). Writes are batched JDBC
+ * statements; every insert selects its project row, so rows of a project deleted in the meantime are
+ * skipped rather than failing the batch.
+ */
+@Repository
+public class TaskAnalyticsRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskAnalyticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record DailyFlow(Long projectId, LocalDate day, int opened, int closed, int removed) {
+    }
+
+    public record CycleTimeCount(Long projectId, LocalDate day, int bucket, int tasks) {
+    }
+
+    public void insertHistory(List<TaskStatusChangedEvent> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO task_status_history (project_id, task_id, from_status, to_status, changed_at)"
+                        + " SELECT p.id, ?, ?, ?, CAST(? AS timestamptz) FROM projects p WHERE p.id = ?",
+                transitions.stream().map(t -> new Object[]{
+                        t.taskId(),
+                        t.previousStatus() != null ? t.previousStatus().name() : null,
+                        t.status().name(),
+                        Timestamp.from(t.changedAt()),
+                        t.projectId()}).toList());
+    }
+
+    public void addDailyFlow(List<DailyFlow> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO project_daily_flow (project_id, day, opened, closed, removed)"
+                        + " SELECT p.id, CAST(? AS date), ?, ?, ? FROM projects p WHERE p.id = ?"
+                        + " ON CONFLICT (project_id, day) DO UPDATE SET"
+                        + " opened = project_daily_flow.opened + EXCLUDED.opened,"
+                        + " closed = project_daily_flow.closed + EXCLUDED.closed,"
+                        + " removed = project_daily_flow.removed + EXCLUDED.removed",
+                deltas.stream().map(d -> new Object[]{
+                        d.day(), d.opened(), d.closed(), d.removed(), d.projectId()}).toList());
+    }
+
+    public void addCycleTimes(List<CycleTimeCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO project_daily_cycle_times (project_id, day, bucket, tasks)"
+                        + " SELECT p.id, CAST(? AS date), CAST(? AS smallint), ? FROM projects p WHERE p.id = ?"
+                        + " ON CONFLICT (project_id, day, bucket) DO UPDATE SET"
+                        + " tasks = project_daily_cycle_times.tasks + EXCLUDED.tasks",
+                counts.stream().map(c -> new Object[]{
+                        c.day(), c.bucket(), c.tasks(), c.projectId()}).toList());
+    }
+
+    /**
+     * Open tasks at the start of {@code day}: the running sum of the rollup rows before it.
+     */
+    public long countOpenBefore(Long projectId, LocalDate day) {
+        Long open = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(opened - closed - removed), 0) FROM project_daily_flow"
+                        + " WHERE project_id = ? AND day < ?",
+                Long.class, projectId, day);
+        return open != null ? open : 0;
+    }
+
+    public List<DailyFlow> findDailyFlow(Long projectId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT day, opened, closed, removed FROM project_daily_flow"
+                        + " WHERE project_id = ? AND day BETWEEN ? AND ? ORDER BY day",
+                (rs, rowNum) -> new DailyFlow(projectId, rs.getObject("day", LocalDate.class),
+                        rs.getInt("opened"), rs.getInt("closed"), rs.getInt("removed")),
+                projectId, from, to);
+    }
+
+    /**
+     * Task counts per cycle-time bucket, merged over the days from {@code from} to {@code to}.
+     */
+    public SortedMap<Integer, Long> findCycleTimeBuckets(Long projectId, LocalDate from, LocalDate to) {
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        jdbcTemplate.query(
+                "SELECT bucket, sum(tasks) AS tasks FROM project_daily_cycle_times"
+                        + " WHERE project_id = ? AND day BETWEEN ? AND ? GROUP BY bucket",
+                rs -> {
+                    counts.put(rs.getInt("bucket"), rs.getLong("tasks"));
+                },
+                projectId, from, to);
+        return counts;
+    }
+
+    public List<StatusTransitionDto> findHistory(Long projectId, Long taskId) {
+        return jdbcTemplate.query(
+                "SELECT from_status, to_status, changed_at FROM task_status_history"
+                        + " WHERE project_id = ? AND task_id = ? ORDER BY changed_at, id",
+                (rs, rowNum) -> new StatusTransitionDto(
+                        rs.getString("from_status") != null ? Task.TaskStatus.valueOf(rs.getString("from_status")) : null,
+                        Task.TaskStatus.valueOf(rs.getString("to_status")),
+                        rs.getTimestamp("changed_at").toInstant()),
+                projectId, taskId);
+    }
+}
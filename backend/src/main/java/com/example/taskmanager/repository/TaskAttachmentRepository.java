@@ -0,0 +1,38 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.TaskAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
+
+    List<TaskAttachment> findByProjectIdAndTaskIdOrderById(Long projectId, Long taskId);
+
+    Optional<TaskAttachment> findByIdAndProjectIdAndTaskId(Long id, Long projectId, Long taskId);
+
+    /**
+     * Registers a stored file. A conflicting insert waits for a concurrent sweep deleting the same blob,
+     * so once this returns the blob row exists and is locked until the end of the transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attachment_blobs (sha256, size) VALUES (:sha256, :size)"
+            + " ON CONFLICT (sha256) DO UPDATE SET size = EXCLUDED.size", nativeQuery = true)
+    void upsertBlob(@Param("sha256") String sha256, @Param("size") long size);
+
+    /**
+     * Deletes up to {@code limit} attachments whose task is neither in {@code tasks} nor archived.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_attachments WHERE id IN (SELECT a.id FROM task_attachments a"
+            + " WHERE NOT EXISTS (SELECT 1 FROM tasks t WHERE t.project_id = a.project_id AND t.id = a.task_id)"
+            + " AND NOT EXISTS (SELECT 1 FROM tasks_archive ta WHERE ta.project_id = a.project_id AND ta.id = a.task_id)"
+            + " LIMIT :limit)", nativeQuery = true)
+    int deleteOrphaned(@Param("limit") int limit);
+}
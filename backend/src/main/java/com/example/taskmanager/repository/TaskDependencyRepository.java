@@ -0,0 +1,78 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, TaskDependency.Key> {
+
+    @Query(value = "SELECT blocked_by_id FROM task_dependencies WHERE project_id = :projectId AND task_id = :taskId"
+            + " ORDER BY blocked_by_id", nativeQuery = true)
+    List<Long> findBlockerIds(@Param("projectId") Long projectId, @Param("taskId") Long taskId);
+
+    /**
+     * The version and all edges of a project's graph as {@code [version, task_id, blocked_by_id]} rows,
+     * read in one statement so they come from the same snapshot. Edge columns are null for a project
+     * without dependencies; no rows means the project never had any.
+     */
+    @Query(value = "SELECT v.version, d.task_id, d.blocked_by_id FROM task_dependency_versions v"
+            + " LEFT JOIN task_dependencies d ON d.project_id = v.project_id"
+            + " WHERE v.project_id = :projectId", nativeQuery = true)
+    List<Object[]> findGraphRows(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT version FROM task_dependency_versions WHERE project_id = :projectId", nativeQuery = true)
+    Optional<Long> findVersion(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_dependency_versions (project_id) VALUES (:projectId)"
+            + " ON CONFLICT (project_id) DO NOTHING", nativeQuery = true)
+    void ensureVersion(@Param("projectId") Long projectId);
+
+    /**
+     * Locks the project's version row until the end of the transaction, serializing dependency writes
+     * of one project across all application instances.
+     */
+    @Query(value = "SELECT version FROM task_dependency_versions WHERE project_id = :projectId FOR UPDATE",
+            nativeQuery = true)
+    long lockVersion(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_dependencies (project_id, task_id, blocked_by_id)"
+            + " VALUES (:projectId, :taskId, :blockedById)", nativeQuery = true)
+    void insertDependency(@Param("projectId") Long projectId, @Param("taskId") Long taskId,
+                          @Param("blockedById") Long blockedById);
+
+    /**
+     * Archived dependencies of {@code taskId} whose other task is in the hot table, as
+     * {@code [task_id, blocked_by_id]} rows.
+     */
+    @Query(value = "SELECT a.task_id, a.blocked_by_id FROM task_dependencies_archive a"
+            + " JOIN tasks o ON o.project_id = a.project_id"
+            + "  AND o.id = CASE WHEN a.task_id = :taskId THEN a.blocked_by_id ELSE a.task_id END"
+            + " WHERE a.project_id = :projectId AND (a.task_id = :taskId OR a.blocked_by_id = :taskId)", nativeQuery = true)
+    List<Object[]> findRestorableArchived(@Param("projectId") Long projectId, @Param("taskId") Long taskId);
+
+    /**
+     * Drops the archived dependencies of a restored task, except those whose other task is still
+     * archived: they return when that task is restored.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM task_dependencies_archive a"
+            + " WHERE a.project_id = :projectId AND (a.task_id = :taskId OR a.blocked_by_id = :taskId)"
+            + " AND NOT EXISTS (SELECT 1 FROM tasks_archive o WHERE o.project_id = a.project_id"
+            + "  AND o.id = CASE WHEN a.task_id = :taskId THEN a.blocked_by_id ELSE a.task_id END)", nativeQuery = true)
+    int deleteArchived(@Param("projectId") Long projectId, @Param("taskId") Long taskId);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_dependencies"
+            + " WHERE project_id = :projectId AND task_id = :taskId AND blocked_by_id = :blockedById", nativeQuery = true)
+    int deleteDependency(@Param("projectId") Long projectId, @Param("taskId") Long taskId,
+                         @Param("blockedById") Long blockedById);
+}
@@ -1,16 +1,54 @@
 package com.example.taskmanager.repository;
 
 import com.example.taskmanager.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
     Optional<Task> findByIdAndProjectId(Long id, Long projectId);
+    boolean existsByIdAndProjectId(Long id, Long projectId);
+    boolean existsByProjectIdAndParentId(Long projectId, Long parentId);
+
+    @Query("select max(t.rank) from Task t where t.project.id = :projectId and t.status = :status")
+    String findMaxRank(@Param("projectId") Long projectId, @Param("status") Task.TaskStatus status);
+
+    // Rows of [id, status, labels] for building a project's LabelIndex; callers close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id, t.status, t.labels from Task t where t.projectId = :projectId")
+    Stream<Object[]> streamLabelRows(@Param("projectId") Long projectId);
+
+    // Rows of [id, projectId, status] for building TaskColumnIndex; callers close the stream
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select t.id, t.projectId, t.status from Task t")
+    Stream<Object[]> streamStatusRows();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select t.id, t.projectId, t.status from Task t where t.projectId = :projectId")
+    Stream<Object[]> streamStatusRows(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM task_tree"
+            + " WHERE project_id = :projectId AND ancestor_id = :ancestorId AND descendant_id = :descendantId)",
+            nativeQuery = true)
+    boolean isInSubtree(@Param("projectId") Long projectId, @Param("ancestorId") Long ancestorId,
+                        @Param("descendantId") Long descendantId);
+
+    // The tasks_tree_reparented trigger relinks the task's subtree in task_tree
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET parent_id = :parentId, updated_at = now() WHERE project_id = :projectId AND id = :id",
+            nativeQuery = true)
+    int updateParent(@Param("projectId") Long projectId, @Param("id") Long id, @Param("parentId") Long parentId);
 }
 
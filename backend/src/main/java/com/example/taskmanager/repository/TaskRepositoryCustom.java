@@ -0,0 +1,116 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskTreeDto;
+import com.example.taskmanager.entity.Project;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface TaskRepositoryCustom {
+
+    List<String> PROJECTABLE_FIELDS = List.of("id", "title", "description", "status", "projectId", "rank", "labels",
+            "assignee", "dueAt", "createdAt", "updatedAt");
+
+    /**
+     * Selects only the given {@link #PROJECTABLE_FIELDS} columns; fields that were not selected stay null.
+     */
+    Page<TaskDto> findProjectedByProjectId(Long projectId, Set<String> fields, Pageable pageable);
+
+    /**
+     * Like {@link #findProjectedByProjectId} but also returns archived tasks, flagged through
+     * {@link TaskDto#getArchived()}. Sorting is limited to the columns supported by task previews.
+     */
+    Page<TaskDto> findProjectedByProjectIdIncludingArchived(Long projectId, Set<String> fields, Pageable pageable);
+
+    Optional<TaskDto> findArchivedByIdAndProjectId(Long id, Long projectId);
+
+    /**
+     * Selects the given {@link #PROJECTABLE_FIELDS} of the tasks with these ids, in the order of
+     * {@code ids}. Ids that do not (or no longer) exist in the project are skipped.
+     */
+    List<TaskDto> findProjectedByIds(Long projectId, List<Long> ids, Set<String> fields);
+
+    /**
+     * Selects the given {@link #PROJECTABLE_FIELDS} of up to {@code limit} tasks of a project in id
+     * order, after {@code afterId} when given. Reads one keyset page without counting the project.
+     */
+    List<TaskDto> findProjectedAfterId(Long projectId, Long afterId, Set<String> fields, int limit);
+
+    /**
+     * Selects the given {@link #PROJECTABLE_FIELDS} of up to {@code limit} tasks of a project that
+     * neither block nor are blocked by another task, in {@code sort} order from {@code offset} on.
+     */
+    List<TaskDto> findProjectedWithoutDependencies(Long projectId, Set<String> fields, Sort sort, long offset, int limit);
+
+    long countWithoutDependencies(Long projectId);
+
+    /**
+     * Returns up to {@code limitPerProject} tasks of every given project, in {@code sort} order within
+     * each project, using a single window-function query. Descriptions are not selected.
+     */
+    List<TaskDto> findTopTasksByProjectIds(Collection<Long> projectIds, int limitPerProject, Sort sort);
+
+    /**
+     * Open tasks of a project none of whose blockers is still open, i.e. everything that can be
+     * worked on now. Tasks without dependencies are included. Descriptions are not selected.
+     */
+    Page<TaskDto> findUnblockedByProjectId(Long projectId, Pageable pageable);
+
+    /**
+     * Reads a task's ancestors, the task, its subtasks at every depth and their status counts with one
+     * query over the task_tree closure table. Empty if the task does not exist in the project.
+     */
+    Optional<TaskTreeDto> findTree(Long projectId, Long taskId);
+
+    /**
+     * Up to {@code limit} tasks assigned to {@code assignee} with one of {@code statuses}, across all
+     * projects unless {@code projectId} is given, newest (highest id) first and below {@code beforeId}
+     * when given. Descriptions are not selected.
+     */
+    List<TaskDto> findAssigned(String assignee, Collection<Task.TaskStatus> statuses, Long projectId,
+                               Long beforeId, int limit);
+
+    /**
+     * Sets the status of every matching task with a single {@code UPDATE}, stamping completion and
+     * first start like single-task writes do; tasks already in {@code status} are not touched. The
+     * updated tasks are left unranked in their new column, to be appended with {@link #updateRanks}.
+     * Returns one transition per updated row.
+     */
+    List<TaskStatusChangedEvent> updateStatusByFilter(TaskFilter filter, Task.TaskStatus status);
+
+    /**
+     * Sets the rank keys of the given tasks of a project with a single {@code UPDATE};
+     * {@code ranks} holds the key of the task at the same position in {@code ids}.
+     */
+    void updateRanks(Long projectId, List<Long> ids, List<String> ranks);
+
+    /**
+     * Moves every matching task to {@code target} with a single {@code UPDATE}. Subtasks and tasks
+     * that have subtasks stay in their project. Returns the number of moved rows.
+     */
+    int moveToProjectByFilter(TaskFilter filter, Project target);
+
+    /**
+     * Moves up to {@code batchSize} DONE tasks completed before {@code cutoff} into the archive with a
+     * single statement. Tasks that still have subtasks wait until those are archived. Their
+     * dependencies are archived with them. Returns the number of archived tasks.
+     */
+    int archiveCompletedBefore(Instant cutoff, int batchSize);
+
+    /**
+     * Moves an archived task back into the hot table under the given rank key, restarting its
+     * archival clock. Returns the number of restored rows (0 or 1). Its archived dependencies are
+     * restored separately, see {@link TaskDependencyRepository#findRestorableArchived}.
+     */
+    int restoreFromArchive(Long id, Long projectId, String rank);
+}
@@ -0,0 +1,670 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskTreeDto;
+import com.example.taskmanager.entity.Project;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskDependency;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final Map<String, String> NATIVE_SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "title", "t.title",
+            "status", "t.status",
+            "rank", "t.rank_key",
+            "createdAt", "t.created_at",
+            "updatedAt", "t.updated_at"
+    );
+
+    private static final Map<String, String> FIELD_COLUMNS = Map.ofEntries(
+            Map.entry("id", "id"),
+            Map.entry("title", "title"),
+            Map.entry("description", "description"),
+            Map.entry("status", "status"),
+            Map.entry("projectId", "project_id"),
+            Map.entry("rank", "rank_key"),
+            Map.entry("labels", "labels"),
+            Map.entry("assignee", "assignee"),
+            Map.entry("dueAt", "due_at"),
+            Map.entry("createdAt", "created_at"),
+            Map.entry("updatedAt", "updated_at")
+    );
+
+    private static final String ARCHIVE_COLUMNS =
+            "id, title, description, status, rank_key, project_id, completed_at, labels, created_at, updated_at, assignee,"
+                    + " due_at, parent_id, started_at";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskDto> findProjectedByProjectId(Long projectId, Set<String> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(path(root, field).alias(field));
+        }
+        query.multiselect(selections)
+                .where(cb.equal(root.get("project").get("id"), projectId))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<TaskDto> content = typedQuery.getResultList().stream()
+                .map(tuple -> toDto(tuple, fields))
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> countByProjectId(projectId));
+    }
+
+    @Override
+    public List<TaskDto> findProjectedByIds(Long projectId, List<Long> ids, Set<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add("id");
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : selected) {
+            selections.add(path(root, field).alias(field));
+        }
+        query.multiselect(selections)
+                .where(cb.equal(root.get("projectId"), projectId), root.get("id").in(ids));
+
+        Map<Long, TaskDto> byId = new HashMap<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            TaskDto dto = toDto(tuple, fields);
+            byId.put(tuple.get("id", Long.class), dto);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public List<TaskDto> findProjectedAfterId(Long projectId, Long afterId, Set<String> fields, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(path(root, field).alias(field));
+        }
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("projectId"), projectId));
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(root.get("id"), afterId));
+        }
+        query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> toDto(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public List<TaskDto> findProjectedWithoutDependencies(Long projectId, Set<String> fields, Sort sort,
+                                                          long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : fields) {
+            selections.add(path(root, field).alias(field));
+        }
+        query.multiselect(selections)
+                .where(withoutDependencies(cb, query, root, projectId))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> toDto(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public long countWithoutDependencies(Long projectId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root)).where(withoutDependencies(cb, query, root, projectId));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // One anti-join per direction, so each probes its own index of task_dependencies
+    private static Predicate[] withoutDependencies(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Task> root,
+                                                   Long projectId) {
+        Subquery<Long> blockers = query.subquery(Long.class);
+        Root<TaskDependency> blocker = blockers.from(TaskDependency.class);
+        blockers.select(blocker.get("blockedById"))
+                .where(cb.equal(blocker.get("projectId"), root.get("projectId")),
+                        cb.equal(blocker.get("taskId"), root.get("id")));
+        Subquery<Long> blocked = query.subquery(Long.class);
+        Root<TaskDependency> dependent = blocked.from(TaskDependency.class);
+        blocked.select(dependent.get("taskId"))
+                .where(cb.equal(dependent.get("projectId"), root.get("projectId")),
+                        cb.equal(dependent.get("blockedById"), root.get("id")));
+        return new Predicate[]{cb.equal(root.get("projectId"), projectId),
+                cb.not(cb.exists(blockers)), cb.not(cb.exists(blocked))};
+    }
+
+    @Override
+    public List<TaskDto> findTopTasksByProjectIds(Collection<Long> projectIds, int limitPerProject, Sort sort) {
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT id, title, status, project_id, rank_key FROM ("
+                + " SELECT t.id, t.title, t.status, t.project_id, t.rank_key,"
+                + " row_number() OVER (PARTITION BY t.project_id ORDER BY " + nativeOrderBy(sort, "t.id DESC") + ") AS rn"
+                + " FROM tasks t WHERE t.project_id IN (:projectIds)"
+                + ") ranked WHERE rn <= :limit ORDER BY project_id, rn";
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("projectIds", projectIds)
+                .setParameter("limit", limitPerProject)
+                .getResultList();
+        return rows.stream().map(row -> {
+            TaskDto dto = new TaskDto();
+            dto.setId(((Number) row[0]).longValue());
+            dto.setTitle((String) row[1]);
+            dto.setStatus(Task.TaskStatus.valueOf((String) row[2]));
+            dto.setProjectId(((Number) row[3]).longValue());
+            dto.setRank((String) row[4]);
+            return dto;
+        }).toList();
+    }
+
+    @Override
+    public Page<TaskDto> findUnblockedByProjectId(Long projectId, Pageable pageable) {
+        // Anti-join over the dependency primary key (project_id, task_id, ...) and the tasks primary key
+        String unblocked = " FROM tasks t WHERE t.project_id = :projectId AND t.status <> 'DONE'"
+                + " AND NOT EXISTS (SELECT 1 FROM task_dependencies d"
+                + "  JOIN tasks b ON b.project_id = d.project_id AND b.id = d.blocked_by_id"
+                + "  WHERE d.project_id = t.project_id AND d.task_id = t.id AND b.status <> 'DONE')";
+        Query query = entityManager.createNativeQuery(
+                        "SELECT t.id, t.title, t.status, t.project_id, t.rank_key" + unblocked
+                                + " ORDER BY " + nativeOrderBy(pageable.getSort(), "t.id ASC"))
+                .setParameter("projectId", projectId);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<TaskDto> content = rows.stream().map(row -> {
+            TaskDto dto = new TaskDto();
+            setField(dto, "id", row[0]);
+            setField(dto, "title", row[1]);
+            setField(dto, "status", row[2]);
+            setField(dto, "projectId", row[3]);
+            setField(dto, "rank", row[4]);
+            return dto;
+        }).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) entityManager
+                .createNativeQuery("SELECT count(*)" + unblocked)
+                .setParameter("projectId", projectId)
+                .getSingleResult()).longValue());
+    }
+
+    @Override
+    public List<TaskDto> findAssigned(String assignee, Collection<Task.TaskStatus> statuses, Long projectId,
+                                      Long beforeId, int limit) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        // One branch per status, each a LIMITed range scan of (assignee, status, id) in id order; the
+        // outer query only merges at most statuses * limit rows, however many tasks the user has
+        String filters = (projectId != null ? " AND project_id = :projectId" : "")
+                + (beforeId != null ? " AND id < :beforeId" : "");
+        List<String> branches = new ArrayList<>();
+        for (int i = 0; i < statuses.size(); i++) {
+            branches.add("(SELECT id, title, status, project_id, rank_key, labels, assignee, created_at, updated_at"
+                    + " FROM tasks WHERE assignee = :assignee AND status = :status" + i + filters
+                    + " ORDER BY id DESC LIMIT :limit)");
+        }
+        Query query = entityManager.createNativeQuery(
+                        "SELECT * FROM (" + String.join(" UNION ALL ", branches) + ") t ORDER BY id DESC LIMIT :limit")
+                .setParameter("assignee", assignee)
+                .setParameter("limit", limit);
+        int i = 0;
+        for (Task.TaskStatus status : statuses) {
+            query.setParameter("status" + i++, status.name());
+        }
+        if (projectId != null) {
+            query.setParameter("projectId", projectId);
+        }
+        if (beforeId != null) {
+            query.setParameter("beforeId", beforeId);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(row -> {
+            TaskDto dto = new TaskDto();
+            setField(dto, "id", row[0]);
+            setField(dto, "title", row[1]);
+            setField(dto, "status", row[2]);
+            setField(dto, "projectId", row[3]);
+            setField(dto, "rank", row[4]);
+            setField(dto, "labels", row[5]);
+            setField(dto, "assignee", row[6]);
+            setField(dto, "createdAt", row[7]);
+            setField(dto, "updatedAt", row[8]);
+            return dto;
+        }).toList();
+    }
+
+    @Override
+    public Page<TaskDto> findProjectedByProjectIdIncludingArchived(Long projectId, Set<String> fields, Pageable pageable) {
+        String orderBy = nativeOrderBy(pageable.getSort(), "t.id ASC");
+        // Both branches select the requested fields plus whatever the (already validated) ORDER BY needs
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("id");
+        fields.forEach(field -> columns.add(FIELD_COLUMNS.get(field)));
+        pageable.getSort().forEach(order -> columns.add(FIELD_COLUMNS.get(order.getProperty())));
+        String selected = String.join(", ", columns);
+
+        String sql = "SELECT " + fields.stream().map(field -> "t." + FIELD_COLUMNS.get(field)).collect(Collectors.joining(", "))
+                + ", t.archived FROM ("
+                + " SELECT " + selected + ", false AS archived FROM tasks WHERE project_id = :projectId"
+                + " UNION ALL"
+                + " SELECT " + selected + ", true AS archived FROM tasks_archive WHERE project_id = :projectId"
+                + ") t ORDER BY " + orderBy;
+        Query query = entityManager.createNativeQuery(sql).setParameter("projectId", projectId);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<TaskDto> content = rows.stream().map(row -> {
+            TaskDto dto = new TaskDto();
+            int i = 0;
+            for (String field : fields) {
+                setField(dto, field, row[i++]);
+            }
+            dto.setArchived((Boolean) row[i]);
+            return dto;
+        }).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> ((Number) entityManager.createNativeQuery(
+                        "SELECT (SELECT count(*) FROM tasks WHERE project_id = :projectId)"
+                                + " + (SELECT count(*) FROM tasks_archive WHERE project_id = :projectId)")
+                .setParameter("projectId", projectId)
+                .getSingleResult()).longValue());
+    }
+
+    @Override
+    public Optional<TaskDto> findArchivedByIdAndProjectId(Long id, Long projectId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT id, title, description, status, project_id, rank_key, labels, created_at, updated_at,"
+                                + " assignee, due_at, parent_id FROM tasks_archive"
+                                + " WHERE project_id = :projectId AND id = :id")
+                .setParameter("projectId", projectId)
+                .setParameter("id", id)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> {
+            TaskDto dto = new TaskDto();
+            setField(dto, "id", row[0]);
+            setField(dto, "title", row[1]);
+            setField(dto, "description", row[2]);
+            setField(dto, "status", row[3]);
+            setField(dto, "projectId", row[4]);
+            setField(dto, "rank", row[5]);
+            setField(dto, "labels", row[6]);
+            setField(dto, "createdAt", row[7]);
+            setField(dto, "updatedAt", row[8]);
+            setField(dto, "assignee", row[9]);
+            setField(dto, "dueAt", row[10]);
+            dto.setParentId(row[11] != null ? ((Number) row[11]).longValue() : null);
+            dto.setArchived(true);
+            return dto;
+        });
+    }
+
+    @Override
+    public int archiveCompletedBefore(Instant cutoff, int batchSize) {
+        // SKIP LOCKED leaves tasks that are being edited right now for the next run. The delete cascades
+        // to task_dependencies, whose rows the statement snapshot still shows, so they are copied alongside
+        return entityManager.createNativeQuery(
+                        "WITH moved AS ("
+                                + " DELETE FROM tasks WHERE (project_id, id) IN ("
+                                + "  SELECT project_id, id FROM tasks t WHERE status = 'DONE' AND completed_at < :cutoff"
+                                + "  AND NOT EXISTS (SELECT 1 FROM tasks c WHERE c.project_id = t.project_id AND c.parent_id = t.id)"
+                                + "  ORDER BY completed_at LIMIT :batchSize FOR UPDATE SKIP LOCKED)"
+                                + " RETURNING " + ARCHIVE_COLUMNS + "),"
+                                + " dependencies AS ("
+                                + " INSERT INTO task_dependencies_archive (project_id, task_id, blocked_by_id)"
+                                + " SELECT d.project_id, d.task_id, d.blocked_by_id FROM task_dependencies d"
+                                + "  JOIN moved m ON m.project_id = d.project_id AND m.id = d.task_id"
+                                + " UNION"
+                                + " SELECT d.project_id, d.task_id, d.blocked_by_id FROM task_dependencies d"
+                                + "  JOIN moved m ON m.project_id = d.project_id AND m.id = d.blocked_by_id)"
+                                + " INSERT INTO tasks_archive (" + ARCHIVE_COLUMNS + ")"
+                                + " SELECT " + ARCHIVE_COLUMNS + " FROM moved")
+                .setParameter("cutoff", cutoff)
+                .setParameter("batchSize", batchSize)
+                .executeUpdate();
+    }
+
+    @Override
+    public int restoreFromArchive(Long id, Long projectId, String rank) {
+        // A subtask goes back below its parent if that is still in the hot table, and becomes top-level otherwise
+        return entityManager.createNativeQuery(
+                        "WITH restored AS ("
+                                + " DELETE FROM tasks_archive WHERE project_id = :projectId AND id = :id"
+                                + " RETURNING " + ARCHIVE_COLUMNS + ")"
+                                + " INSERT INTO tasks (" + ARCHIVE_COLUMNS + ")"
+                                + " SELECT id, title, description, status, :rank, project_id, now(), labels, created_at, now(), assignee,"
+                                + " due_at, (SELECT p.id FROM tasks p WHERE p.project_id = restored.project_id AND p.id = restored.parent_id),"
+                                + " started_at FROM restored")
+                .setParameter("projectId", projectId)
+                .setParameter("id", id)
+                .setParameter("rank", rank)
+                .executeUpdate();
+    }
+
+    private static String nativeOrderBy(Sort sort, String tieBreak) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = NATIVE_SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("Unsupported task sort property: " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // Tie-break on id so pages are stable across requests
+        orders.add(tieBreak);
+        return String.join(", ", orders);
+    }
+
+    @Override
+    public Optional<TaskTreeDto> findTree(Long projectId, Long taskId) {
+        // depth is negative for ancestors, 0 for the task and positive for subtasks. The window count
+        // gives every row the number of subtree tasks (depth >= 0) that share its status.
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT t.id, t.title, t.status, t.project_id, t.rank_key, t.parent_id, n.depth,"
+                                + " count(*) FILTER (WHERE n.depth >= 0) OVER (PARTITION BY t.status)"
+                                + " FROM (SELECT CAST(:taskId AS bigint) AS task_id, 0 AS depth"
+                                + "  UNION ALL SELECT ancestor_id, -depth FROM task_tree"
+                                + "   WHERE project_id = :projectId AND descendant_id = :taskId"
+                                + "  UNION ALL SELECT descendant_id, depth FROM task_tree"
+                                + "   WHERE project_id = :projectId AND ancestor_id = :taskId) n"
+                                + " JOIN tasks t ON t.project_id = :projectId AND t.id = n.task_id"
+                                + " ORDER BY n.depth, t.status, t.rank_key, t.id")
+                .setParameter("projectId", projectId)
+                .setParameter("taskId", taskId)
+                .getResultList();
+
+        TaskDto task = null;
+        List<TaskDto> ancestors = new ArrayList<>();
+        List<TaskDto> subtasks = new ArrayList<>();
+        Map<Task.TaskStatus, Long> statusCounts = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            statusCounts.put(status, 0L);
+        }
+        for (Object[] row : rows) {
+            TaskDto dto = new TaskDto();
+            setField(dto, "id", row[0]);
+            setField(dto, "title", row[1]);
+            setField(dto, "status", row[2]);
+            setField(dto, "projectId", row[3]);
+            setField(dto, "rank", row[4]);
+            dto.setParentId(row[5] != null ? ((Number) row[5]).longValue() : null);
+            int depth = ((Number) row[6]).intValue();
+            if (depth < 0) {
+                ancestors.add(dto);
+            } else if (depth == 0) {
+                task = dto;
+            } else {
+                subtasks.add(dto);
+            }
+            statusCounts.put(dto.getStatus(), ((Number) row[7]).longValue());
+        }
+        return task == null ? Optional.empty() : Optional.of(new TaskTreeDto(task, ancestors, subtasks, statusCounts));
+    }
+
+    @Override
+    public List<TaskStatusChangedEvent> updateStatusByFilter(TaskFilter filter, Task.TaskStatus status) {
+        // The locked pre-image supplies each row's previous status, which RETURNING alone cannot see
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> predicates = nativeFilterPredicates(filter, parameters);
+        predicates.add("status <> :status");
+        Query query = entityManager.createNativeQuery(
+                "UPDATE tasks t SET status = :status, rank_key = NULL,"
+                        + " completed_at = CASE WHEN :status = 'DONE' THEN CAST(:now AS timestamptz) END,"
+                        + " started_at = CASE WHEN :status = 'IN_PROGRESS' THEN coalesce(t.started_at, CAST(:now AS timestamptz)) ELSE t.started_at END,"
+                        + " updated_at = :now"
+                        + " FROM (SELECT project_id, id, status FROM tasks WHERE " + String.join(" AND ", predicates)
+                        + "  FOR UPDATE) previous"
+                        + " WHERE t.project_id = previous.project_id AND t.id = previous.id"
+                        + " RETURNING t.project_id, t.id, previous.status, t.started_at");
+        Instant now = Instant.now();
+        parameters.put("status", status.name());
+        parameters.put("now", now);
+        parameters.forEach(query::setParameter);
+
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        entityManager.clear();
+        List<TaskStatusChangedEvent> transitions = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            transitions.add(new TaskStatusChangedEvent(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                    Task.TaskStatus.valueOf((String) row[2]), status, now, instant(row[3])));
+        }
+        return transitions;
+    }
+
+    @Override
+    public void updateRanks(Long projectId, List<Long> ids, List<String> ranks) {
+        entityManager.createNativeQuery(
+                        "UPDATE tasks t SET rank_key = r.rank_key"
+                                + " FROM unnest(CAST(:ids AS bigint[]), CAST(:ranks AS varchar[])) AS r(id, rank_key)"
+                                + " WHERE t.project_id = :projectId AND t.id = r.id")
+                .setParameter("projectId", projectId)
+                .setParameter("ids", ids.toArray(Long[]::new))
+                .setParameter("ranks", ranks.toArray(String[]::new))
+                .executeUpdate();
+    }
+
+    @Override
+    public int moveToProjectByFilter(TaskFilter filter, Project target) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> root = update.from(Task.class);
+        List<Predicate> predicates = filterPredicates(filter, root, cb);
+        predicates.add(cb.notEqual(root.get("project").get("id"), target.getId()));
+        // Hierarchies never span projects, so only tasks outside of any hierarchy can move
+        Subquery<Long> children = update.subquery(Long.class);
+        Root<Task> child = children.from(Task.class);
+        children.select(child.get("id"))
+                .where(cb.equal(child.get("projectId"), root.get("projectId")),
+                        cb.equal(child.get("parentId"), root.get("id")));
+        predicates.add(cb.isNull(root.get("parentId")));
+        predicates.add(cb.not(cb.exists(children)));
+        update.set(root.<Project>get("project"), target)
+                .set(root.<Instant>get("updatedAt"), Instant.now())
+                .where(predicates.toArray(new Predicate[0]));
+        return executeBulkUpdate(update);
+    }
+
+    private int executeBulkUpdate(CriteriaUpdate<Task> update) {
+        // Bulk statements bypass the persistence context, so write pending changes first
+        // and drop managed entities afterwards instead of serving stale state from them
+        entityManager.flush();
+        int affected = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+
+    private static List<Predicate> filterPredicates(TaskFilter filter, Root<Task> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getProjectId() != null) {
+            predicates.add(cb.equal(root.get("project").get("id"), filter.getProjectId()));
+        }
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getMinId() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("id"), filter.getMinId()));
+        }
+        if (filter.getMaxId() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("id"), filter.getMaxId()));
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add(root.get("id").in(filter.getIds()));
+        }
+        return predicates;
+    }
+
+    private static List<String> nativeFilterPredicates(TaskFilter filter, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>();
+        if (filter.getProjectId() != null) {
+            predicates.add("project_id = :projectId");
+            parameters.put("projectId", filter.getProjectId());
+        }
+        if (filter.getStatus() != null) {
+            predicates.add("status = :filterStatus");
+            parameters.put("filterStatus", filter.getStatus().name());
+        }
+        if (filter.getMinId() != null) {
+            predicates.add("id >= :minId");
+            parameters.put("minId", filter.getMinId());
+        }
+        if (filter.getMaxId() != null) {
+            predicates.add("id <= :maxId");
+            parameters.put("maxId", filter.getMaxId());
+        }
+        if (filter.getIds() != null && !filter.getIds().isEmpty()) {
+            predicates.add("id IN (:ids)");
+            parameters.put("ids", filter.getIds());
+        }
+        return predicates;
+    }
+
+    private long countByProjectId(Long projectId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.count(root)).where(cb.equal(root.get("project").get("id"), projectId));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Path<?> path(Root<Task> root, String field) {
+        return switch (field) {
+            case "projectId" -> root.get("project").get("id");
+            default -> root.get(field);
+        };
+    }
+
+    private static TaskDto toDto(Tuple tuple, Set<String> fields) {
+        TaskDto dto = new TaskDto();
+        for (String field : fields) {
+            setField(dto, field, tuple.get(field));
+        }
+        return dto;
+    }
+
+    // Entity attribute values arrive as String[], raw native-query values may still be a JDBC array
+    private static Set<String> labels(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            Object[] names = value instanceof java.sql.Array array ? (Object[]) array.getArray() : (Object[]) value;
+            Set<String> labels = new TreeSet<>();
+            for (Object name : names) {
+                labels.add((String) name);
+            }
+            return labels;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read task labels", ex);
+        }
+    }
+
+    // Native queries return timestamptz as OffsetDateTime or Timestamp depending on the driver mapping
+    private static Instant instant(Object value) {
+        if (value == null || value instanceof Instant) {
+            return (Instant) value;
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.toInstant();
+        }
+        return ((Timestamp) value).toInstant();
+    }
+
+    // Accepts both JPQL values and raw native-query values (numbers, enum names)
+    private static void setField(TaskDto dto, String field, Object value) {
+        switch (field) {
+            case "id" -> dto.setId(value != null ? ((Number) value).longValue() : null);
+            case "title" -> dto.setTitle((String) value);
+            case "description" -> dto.setDescription((String) value);
+            case "status" -> dto.setStatus(value instanceof String name ? Task.TaskStatus.valueOf(name) : (Task.TaskStatus) value);
+            case "projectId" -> dto.setProjectId(value != null ? ((Number) value).longValue() : null);
+            case "rank" -> dto.setRank((String) value);
+            case "labels" -> dto.setLabels(labels(value));
+            case "assignee" -> dto.setAssignee((String) value);
+            case "dueAt" -> dto.setDueAt(instant(value));
+            case "createdAt" -> dto.setCreatedAt(instant(value));
+            case "updatedAt" -> dto.setUpdatedAt(instant(value));
+            default -> throw new IllegalArgumentException("Unknown task field: " + field);
+        }
+    }
+}
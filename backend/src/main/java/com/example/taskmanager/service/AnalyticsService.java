@@ -0,0 +1,179 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.BurndownPoint;
+import com.example.taskmanager.dto.CycleTimeStats;
+import com.example.taskmanager.dto.StatusTransitionDto;
+import com.example.taskmanager.dto.TaskCountsDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.repository.ProjectRepository;
+import com.example.taskmanager.repository.TaskAnalyticsRepository;
+import com.example.taskmanager.repository.TaskAnalyticsRepository.DailyFlow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+
+/**
+ * Burndown, throughput and cycle-time figures read from the daily rollups that StatusHistoryWriter
+ * maintains, so their cost depends on the number of days asked for, not on the number of tasks or
+ * transitions. Days are UTC days; the rollups trail task writes by up to {@code tasks.history.flush-interval}.
+ * Current task counts are scanned from the in-memory TaskColumnIndex instead.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+    static final int DEFAULT_RANGE_DAYS = 30;
+    static final int MAX_RANGE_DAYS = 366;
+    static final int MAX_PROJECT_COUNTS = 1000;
+
+    private final TaskAnalyticsRepository analyticsRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskColumnIndex columnIndex;
+
+    public AnalyticsService(TaskAnalyticsRepository analyticsRepository, ProjectRepository projectRepository,
+                            TaskColumnIndex columnIndex) {
+        this.analyticsRepository = analyticsRepository;
+        this.projectRepository = projectRepository;
+        this.columnIndex = columnIndex;
+    }
+
+    /**
+     * One point per day from {@code from} to {@code to} (inclusive; by default the last 30 days),
+     * days without activity included.
+     */
+    public List<BurndownPoint> getBurndown(Long projectId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        logger.info("Fetching burndown for project id: {} from {} to {}", projectId, start, end);
+        requireProject(projectId);
+        validateRange(start, end);
+
+        long remaining = analyticsRepository.countOpenBefore(projectId, start);
+        List<DailyFlow> flow = analyticsRepository.findDailyFlow(projectId, start, end);
+        List<BurndownPoint> points = new ArrayList<>((int) ChronoUnit.DAYS.between(start, end) + 1);
+        int next = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            long opened = 0;
+            long closed = 0;
+            long removed = 0;
+            if (next < flow.size() && flow.get(next).day().equals(day)) {
+                DailyFlow row = flow.get(next++);
+                opened = row.opened();
+                closed = row.closed();
+                removed = row.removed();
+            }
+            remaining += opened - closed - removed;
+            points.add(new BurndownPoint(day, opened, closed, removed, remaining));
+        }
+        return points;
+    }
+
+    public CycleTimeStats getCycleTime(Long projectId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        logger.info("Fetching cycle times for project id: {} from {} to {}", projectId, start, end);
+        requireProject(projectId);
+        validateRange(start, end);
+
+        SortedMap<Integer, Long> buckets = analyticsRepository.findCycleTimeBuckets(projectId, start, end);
+        long tasks = buckets.values().stream().mapToLong(Long::longValue).sum();
+        return new CycleTimeStats(start, end, tasks,
+                seconds(CycleTimeHistogram.percentile(buckets, 0.50)),
+                seconds(CycleTimeHistogram.percentile(buckets, 0.85)),
+                seconds(CycleTimeHistogram.percentile(buckets, 0.95)));
+    }
+
+    /**
+     * Status transitions of a task, oldest first; also available after the task was deleted or archived.
+     */
+    public List<StatusTransitionDto> getStatusHistory(Long projectId, Long taskId) {
+        logger.info("Fetching status history of task id: {} for project id: {}", taskId, projectId);
+        requireProject(projectId);
+        return analyticsRepository.findHistory(projectId, taskId);
+    }
+
+    /**
+     * Current task counts per status over all projects, counted from TaskColumnIndex.
+     */
+    public TaskCountsDto getTaskCounts() {
+        logger.info("Counting tasks of all projects");
+        return toCounts(null, columnIndex.countByStatus());
+    }
+
+    public TaskCountsDto getTaskCounts(Long projectId) {
+        logger.info("Counting tasks of project id: {}", projectId);
+        requireProject(projectId);
+        return toCounts(projectId, columnIndex.countByStatus(projectId));
+    }
+
+    /**
+     * The {@code limit} projects with the most tasks in {@code status} (or in total, without a status),
+     * ties broken by project id.
+     */
+    public List<TaskCountsDto> getTaskCountsByProject(Task.TaskStatus status, int limit) {
+        if (limit < 1 || limit > MAX_PROJECT_COUNTS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PROJECT_COUNTS);
+        }
+        logger.info("Counting tasks per project: status={}, limit={}", status, limit);
+        TaskColumnIndex.ProjectCounts counts = columnIndex.countByProjectAndStatus();
+        Comparator<Integer> byCount = Comparator.comparingLong(
+                project -> status != null ? counts.count(project, status) : counts.total(project));
+        return IntStream.range(0, counts.projectIds().length).boxed()
+                .sorted(byCount.reversed().thenComparingLong(project -> counts.projectIds()[project]))
+                .limit(limit)
+                .map(project -> {
+                    long[] byStatus = new long[Task.TaskStatus.values().length];
+                    for (Task.TaskStatus taskStatus : Task.TaskStatus.values()) {
+                        byStatus[taskStatus.ordinal()] = counts.count(project, taskStatus);
+                    }
+                    return toCounts(counts.projectIds()[project], byStatus);
+                })
+                .toList();
+    }
+
+    private void requireProject(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            logger.warn("Project not found with id: {}", projectId);
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("A range may span at most " + MAX_RANGE_DAYS + " days");
+        }
+    }
+
+    private static TaskCountsDto toCounts(Long projectId, long[] counts) {
+        Map<Task.TaskStatus, Long> byStatus = new EnumMap<>(Task.TaskStatus.class);
+        long total = 0;
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            byStatus.put(status, counts[status.ordinal()]);
+            total += counts[status.ordinal()];
+        }
+        return new TaskCountsDto(projectId, total, byStatus);
+    }
+
+    private static Long seconds(Duration duration) {
+        return duration != null ? duration.toSeconds() : null;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskAttachmentDto;
+import com.example.taskmanager.entity.TaskAttachment;
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.repository.TaskAttachmentRepository;
+import com.example.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@Transactional
+public class AttachmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentService.class);
+    private static final int MAX_FILE_NAME_LENGTH = 255;
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate transactionTemplate;
+
+    public AttachmentService(TaskAttachmentRepository attachmentRepository, TaskRepository taskRepository,
+                             AttachmentStore attachmentStore, TransactionTemplate transactionTemplate) {
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.attachmentStore = attachmentStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * An attachment and the file holding its content.
+     */
+    public record Content(TaskAttachmentDto attachment, Path path) {
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskAttachmentDto> getAttachments(Long projectId, Long taskId) {
+        logger.info("Fetching attachments of task id: {} for project id: {}", taskId, projectId);
+        requireTask(projectId, taskId);
+        return attachmentRepository.findByProjectIdAndTaskIdOrderById(projectId, taskId).stream()
+                .map(this::convertToDto)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public Content getAttachmentContent(Long projectId, Long taskId, Long attachmentId) {
+        logger.info("Fetching attachment id: {} of task id: {} for project id: {}", attachmentId, taskId, projectId);
+        requireTask(projectId, taskId);
+        TaskAttachment attachment = findAttachment(projectId, taskId, attachmentId);
+        return new Content(convertToDto(attachment), attachmentStore.pathOf(attachment.getSha256()));
+    }
+
+    /**
+     * Stores {@code content} and attaches it to the task. The upload is streamed to the store before
+     * any transaction starts, so a slow multi-gigabyte upload holds no database connection; only
+     * registering the blob and the attachment runs in a (short) transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TaskAttachmentDto uploadAttachment(Long projectId, Long taskId, String fileName, String contentType,
+                                              long contentLength, InputStream content) throws IOException {
+        logger.info("Uploading attachment {} to task id: {} for project id: {}", fileName, taskId, projectId);
+        String name = normalizeFileName(fileName);
+        String type = contentType != null && !contentType.isBlank()
+                ? parseContentType(contentType)
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        if (contentLength > attachmentStore.getMaxSize()) {
+            throw new BadRequestException(
+                    "Attachment exceeds the maximum size of " + attachmentStore.getMaxSize() + " bytes");
+        }
+        requireTask(projectId, taskId);
+
+        AttachmentStore.StagedFile staged = attachmentStore.stage(content);
+        try {
+            TaskAttachmentDto created = transactionTemplate.execute(tx -> {
+                requireTask(projectId, taskId);
+                // Locks the blob row, so the file cannot be swept between commit() and the insert below
+                attachmentRepository.upsertBlob(staged.sha256(), staged.size());
+                try {
+                    attachmentStore.commit(staged);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                TaskAttachment attachment = new TaskAttachment(null, projectId, taskId, name, type,
+                        staged.size(), staged.sha256(), Instant.now());
+                return convertToDto(attachmentRepository.save(attachment));
+            });
+            logger.info("Attached {} ({} bytes, sha256 {}) to task id: {}", name, staged.size(), staged.sha256(), taskId);
+            return created;
+        } finally {
+            // No-op once committed
+            attachmentStore.discard(staged);
+        }
+    }
+
+    /**
+     * Removes the attachment; its file is removed by AttachmentSweeper once no attachment uses it.
+     */
+    public void deleteAttachment(Long projectId, Long taskId, Long attachmentId) {
+        logger.info("Deleting attachment id: {} of task id: {} for project id: {}", attachmentId, taskId, projectId);
+        requireTask(projectId, taskId);
+        attachmentRepository.delete(findAttachment(projectId, taskId, attachmentId));
+    }
+
+    private void requireTask(Long projectId, Long taskId) {
+        if (!taskRepository.existsByIdAndProjectId(taskId, projectId)) {
+            logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
+            throw new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
+        }
+    }
+
+    private TaskAttachment findAttachment(Long projectId, Long taskId, Long attachmentId) {
+        return attachmentRepository.findByIdAndProjectIdAndTaskId(attachmentId, projectId, taskId)
+                .orElseThrow(() -> {
+                    logger.warn("Attachment not found with id: {} for task id: {}", attachmentId, taskId);
+                    return new ResourceNotFoundException("Attachment not found with id: " + attachmentId
+                            + " for task id: " + taskId);
+                });
+    }
+
+    private static String parseContentType(String contentType) {
+        try {
+            return MediaType.parseMediaType(contentType).toString();
+        } catch (InvalidMediaTypeException ex) {
+            throw new BadRequestException("Invalid content type: " + ex.getMessage());
+        }
+    }
+
+    // Keeps the last path segment only, as sent by browsers that include the client-side path
+    static String normalizeFileName(String fileName) {
+        if (fileName == null) {
+            throw new BadRequestException("fileName must not be blank");
+        }
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).trim();
+        if (name.isEmpty()) {
+            throw new BadRequestException("fileName must not be blank");
+        }
+        if (name.length() > MAX_FILE_NAME_LENGTH) {
+            throw new BadRequestException("fileName must be at most " + MAX_FILE_NAME_LENGTH + " characters");
+        }
+        if (name.chars().anyMatch(Character::isISOControl)) {
+            throw new BadRequestException("fileName must not contain control characters");
+        }
+        return name;
+    }
+
+    private TaskAttachmentDto convertToDto(TaskAttachment attachment) {
+        return new TaskAttachmentDto(attachment.getId(), attachment.getTaskId(), attachment.getFileName(),
+                attachment.getContentType(), attachment.getSize(), attachment.getSha256(), attachment.getCreatedAt());
+    }
+}
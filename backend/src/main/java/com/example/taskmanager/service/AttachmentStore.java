@@ -0,0 +1,155 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Content-addressed file store for attachments: a file lives at {@code <dir>/ab/cd/<sha256>}, so
+ * identical uploads share one file. Uploads are staged under {@code <dir>/tmp}, copied through a
+ * fixed 64 KiB buffer while being hashed, and renamed into place once their hash is known; staging
+ * and final paths are on the same file system, so the rename is atomic. Which blobs are in use is
+ * tracked in the database (see AttachmentService and AttachmentSweeper), not here.
+ */
+@Component
+public class AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentStore.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path staging;
+    private final long maxSize;
+
+    public AttachmentStore(@Value("${tasks.attachments.storage-dir:data/attachments}") Path root,
+                           @Value("${tasks.attachments.max-size:10GB}") DataSize maxSize) {
+        this.root = root.toAbsolutePath().normalize();
+        this.staging = this.root.resolve("tmp");
+        this.maxSize = maxSize.toBytes();
+        try {
+            Files.createDirectories(staging);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment directory " + staging, e);
+        }
+    }
+
+    /**
+     * An upload written to the staging area, not yet visible under its hash.
+     */
+    public record StagedFile(Path path, String sha256, long size) {
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Copies {@code content} to a staging file and hashes it on the way. The staging file is removed
+     * if the copy fails or the content is larger than {@code tasks.attachments.max-size}.
+     */
+    public StagedFile stage(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path file = Files.createTempFile(staging, "upload-", ".part");
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            byte[] chunk = new byte[BUFFER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long size = 0;
+            int read;
+            while ((read = content.read(chunk)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new BadRequestException("Attachment exceeds the maximum size of " + maxSize + " bytes");
+                }
+                digest.update(chunk, 0, read);
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            return new StagedFile(file, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Moves a staged file to its content address, or drops it when that blob is already stored.
+     * Callers hold the lock on the blob's database row, so a sweep cannot remove the blob meanwhile.
+     */
+    public void commit(StagedFile staged) throws IOException {
+        Path target = pathOf(staged.sha256());
+        if (Files.exists(target)) {
+            Files.deleteIfExists(staged.path());
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(staged.path(), target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(staged.path());
+        }
+    }
+
+    public void discard(StagedFile staged) {
+        try {
+            Files.deleteIfExists(staged.path());
+        } catch (IOException e) {
+            logger.warn("Could not remove staged upload {}: {}", staged.path(), e.getMessage());
+        }
+    }
+
+    public Path pathOf(String sha256) {
+        if (sha256.length() != 64 || !sha256.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            throw new IllegalArgumentException("Invalid content hash: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(pathOf(sha256));
+    }
+
+    /**
+     * Removes staging files last modified before {@code cutoff}, left behind by uploads that were
+     * interrupted by a crash.
+     */
+    public int purgeStaging(Instant cutoff) throws IOException {
+        int purged = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(staging, "upload-*.part")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
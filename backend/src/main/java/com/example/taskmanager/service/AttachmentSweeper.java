@@ -0,0 +1,100 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.repository.TaskAttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Garbage collection for attachments: removes the attachments of deleted tasks, then the blobs no
+ * attachment refers to any more, then staging files of interrupted uploads. Blob rows are deleted
+ * and their files removed in the same transaction, so an upload of the same content either waits for
+ * the sweep and stores the file again, or locks the row first and keeps the blob.
+ */
+@Component
+public class AttachmentSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentSweeper.class);
+    private static final Duration STAGING_MAX_AGE = Duration.ofDays(1);
+
+    private final TaskAttachmentRepository attachmentRepository;
+    private final AttachmentStore attachmentStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AttachmentSweeper(TaskAttachmentRepository attachmentRepository,
+                             AttachmentStore attachmentStore,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${tasks.attachments.sweep-batch-size:1000}") int batchSize) {
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentStore = attachmentStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.attachments.sweep-interval:PT1H}",
+            initialDelayString = "${tasks.attachments.sweep-initial-delay:PT5M}")
+    public int sweep() {
+        int orphaned = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(tx -> attachmentRepository.deleteOrphaned(batchSize));
+            deleted = batch != null ? batch : 0;
+            orphaned += deleted;
+        } while (deleted == batchSize);
+
+        int blobs = 0;
+        try {
+            do {
+                List<String> batch = transactionTemplate.execute(tx -> deleteUnreferencedBlobs());
+                deleted = batch != null ? batch.size() : 0;
+                blobs += deleted;
+            } while (deleted == batchSize);
+        } catch (DataAccessException | UncheckedIOException e) {
+            // Typically a blob attached again while the batch was being deleted; the next run retries
+            logger.warn("Removing unused attachment blobs failed, retrying on next run: {}", e.getMessage());
+        }
+
+        int staged = 0;
+        try {
+            staged = attachmentStore.purgeStaging(Instant.now().minus(STAGING_MAX_AGE));
+        } catch (IOException e) {
+            logger.warn("Could not purge staged uploads: {}", e.getMessage());
+        }
+        if (orphaned + blobs + staged > 0) {
+            logger.info("Removed {} attachments of deleted tasks, {} unused blobs and {} stale uploads",
+                    orphaned, blobs, staged);
+        }
+        return blobs;
+    }
+
+    private List<String> deleteUnreferencedBlobs() {
+        List<String> hashes = jdbcTemplate.queryForList(
+                "DELETE FROM attachment_blobs WHERE sha256 IN (SELECT b.sha256 FROM attachment_blobs b"
+                        + " WHERE NOT EXISTS (SELECT 1 FROM task_attachments a WHERE a.sha256 = b.sha256)"
+                        + " LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING sha256",
+                String.class, batchSize);
+        for (String sha256 : hashes) {
+            try {
+                attachmentStore.delete(sha256);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanager.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Logarithmic buckets for cycle times. Bucket {@code b} holds durations below
+ * {@code 60 * (1.1^(b+1) - 1)} seconds, so about 160 buckets cover ten years and a percentile read
+ * from merged bucket counts overstates the exact value by at most 10% of it plus six seconds.
+ * Public for the reactive variant, which writes the same rollups.
+ */
+public final class CycleTimeHistogram {
+
+    private static final double GROWTH = 1.1;
+    private static final double UNIT_SECONDS = 60;
+
+    private CycleTimeHistogram() {
+    }
+
+    public static int bucketOf(Duration cycleTime) {
+        double seconds = Math.max(0, cycleTime.toMillis() / 1000.0);
+        return (int) Math.floor(Math.log1p(seconds / UNIT_SECONDS) / Math.log(GROWTH));
+    }
+
+    static Duration upperBound(int bucket) {
+        return Duration.ofSeconds((long) Math.ceil(UNIT_SECONDS * (Math.pow(GROWTH, bucket + 1) - 1)));
+    }
+
+    /**
+     * Nearest-rank percentile ({@code 0 < percentile <= 1}) of the durations counted in {@code counts},
+     * keyed by bucket; null when there are none.
+     */
+    static Duration percentile(SortedMap<Integer, Long> counts, double percentile) {
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : counts.entrySet()) {
+            seen += bucket.getValue();
+            if (seen >= rank) {
+                return upperBound(bucket.getKey());
+            }
+        }
+        return upperBound(counts.lastKey());
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory "blocked by" graph of one project with a maintained topological order.
+ *
+ * <p>Nodes are task ids mapped to dense int slots; edges point from the blocking task to the blocked
+ * one and are kept as int arrays per slot in both directions. Inserting an edge uses the
+ * Pearce-Kelly algorithm: when the edge already agrees with the current order nothing is searched at
+ * all, otherwise only the nodes between the two endpoints' positions are visited, to detect a cycle
+ * and to shift that affected region. The whole graph is never re-walked.
+ *
+ * <p>Not thread-safe; {@link DependencyGraphCache} hands out instances that callers synchronize on.
+ */
+public final class DependencyGraph {
+
+    private static final int[] NO_EDGES = new int[0];
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[16];
+    // position[slot] is the slot's place in the topological order; slotAt is the inverse
+    private int[] position = new int[16];
+    private int[] slotAt = new int[16];
+    private int[][] successors = new int[16][];
+    private int[] successorCounts = new int[16];
+    private int[][] predecessors = new int[16][];
+    private int[] predecessorCounts = new int[16];
+    private boolean[] visited = new boolean[16];
+    // Depth-first search stack shared by both directions of a cycle check, grown as needed
+    private int[] stack = new int[16];
+    private int size;
+    private int edgeCount;
+    private long version;
+    private volatile long lastAccess = System.nanoTime();
+
+    DependencyGraph(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Builds a graph from {@code [taskId, blockedById]} edges with an initial order computed by
+     * Kahn's algorithm.
+     *
+     * @throws IllegalStateException if the edges contain a cycle
+     */
+    static DependencyGraph of(long version, List<long[]> edges) {
+        DependencyGraph graph = new DependencyGraph(version);
+        for (long[] edge : edges) {
+            int blocker = graph.slot(edge[1]);
+            int blocked = graph.slot(edge[0]);
+            graph.link(blocker, blocked);
+        }
+        graph.sortTopologically();
+        return graph;
+    }
+
+    long version() {
+        return version;
+    }
+
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    public int nodeCount() {
+        return size;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public boolean hasEdge(long blockerId, long blockedId) {
+        Integer blocker = slots.get(blockerId);
+        Integer blocked = slots.get(blockedId);
+        return blocker != null && blocked != null && indexOf(successors[blocker], successorCounts[blocker], blocked) >= 0;
+    }
+
+    /**
+     * Adds "{@code blockedId} is blocked by {@code blockerId}" unless that would close a cycle.
+     *
+     * @return false if {@code blockedId} already (transitively) blocks {@code blockerId}
+     */
+    public boolean addEdge(long blockerId, long blockedId) {
+        if (blockerId == blockedId) {
+            return false;
+        }
+        int blocker = slot(blockerId);
+        int blocked = slot(blockedId);
+        if (indexOf(successors[blocker], successorCounts[blocker], blocked) >= 0) {
+            return true;
+        }
+        int lower = position[blocked];
+        int upper = position[blocker];
+        if (lower < upper) {
+            // blocked currently sorts first: look for a path back to blocker inside [lower, upper]
+            List<Integer> forward = new ArrayList<>();
+            if (!collectForward(blocked, upper, blocker, forward)) {
+                clearVisited(forward);
+                return false;
+            }
+            List<Integer> backward = new ArrayList<>();
+            collectBackward(blocker, lower, backward);
+            clearVisited(forward);
+            clearVisited(backward);
+            reorder(backward, forward);
+        }
+        link(blocker, blocked);
+        return true;
+    }
+
+    public boolean removeEdge(long blockerId, long blockedId) {
+        Integer blocker = slots.get(blockerId);
+        Integer blocked = slots.get(blockedId);
+        if (blocker == null || blocked == null) {
+            return false;
+        }
+        int index = indexOf(successors[blocker], successorCounts[blocker], blocked);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(successors[blocker], successorCounts[blocker]--, index);
+        int incoming = indexOf(predecessors[blocked], predecessorCounts[blocked], blocker);
+        removeAt(predecessors[blocked], predecessorCounts[blocked]--, incoming);
+        edgeCount--;
+        // Removing an edge never invalidates a topological order
+        return true;
+    }
+
+    /**
+     * Ids of all tasks that take part in a dependency, blockers before the tasks they block. Tasks
+     * whose last dependency was removed keep their slot but are left out.
+     */
+    public long[] topologicalOrder() {
+        long[] order = new long[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int slot = slotAt[i];
+            if (successorCounts[slot] > 0 || predecessorCounts[slot] > 0) {
+                order[count++] = ids[slot];
+            }
+        }
+        return count == size ? order : Arrays.copyOf(order, count);
+    }
+
+    public List<Long> blockersOf(long taskId) {
+        Integer slot = slots.get(taskId);
+        if (slot == null) {
+            return List.of();
+        }
+        long[] blockers = new long[predecessorCounts[slot]];
+        for (int i = 0; i < blockers.length; i++) {
+            blockers[i] = ids[predecessors[slot][i]];
+        }
+        Arrays.sort(blockers);
+        return Arrays.stream(blockers).boxed().toList();
+    }
+
+    public void forEachEdge(EdgeConsumer consumer) {
+        for (int blocker = 0; blocker < size; blocker++) {
+            for (int i = 0; i < successorCounts[blocker]; i++) {
+                consumer.accept(ids[blocker], ids[successors[blocker][i]]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EdgeConsumer {
+        void accept(long blockerId, long blockedId);
+    }
+
+    // Depth-first from start over nodes positioned at or before upper; false as soon as target is reached
+    private boolean collectForward(int start, int upper, int target, List<Integer> found) {
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = true;
+        found.add(start);
+        while (top > 0) {
+            int node = stack[--top];
+            for (int i = 0; i < successorCounts[node]; i++) {
+                int next = successors[node][i];
+                if (next == target) {
+                    return false;
+                }
+                if (!visited[next] && position[next] < upper) {
+                    visited[next] = true;
+                    found.add(next);
+                    stack = push(stack, top++, next);
+                }
+            }
+        }
+        return true;
+    }
+
+    // Depth-first from start against the edges over nodes positioned at or after lower
+    private void collectBackward(int start, int lower, List<Integer> found) {
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = true;
+        found.add(start);
+        while (top > 0) {
+            int node = stack[--top];
+            for (int i = 0; i < predecessorCounts[node]; i++) {
+                int previous = predecessors[node][i];
+                if (!visited[previous] && position[previous] > lower) {
+                    visited[previous] = true;
+                    found.add(previous);
+                    stack = push(stack, top++, previous);
+                }
+            }
+        }
+    }
+
+    // The affected nodes keep their set of positions; everything that reaches the blocker moves first
+    private void reorder(List<Integer> backward, List<Integer> forward) {
+        backward.sort((a, b) -> Integer.compare(position[a], position[b]));
+        forward.sort((a, b) -> Integer.compare(position[a], position[b]));
+        int[] positions = new int[backward.size() + forward.size()];
+        int i = 0;
+        for (int node : backward) {
+            positions[i++] = position[node];
+        }
+        for (int node : forward) {
+            positions[i++] = position[node];
+        }
+        Arrays.sort(positions);
+        i = 0;
+        for (int node : backward) {
+            place(node, positions[i++]);
+        }
+        for (int node : forward) {
+            place(node, positions[i++]);
+        }
+    }
+
+    private void sortTopologically() {
+        int[] inDegree = Arrays.copyOf(predecessorCounts, size);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (inDegree[slot] == 0) {
+                queue[tail++] = slot;
+            }
+        }
+        while (head < tail) {
+            int slot = queue[head];
+            place(slot, head++);
+            for (int i = 0; i < successorCounts[slot]; i++) {
+                int next = successors[slot][i];
+                if (--inDegree[next] == 0) {
+                    queue[tail++] = next;
+                }
+            }
+        }
+        if (tail < size) {
+            throw new IllegalStateException("Stored task dependencies contain a cycle");
+        }
+    }
+
+    private int slot(long id) {
+        Integer existing = slots.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        int slot = size++;
+        slots.put(id, slot);
+        ids[slot] = id;
+        successors[slot] = NO_EDGES;
+        predecessors[slot] = NO_EDGES;
+        // New nodes have no edges yet, so the end of the order is always valid
+        place(slot, slot);
+        return slot;
+    }
+
+    private void link(int blocker, int blocked) {
+        successors[blocker] = append(successors[blocker], successorCounts[blocker]++, blocked);
+        predecessors[blocked] = append(predecessors[blocked], predecessorCounts[blocked]++, blocker);
+        edgeCount++;
+    }
+
+    private void place(int slot, int at) {
+        position[slot] = at;
+        slotAt[at] = slot;
+    }
+
+    private void clearVisited(List<Integer> nodes) {
+        for (int node : nodes) {
+            visited[node] = false;
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        position = Arrays.copyOf(position, capacity);
+        slotAt = Arrays.copyOf(slotAt, capacity);
+        successors = Arrays.copyOf(successors, capacity);
+        successorCounts = Arrays.copyOf(successorCounts, capacity);
+        predecessors = Arrays.copyOf(predecessors, capacity);
+        predecessorCounts = Arrays.copyOf(predecessorCounts, capacity);
+        visited = Arrays.copyOf(visited, capacity);
+    }
+
+    private static int[] append(int[] values, int count, int value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, count * 2));
+        }
+        values[count] = value;
+        return values;
+    }
+
+    private static int[] push(int[] stack, int top, int value) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = value;
+        return stack;
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Order inside an adjacency list does not matter: move the last entry into the gap
+    private static void removeAt(int[] values, int count, int index) {
+        values[index] = values[count - 1];
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.repository.TaskDependencyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-project {@link DependencyGraph}s, loaded on first use and dropped after
+ * {@code tasks.dependencies.idle-timeout} without access.
+ *
+ * <p>Every change to a project's dependencies bumps {@code task_dependency_versions} in the database
+ * (statement triggers, so cascades from task deletes count too). Callers pass the version they read
+ * and get a graph at exactly that version, reloaded in one query if the cached copy is behind.
+ * Callers synchronize on the returned graph while they use it.
+ */
+@Component
+public class DependencyGraphCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyGraphCache.class);
+
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final Duration idleTimeout;
+    private final ConcurrentMap<Long, DependencyGraph> graphs = new ConcurrentHashMap<>();
+
+    public DependencyGraphCache(TaskDependencyRepository taskDependencyRepository,
+                                @Value("${tasks.dependencies.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.idleTimeout = idleTimeout;
+    }
+
+    public DependencyGraph get(Long projectId, long version) {
+        DependencyGraph graph = graphs.compute(projectId,
+                (id, cached) -> cached != null && cached.version() == version ? cached : load(id));
+        graph.touch();
+        return graph;
+    }
+
+    public void invalidate(Long projectId) {
+        graphs.remove(projectId);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.dependencies.evict-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        graphs.entrySet().removeIf(entry -> entry.getValue().lastAccess() - cutoff < 0);
+    }
+
+    int size() {
+        return graphs.size();
+    }
+
+    private DependencyGraph load(Long projectId) {
+        List<Object[]> rows = taskDependencyRepository.findGraphRows(projectId);
+        long version = rows.isEmpty() ? 0 : ((Number) rows.get(0)[0]).longValue();
+        List<long[]> edges = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                edges.add(new long[]{((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+            }
+        }
+        DependencyGraph graph = DependencyGraph.of(version, edges);
+        logger.debug("Loaded dependency graph of project {}: {} tasks, {} edges, version {}",
+                projectId, graph.nodeCount(), graph.edgeCount(), version);
+        return graph;
+    }
+}
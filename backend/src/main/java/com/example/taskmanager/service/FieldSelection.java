@@ -0,0 +1,44 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.BadRequestException;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves the {@code fields=} parameter of list endpoints against the fields they can return.
+ * No selection means every field but {@code description}, which lists only return when asked for;
+ * {@code id} is always part of a narrowed selection.
+ */
+public final class FieldSelection {
+
+    // Unbounded text columns, loaded lazily; reading them for every row of a page is what lists avoid
+    static final Set<String> OMITTED_BY_DEFAULT = Set.of("description");
+
+    private FieldSelection() {
+    }
+
+    public static Set<String> resolve(Collection<String> requested, List<String> available) {
+        if (requested == null || requested.isEmpty()) {
+            Set<String> defaults = new LinkedHashSet<>(available);
+            defaults.removeAll(OMITTED_BY_DEFAULT);
+            return defaults;
+        }
+        Set<String> resolved = new LinkedHashSet<>();
+        resolved.add("id");
+        for (String field : requested) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'. Allowed fields: "
+                        + String.join(", ", available));
+            }
+            resolved.add(name);
+        }
+        return resolved;
+    }
+}
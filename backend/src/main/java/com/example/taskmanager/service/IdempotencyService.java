@@ -0,0 +1,152 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs non-idempotent operations at most once per {@code Idempotency-Key}. The first request with a
+ * key runs the operation; repeats get its stored result, and repeats that arrive while it is still
+ * running wait for it instead of running it again. Keys are scoped to the caller and kept in a
+ * bounded in-memory store, evicted after {@code idempotency.ttl} or when the store is full.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // Insertion order is creation order, so expired and eldest entries are both at the head
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration waitTimeout;
+
+    public IdempotencyService(ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs {@code action} unless {@code key} was already used for the same {@code operation} and
+     * {@code request}, in which case the earlier result is returned. Reusing a key for a different
+     * request is rejected with a {@link ConflictException}. A null key always runs the action.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String operation, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String storeKey = currentPrincipal() + ":" + key;
+        String fingerprint = fingerprint(operation, request);
+        Entry entry = new Entry(fingerprint, new CompletableFuture<>(), Instant.now().plus(ttl));
+
+        Entry existing;
+        synchronized (entries) {
+            evictExpired(Instant.now());
+            existing = entries.get(storeKey);
+            if (existing == null) {
+                entries.put(storeKey, entry);
+                if (entries.size() > maxEntries) {
+                    Iterator<Entry> eldest = entries.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new ConflictException("Idempotency-Key " + key + " was already used for a different request");
+            }
+            logger.info("Replaying result for Idempotency-Key: {} ({})", key, operation);
+            return (T) await(existing.result(), key);
+        }
+
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            // Failures are not stored: waiters see this failure, later retries run the operation again
+            synchronized (entries) {
+                entries.remove(storeKey, entry);
+            }
+            entry.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result, String key) {
+        try {
+            return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for the request with Idempotency-Key " + key);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt().isBefore(now)) {
+            iterator.remove();
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Could not fingerprint request for " + operation, ex);
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Carries cache invalidations between instances that share a database, enabled with
+ * {@code invalidation.enabled}. Committed task and project writes of this instance are collected in
+ * memory and sent every {@code invalidation.flush-interval} as PostgreSQL notifications on
+ * {@code invalidation.channel}; every instance listens on that channel over a dedicated connection,
+ * outside the pool, and republishes what it receives as remote {@link TasksInvalidatedEvent}s and
+ * {@link ProjectChangedEvent}s, so LabelIndex, TaskColumnIndex and ProjectReadModel drop or re-read
+ * what changed. A task write elsewhere invalidates its whole project: notifications carry project ids
+ * only, and many writes to one project within a flush interval become a single entry.
+ *
+ * <p>Each notification is {@code <instance>:<sequence>:<entries>}. A listener that sees a sequence
+ * skip, or that has lost its connection, cannot know what it missed and invalidates everything.
+ * Notifications that cannot be sent are kept for the next flush; once more than
+ * {@code invalidation.max-pending} entries are waiting they collapse into one full invalidation.
+ *
+ * <p>The bean always exists and reads {@code invalidation.enabled} at runtime, like ProjectReadModel,
+ * so AOT-processed images, whose bean conditions are fixed at build time, can still turn it on.
+ *
+ * <p>DependencyGraphCache needs none of this: it checks the dependency version on every read.
+ */
+@Component
+public class InvalidationBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+    // PostgreSQL rejects payloads of 8000 bytes or more; ours are ASCII
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+    static final String ALL = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final String channel;
+    private final Duration flushInterval;
+    private final Duration reconnectDelay;
+    private final Duration heartbeatInterval;
+    private final int maxPending;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // Last sequence seen per sending instance; only touched by the listener thread
+    private final Map<String, Long> sequences = new HashMap<>();
+    private final Counter sent;
+    private final Counter received;
+    private final Counter fullInvalidations;
+    private long sequence;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread publisher;
+    private Thread listener;
+
+    public InvalidationBus(JdbcTemplate jdbcTemplate,
+                           DataSourceProperties dataSourceProperties,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${invalidation.enabled:false}") boolean enabled,
+                           @Value("${invalidation.channel:taskmanager_invalidation}") String channel,
+                           @Value("${invalidation.flush-interval:PT0.1S}") Duration flushInterval,
+                           @Value("${invalidation.reconnect-delay:PT1S}") Duration reconnectDelay,
+                           @Value("${invalidation.heartbeat-interval:PT30S}") Duration heartbeatInterval,
+                           @Value("${invalidation.max-pending:10000}") int maxPending) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("invalidation.channel must be a lower-case identifier: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.flushInterval = flushInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxPending = maxPending;
+        this.sent = Counter.builder("invalidation.sent")
+                .description("Invalidation notifications sent to other instances")
+                .register(meterRegistry);
+        this.received = Counter.builder("invalidation.received")
+                .description("Invalidation notifications received from other instances")
+                .register(meterRegistry);
+        this.fullInvalidations = Counter.builder("invalidation.full")
+                .description("Invalidations of everything after missed notifications or a lost connection")
+                .register(meterRegistry);
+        Gauge.builder("invalidation.connected", this, bus -> bus.connected ? 1 : 0)
+                .description("Whether the listen connection is up")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        enqueue("t" + event.projectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (!event.remote()) {
+            enqueue(event.projectId() == null ? ALL : "t" + event.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (!event.remote()) {
+            enqueue((event.type() == ProjectChangedEvent.Type.DELETED ? "d" : "p") + event.projectId());
+        }
+    }
+
+    private void enqueue(String entry) {
+        if (!enabled) {
+            return;
+        }
+        pending.add(entry);
+        if (pending.size() > maxPending) {
+            pending.clear();
+            pending.add(ALL);
+        }
+    }
+
+    /**
+     * Sends the pending entries, as few notifications as fit into the payload limit. Entries of a
+     * notification that fails are kept for the next flush, and its sequence number is not used up.
+     */
+    int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<String> entries = new ArrayList<>(pending);
+        pending.removeAll(entries);
+        if (entries.contains(ALL)) {
+            entries = List.of(ALL);
+        }
+        int notifications = 0;
+        int from = 0;
+        while (from < entries.size()) {
+            String header = instanceId + ":" + (sequence + 1) + ":";
+            StringBuilder payload = new StringBuilder(header);
+            int to = from;
+            while (to < entries.size() && (to == from
+                    || payload.length() + 1 + entries.get(to).length() <= MAX_PAYLOAD_BYTES)) {
+                payload.append(to == from ? "" : ",").append(entries.get(to));
+                to++;
+            }
+            try {
+                jdbcTemplate.query(NOTIFY, rs -> null, channel, payload.toString());
+            } catch (DataAccessException e) {
+                pending.addAll(entries.subList(from, entries.size()));
+                logger.warn("Sending invalidations failed, retrying {} entries on next flush: {}",
+                        entries.size() - from, e.getMessage());
+                break;
+            }
+            sequence++;
+            notifications++;
+            from = to;
+        }
+        sent.increment(notifications);
+        return notifications;
+    }
+
+    /**
+     * Applies one notification. Our own notifications come back too and are skipped; the events
+     * they stand for have already been delivered locally.
+     */
+    void receive(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        received.increment();
+        long seq = Long.parseLong(parts[1]);
+        Long previous = sequences.put(parts[0], seq);
+        if (previous != null && seq != previous + 1) {
+            invalidateAll("instance " + parts[0] + " skipped from sequence " + previous + " to " + seq);
+            return;
+        }
+        for (String entry : parts[2].split(",")) {
+            if (entry.equals(ALL)) {
+                invalidateAll(null);
+                return;
+            }
+            Long projectId = Long.valueOf(entry.substring(1));
+            switch (entry.charAt(0)) {
+                case 't' -> eventPublisher.publishEvent(new TasksInvalidatedEvent(projectId, true));
+                case 'p' -> eventPublisher.publishEvent(
+                        new ProjectChangedEvent(projectId, ProjectChangedEvent.Type.UPDATED, true));
+                case 'd' -> eventPublisher.publishEvent(
+                        new ProjectChangedEvent(projectId, ProjectChangedEvent.Type.DELETED, true));
+                default -> logger.warn("Ignoring unknown invalidation entry {}", entry);
+            }
+        }
+    }
+
+    private void invalidateAll(String reason) {
+        if (reason != null) {
+            fullInvalidations.increment();
+            logger.warn("Invalidating all cached projects and tasks: {}", reason);
+        }
+        eventPublisher.publishEvent(new TasksInvalidatedEvent(null, true));
+    }
+
+    /**
+     * Listens on {@code connection} until it fails or the bus stops. A listener that is {@code resuming}
+     * after a lost connection invalidates everything once it listens again, since notifications sent in
+     * between are gone.
+     */
+    void listen(Connection connection, boolean resuming) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        connected = true;
+        if (resuming) {
+            sequences.clear();
+            invalidateAll("the listen connection was re-established");
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long checked = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) flushInterval.toMillis());
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    try {
+                        receive(notification.getParameter());
+                    } catch (RuntimeException e) {
+                        // A malformed payload or a failing listener must not end the listener thread
+                        logger.error("Could not apply invalidation {}", notification.getParameter(), e);
+                        invalidateAll("an invalidation could not be applied");
+                    }
+                }
+            }
+            // getNotifications does not notice a connection that silently went away
+            if (System.nanoTime() - checked > heartbeatInterval.toNanos()) {
+                if (!connection.isValid(5)) {
+                    throw new SQLException("listen connection is no longer valid");
+                }
+                checked = System.nanoTime();
+            }
+        }
+    }
+
+    private void runListener() {
+        boolean resuming = false;
+        Duration delay = reconnectDelay;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                // Reset the back-off once connected; LISTEN failing right away keeps it growing
+                delay = reconnectDelay;
+                listen(connection, resuming);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Invalidation listener lost its connection, reconnecting in {}: {}", delay, e.getMessage());
+            } finally {
+                connected = false;
+            }
+            resuming = true;
+            if (!sleep(delay)) {
+                return;
+            }
+            delay = delay.multipliedBy(2).compareTo(MAX_RECONNECT_DELAY) > 0 ? MAX_RECONNECT_DELAY : delay.multipliedBy(2);
+        }
+    }
+
+    private void runPublisher() {
+        while (running || !pending.isEmpty()) {
+            flush();
+            if (running && !sleep(flushInterval)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::runListener, "invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        publisher = new Thread(this::runPublisher, "invalidation-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            publisher.join(flushInterval.plusSeconds(10).toMillis());
+            listener.join(flushInterval.plusSeconds(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Like StatusHistoryWriter: stopped after the web server, so writes of in-flight requests are sent
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    String instanceId() {
+        return instanceId;
+    }
+}
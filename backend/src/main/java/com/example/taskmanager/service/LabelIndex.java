@@ -0,0 +1,268 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskSearchFilter;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Compressed (Roaring) bitmaps of task ids per project: one per label, one per status and one of all
+ * tasks. Label filters become bitmap AND / OR / ANDNOT operations whose cost depends on the number of
+ * matching containers rather than on the number of tasks, and only the requested page is read from
+ * the database afterwards.
+ *
+ * <p>A project's bitmaps are built in one streaming pass on first use and dropped after
+ * {@code tasks.labels.idle-timeout} without access. {@link TaskChangedEvent}s are applied after commit;
+ * set-based writes ({@link TasksInvalidatedEvent}) drop the affected projects for a rebuild. Writes made
+ * by other instances are not seen until the bitmaps are rebuilt, which InvalidationBus (when enabled)
+ * triggers by republishing them as remote invalidations.
+ *
+ * <p>Footprint is reported as {@code tasks.labels.index.bytes} next to {@code tasks.labels.index.tasks}.
+ */
+@Component
+public class LabelIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LabelIndex.class);
+
+    private final TaskRepository taskRepository;
+    private final Duration idleTimeout;
+    private final ConcurrentMap<Long, ProjectBitmaps> projects = new ConcurrentHashMap<>();
+
+    public LabelIndex(TaskRepository taskRepository, MeterRegistry meterRegistry,
+                      @Value("${tasks.labels.idle-timeout:PT30M}") Duration idleTimeout) {
+        this.taskRepository = taskRepository;
+        this.idleTimeout = idleTimeout;
+        Gauge.builder("tasks.labels.index.bytes", this, LabelIndex::sizeInBytes)
+                .description("Estimated memory held by the label bitmaps of all loaded projects")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("tasks.labels.index.tasks", this, LabelIndex::taskCount)
+                .description("Tasks covered by the loaded label bitmaps")
+                .register(meterRegistry);
+        Gauge.builder("tasks.labels.index.projects", projects, Map::size)
+                .description("Projects whose label bitmaps are loaded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ids of the project's tasks that match the label and status criteria of {@code filter}; the
+     * {@code blocked} criterion is left to the caller. The returned bitmap is owned by the caller.
+     * Must be called inside a transaction the first time a project is used.
+     */
+    public Roaring64Bitmap match(Long projectId, TaskSearchFilter filter) {
+        ProjectBitmaps bitmaps = bitmaps(projectId);
+        synchronized (bitmaps) {
+            return bitmaps.match(filter);
+        }
+    }
+
+    /**
+     * Ids of the project's tasks that are not DONE, owned by the caller.
+     */
+    public Roaring64Bitmap openTasks(Long projectId) {
+        ProjectBitmaps bitmaps = bitmaps(projectId);
+        synchronized (bitmaps) {
+            Roaring64Bitmap open = copyOf(bitmaps.all);
+            open.andNot(bitmaps.byStatus.get(Task.TaskStatus.DONE));
+            return open;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        // Blocks while the project is being loaded, so a change committed during the load is not lost
+        projects.computeIfPresent(event.projectId(), (id, bitmaps) -> {
+            synchronized (bitmaps) {
+                bitmaps.apply(event);
+            }
+            return bitmaps;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (event.projectId() == null) {
+            projects.clear();
+        } else {
+            projects.remove(event.projectId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.labels.evict-interval:PT1M}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        projects.entrySet().removeIf(entry -> entry.getValue().lastAccess - cutoff < 0);
+    }
+
+    long sizeInBytes() {
+        long bytes = 0;
+        for (ProjectBitmaps bitmaps : projects.values()) {
+            synchronized (bitmaps) {
+                bytes += bitmaps.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    long taskCount() {
+        long tasks = 0;
+        for (ProjectBitmaps bitmaps : projects.values()) {
+            synchronized (bitmaps) {
+                tasks += bitmaps.all.getLongCardinality();
+            }
+        }
+        return tasks;
+    }
+
+    private ProjectBitmaps bitmaps(Long projectId) {
+        ProjectBitmaps bitmaps = projects.computeIfAbsent(projectId, this::load);
+        bitmaps.lastAccess = System.nanoTime();
+        return bitmaps;
+    }
+
+    private ProjectBitmaps load(Long projectId) {
+        ProjectBitmaps bitmaps = new ProjectBitmaps();
+        try (Stream<Object[]> rows = taskRepository.streamLabelRows(projectId)) {
+            rows.forEach(row -> bitmaps.add(((Number) row[0]).longValue(), (Task.TaskStatus) row[1], (String[]) row[2]));
+        }
+        bitmaps.optimize();
+        logger.debug("Loaded label index of project {}: {} tasks, {} labels, {} bytes",
+                projectId, bitmaps.all.getLongCardinality(), bitmaps.byLabel.size(), bitmaps.sizeInBytes());
+        return bitmaps;
+    }
+
+    static Roaring64Bitmap copyOf(Roaring64Bitmap source) {
+        Roaring64Bitmap copy = new Roaring64Bitmap();
+        copy.or(source);
+        return copy;
+    }
+
+    /**
+     * Bitmaps of one project. Not thread-safe: guarded by synchronizing on the instance.
+     */
+    static final class ProjectBitmaps {
+
+        private static final Roaring64Bitmap EMPTY = new Roaring64Bitmap();
+
+        final Roaring64Bitmap all = new Roaring64Bitmap();
+        final Map<String, Roaring64Bitmap> byLabel = new HashMap<>();
+        final Map<Task.TaskStatus, Roaring64Bitmap> byStatus = new EnumMap<>(Task.TaskStatus.class);
+        volatile long lastAccess = System.nanoTime();
+
+        ProjectBitmaps() {
+            for (Task.TaskStatus status : Task.TaskStatus.values()) {
+                byStatus.put(status, new Roaring64Bitmap());
+            }
+        }
+
+        void add(long taskId, Task.TaskStatus status, String[] labels) {
+            all.addLong(taskId);
+            byStatus.get(status).addLong(taskId);
+            for (String label : labels) {
+                byLabel.computeIfAbsent(label, name -> new Roaring64Bitmap()).addLong(taskId);
+            }
+        }
+
+        void apply(TaskChangedEvent event) {
+            long taskId = event.taskId();
+            if (event.previousStatus() != null) {
+                byStatus.get(event.previousStatus()).removeLong(taskId);
+            }
+            if (event.previousLabels() != null) {
+                for (String label : event.previousLabels()) {
+                    Roaring64Bitmap tasks = byLabel.get(label);
+                    if (tasks != null) {
+                        tasks.removeLong(taskId);
+                        if (tasks.isEmpty()) {
+                            byLabel.remove(label);
+                        }
+                    }
+                }
+            }
+            if (event.type() == TaskChangedEvent.Type.DELETED) {
+                all.removeLong(taskId);
+            } else {
+                add(taskId, event.status(), event.labels().toArray(String[]::new));
+            }
+        }
+
+        Roaring64Bitmap match(TaskSearchFilter filter) {
+            // Intersect starting from the smallest bitmap so every step works on the fewest containers
+            List<Roaring64Bitmap> required = new ArrayList<>();
+            if (filter.getLabels() != null) {
+                for (String label : filter.getLabels()) {
+                    required.add(byLabel.getOrDefault(label, EMPTY));
+                }
+            }
+            if (filter.getStatus() != null) {
+                required.add(byStatus.get(filter.getStatus()));
+            }
+            if (filter.getAnyLabels() != null && !filter.getAnyLabels().isEmpty()) {
+                Roaring64Bitmap any = new Roaring64Bitmap();
+                for (String label : filter.getAnyLabels()) {
+                    Roaring64Bitmap tasks = byLabel.get(label);
+                    if (tasks != null) {
+                        any.or(tasks);
+                    }
+                }
+                required.add(any);
+            }
+            if (required.isEmpty()) {
+                required.add(all);
+            }
+            required.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+
+            Roaring64Bitmap result = copyOf(required.get(0));
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result.and(required.get(i));
+            }
+            if (filter.getExcludedLabels() != null) {
+                for (String label : filter.getExcludedLabels()) {
+                    Roaring64Bitmap tasks = byLabel.get(label);
+                    if (tasks != null && !result.isEmpty()) {
+                        result.andNot(tasks);
+                    }
+                }
+            }
+            return result;
+        }
+
+        void optimize() {
+            all.runOptimize();
+            byStatus.values().forEach(Roaring64Bitmap::runOptimize);
+            byLabel.values().forEach(Roaring64Bitmap::runOptimize);
+        }
+
+        long sizeInBytes() {
+            long bytes = all.getLongSizeInBytes();
+            for (Roaring64Bitmap tasks : byStatus.values()) {
+                bytes += tasks.getLongSizeInBytes();
+            }
+            for (Roaring64Bitmap tasks : byLabel.values()) {
+                bytes += tasks.getLongSizeInBytes();
+            }
+            return bytes;
+        }
+    }
+}
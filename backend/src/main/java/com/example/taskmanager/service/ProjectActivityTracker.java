@@ -0,0 +1,95 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maintains {@code projects.last_activity_at} for task writes without putting the project row into
+ * their transactions. Committed writes only record a timestamp in memory; every
+ * {@code projects.activity.flush-interval} the latest timestamp of each touched project is written with
+ * one batched statement in a single short transaction, so a project receiving hundreds of task writes a
+ * second is still updated once per flush. Rows are updated in id order and never moved backwards, so
+ * instances flushing at the same time neither deadlock nor overwrite a newer value.
+ */
+@Component
+public class ProjectActivityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectActivityTracker.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Long, Instant> pending = new ConcurrentHashMap<>();
+
+    public ProjectActivityTracker(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        record(event.projectId(), Instant.now());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        // Archival invalidates every project but is not activity; remote writes are recorded where they ran
+        if (event.projectId() != null && !event.remote()) {
+            record(event.projectId(), Instant.now());
+        }
+    }
+
+    void record(Long projectId, Instant at) {
+        pending.merge(projectId, at, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${projects.activity.flush-interval:PT5S}")
+    public int flush() {
+        Map<Long, Instant> batch = new TreeMap<>();
+        for (Long projectId : pending.keySet()) {
+            Instant at = pending.remove(projectId);
+            if (at != null) {
+                batch.put(projectId, at);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        batch.forEach((projectId, at) -> rows.add(new Object[]{Timestamp.from(at), projectId, Timestamp.from(at)}));
+        try {
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(
+                    "UPDATE projects SET last_activity_at = ? WHERE id = ? AND last_activity_at < ?", rows));
+        } catch (DataAccessException e) {
+            // Put the timestamps back for the next flush unless newer ones arrived meanwhile
+            batch.forEach(this::record);
+            logger.warn("Could not update last activity of {} projects, retrying on next flush: {}",
+                    batch.size(), e.getMessage());
+            return 0;
+        }
+        logger.debug("Updated last activity of {} projects", batch.size());
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
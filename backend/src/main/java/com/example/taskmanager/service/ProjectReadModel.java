@@ -0,0 +1,666 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.ProjectRepositoryCustom;
+import com.example.taskmanager.repository.TaskRepositoryCustom;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory copy of the projects and tasks tables, enabled with {@code read-model.enabled},
+ * that answers the plain project and task reads of ProjectController and TaskController without a
+ * database round trip. Whatever it cannot answer (unknown ids, archived tasks, sorts by text columns
+ * whose order depends on the database collation) is left to the services.
+ *
+ * <p>A project's tasks are held as an immutable snapshot, an array of rows sorted by id. Writers build
+ * a new snapshot and swap it into a concurrent map (copy-on-write), so readers never lock. The first
+ * refresh after startup streams every project into the model; afterwards {@link TaskChangedEvent}s and
+ * {@link ProjectChangedEvent}s are applied after commit by reading the changed row back by key, and
+ * set-based writes ({@link TasksInvalidatedEvent}) drop the affected snapshots until the next refresh.
+ *
+ * <p>Writes made by other instances arrive through the refresh every {@code read-model.refresh-interval},
+ * or sooner as remote events when InvalidationBus is enabled. The refresh reloads the project rows, and
+ * about twice per {@code read-model.max-staleness} reconfirms each snapshot: it is reloaded when its
+ * project's {@code last_activity_at} moved or when the project's task count and newest
+ * {@code updated_at} no longer match it, which also catches writers that record no activity. A
+ * snapshot (or the project list) not confirmed against the database within {@code read-model.max-staleness}
+ * is not served.
+ *
+ * <p>Snapshots are only loaded while their estimated size fits into {@code read-model.max-bytes}; larger
+ * projects are read from the database. Footprint is reported as {@code read-model.bytes}.
+ */
+@Component
+public class ProjectReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectReadModel.class);
+    private static final int FETCH_SIZE = 1000;
+    private static final String PROJECT_SELECT =
+            "SELECT id, name, description, created_at, updated_at, last_activity_at FROM projects";
+    private static final String TASK_SELECT = "SELECT id, title, description, status, project_id, parent_id,"
+            + " rank_key, labels, assignee, due_at, created_at, updated_at FROM tasks";
+
+    // Rough sizes for the memory estimate: object header and fields, array slot, String overhead
+    private static final long TASK_ROW_BYTES = 96;
+    private static final long PROJECT_ROW_BYTES = 80;
+    private static final long STRING_BYTES = 40;
+
+    // Only orders the database produces identically: status names sort the same under any collation,
+    // rank_key uses the "C" collation; PostgreSQL puts nulls last ascending and first descending
+    private static final Map<String, Comparator<TaskRow>> TASK_ORDERS = Map.of(
+            "id", Comparator.comparingLong(TaskRow::id),
+            "status", Comparator.comparing((TaskRow row) -> row.status().name()),
+            "projectId", Comparator.comparingLong(TaskRow::projectId),
+            "rank", Comparator.comparing(TaskRow::rank, Comparator.nullsLast(Comparator.naturalOrder())),
+            "createdAt", Comparator.comparing(TaskRow::createdAt),
+            "updatedAt", Comparator.comparing(TaskRow::updatedAt));
+
+    private static final Map<String, Comparator<ProjectRow>> PROJECT_ORDERS = Map.of(
+            "id", Comparator.comparingLong(ProjectRow::id),
+            "createdAt", Comparator.comparing(ProjectRow::createdAt),
+            "updatedAt", Comparator.comparing(ProjectRow::updatedAt),
+            "lastActivityAt", Comparator.comparing(ProjectRow::lastActivityAt));
+
+    private static final Set<String> ALL_TASK_FIELDS = Set.copyOf(TaskRepositoryCustom.PROJECTABLE_FIELDS);
+    private static final Set<String> ALL_PROJECT_FIELDS = Set.copyOf(ProjectRepositoryCustom.PROJECTABLE_FIELDS);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long maxStalenessNanos;
+    private final long maxBytes;
+    private final ConcurrentMap<Long, TaskSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Projects whose tasks did not fit, with their estimated size at the last attempt
+    private final ConcurrentMap<Long, Long> rejected = new ConcurrentHashMap<>();
+    private final AtomicLong taskBytes = new AtomicLong();
+    private volatile ProjectList projects;
+
+    public ProjectReadModel(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${read-model.enabled:false}") boolean enabled,
+                            @Value("${read-model.max-staleness:PT30S}") Duration maxStaleness,
+                            @Value("${read-model.max-bytes:256MB}") DataSize maxBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.maxBytes = maxBytes.toBytes();
+        Gauge.builder("read-model.bytes", this, ProjectReadModel::sizeInBytes)
+                .description("Estimated memory held by the in-memory read model")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("read-model.tasks", this, ProjectReadModel::taskCount)
+                .description("Tasks held by the in-memory read model")
+                .register(meterRegistry);
+        Gauge.builder("read-model.projects", snapshots, Map::size)
+                .description("Projects whose tasks are held by the in-memory read model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A page of projects like {@code ProjectService.getAllProjects}, or empty when the model cannot
+     * serve it.
+     */
+    public Optional<Page<ProjectDto>> findProjects(Collection<String> fields, Pageable pageable) {
+        ProjectList list = projects;
+        if (!enabled || list == null || !isFresh(list.verifiedAt())) {
+            return Optional.empty();
+        }
+        Comparator<ProjectRow> order = order(pageable.getSort(), PROJECT_ORDERS);
+        if (order == null) {
+            return Optional.empty();
+        }
+        Set<String> selection = FieldSelection.resolve(fields, ProjectRepositoryCustom.PROJECTABLE_FIELDS);
+        List<ProjectRow> rows = pageable.getSort().isSorted()
+                ? list.rows().stream().sorted(order).toList()
+                : list.rows();
+        return Optional.of(page(rows, pageable, row -> row.toDto(selection)));
+    }
+
+    public Optional<ProjectDto> findProject(Long projectId) {
+        ProjectList list = projects;
+        if (!enabled || list == null || !isFresh(list.verifiedAt())) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(list.byId().get(projectId)).map(row -> row.toDto(ALL_PROJECT_FIELDS));
+    }
+
+    /**
+     * A page of the project's (non-archived) tasks like {@code TaskService.getTasksByProjectId}, or
+     * empty when the model cannot serve it.
+     */
+    public Optional<Page<TaskDto>> findTasks(Long projectId, Collection<String> fields, Pageable pageable) {
+        TaskSnapshot snapshot = servableSnapshot(projectId);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        Comparator<TaskRow> order = order(pageable.getSort(), TASK_ORDERS);
+        if (order == null) {
+            return Optional.empty();
+        }
+        Set<String> selection = FieldSelection.resolve(fields, TaskRepositoryCustom.PROJECTABLE_FIELDS);
+        List<TaskRow> rows = pageable.getSort().isSorted()
+                ? Arrays.stream(snapshot.rows()).sorted(order).toList()
+                : Arrays.asList(snapshot.rows());
+        return Optional.of(page(rows, pageable, row -> row.toDto(selection)));
+    }
+
+    public Optional<TaskDto> findTask(Long projectId, Long taskId) {
+        TaskSnapshot snapshot = servableSnapshot(projectId);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        int index = snapshot.indexOf(taskId);
+        return index < 0 ? Optional.empty() : Optional.of(snapshot.rows()[index].toDto());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled || !snapshots.containsKey(event.projectId())) {
+            return;
+        }
+        try {
+            TaskRow row = event.type() == TaskChangedEvent.Type.DELETED ? null : readTask(event.projectId(), event.taskId());
+            replace(event.projectId(), snapshot -> row != null ? snapshot.with(row) : snapshot.without(event.taskId()));
+        } catch (DataAccessException e) {
+            // The write has committed; serve the project from the database until the next refresh
+            logger.warn("Could not read back task {}, dropping project {} from the read model: {}",
+                    event.taskId(), event.projectId(), e.getMessage());
+            drop(event.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (event.projectId() == null) {
+            snapshots.keySet().forEach(this::drop);
+            if (event.remote()) {
+                // Another instance's project writes may have been missed as well
+                projects = null;
+            }
+        } else {
+            drop(event.projectId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long projectId = event.projectId();
+        try {
+            ProjectRow row = event.type() == ProjectChangedEvent.Type.DELETED ? null : readProject(projectId);
+            if (row == null) {
+                drop(projectId);
+                rejected.remove(projectId);
+                updateProjects(list -> list.without(projectId));
+                return;
+            }
+            updateProjects(list -> list.with(row));
+            if (event.type() == ProjectChangedEvent.Type.CREATED) {
+                snapshots.putIfAbsent(projectId, new TaskSnapshot(new TaskRow[0], 0, row.lastActivityAt(), System.nanoTime()));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not read back project {}, read model waits for the next refresh: {}",
+                    projectId, e.getMessage());
+            projects = null;
+        }
+    }
+
+    /**
+     * Reloads the project rows, then loads the missing task snapshots and reconfirms the others once
+     * they are half {@code read-model.max-staleness} old, reloading those whose project changed. A busy
+     * project is reloaded at most about twice per {@code read-model.max-staleness}; in between its local
+     * writes are applied from events.
+     */
+    @Scheduled(fixedDelayString = "${read-model.refresh-interval:PT5S}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        int loaded = 0;
+        try {
+            ProjectList list = ProjectList.of(jdbcTemplate.query(PROJECT_SELECT + " ORDER BY id", ProjectReadModel::mapProject),
+                    started);
+            synchronized (this) {
+                projects = list;
+            }
+            for (Long projectId : snapshots.keySet()) {
+                if (!list.byId().containsKey(projectId)) {
+                    drop(projectId);
+                }
+            }
+            rejected.keySet().retainAll(list.byId().keySet());
+
+            List<ProjectRow> idle = new ArrayList<>();
+            for (ProjectRow project : list.rows()) {
+                TaskSnapshot snapshot = snapshots.get(project.id());
+                if (snapshot == null) {
+                    loaded += load(project, null, started) ? 1 : 0;
+                } else if (started - snapshot.verifiedAt() < maxStalenessNanos / 2) {
+                    continue;
+                } else if (project.lastActivityAt().isAfter(snapshot.activityAt())) {
+                    loaded += load(project, snapshot, started) ? 1 : 0;
+                } else {
+                    idle.add(project);
+                }
+            }
+            // Archival, rank rebalancing, bulk updates across projects and the reactive variant change
+            // tasks without recording activity, so an idle project is confirmed by its fingerprint
+            Map<Long, Fingerprint> fingerprints = fingerprints(idle);
+            for (ProjectRow project : idle) {
+                TaskSnapshot snapshot = snapshots.get(project.id());
+                if (snapshot == null) {
+                    continue;
+                }
+                if (snapshot.fingerprint().equals(fingerprints.getOrDefault(project.id(), Fingerprint.EMPTY))) {
+                    replace(project.id(), current -> current.verifiedAt(started));
+                } else {
+                    loaded += load(project, snapshot, started) ? 1 : 0;
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Refreshing the read model failed, retrying on next run: {}", e.getMessage());
+            return;
+        }
+        if (loaded > 0) {
+            logger.info("Loaded {} projects into the read model in {} ms; {} projects, {} tasks, ~{} bytes",
+                    loaded, Duration.ofNanos(System.nanoTime() - started).toMillis(), snapshots.size(),
+                    taskCount(), sizeInBytes());
+        }
+    }
+
+    long sizeInBytes() {
+        ProjectList list = projects;
+        return taskBytes.get() + (list != null ? list.bytes() : 0);
+    }
+
+    long taskCount() {
+        long tasks = 0;
+        for (TaskSnapshot snapshot : snapshots.values()) {
+            tasks += snapshot.rows().length;
+        }
+        return tasks;
+    }
+
+    private TaskSnapshot servableSnapshot(Long projectId) {
+        if (!enabled) {
+            return null;
+        }
+        TaskSnapshot snapshot = snapshots.get(projectId);
+        return snapshot != null && isFresh(snapshot.verifiedAt()) ? snapshot : null;
+    }
+
+    private boolean isFresh(long verifiedAt) {
+        return System.nanoTime() - verifiedAt <= maxStalenessNanos;
+    }
+
+    // Streams the project's tasks into a new snapshot if it fits into the budget; the snapshot it
+    // replaces no longer counts against the budget
+    private boolean load(ProjectRow project, TaskSnapshot previous, long started) {
+        long budget = maxBytes - taskBytes.get() + (previous != null ? previous.bytes() : 0);
+        Long estimate = rejected.get(project.id());
+        if (estimate != null && estimate > budget) {
+            if (previous != null) {
+                drop(project.id());
+            }
+            return false;
+        }
+        List<TaskRow> rows = new ArrayList<>();
+        Long bytes = transactionTemplate.execute(tx -> streamTasks(project.id(), rows, budget));
+        long size = bytes != null ? bytes : 0;
+        if (size > budget) {
+            if (rejected.put(project.id(), size) == null) {
+                logger.info("Tasks of project {} (~{} bytes) exceed the read model budget, serving them from the database",
+                        project.id(), size);
+            }
+            drop(project.id());
+            return false;
+        }
+        rejected.remove(project.id());
+        TaskSnapshot snapshot = new TaskSnapshot(rows.toArray(TaskRow[]::new), size, project.lastActivityAt(), started);
+        snapshots.compute(project.id(), (id, current) -> {
+            taskBytes.addAndGet(snapshot.bytes() - (current != null ? current.bytes() : 0));
+            return snapshot;
+        });
+        return true;
+    }
+
+    // Collects rows until the budget is exhausted and keeps counting after that, returning the total size.
+    // Runs in a transaction so the driver fetches through a cursor instead of buffering the result
+    private long streamTasks(Long projectId, List<TaskRow> rows, long budget) {
+        long bytes = 0;
+        try (Stream<TaskRow> stream = jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(TASK_SELECT + " WHERE project_id = ? ORDER BY id");
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, projectId);
+            return statement;
+        }, ProjectReadModel::mapTask)) {
+            Iterator<TaskRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                TaskRow row = iterator.next();
+                bytes += row.estimatedBytes();
+                if (bytes <= budget) {
+                    rows.add(row);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // Every writer sets updated_at or changes the number of rows; one grouped query for all projects
+    private Map<Long, Fingerprint> fingerprints(List<ProjectRow> projects) {
+        Map<Long, Fingerprint> fingerprints = new HashMap<>();
+        if (projects.isEmpty()) {
+            return fingerprints;
+        }
+        Long[] ids = projects.stream().map(ProjectRow::id).toArray(Long[]::new);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT project_id, count(*), max(updated_at) FROM tasks WHERE project_id = ANY (?) GROUP BY project_id");
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        }, rs -> {
+            fingerprints.put(rs.getLong(1), new Fingerprint(rs.getLong(2), rs.getTimestamp(3).toInstant()));
+        });
+        return fingerprints;
+    }
+
+    private TaskRow readTask(Long projectId, Long taskId) {
+        return jdbcTemplate.query(TASK_SELECT + " WHERE project_id = ? AND id = ?", ProjectReadModel::mapTask,
+                projectId, taskId).stream().findFirst().orElse(null);
+    }
+
+    private ProjectRow readProject(Long projectId) {
+        return jdbcTemplate.query(PROJECT_SELECT + " WHERE id = ?", ProjectReadModel::mapProject, projectId)
+                .stream().findFirst().orElse(null);
+    }
+
+    private void replace(Long projectId, UnaryOperator<TaskSnapshot> change) {
+        snapshots.computeIfPresent(projectId, (id, snapshot) -> {
+            TaskSnapshot changed = change.apply(snapshot);
+            taskBytes.addAndGet(changed.bytes() - snapshot.bytes());
+            return changed;
+        });
+    }
+
+    private void drop(Long projectId) {
+        TaskSnapshot removed = snapshots.remove(projectId);
+        if (removed != null) {
+            taskBytes.addAndGet(-removed.bytes());
+        }
+    }
+
+    private synchronized void updateProjects(UnaryOperator<ProjectList> change) {
+        ProjectList list = projects;
+        if (list != null) {
+            projects = change.apply(list);
+        }
+    }
+
+    // Null when the sort cannot be reproduced in memory
+    private static <R> Comparator<R> order(Sort sort, Map<String, Comparator<R>> orders) {
+        Comparator<R> order = null;
+        for (Sort.Order sortOrder : sort) {
+            Comparator<R> comparator = orders.get(sortOrder.getProperty());
+            if (comparator == null || sortOrder.isIgnoreCase()
+                    || sortOrder.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return null;
+            }
+            if (sortOrder.isDescending()) {
+                comparator = comparator.reversed();
+            }
+            order = order == null ? comparator : order.thenComparing(comparator);
+        }
+        Comparator<R> byId = orders.get("id");
+        return order == null ? byId : order.thenComparing(byId);
+    }
+
+    private static <R, D> Page<D> page(List<R> rows, Pageable pageable, Function<R, D> toDto) {
+        List<R> content = rows;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), rows.size());
+            content = rows.subList(from, from + Math.min(pageable.getPageSize(), rows.size() - from));
+        }
+        return new PageImpl<>(content.stream().map(toDto).toList(), pageable, rows.size());
+    }
+
+    private static TaskRow mapTask(ResultSet rs, int rowNum) throws SQLException {
+        Array labels = rs.getArray("labels");
+        Timestamp dueAt = rs.getTimestamp("due_at");
+        return new TaskRow(rs.getLong("id"), rs.getString("title"), rs.getString("description"),
+                Task.TaskStatus.valueOf(rs.getString("status")), rs.getLong("project_id"),
+                rs.getObject("parent_id", Long.class), rs.getString("rank_key"),
+                labels != null ? (String[]) labels.getArray() : new String[0], rs.getString("assignee"),
+                dueAt != null ? dueAt.toInstant() : null,
+                rs.getTimestamp("created_at").toInstant(), rs.getTimestamp("updated_at").toInstant());
+    }
+
+    private static ProjectRow mapProject(ResultSet rs, int rowNum) throws SQLException {
+        return new ProjectRow(rs.getLong("id"), rs.getString("name"), rs.getString("description"),
+                rs.getTimestamp("created_at").toInstant(), rs.getTimestamp("updated_at").toInstant(),
+                rs.getTimestamp("last_activity_at").toInstant());
+    }
+
+    private static long stringBytes(String value) {
+        // Assumes UTF-16 storage, overestimating Latin-1 strings
+        return value != null ? STRING_BYTES + 2L * value.length() : 0;
+    }
+
+    record TaskRow(long id, String title, String description, Task.TaskStatus status, long projectId, Long parentId,
+                   String rank, String[] labels, String assignee, Instant dueAt, Instant createdAt, Instant updatedAt) {
+
+        // Like TaskService.convertToDto
+        TaskDto toDto() {
+            TaskDto dto = toDto(ALL_TASK_FIELDS);
+            dto.setParentId(parentId);
+            return dto;
+        }
+
+        // Like the projected queries of TaskRepositoryImpl: fields that were not selected stay null
+        TaskDto toDto(Set<String> fields) {
+            TaskDto dto = new TaskDto();
+            for (String field : fields) {
+                switch (field) {
+                    case "id" -> dto.setId(id);
+                    case "title" -> dto.setTitle(title);
+                    case "description" -> dto.setDescription(description);
+                    case "status" -> dto.setStatus(status);
+                    case "projectId" -> dto.setProjectId(projectId);
+                    case "rank" -> dto.setRank(rank);
+                    case "labels" -> dto.setLabels(new TreeSet<>(Arrays.asList(labels)));
+                    case "assignee" -> dto.setAssignee(assignee);
+                    case "dueAt" -> dto.setDueAt(dueAt);
+                    case "createdAt" -> dto.setCreatedAt(createdAt);
+                    case "updatedAt" -> dto.setUpdatedAt(updatedAt);
+                    default -> throw new IllegalArgumentException("Unknown task field: " + field);
+                }
+            }
+            return dto;
+        }
+
+        long estimatedBytes() {
+            long bytes = TASK_ROW_BYTES + stringBytes(title) + stringBytes(description) + stringBytes(rank)
+                    + stringBytes(assignee) + 16L + 8L * labels.length;
+            for (String label : labels) {
+                bytes += stringBytes(label);
+            }
+            return bytes;
+        }
+    }
+
+    record ProjectRow(long id, String name, String description, Instant createdAt, Instant updatedAt,
+                      Instant lastActivityAt) {
+
+        ProjectDto toDto(Set<String> fields) {
+            ProjectDto dto = new ProjectDto();
+            for (String field : fields) {
+                switch (field) {
+                    case "id" -> dto.setId(id);
+                    case "name" -> dto.setName(name);
+                    case "description" -> dto.setDescription(description);
+                    case "createdAt" -> dto.setCreatedAt(createdAt);
+                    case "updatedAt" -> dto.setUpdatedAt(updatedAt);
+                    case "lastActivityAt" -> dto.setLastActivityAt(lastActivityAt);
+                    default -> throw new IllegalArgumentException("Unknown project field: " + field);
+                }
+            }
+            return dto;
+        }
+
+        long estimatedBytes() {
+            return PROJECT_ROW_BYTES + stringBytes(name) + stringBytes(description);
+        }
+    }
+
+    /**
+     * Number of tasks and newest {@code updated_at} of a project, as far as the read model can tell
+     * whether its copy still matches the database.
+     */
+    record Fingerprint(long tasks, Instant updatedAt) {
+
+        static final Fingerprint EMPTY = new Fingerprint(0, null);
+    }
+
+    /**
+     * The tasks of one project sorted by id. Never modified once published: changes produce a new
+     * snapshot. {@code verifiedAt} is the {@link System#nanoTime()} at which the snapshot was last
+     * known to match the database, {@code activityAt} the project's last activity at that point.
+     */
+    record TaskSnapshot(TaskRow[] rows, long bytes, Instant activityAt, long verifiedAt) {
+
+        int indexOf(long taskId) {
+            int low = 0;
+            int high = rows.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long id = rows[mid].id();
+                if (id < taskId) {
+                    low = mid + 1;
+                } else if (id > taskId) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        // Ignores a row read back before a newer version of it was applied
+        TaskSnapshot with(TaskRow row) {
+            int index = indexOf(row.id());
+            if (index >= 0) {
+                TaskRow current = rows[index];
+                if (current.updatedAt().isAfter(row.updatedAt())) {
+                    return this;
+                }
+                TaskRow[] changed = rows.clone();
+                changed[index] = row;
+                return new TaskSnapshot(changed, bytes - current.estimatedBytes() + row.estimatedBytes(),
+                        activityAt, verifiedAt);
+            }
+            int insert = -(index + 1);
+            TaskRow[] changed = new TaskRow[rows.length + 1];
+            System.arraycopy(rows, 0, changed, 0, insert);
+            changed[insert] = row;
+            System.arraycopy(rows, insert, changed, insert + 1, rows.length - insert);
+            return new TaskSnapshot(changed, bytes + row.estimatedBytes(), activityAt, verifiedAt);
+        }
+
+        TaskSnapshot without(long taskId) {
+            int index = indexOf(taskId);
+            if (index < 0) {
+                return this;
+            }
+            TaskRow[] changed = new TaskRow[rows.length - 1];
+            System.arraycopy(rows, 0, changed, 0, index);
+            System.arraycopy(rows, index + 1, changed, index, rows.length - index - 1);
+            return new TaskSnapshot(changed, bytes - rows[index].estimatedBytes(), activityAt, verifiedAt);
+        }
+
+        Fingerprint fingerprint() {
+            Instant updatedAt = null;
+            for (TaskRow row : rows) {
+                if (updatedAt == null || row.updatedAt().isAfter(updatedAt)) {
+                    updatedAt = row.updatedAt();
+                }
+            }
+            return new Fingerprint(rows.length, updatedAt);
+        }
+
+        TaskSnapshot verifiedAt(long at) {
+            return new TaskSnapshot(rows, bytes, activityAt, at);
+        }
+    }
+
+    /**
+     * All projects sorted by id, immutable like {@link TaskSnapshot}.
+     */
+    record ProjectList(List<ProjectRow> rows, Map<Long, ProjectRow> byId, long bytes, long verifiedAt) {
+
+        static ProjectList of(List<ProjectRow> rows, long verifiedAt) {
+            Map<Long, ProjectRow> byId = new HashMap<>();
+            long bytes = 0;
+            for (ProjectRow row : rows) {
+                byId.put(row.id(), row);
+                bytes += row.estimatedBytes();
+            }
+            return new ProjectList(List.copyOf(rows), Map.copyOf(byId), bytes, verifiedAt);
+        }
+
+        ProjectList with(ProjectRow row) {
+            Map<Long, ProjectRow> byId = new HashMap<>(this.byId);
+            byId.put(row.id(), row);
+            return of(byId.values().stream().sorted(Comparator.comparingLong(ProjectRow::id)).toList(), verifiedAt);
+        }
+
+        ProjectList without(long projectId) {
+            return of(rows.stream().filter(row -> row.id() != projectId).toList(), verifiedAt);
+        }
+    }
+}
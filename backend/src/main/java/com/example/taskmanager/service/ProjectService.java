@@ -1,47 +1,133 @@
 package com.example.taskmanager.service;
 
 import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.ProjectFeedDto;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.entity.Project;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.exception.BadRequestException;
 import com.example.taskmanager.exception.ResourceNotFoundException;
 import com.example.taskmanager.repository.ProjectRepository;
+import com.example.taskmanager.repository.ProjectRepositoryCustom;
+import com.example.taskmanager.repository.TaskRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 public class ProjectService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
+    private static final int MAX_TASK_PREVIEWS = 20;
+    private static final int MAX_FEED_SIZE = 100;
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProjectService(ProjectRepository projectRepository) {
+    public ProjectService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                          RequestCoalescer requestCoalescer, ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<ProjectDto> getAllProjects(Pageable pageable) {
-        logger.info("Fetching all projects with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
-        return projectRepository.findAll(pageable)
-                .map(this::convertToDto);
+        return getAllProjects(null, pageable);
+    }
+
+    public Page<ProjectDto> getAllProjects(Collection<String> fields, Pageable pageable) {
+        logger.info("Fetching all projects with pagination: page={}, size={}, fields={}",
+                pageable.getPageNumber(), pageable.getPageSize(), fields);
+        return projectRepository.findAllProjected(
+                FieldSelection.resolve(fields, ProjectRepositoryCustom.PROJECTABLE_FIELDS), pageable);
+    }
+
+    /**
+     * Lists projects and embeds the first {@code taskLimit} tasks of each one, fetched for the
+     * whole page with a single query instead of one query per project.
+     */
+    public Page<ProjectDto> getAllProjectsWithTaskPreviews(Collection<String> fields, int taskLimit,
+                                                          Sort taskSort, Pageable pageable) {
+        if (taskLimit < 1 || taskLimit > MAX_TASK_PREVIEWS) {
+            throw new BadRequestException("taskLimit must be between 1 and " + MAX_TASK_PREVIEWS);
+        }
+        Page<ProjectDto> projects = getAllProjects(fields, pageable);
+        List<Long> projectIds = projects.map(ProjectDto::getId).getContent();
+        logger.info("Fetching up to {} task previews for {} projects", taskLimit, projectIds.size());
+
+        Map<Long, List<TaskDto>> previews = taskRepository.findTopTasksByProjectIds(projectIds, taskLimit, taskSort)
+                .stream()
+                .collect(Collectors.groupingBy(TaskDto::getProjectId));
+        projects.forEach(project -> project.setTasks(previews.getOrDefault(project.getId(), List.of())));
+        return projects;
     }
 
+    // Concurrent identical reads share one load; waiters must not hold a transaction (see RequestCoalescer)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProjectDto getProjectById(Long id) {
         logger.info("Fetching project with id: {}", id);
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.warn("Project not found with id: {}", id);
-                    return new ResourceNotFoundException("Project not found with id: " + id);
-                });
-        return convertToDto(project);
+        return requestCoalescer.coalesce("ProjectService.getProjectById", () -> {
+            Project project = projectRepository.findById(id)
+                    .orElseThrow(() -> {
+                        logger.warn("Project not found with id: {}", id);
+                        return new ResourceNotFoundException("Project not found with id: " + id);
+                    });
+            return convertToDto(project);
+        }, id);
+    }
+
+    /**
+     * Projects ordered by their latest activity, newest first, read with keyset pagination: each page
+     * continues strictly after the last project of the previous one, so its cost does not grow with
+     * the page number and projects that become active while paging do not shift later pages.
+     */
+    @Transactional(readOnly = true)
+    public ProjectFeedDto getRecentlyActiveProjects(String cursor, int size) {
+        if (size < 1 || size > MAX_FEED_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_FEED_SIZE);
+        }
+        logger.info("Fetching recently active projects: cursor={}, size={}", cursor, size);
+        List<Project> projects;
+        if (cursor == null || cursor.isBlank()) {
+            projects = projectRepository.findMostRecentlyActive(size + 1);
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            projects = projectRepository.findMostRecentlyActiveBefore(after.lastActivityAt(), after.id(), size + 1);
+        }
+
+        String nextCursor = null;
+        if (projects.size() > size) {
+            projects = projects.subList(0, size);
+            Project last = projects.get(size - 1);
+            nextCursor = new FeedCursor(last.getLastActivityAt(), last.getId()).encode();
+        }
+        return new ProjectFeedDto(projects.stream().map(this::convertToDto).toList(), nextCursor);
     }
 
     public ProjectDto createProject(ProjectDto projectDto) {
         logger.info("Creating new project: {}", projectDto.getName());
         Project project = convertToEntity(projectDto);
+        project.setLastActivityAt(Instant.now());
         Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(savedProject.getId(), ProjectChangedEvent.Type.CREATED));
         logger.info("Project created successfully with id: {}", savedProject.getId());
         return convertToDto(savedProject);
     }
@@ -56,7 +142,10 @@ public class ProjectService {
         
         project.setName(projectDto.getName());
         project.setDescription(projectDto.getDescription());
-        Project updatedProject = projectRepository.save(project);
+        project.setLastActivityAt(Instant.now());
+        // Flushed so the response carries the updatedAt set by auditing
+        Project updatedProject = projectRepository.saveAndFlush(project);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, ProjectChangedEvent.Type.UPDATED));
         logger.info("Project updated successfully with id: {}", updatedProject.getId());
         return convertToDto(updatedProject);
     }
@@ -68,6 +157,7 @@ public class ProjectService {
             throw new ResourceNotFoundException("Project not found with id: " + id);
         }
         projectRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProjectChangedEvent(id, ProjectChangedEvent.Type.DELETED));
         logger.info("Project deleted successfully with id: {}", id);
     }
 
@@ -76,6 +166,9 @@ public class ProjectService {
         dto.setId(project.getId());
         dto.setName(project.getName());
         dto.setDescription(project.getDescription());
+        dto.setCreatedAt(project.getCreatedAt());
+        dto.setUpdatedAt(project.getUpdatedAt());
+        dto.setLastActivityAt(project.getLastActivityAt());
         return dto;
     }
 
@@ -86,5 +179,22 @@ public class ProjectService {
         project.setDescription(dto.getDescription());
         return project;
     }
-}
 
+    // Opaque to clients: the sort key of the last project on a page
+    record FeedCursor(Instant lastActivityAt, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((lastActivityAt + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+                return new FeedCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional rank keys for manual task ordering. A key is read as the base-62 fraction
+ * {@code 0.<digits>}; keys never end in {@code '0'}, so plain string comparison (byte order,
+ * i.e. {@code COLLATE "C"} in PostgreSQL) matches numeric order. A key can always be found
+ * between two others, so moving a task only rewrites that task's key.
+ */
+public final class RankKeys {
+
+    static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Appends increment at this precision, leaving room for millions of appends before keys grow
+    private static final int APPEND_PRECISION = 4;
+
+    private RankKeys() {
+    }
+
+    /**
+     * Returns a key strictly between {@code before} and {@code after}; a null bound means
+     * the start or the end of the column.
+     */
+    public static String between(String before, String after) {
+        String lower = before == null ? "" : before;
+        if (after != null && lower.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank key '" + before + "' must sort before '" + after + "'");
+        }
+        return midpoint(lower, after);
+    }
+
+    /**
+     * Returns a key after {@code key} for appending to the end of a column. Close to {@code key}
+     * rather than halfway to the end, so repeated appends keep keys short.
+     */
+    public static String after(String key) {
+        if (key == null || key.isEmpty()) {
+            return String.valueOf(DIGITS.charAt(BASE / 2));
+        }
+        StringBuilder digits = new StringBuilder(key);
+        while (digits.length() < APPEND_PRECISION) {
+            digits.append('0');
+        }
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digit(digits.charAt(i));
+            if (digit < BASE - 1) {
+                digits.setCharAt(i, DIGITS.charAt(digit + 1));
+                return stripTrailingZeros(digits);
+            }
+            digits.setCharAt(i, '0');
+        }
+        // Every digit was already at its maximum: extend the key instead of overflowing
+        return key + DIGITS.charAt(BASE / 2);
+    }
+
+    /**
+     * Returns {@code count} ascending keys of equal precision, spread over the lower half of the
+     * key space so the column has plenty of room left for appends.
+     */
+    public static List<String> evenlySpaced(int count) {
+        List<String> keys = new ArrayList<>(count);
+        if (count == 0) {
+            return keys;
+        }
+        int width = APPEND_PRECISION;
+        while (Math.pow(BASE, width) / 2 < (double) count * BASE) {
+            width++;
+        }
+        long space = (long) Math.pow(BASE, width) / 2;
+        long step = space / (count + 1L);
+        for (int i = 1; i <= count; i++) {
+            keys.add(encode(step * i, width));
+        }
+        return keys;
+    }
+
+    private static String midpoint(String lower, String upper) {
+        if (upper != null) {
+            // Copy the common prefix, reading missing digits of the lower bound as '0'
+            int n = 0;
+            while (n < upper.length() && (n < lower.length() ? lower.charAt(n) : '0') == upper.charAt(n)) {
+                n++;
+            }
+            if (n > 0) {
+                return upper.substring(0, n)
+                        + midpoint(n < lower.length() ? lower.substring(n) : "", upper.substring(n));
+            }
+        }
+        int digitLower = lower.isEmpty() ? 0 : digit(lower.charAt(0));
+        int digitUpper = upper == null ? BASE : digit(upper.charAt(0));
+        if (digitUpper - digitLower > 1) {
+            return String.valueOf(DIGITS.charAt((digitLower + digitUpper) / 2));
+        }
+        if (upper != null && upper.length() > 1) {
+            return upper.substring(0, 1);
+        }
+        return DIGITS.charAt(digitLower) + midpoint(lower.length() > 1 ? lower.substring(1) : "", null);
+    }
+
+    private static String encode(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return stripTrailingZeros(new StringBuilder(new String(digits)));
+    }
+
+    private static String stripTrailingZeros(StringBuilder digits) {
+        int end = digits.length();
+        while (end > 1 && digits.charAt(end - 1) == '0') {
+            end--;
+        }
+        return digits.substring(0, end);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank key character: " + c);
+        }
+        return digit;
+    }
+}
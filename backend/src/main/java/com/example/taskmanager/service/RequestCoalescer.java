@@ -0,0 +1,101 @@
+package com.example.taskmanager.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight execution of hot reads: concurrent calls with the same operation, arguments and
+ * authorization scope share one in-flight load and its result (or failure). Nothing is cached; the
+ * next call after the load finishes runs a fresh one.
+ * <p>
+ * The load runs in its own read-only transaction, so callers should not hold a transaction while
+ * they wait ({@code Propagation.NOT_SUPPORTED}), otherwise every waiter still pins a connection.
+ * Counted as {@code coalescer.requests} tagged with the operation and whether the call ran the load
+ * ({@code executed}) or shared another call's ({@code joined}).
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public RequestCoalescer(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("coalescer.in.flight", inFlight, Map::size)
+                .description("Distinct reads currently being loaded")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String operation, Supplier<T> loader, Object... arguments) {
+        Key key = new Key(operation, authorizationScope(), Arrays.asList(arguments));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            meterRegistry.counter("coalescer.requests", "operation", operation, "outcome", "joined").increment();
+            logger.debug("Joining in-flight {} for arguments {}", operation, key.arguments());
+            return (T) join(existing);
+        }
+
+        meterRegistry.counter("coalescer.requests", "operation", operation, "outcome", "executed").increment();
+        try {
+            T result = readOnlyTransaction.execute(status -> loader.get());
+            future.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    // Callers with the same authorities see the same data; keeps differently-authorized reads apart
+    private static String authorizationScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "";
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private record Key(String operation, String scope, List<Object> arguments) {
+    }
+}
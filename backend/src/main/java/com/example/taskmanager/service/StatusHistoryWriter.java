@@ -0,0 +1,235 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.repository.TaskAnalyticsRepository;
+import com.example.taskmanager.repository.TaskAnalyticsRepository.CycleTimeCount;
+import com.example.taskmanager.repository.TaskAnalyticsRepository.DailyFlow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends committed status transitions to task_status_history and adds them to the daily rollups.
+ * Listeners only enqueue, so request threads never wait for the history; a single worker thread
+ * drains the queue in batches of up to {@code tasks.history.batch-size}, waiting at most
+ * {@code tasks.history.flush-interval} for a batch to fill, and writes each batch in one transaction.
+ *
+ * <p>Delivery is best effort: when the queue is full, or a batch still fails after one retry, the
+ * transitions are dropped and counted in {@code tasks.history.dropped} / {@code tasks.history.failed}.
+ * The queue is drained on shutdown.
+ */
+@Component
+public class StatusHistoryWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusHistoryWriter.class);
+
+    // Per project and day, in the order concurrent writers lock the rollup rows
+    private static final Comparator<DayKey> DAY_ORDER =
+            Comparator.comparing(DayKey::projectId).thenComparing(DayKey::day).thenComparingInt(DayKey::bucket);
+
+    private final TaskAnalyticsRepository analyticsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Object> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Counter dropped;
+    private final Counter failed;
+    private volatile boolean running;
+    private Thread worker;
+
+    public StatusHistoryWriter(TaskAnalyticsRepository analyticsRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${tasks.history.queue-capacity:10000}") int queueCapacity,
+                               @Value("${tasks.history.batch-size:500}") int batchSize,
+                               @Value("${tasks.history.flush-interval:PT1S}") Duration flushInterval) {
+        this.analyticsRepository = analyticsRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.dropped = Counter.builder("tasks.history.dropped")
+                .description("Status changes not recorded because the history queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("tasks.history.failed")
+                .description("Status changes not recorded because their batch could not be written")
+                .register(meterRegistry);
+        Gauge.builder("tasks.history.queue.size", queue, Collection::size)
+                .description("Status changes waiting to be written to the history")
+                .register(meterRegistry);
+    }
+
+    // A task removal that lowers the open-task count without a status transition
+    record Removal(Long projectId, Instant removedAt) {
+    }
+
+    private record DayKey(Long projectId, LocalDate day, int bucket) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(TaskStatusChangedEvent event) {
+        enqueue(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == TaskChangedEvent.Type.DELETED && event.previousStatus() != Task.TaskStatus.DONE) {
+            enqueue(new Removal(event.projectId(), Instant.now()));
+        }
+    }
+
+    private void enqueue(Object change) {
+        if (!queue.offer(change)) {
+            dropped.increment();
+            logger.warn("Status history queue is full, dropping {}", change);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "status-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(flushInterval.multipliedBy(2).plusSeconds(30).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Started before and stopped after the web server, so changes made by in-flight requests are drained
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<Object> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Object next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<Object> batch) {
+        try {
+            write(batch);
+        } catch (DataAccessException e) {
+            // Typically a project deleted after its rows were checked; the retry no longer selects it
+            logger.warn("Writing {} status changes failed, retrying once: {}", batch.size(), e.getMessage());
+            try {
+                write(batch);
+            } catch (DataAccessException retryFailure) {
+                failed.increment(batch.size());
+                logger.error("Dropping {} status changes that could not be written", batch.size(), retryFailure);
+            }
+        }
+    }
+
+    void write(List<Object> batch) {
+        List<TaskStatusChangedEvent> transitions = new ArrayList<>();
+        Map<DayKey, int[]> flow = new TreeMap<>(DAY_ORDER);
+        Map<DayKey, Integer> cycleTimes = new TreeMap<>(DAY_ORDER);
+        for (Object change : batch) {
+            if (change instanceof TaskStatusChangedEvent transition) {
+                transitions.add(transition);
+                LocalDate day = dayOf(transition.changedAt());
+                int[] counts = flow.computeIfAbsent(new DayKey(transition.projectId(), day, 0), key -> new int[3]);
+                boolean wasOpen = transition.previousStatus() != null && transition.previousStatus() != Task.TaskStatus.DONE;
+                if (!wasOpen) {
+                    // Created, or reopened from DONE; a task created as DONE is opened and closed at once
+                    counts[0]++;
+                }
+                if (transition.status() == Task.TaskStatus.DONE) {
+                    counts[1]++;
+                }
+                Duration cycleTime = transition.cycleTime();
+                if (cycleTime != null) {
+                    cycleTimes.merge(new DayKey(transition.projectId(), day, CycleTimeHistogram.bucketOf(cycleTime)),
+                            1, Integer::sum);
+                }
+            } else if (change instanceof Removal removal) {
+                flow.computeIfAbsent(new DayKey(removal.projectId(), dayOf(removal.removedAt()), 0),
+                        key -> new int[3])[2]++;
+            }
+        }
+
+        List<DailyFlow> flowDeltas = flow.entrySet().stream()
+                .map(e -> new DailyFlow(e.getKey().projectId(), e.getKey().day(),
+                        e.getValue()[0], e.getValue()[1], e.getValue()[2]))
+                .toList();
+        List<CycleTimeCount> cycleTimeCounts = cycleTimes.entrySet().stream()
+                .map(e -> new CycleTimeCount(e.getKey().projectId(), e.getKey().day(), e.getKey().bucket(), e.getValue()))
+                .toList();
+        transactionTemplate.executeWithoutResult(tx -> {
+            analyticsRepository.insertHistory(transitions);
+            analyticsRepository.addDailyFlow(flowDeltas);
+            analyticsRepository.addCycleTimes(cycleTimeCounts);
+        });
+        logger.debug("Wrote {} status transitions, {} daily rollup rows", transitions.size(), flowDeltas.size());
+    }
+
+    static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
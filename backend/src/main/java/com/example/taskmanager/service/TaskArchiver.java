@@ -0,0 +1,63 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves DONE tasks that were completed more than {@code tasks.archive.after} ago from the hot
+ * {@code tasks} table into {@code tasks_archive}. Each batch is a single DELETE ... RETURNING feeding
+ * an INSERT, committed on its own so locks stay short; a run continues until a batch comes back short.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration archiveAfter;
+    private final int batchSize;
+
+    public TaskArchiver(TaskRepository taskRepository,
+                        TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${tasks.archive.after:P30D}") Duration archiveAfter,
+                        @Value("${tasks.archive.batch-size:1000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.archive.interval:PT1H}",
+            initialDelayString = "${tasks.archive.initial-delay:PT1M}")
+    public int archive() {
+        Instant cutoff = Instant.now().minus(archiveAfter);
+        int total = 0;
+        int archived;
+        do {
+            Integer batch = transactionTemplate.execute(tx -> taskRepository.archiveCompletedBefore(cutoff, batchSize));
+            archived = batch != null ? batch : 0;
+            total += archived;
+        } while (archived == batchSize);
+        if (total > 0) {
+            eventPublisher.publishEvent(TasksInvalidatedEvent.allProjects());
+            logger.info("Archived {} tasks completed before {}", total, cutoff);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,487 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Column store of the id, project and status of every task, for aggregations across projects. Rows
+ * live in parallel primitive arrays; project ids are dictionary-encoded into dense ordinals, so a row
+ * takes 13 bytes plus its slot in an open-addressing table from task id to row, where a Task entity or
+ * a boxed map entry takes hundreds. A deleted row is overwritten by the last one, so the arrays stay
+ * dense and a scan needs no liveness check.
+ *
+ * <p>Aggregations split the rows into chunks that are counted in parallel on the common fork-join
+ * pool, each into its own counters, and add the counters up at the end.
+ *
+ * <p>Built in one streaming pass on first use. {@link TaskChangedEvent}s are applied after commit;
+ * set-based writes ({@link TasksInvalidatedEvent}) mark the affected projects (or everything) for
+ * reloading before the next scan. Scans hold the read lock, so writes wait for a running scan, and a
+ * load blocks both, so a change committed during the load is not lost. Writes made by other instances
+ * are not seen until the project is reloaded, which InvalidationBus (when enabled) triggers by
+ * republishing them as remote invalidations.
+ *
+ * <p>Footprint is reported as {@code tasks.columns.bytes} next to {@code tasks.columns.tasks}.
+ */
+@Component
+public class TaskColumnIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskColumnIndex.class);
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    // Smaller chunks cost more in allocating and merging counters than they gain in load balance
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    private final TaskRepository taskRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private boolean loaded;
+    private final Set<Long> staleProjects = new HashSet<>();
+    private long[] taskIds = new long[INITIAL_CAPACITY];
+    private int[] projects = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int size;
+    private final RowTable rows = new RowTable();
+    private long[] projectIds = new long[16];
+    private final Map<Long, Integer> projectOrdinals = new HashMap<>();
+
+    public TaskColumnIndex(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        Gauge.builder("tasks.columns.bytes", this, TaskColumnIndex::sizeInBytes)
+                .description("Memory held by the task column index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("tasks.columns.tasks", this, TaskColumnIndex::taskCount)
+                .description("Tasks in the task column index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts of (archived excluded) tasks of all projects, indexed by status ordinal. Must be called
+     * inside a transaction, as it may (re)load the index.
+     */
+    public long[] countByStatus() {
+        return read(() -> countByStatus(-1));
+    }
+
+    /**
+     * Like {@link #countByStatus()}, for one project.
+     */
+    public long[] countByStatus(Long projectId) {
+        return read(() -> {
+            Integer project = projectOrdinals.get(projectId);
+            return project != null ? countByStatus(project) : new long[STATUSES.length];
+        });
+    }
+
+    /**
+     * Counts per project and status, for every project with at least one task.
+     */
+    public ProjectCounts countByProjectAndStatus() {
+        return read(() -> {
+            int projectCount = projectOrdinals.size();
+            long[] counts = scan(() -> new long[projectCount * STATUSES.length], (chunk, from, to) -> {
+                int[] projectColumn = projects;
+                byte[] statusColumn = statuses;
+                for (int row = from; row < to; row++) {
+                    chunk[projectColumn[row] * STATUSES.length + statusColumn[row]]++;
+                }
+            });
+            int present = 0;
+            for (int project = 0; project < projectCount; project++) {
+                if (total(counts, project) > 0) {
+                    present++;
+                }
+            }
+            long[] ids = new long[present];
+            long[] compacted = new long[present * STATUSES.length];
+            int next = 0;
+            for (int project = 0; project < projectCount; project++) {
+                if (total(counts, project) > 0) {
+                    ids[next] = projectIds[project];
+                    System.arraycopy(counts, project * STATUSES.length, compacted, next * STATUSES.length, STATUSES.length);
+                    next++;
+                }
+            }
+            return new ProjectCounts(ids, compacted);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (event.type() == TaskChangedEvent.Type.DELETED) {
+                remove(event.taskId());
+            } else {
+                upsert(event.taskId(), event.projectId(), event.status());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.projectId() == null) {
+                loaded = false;
+                clear();
+            } else if (loaded) {
+                staleProjects.add(event.projectId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        if (event.type() != ProjectChangedEvent.Type.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer project = projectOrdinals.get(event.projectId());
+            if (loaded && project != null) {
+                removeProject(project);
+            }
+            staleProjects.remove(event.projectId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return 8L * taskIds.length + 4L * projects.length + statuses.length + rows.sizeInBytes()
+                    + 8L * projectIds.length + 64L * projectOrdinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long taskCount() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Runs the scan under the read lock, after bringing the index up to date under the write lock
+    private <T> T read(Supplier<T> scan) {
+        lock.readLock().lock();
+        try {
+            if (loaded && staleProjects.isEmpty()) {
+                return scan.get();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            refresh();
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            return scan.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refresh() {
+        if (!loaded) {
+            long started = System.nanoTime();
+            clear();
+            try (Stream<Object[]> stream = taskRepository.streamStatusRows()) {
+                stream.forEach(this::upsert);
+            }
+            loaded = true;
+            staleProjects.clear();
+            logger.info("Loaded task column index: {} tasks of {} projects, {} bytes, in {} ms", size,
+                    projectOrdinals.size(), sizeInBytes(), (System.nanoTime() - started) / 1_000_000);
+            return;
+        }
+        for (Iterator<Long> stale = staleProjects.iterator(); stale.hasNext(); ) {
+            Long projectId = stale.next();
+            Integer project = projectOrdinals.get(projectId);
+            if (project != null) {
+                removeProject(project);
+            }
+            try (Stream<Object[]> stream = taskRepository.streamStatusRows(projectId)) {
+                stream.forEach(this::upsert);
+            }
+            stale.remove();
+        }
+    }
+
+    private long[] countByStatus(int project) {
+        return scan(() -> new long[STATUSES.length], (counts, from, to) -> {
+            int[] projectColumn = projects;
+            byte[] statusColumn = statuses;
+            if (project < 0) {
+                for (int row = from; row < to; row++) {
+                    counts[statusColumn[row]]++;
+                }
+            } else {
+                for (int row = from; row < to; row++) {
+                    if (projectColumn[row] == project) {
+                        counts[statusColumn[row]]++;
+                    }
+                }
+            }
+        });
+    }
+
+    // Counts each chunk of rows into its own array and sums the arrays
+    private long[] scan(Supplier<long[]> counters, ChunkCounter counter) {
+        int rowCount = size;
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (rowCount + 4 * parallelism - 1) / (4 * parallelism));
+        int chunks = Math.max(1, (rowCount + chunkSize - 1) / chunkSize);
+        IntStream range = IntStream.range(0, chunks);
+        return (chunks > 1 ? range.parallel() : range)
+                .mapToObj(chunk -> {
+                    long[] counts = counters.get();
+                    counter.count(counts, chunk * chunkSize, Math.min(rowCount, (chunk + 1) * chunkSize));
+                    return counts;
+                })
+                .reduce(TaskColumnIndex::add)
+                .orElseGet(counters);
+    }
+
+    private static long[] add(long[] into, long[] counts) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += counts[i];
+        }
+        return into;
+    }
+
+    private static long total(long[] counts, int project) {
+        long total = 0;
+        for (int status = 0; status < STATUSES.length; status++) {
+            total += counts[project * STATUSES.length + status];
+        }
+        return total;
+    }
+
+    private void upsert(Object[] row) {
+        upsert(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), (Task.TaskStatus) row[2]);
+    }
+
+    private void upsert(long taskId, long projectId, Task.TaskStatus status) {
+        int row = rows.get(taskId);
+        if (row < 0) {
+            if (size == taskIds.length) {
+                grow();
+            }
+            row = size++;
+            taskIds[row] = taskId;
+            rows.put(taskId, row);
+        }
+        projects[row] = ordinalOf(projectId);
+        statuses[row] = (byte) status.ordinal();
+    }
+
+    // Moves the last row into the hole
+    private void remove(long taskId) {
+        int row = rows.remove(taskId);
+        if (row < 0) {
+            return;
+        }
+        int last = --size;
+        if (row != last) {
+            taskIds[row] = taskIds[last];
+            projects[row] = projects[last];
+            statuses[row] = statuses[last];
+            rows.put(taskIds[row], row);
+        }
+    }
+
+    // Rows above the current one have been checked already, so the row moved down needs no second look
+    private void removeProject(int project) {
+        for (int row = size - 1; row >= 0; row--) {
+            if (projects[row] == project) {
+                remove(taskIds[row]);
+            }
+        }
+    }
+
+    private int ordinalOf(long projectId) {
+        Integer ordinal = projectOrdinals.get(projectId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int next = projectOrdinals.size();
+        if (next == projectIds.length) {
+            projectIds = Arrays.copyOf(projectIds, next * 2);
+        }
+        projectIds[next] = projectId;
+        projectOrdinals.put(projectId, next);
+        return next;
+    }
+
+    private void grow() {
+        int capacity = taskIds.length + (taskIds.length >> 1);
+        taskIds = Arrays.copyOf(taskIds, capacity);
+        projects = Arrays.copyOf(projects, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private void clear() {
+        taskIds = new long[INITIAL_CAPACITY];
+        projects = new int[INITIAL_CAPACITY];
+        statuses = new byte[INITIAL_CAPACITY];
+        size = 0;
+        rows.clear();
+        projectIds = new long[16];
+        projectOrdinals.clear();
+    }
+
+    @FunctionalInterface
+    private interface ChunkCounter {
+        void count(long[] counts, int from, int to);
+    }
+
+    /**
+     * Result of {@link #countByProjectAndStatus()}: the count of project {@code i} and status {@code s}
+     * is {@code counts[i * statuses + s]}.
+     */
+    public record ProjectCounts(long[] projectIds, long[] counts) {
+
+        public long count(int project, Task.TaskStatus status) {
+            return counts[project * STATUSES.length + status.ordinal()];
+        }
+
+        public long total(int project) {
+            return TaskColumnIndex.total(counts, project);
+        }
+    }
+
+    /**
+     * Open-addressing table from task id to row with linear probing. Task ids start at 1, so 0 marks a
+     * free slot; removal shifts the following entries back instead of leaving tombstones.
+     */
+    static final class RowTable {
+
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int count;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if (3 * (count + 1) > 2 * keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                count++;
+            }
+            values[slot] = value;
+        }
+
+        // Returns the removed value, or -1
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int hole = hash(key) & mask;
+            while (keys[hole] != key) {
+                if (keys[hole] == 0) {
+                    return -1;
+                }
+                hole = (hole + 1) & mask;
+            }
+            int removed = values[hole];
+            for (int slot = (hole + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                // An entry may fill the hole if the hole lies between its home slot and its current slot
+                int home = hash(keys[slot]) & mask;
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    values[hole] = values[slot];
+                    hole = slot;
+                }
+            }
+            keys[hole] = 0;
+            count--;
+            return removed;
+        }
+
+        int size() {
+            return count;
+        }
+
+        void clear() {
+            keys = new long[16];
+            values = new int[16];
+            count = 0;
+        }
+
+        long sizeInBytes() {
+            return 12L * keys.length;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[capacity];
+            values = new int[capacity];
+            count = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != 0) {
+                    put(oldKeys[slot], oldValues[slot]);
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
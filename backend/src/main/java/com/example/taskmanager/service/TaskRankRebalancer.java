@@ -0,0 +1,80 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites the rank keys of status columns whose keys have grown long from repeated inserts at the
+ * same spot, or that still contain unranked tasks (rows created before ranking existed). Each
+ * column is rebalanced in its own short transaction with one batched update, keeping the current order,
+ * and invalidated once that has committed so that caches of the project's tasks pick up the new keys.
+ */
+@Component
+public class TaskRankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxKeyLength;
+
+    public TaskRankRebalancer(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${tasks.rank.max-length:24}") int maxKeyLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.rank.rebalance-interval:PT5M}",
+            initialDelayString = "${tasks.rank.rebalance-initial-delay:PT30S}")
+    public void rebalance() {
+        // Both conditions are on length(rank_key) so that idx_tasks_rank_key_length serves them
+        List<Object[]> columns = jdbcTemplate.query(
+                "SELECT DISTINCT project_id, status FROM tasks "
+                        + "WHERE length(rank_key) > ? OR length(rank_key) IS NULL",
+                (rs, rowNum) -> new Object[]{rs.getLong("project_id"), rs.getString("status")},
+                maxKeyLength);
+        for (Object[] column : columns) {
+            int rebalanced = rebalanceColumn((Long) column[0], (String) column[1]);
+            logger.info("Rebalanced {} rank keys in column {} of project id: {}", rebalanced, column[1], column[0]);
+        }
+    }
+
+    int rebalanceColumn(Long projectId, String status) {
+        Integer rebalanced = transactionTemplate.execute(tx -> {
+            // Lock the column so concurrent moves do not interleave with the rewrite
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM tasks WHERE project_id = ? AND status = ? "
+                            + "ORDER BY rank_key COLLATE \"C\" NULLS LAST, id FOR UPDATE",
+                    Long.class, projectId, status);
+            List<String> keys = RankKeys.evenlySpaced(ids.size());
+            List<Object[]> batch = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                batch.add(new Object[]{keys.get(i), projectId, ids.get(i)});
+            }
+            jdbcTemplate.batchUpdate(
+                    "UPDATE tasks SET rank_key = ?, updated_at = now() WHERE project_id = ? AND id = ?", batch);
+            return ids.size();
+        });
+        if (rebalanced == null || rebalanced == 0) {
+            return 0;
+        }
+        // The rewrite has committed; published outside the transaction, listeners run right away
+        eventPublisher.publishEvent(new TasksInvalidatedEvent(projectId));
+        return rebalanced;
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskReminderChangedEvent;
+import com.example.taskmanager.event.TaskReminderEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fires a {@link TaskReminderEvent} when a task's due date is reached, without polling the tasks table.
+ *
+ * <p>One instance at a time does the work. It holds the {@code task-reminders} row of
+ * {@code scheduler_leases}, renewing it well before {@code tasks.reminders.lease-ttl} runs out; the
+ * others keep trying to take the row over and start once it expires, or as soon as the owner releases it
+ * on shutdown. The owner keeps the reminders due within {@code tasks.reminders.horizon} in a
+ * {@link TimingWheel}. It reads them from the partial index of pending reminders in keyset-paged batches
+ * as the horizon moves, starting with the overdue ones, so a new owner, or a restarted one, rebuilds the
+ * wheel from the database and catches up on what it missed. Every {@code tasks.reminders.tick} the wheel
+ * is advanced and the due reminders are recorded in {@code reminded_at}. The update only applies while
+ * the task still has that due date, is not done and the lease is still ours, so a stale entry or a
+ * former owner fires nothing.
+ *
+ * <p>Local writes are applied as they commit ({@link TaskReminderChangedEvent}, deletions). Set-based
+ * writes and, with InvalidationBus enabled, writes on other instances re-read the reminders of the
+ * affected projects. The whole horizon is also re-read every {@code tasks.reminders.rescan-interval}, to
+ * bound the delay for writes made on other instances without it.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskReminderScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskReminderScheduler.class);
+    static final String LEASE = "task-reminders";
+    private static final int WHEEL_LEVELS = 4;
+    // Batches read per tick at most, so a large backlog does not delay firing
+    private static final int MAX_BATCHES_PER_TICK = 10;
+
+    private static final String PENDING = "due_at IS NOT NULL AND reminded_at IS NULL AND status <> 'DONE'";
+    private static final String SELECT_PENDING = "SELECT project_id, id, due_at FROM tasks WHERE " + PENDING;
+    private static final String ACQUIRE_LEASE = "INSERT INTO scheduler_leases (name, owner, expires_at)"
+            + " VALUES (?, ?, now() + ? * interval '1 millisecond')"
+            + " ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at"
+            + " WHERE scheduler_leases.owner = EXCLUDED.owner OR scheduler_leases.expires_at < now()";
+    private static final String RELEASE_LEASE = "DELETE FROM scheduler_leases WHERE name = ? AND owner = ?";
+    private static final String MARK_REMINDED = "UPDATE tasks SET reminded_at = now()"
+            + " WHERE project_id = ? AND id = ? AND due_at = ? AND reminded_at IS NULL AND status <> 'DONE'"
+            + " AND EXISTS (SELECT 1 FROM scheduler_leases WHERE name = ? AND owner = ? AND expires_at > now())";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration tick;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxScheduled;
+    private final Duration leaseTtl;
+    private final Duration rescanInterval;
+    private final String owner = UUID.randomUUID().toString();
+    private final Counter fired;
+
+    // Guarded by this; wheel is null unless this instance holds the lease
+    private TimingWheel<Reminder> wheel;
+    // Every pending reminder due before loadedUntil, or at or before cursor, is in the wheel
+    private Instant loadedUntil;
+    private Reminder cursor;
+    private long leaseValidUntil;
+    private long renewAt;
+    private long rescanAt;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public TaskReminderScheduler(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${tasks.reminders.tick:PT1S}") Duration tick,
+                                 @Value("${tasks.reminders.horizon:PT1H}") Duration horizon,
+                                 @Value("${tasks.reminders.batch-size:1000}") int batchSize,
+                                 @Value("${tasks.reminders.max-scheduled:1000000}") int maxScheduled,
+                                 @Value("${tasks.reminders.lease-ttl:PT30S}") Duration leaseTtl,
+                                 @Value("${tasks.reminders.rescan-interval:PT10M}") Duration rescanInterval) {
+        if (horizon.compareTo(tick.multipliedBy(63L << (6 * (WHEEL_LEVELS - 1)))) > 0) {
+            throw new IllegalArgumentException("tasks.reminders.horizon is beyond the reach of the timing wheel: " + horizon);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.tick = tick;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxScheduled = maxScheduled;
+        this.leaseTtl = leaseTtl;
+        this.rescanInterval = rescanInterval;
+        this.renewAt = System.nanoTime();
+        this.fired = Counter.builder("tasks.reminders.fired")
+                .description("Task reminders fired")
+                .register(meterRegistry);
+        Gauge.builder("tasks.reminders.scheduled", this, TaskReminderScheduler::scheduledCount)
+                .description("Reminders held in the timing wheel")
+                .register(meterRegistry);
+        Gauge.builder("tasks.reminders.owner", this, scheduler -> scheduler.isOwner() ? 1 : 0)
+                .description("Whether this instance holds the reminder lease")
+                .register(meterRegistry);
+    }
+
+    record Reminder(long projectId, long taskId, Instant dueAt) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onReminderChanged(TaskReminderChangedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        if (event.dueAt() != null && isLoaded(event.dueAt())) {
+            wheel.schedule(event.taskId(), event.dueAt().toEpochMilli(),
+                    new Reminder(event.projectId(), event.taskId(), event.dueAt()));
+        } else {
+            // Cleared, or due beyond what is loaded: the keyset scan picks it up when it gets there
+            wheel.cancel(event.taskId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (wheel != null && event.type() == TaskChangedEvent.Type.DELETED) {
+            wheel.cancel(event.taskId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        if (event.projectId() == null) {
+            rescan();
+            return;
+        }
+        Instant loaded = cursor != null && (loadedUntil == null || cursor.dueAt().isAfter(loadedUntil))
+                ? cursor.dueAt() : loadedUntil;
+        if (loaded == null) {
+            return;
+        }
+        try {
+            // Entries of tasks that no longer qualify stay in the wheel and fire nothing
+            jdbcTemplate.query(SELECT_PENDING + " AND project_id = ? AND due_at <= ?", TaskReminderScheduler::mapReminder,
+                    event.projectId(), Timestamp.from(loaded)).forEach(this::schedule);
+        } catch (DataAccessException e) {
+            logger.warn("Could not re-read reminders of project {}, re-reading all: {}", event.projectId(), e.getMessage());
+            rescan();
+        }
+    }
+
+    /**
+     * One step of the worker: renews or acquires the lease, extends the loaded range towards
+     * {@code nowMillis} plus the horizon and fires what is due.
+     */
+    synchronized void tick(long nowMillis) {
+        if (!holdLease(nowMillis)) {
+            return;
+        }
+        if (System.nanoTime() - rescanAt >= 0) {
+            rescan();
+        }
+        try {
+            load(nowMillis);
+        } catch (DataAccessException e) {
+            logger.warn("Loading task reminders failed, retrying on next tick: {}", e.getMessage());
+        }
+        fire(wheel.advance(nowMillis));
+    }
+
+    synchronized int scheduledCount() {
+        return wheel != null ? wheel.size() : 0;
+    }
+
+    synchronized boolean isOwner() {
+        return wheel != null;
+    }
+
+    private boolean holdLease(long nowMillis) {
+        long now = System.nanoTime();
+        if (now - renewAt < 0) {
+            return wheel != null;
+        }
+        try {
+            boolean held = jdbcTemplate.update(ACQUIRE_LEASE, LEASE, owner, leaseTtl.toMillis()) > 0;
+            if (held) {
+                leaseValidUntil = now + leaseTtl.toNanos();
+                renewAt = now + leaseTtl.toNanos() / 3;
+                if (wheel == null) {
+                    logger.info("Took over task reminders, loading them from the database");
+                    wheel = new TimingWheel<>(tick.toMillis(), WHEEL_LEVELS, nowMillis);
+                    rescan();
+                }
+                return true;
+            }
+        } catch (DataAccessException e) {
+            if (wheel != null && now - leaseValidUntil < 0) {
+                // renewAt stays in the past, so the next tick retries
+                logger.warn("Renewing the task reminder lease failed, retrying: {}", e.getMessage());
+                return true;
+            }
+            logger.warn("Could not acquire the task reminder lease: {}", e.getMessage());
+        }
+        if (wheel != null) {
+            logger.warn("Lost the task reminder lease, dropping {} reminders", wheel.size());
+            wheel = null;
+        }
+        // Not ours: check again in a third of the lease time
+        renewAt = now + leaseTtl.toNanos() / 3;
+        return false;
+    }
+
+    private void rescan() {
+        loadedUntil = null;
+        cursor = null;
+        rescanAt = System.nanoTime() + rescanInterval.toNanos();
+    }
+
+    private void load(long nowMillis) {
+        Instant target = Instant.ofEpochMilli(Math.min(nowMillis + horizon.toMillis(), wheel.horizonMillis()));
+        for (int batch = 0; batch < MAX_BATCHES_PER_TICK; batch++) {
+            if ((loadedUntil != null && !loadedUntil.isBefore(target)) || wheel.size() >= maxScheduled) {
+                return;
+            }
+            List<Reminder> rows;
+            if (cursor != null) {
+                rows = jdbcTemplate.query(SELECT_PENDING + " AND due_at < ? AND (due_at, project_id, id) > (?, ?, ?)"
+                                + " ORDER BY due_at, project_id, id LIMIT ?", TaskReminderScheduler::mapReminder,
+                        Timestamp.from(target), Timestamp.from(cursor.dueAt()), cursor.projectId(), cursor.taskId(),
+                        batchSize);
+            } else if (loadedUntil != null) {
+                rows = jdbcTemplate.query(SELECT_PENDING + " AND due_at >= ? AND due_at < ?"
+                                + " ORDER BY due_at, project_id, id LIMIT ?", TaskReminderScheduler::mapReminder,
+                        Timestamp.from(loadedUntil), Timestamp.from(target), batchSize);
+            } else {
+                // From the beginning, overdue reminders included
+                rows = jdbcTemplate.query(SELECT_PENDING + " AND due_at < ? ORDER BY due_at, project_id, id LIMIT ?",
+                        TaskReminderScheduler::mapReminder, Timestamp.from(target), batchSize);
+            }
+            rows.forEach(this::schedule);
+            if (!rows.isEmpty()) {
+                cursor = rows.get(rows.size() - 1);
+            }
+            if (rows.size() < batchSize) {
+                loadedUntil = target;
+                return;
+            }
+        }
+    }
+
+    private boolean isLoaded(Instant dueAt) {
+        return (loadedUntil != null && dueAt.isBefore(loadedUntil)) || (cursor != null && !dueAt.isAfter(cursor.dueAt()));
+    }
+
+    private void schedule(Reminder reminder) {
+        wheel.schedule(reminder.taskId(), reminder.dueAt().toEpochMilli(), reminder);
+    }
+
+    private void fire(List<Reminder> due) {
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Reminder> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (Reminder reminder : batch) {
+                rows.add(new Object[]{reminder.projectId(), reminder.taskId(), Timestamp.from(reminder.dueAt()), LEASE, owner});
+            }
+            int[] updated;
+            try {
+                updated = transactionTemplate.execute(tx -> jdbcTemplate.batchUpdate(MARK_REMINDED, rows));
+            } catch (DataAccessException e) {
+                // Back into the wheel: already due, so they come round again on the next tick
+                logger.warn("Recording {} task reminders failed, retrying on next tick: {}",
+                        due.size() - from, e.getMessage());
+                due.subList(from, due.size()).forEach(this::schedule);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (updated != null && updated[i] > 0) {
+                    Reminder reminder = batch.get(i);
+                    fired.increment();
+                    eventPublisher.publishEvent(new TaskReminderEvent(reminder.projectId(), reminder.taskId(), reminder.dueAt()));
+                }
+            }
+        }
+    }
+
+    private static Reminder mapReminder(ResultSet rs, int rowNum) throws SQLException {
+        return new Reminder(rs.getLong("project_id"), rs.getLong("id"), rs.getTimestamp("due_at").toInstant());
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                tick(System.currentTimeMillis());
+            } catch (RuntimeException e) {
+                logger.error("Task reminder tick failed", e);
+            }
+            try {
+                Thread.sleep(tick.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "task-reminders");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(tick.plusSeconds(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (wheel != null) {
+                wheel = null;
+                try {
+                    // Lets another instance take over now rather than when the lease expires
+                    jdbcTemplate.update(RELEASE_LEASE, LEASE, owner);
+                } catch (DataAccessException e) {
+                    logger.warn("Could not release the task reminder lease: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -1,50 +1,139 @@
 package com.example.taskmanager.service;
 
 import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskFeedDto;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskPositionRequest;
+import com.example.taskmanager.dto.TaskSearchFilter;
+import com.example.taskmanager.dto.TaskTreeDto;
 import com.example.taskmanager.entity.Project;
 import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskReminderChangedEvent;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ConflictException;
 import com.example.taskmanager.exception.ResourceNotFoundException;
 import com.example.taskmanager.repository.ProjectRepository;
+import com.example.taskmanager.repository.TaskDependencyRepository;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskRepositoryCustom;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
 @Service
 @Transactional
 public class TaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+    private static final int MAX_BULK_IDS = 10_000;
+    private static final int MAX_FEED_SIZE = 100;
+    private static final Set<String> TOPOLOGICAL_ORDER_FIELDS = Set.of("id", "title", "status", "projectId", "rank");
+    private static final Sort BOARD_ORDER = Sort.by("status", "rank", "id");
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final DependencyGraphCache dependencyGraphCache;
+    private final LabelIndex labelIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository) {
+    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository,
+                       RequestCoalescer requestCoalescer, TaskDependencyRepository taskDependencyRepository,
+                       DependencyGraphCache dependencyGraphCache, LabelIndex labelIndex,
+                       ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.dependencyGraphCache = dependencyGraphCache;
+        this.labelIndex = labelIndex;
+        this.eventPublisher = eventPublisher;
     }
 
+    // The task list overloads share one load per distinct request; waiters must not hold a transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<TaskDto> getTasksByProjectId(Long projectId, Pageable pageable) {
-        logger.info("Fetching tasks for project id: {} with pagination: page={}, size={}", 
-                projectId, pageable.getPageNumber(), pageable.getPageSize());
-        if (!projectRepository.existsById(projectId)) {
+        return getTasksByProjectId(projectId, null, pageable);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<TaskDto> getTasksByProjectId(Long projectId, Collection<String> fields, Pageable pageable) {
+        return getTasksByProjectId(projectId, fields, false, pageable);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<TaskDto> getTasksByProjectId(Long projectId, Collection<String> fields, boolean includeArchived,
+                                             Pageable pageable) {
+        logger.info("Fetching tasks for project id: {} with pagination: page={}, size={}, fields={}, includeArchived={}",
+                projectId, pageable.getPageNumber(), pageable.getPageSize(), fields, includeArchived);
+        return requestCoalescer.coalesce("TaskService.getTasksByProjectId", () -> {
+            if (!projectRepository.existsById(projectId)) {
+                logger.warn("Project not found with id: {}", projectId);
+                throw new ResourceNotFoundException("Project not found with id: " + projectId);
+            }
+            Set<String> selection = FieldSelection.resolve(fields, TaskRepositoryCustom.PROJECTABLE_FIELDS);
+            if (includeArchived) {
+                return taskRepository.findProjectedByProjectIdIncludingArchived(projectId, selection, pageable);
+            }
+            return taskRepository.findProjectedByProjectId(projectId, selection, pageable);
+        }, projectId, fields, includeArchived, pageable);
+    }
+
+    /**
+     * Up to {@code limit} tasks of a project in id order, after {@code afterId} when given, with every
+     * field. Pages through a whole project without counting it or re-reading earlier rows; the project
+     * is only checked for the first page, where {@code afterId} is null.
+     */
+    public List<TaskDto> getTasksAfterId(Long projectId, Long afterId, int limit) {
+        if (afterId == null && !projectRepository.existsById(projectId)) {
             logger.warn("Project not found with id: {}", projectId);
             throw new ResourceNotFoundException("Project not found with id: " + projectId);
         }
-        return taskRepository.findByProjectId(projectId, pageable)
-                .map(this::convertToDto);
+        return taskRepository.findProjectedAfterId(projectId, afterId,
+                new LinkedHashSet<>(TaskRepositoryCustom.PROJECTABLE_FIELDS), limit);
     }
 
     public TaskDto getTaskById(Long projectId, Long taskId) {
-        logger.info("Fetching task with id: {} for project id: {}", taskId, projectId);
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
-                .orElseThrow(() -> {
-                    logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
-                    return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
-                });
-        return convertToDto(task);
+        return getTaskById(projectId, taskId, false);
+    }
+
+    public TaskDto getTaskById(Long projectId, Long taskId, boolean includeArchived) {
+        logger.info("Fetching task with id: {} for project id: {}, includeArchived={}", taskId, projectId, includeArchived);
+        Optional<TaskDto> task = taskRepository.findByIdAndProjectId(taskId, projectId).map(this::convertToDto);
+        if (task.isEmpty() && includeArchived) {
+            task = taskRepository.findArchivedByIdAndProjectId(taskId, projectId);
+        }
+        return task.orElseThrow(() -> {
+            logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
+            return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
+        });
     }
 
     public TaskDto createTask(Long projectId, TaskDto taskDto) {
@@ -57,10 +146,19 @@ public class TaskService {
         
         Task task = convertToEntity(taskDto);
         task.setProject(project);
-        if (task.getStatus() == null) {
-            task.setStatus(Task.TaskStatus.TODO);
+        task.setAssignee(taskDto.getAssignee());
+        if (taskDto.getParentId() != null) {
+            task.setParentId(findTask(projectId, taskDto.getParentId()).getId());
         }
+        Instant now = Instant.now();
+        applyStatus(task, task.getStatus() != null ? task.getStatus() : Task.TaskStatus.TODO, now);
+        task.setRank(RankKeys.after(taskRepository.findMaxRank(projectId, task.getStatus())));
         Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
+        eventPublisher.publishEvent(TaskStatusChangedEvent.of(savedTask, null, now));
+        if (TaskReminderChangedEvent.pendingReminder(savedTask) != null) {
+            eventPublisher.publishEvent(TaskReminderChangedEvent.of(savedTask));
+        }
         logger.info("Task created successfully with id: {}", savedTask.getId());
         return convertToDto(savedTask);
     }
@@ -73,16 +171,243 @@ public class TaskService {
                     return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
                 });
         
+        Task.TaskStatus previousStatus = task.getStatus();
+        Set<String> previousLabels = TaskChangedEvent.labelsOf(task);
+        Instant previousReminder = TaskReminderChangedEvent.pendingReminder(task);
+        Instant now = Instant.now();
         task.setTitle(taskDto.getTitle());
         task.setDescription(taskDto.getDescription());
-        if (taskDto.getStatus() != null) {
-            task.setStatus(taskDto.getStatus());
+        if (taskDto.getDueAt() != null) {
+            applyDueAt(task, taskDto.getDueAt());
+        }
+        if (taskDto.getLabels() != null) {
+            task.setLabels(normalizeLabels(taskDto.getLabels()));
+        }
+        if (taskDto.getStatus() != null && taskDto.getStatus() != task.getStatus()) {
+            // A task that changes column goes to the end of its new column
+            task.setRank(RankKeys.after(taskRepository.findMaxRank(projectId, taskDto.getStatus())));
+            applyStatus(task, taskDto.getStatus(), now);
+        }
+        // Flushed so the response carries the updatedAt set by auditing
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updatedTask, previousStatus, previousLabels));
+        if (updatedTask.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(TaskStatusChangedEvent.of(updatedTask, previousStatus, now));
+        }
+        if (!Objects.equals(TaskReminderChangedEvent.pendingReminder(updatedTask), previousReminder)) {
+            eventPublisher.publishEvent(TaskReminderChangedEvent.of(updatedTask));
         }
-        Task updatedTask = taskRepository.save(task);
         logger.info("Task updated successfully with id: {}", updatedTask.getId());
         return convertToDto(updatedTask);
     }
 
+    /**
+     * Moves a task between two neighbours of a (possibly different) status column. Only the moved
+     * task's rank key is rewritten, so the cost does not depend on the size of the column.
+     */
+    public TaskDto moveTask(Long projectId, Long taskId, TaskPositionRequest position) {
+        logger.info("Moving task with id: {} for project id: {} between {} and {}",
+                taskId, projectId, position.getPreviousTaskId(), position.getNextTaskId());
+        Task task = findTask(projectId, taskId);
+        Task.TaskStatus targetStatus = position.getStatus() != null ? position.getStatus() : task.getStatus();
+
+        Task previous = position.getPreviousTaskId() != null ? findTask(projectId, position.getPreviousTaskId()) : null;
+        Task next = position.getNextTaskId() != null ? findTask(projectId, position.getNextTaskId()) : null;
+        for (Task neighbour : new Task[]{previous, next}) {
+            if (neighbour != null && neighbour.getStatus() != targetStatus) {
+                throw new BadRequestException("Task " + neighbour.getId() + " is not in the " + targetStatus + " column");
+            }
+            if (neighbour != null && neighbour.getId().equals(taskId)) {
+                throw new BadRequestException("A task cannot be positioned relative to itself");
+            }
+        }
+        if ((previous != null && previous.getRank() == null) || (next != null && next.getRank() == null)) {
+            throw new ConflictException("Column "+ targetStatus + " of project " + projectId
+                    + " has unranked tasks; it is ranked by the background rebalancer shortly");
+        }
+        if (previous != null && next != null && previous.getRank().compareTo(next.getRank()) >= 0) {
+            throw new BadRequestException("Task " + previous.getId() + " is not above task " + next.getId());
+        }
+
+        String rank;
+        if (previous == null && next == null) {
+            rank = RankKeys.after(taskRepository.findMaxRank(projectId, targetStatus));
+        } else {
+            rank = RankKeys.between(previous != null ? previous.getRank() : null, next != null ? next.getRank() : null);
+        }
+        Task.TaskStatus previousStatus = task.getStatus();
+        Instant previousReminder = TaskReminderChangedEvent.pendingReminder(task);
+        Instant now = Instant.now();
+        applyStatus(task, targetStatus, now);
+        task.setRank(rank);
+        Task movedTask = taskRepository.saveAndFlush(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(movedTask, previousStatus, TaskChangedEvent.labelsOf(movedTask)));
+        if (previousStatus != targetStatus) {
+            eventPublisher.publishEvent(TaskStatusChangedEvent.of(movedTask, previousStatus, now));
+        }
+        if (!Objects.equals(TaskReminderChangedEvent.pendingReminder(movedTask), previousReminder)) {
+            eventPublisher.publishEvent(TaskReminderChangedEvent.of(movedTask));
+        }
+        logger.info("Task moved successfully with id: {} to rank: {}", taskId, rank);
+        return convertToDto(movedTask);
+    }
+
+    /**
+     * Makes a task a subtask of {@code parentId}, or a top-level task when it is null, taking all of its
+     * own subtasks along. The subtree is relinked in the database by set-based statements, whatever its size.
+     */
+    public TaskDto moveSubtree(Long projectId, Long taskId, Long parentId) {
+        logger.info("Moving task with id: {} for project id: {} below parent: {}", taskId, projectId, parentId);
+        Task task = findTask(projectId, taskId);
+        if (parentId != null) {
+            findTask(projectId, parentId);
+            if (parentId.equals(taskId) || taskRepository.isInSubtree(projectId, taskId, parentId)) {
+                throw new ConflictException("Task " + taskId + " cannot be moved below its own subtask " + parentId);
+            }
+        }
+        if (!Objects.equals(task.getParentId(), parentId)) {
+            taskRepository.updateParent(projectId, taskId, parentId);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, task.getStatus(), TaskChangedEvent.labelsOf(task)));
+        }
+        logger.info("Task moved successfully with id: {} below parent: {}", taskId, parentId);
+        return getTaskById(projectId, taskId);
+    }
+
+    /**
+     * Assigns the task to {@code assignee} (a Cognito {@code sub}), or unassigns it when null.
+     */
+    public TaskDto assignTask(Long projectId, Long taskId, String assignee) {
+        logger.info("Assigning task with id: {} for project id: {} to {}", taskId, projectId, assignee);
+        Task task = findTask(projectId, taskId);
+        if (!Objects.equals(task.getAssignee(), assignee)) {
+            task.setAssignee(assignee);
+            // Flushed so the response carries the updatedAt set by auditing
+            task = taskRepository.saveAndFlush(task);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, task.getStatus(), TaskChangedEvent.labelsOf(task)));
+        }
+        return convertToDto(task);
+    }
+
+    /**
+     * Sets the task's due date, or removes it when null. Updates leave the due date alone unless they
+     * carry a new one, so this is the way to remove it.
+     */
+    public TaskDto setDueDate(Long projectId, Long taskId, Instant dueAt) {
+        logger.info("Setting due date of task with id: {} for project id: {} to {}", taskId, projectId, dueAt);
+        Task task = findTask(projectId, taskId);
+        if (!Objects.equals(task.getDueAt(), dueAt)) {
+            Instant previousReminder = TaskReminderChangedEvent.pendingReminder(task);
+            applyDueAt(task, dueAt);
+            // Flushed so the response carries the updatedAt set by auditing
+            task = taskRepository.saveAndFlush(task);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(task, task.getStatus(), TaskChangedEvent.labelsOf(task)));
+            if (!Objects.equals(TaskReminderChangedEvent.pendingReminder(task), previousReminder)) {
+                eventPublisher.publishEvent(TaskReminderChangedEvent.of(task));
+            }
+        }
+        return convertToDto(task);
+    }
+
+    /**
+     * Tasks assigned to {@code assignee} across all projects (or one, when {@code projectId} is given),
+     * newest first, keyset-paged by task id. {@code statuses} defaults to all statuses.
+     */
+    @Transactional(readOnly = true)
+    public TaskFeedDto getAssignedTasks(String assignee, Set<Task.TaskStatus> statuses, Long projectId,
+                                        String cursor, int size) {
+        if (size < 1 || size > MAX_FEED_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_FEED_SIZE);
+        }
+        logger.info("Fetching tasks assigned to {}: statuses={}, projectId={}, cursor={}, size={}",
+                assignee, statuses, projectId, cursor, size);
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                beforeId = Long.parseLong(cursor);
+            } catch (NumberFormatException ex) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+        Set<Task.TaskStatus> selected = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(Task.TaskStatus.class)
+                : EnumSet.copyOf(statuses);
+        List<TaskDto> tasks = taskRepository.findAssigned(assignee, selected, projectId, beforeId, size + 1);
+
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            nextCursor = String.valueOf(tasks.get(size - 1).getId());
+        }
+        return new TaskFeedDto(tasks, nextCursor);
+    }
+
+    /**
+     * A task with its ancestor path, its whole subtree and the status counts of that subtree, read with
+     * a single query over the task_tree closure table.
+     */
+    @Transactional(readOnly = true)
+    public TaskTreeDto getTaskTree(Long projectId, Long taskId) {
+        logger.info("Fetching subtree of task with id: {} for project id: {}", taskId, projectId);
+        return taskRepository.findTree(projectId, taskId)
+                .orElseThrow(() -> {
+                    logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
+                    return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
+                });
+    }
+
+    /**
+     * Moves an archived task back into the hot table, appended to the end of its column.
+     */
+    public TaskDto restoreTask(Long projectId, Long taskId) {
+        logger.info("Restoring archived task with id: {} for project id: {}", taskId, projectId);
+        TaskDto archived = taskRepository.findArchivedByIdAndProjectId(taskId, projectId)
+                .orElseThrow(() -> {
+                    logger.warn("Archived task not found with id: {} for project id: {}", taskId, projectId);
+                    return new ResourceNotFoundException("Archived task not found with id: " + taskId + " for project id: " + projectId);
+                });
+        String rank = RankKeys.after(taskRepository.findMaxRank(projectId, archived.getStatus()));
+        if (taskRepository.restoreFromArchive(taskId, projectId, rank) == 0) {
+            // Restored concurrently by another request
+            throw new ResourceNotFoundException("Archived task not found with id: " + taskId + " for project id: " + projectId);
+        }
+        restoreDependencies(projectId, taskId);
+        logger.info("Task restored successfully with id: {}", taskId);
+        TaskDto restored = getTaskById(projectId, taskId);
+        eventPublisher.publishEvent(new TaskChangedEvent(projectId, taskId, TaskChangedEvent.Type.CREATED,
+                null, restored.getStatus(), null, restored.getLabels()));
+        return restored;
+    }
+
+    // Dependencies archived with the task come back when their other task is in the hot table. One that
+    // would close a cycle with a dependency added while the task was archived is dropped instead.
+    private void restoreDependencies(Long projectId, Long taskId) {
+        taskDependencyRepository.ensureVersion(projectId);
+        long version = taskDependencyRepository.lockVersion(projectId);
+        List<Object[]> archived = taskDependencyRepository.findRestorableArchived(projectId, taskId);
+        taskDependencyRepository.deleteArchived(projectId, taskId);
+        if (archived.isEmpty()) {
+            return;
+        }
+        DependencyGraph graph = dependencyGraphCache.get(projectId, version);
+        synchronized (graph) {
+            for (Object[] row : archived) {
+                long blockedId = ((Number) row[0]).longValue();
+                long blockerId = ((Number) row[1]).longValue();
+                if (!graph.addEdge(blockerId, blockedId)) {
+                    logger.warn("Dropped archived dependency of task {} on task {}: cycle", blockedId, blockerId);
+                    continue;
+                }
+                try {
+                    taskDependencyRepository.insertDependency(projectId, blockedId, blockerId);
+                } catch (RuntimeException ex) {
+                    graph.removeEdge(blockerId, blockedId);
+                    throw ex;
+                }
+                graph.setVersion(++version);
+            }
+        }
+    }
+
     public void deleteTask(Long projectId, Long taskId) {
         logger.info("Deleting task with id: {} for project id: {}", taskId, projectId);
         Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
@@ -90,10 +415,266 @@ public class TaskService {
                     logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
                     return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
                 });
+        // Subtasks go with their parent through the foreign key cascade
+        boolean hasSubtasks = taskRepository.existsByProjectIdAndParentId(projectId, taskId);
         taskRepository.delete(task);
+        eventPublisher.publishEvent(hasSubtasks
+                ? new TasksInvalidatedEvent(projectId)
+                : TaskChangedEvent.deleted(projectId, taskId, task.getStatus(), TaskChangedEvent.labelsOf(task)));
         logger.info("Task deleted successfully with id: {}", taskId);
     }
 
+    @Transactional(readOnly = true)
+    public List<Long> getDependencies(Long projectId, Long taskId) {
+        findTask(projectId, taskId);
+        return taskDependencyRepository.findBlockerIds(projectId, taskId);
+    }
+
+    /**
+     * Records that {@code taskId} is blocked by {@code blockedById}. The cycle check runs on the
+     * project's cached graph and only visits the tasks between the two in the current topological
+     * order; the version row lock keeps concurrent writers of the project, on any instance, in line.
+     */
+    public List<Long> addDependency(Long projectId, Long taskId, Long blockedById) {
+        logger.info("Adding dependency: task {} blocked by task {} in project id: {}", taskId, blockedById, projectId);
+        findTask(projectId, taskId);
+        findTask(projectId, blockedById);
+        if (taskId.equals(blockedById)) {
+            throw new ConflictException("Task " + taskId + " cannot block itself");
+        }
+        taskDependencyRepository.ensureVersion(projectId);
+        long version = taskDependencyRepository.lockVersion(projectId);
+        DependencyGraph graph = dependencyGraphCache.get(projectId, version);
+        synchronized (graph) {
+            if (!graph.hasEdge(blockedById, taskId)) {
+                if (!graph.addEdge(blockedById, taskId)) {
+                    logger.warn("Rejected dependency of task {} on task {}: cycle", taskId, blockedById);
+                    throw new ConflictException("Task " + taskId + " already blocks task " + blockedById
+                            + " (directly or transitively); the dependency would create a cycle");
+                }
+                try {
+                    taskDependencyRepository.insertDependency(projectId, taskId, blockedById);
+                } catch (RuntimeException ex) {
+                    graph.removeEdge(blockedById, taskId);
+                    throw ex;
+                }
+                graph.setVersion(version + 1);
+            }
+            return graph.blockersOf(taskId);
+        }
+    }
+
+    public void removeDependency(Long projectId, Long taskId, Long blockedById) {
+        logger.info("Removing dependency: task {} blocked by task {} in project id: {}", taskId, blockedById, projectId);
+        taskDependencyRepository.ensureVersion(projectId);
+        long version = taskDependencyRepository.lockVersion(projectId);
+        if (taskDependencyRepository.deleteDependency(projectId, taskId, blockedById) == 0) {
+            throw new ResourceNotFoundException("Task " + taskId + " is not blocked by task " + blockedById
+                    + " in project id: " + projectId);
+        }
+        DependencyGraph graph = dependencyGraphCache.get(projectId, version);
+        synchronized (graph) {
+            graph.removeEdge(blockedById, taskId);
+            graph.setVersion(version + 1);
+        }
+    }
+
+    /**
+     * A page of all tasks of a project, every task after the tasks that block it. Tasks without
+     * dependencies follow the dependency chains, in board order. The page is cut from the cached
+     * topological order and only its tasks are read; the rest of the project is never loaded.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskDto> getTasksInTopologicalOrder(Long projectId, Pageable pageable) {
+        logger.info("Fetching tasks in dependency order for project id: {} with pagination: page={}, size={}",
+                projectId, pageable.getPageNumber(), pageable.getPageSize());
+        if (!projectRepository.existsById(projectId)) {
+            logger.warn("Project not found with id: {}", projectId);
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        long version = taskDependencyRepository.findVersion(projectId).orElse(0L);
+        long[] order;
+        DependencyGraph graph = dependencyGraphCache.get(projectId, version);
+        synchronized (graph) {
+            order = graph.topologicalOrder();
+        }
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<TaskDto> content = new ArrayList<>(size);
+        int chained = (int) Math.max(0, Math.min(order.length - offset, size));
+        if (chained > 0) {
+            List<Long> ids = Arrays.stream(order, (int) offset, (int) offset + chained).boxed().toList();
+            content.addAll(taskRepository.findProjectedByIds(projectId, ids, TOPOLOGICAL_ORDER_FIELDS));
+        }
+        if (chained < size) {
+            content.addAll(taskRepository.findProjectedWithoutDependencies(projectId, TOPOLOGICAL_ORDER_FIELDS,
+                    BOARD_ORDER, Math.max(0, offset - order.length), size - chained));
+        }
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> order.length + taskRepository.countWithoutDependencies(projectId));
+    }
+
+    /**
+     * Label search answered from the project's bitmaps in {@link LabelIndex}; only the requested page is
+     * read from the database. Results are ordered by id, the only supported sort.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskDto> searchTasks(Long projectId, TaskSearchFilter filter, Collection<String> fields, Pageable pageable) {
+        logger.info("Searching tasks of project id: {} with labels={}, anyLabels={}, excludedLabels={}, status={}, blocked={}",
+                projectId, filter.getLabels(), filter.getAnyLabels(), filter.getExcludedLabels(),
+                filter.getStatus(), filter.getBlocked());
+        boolean descending = false;
+        for (Sort.Order order : pageable.getSort()) {
+            if (!order.getProperty().equals("id")) {
+                throw new BadRequestException("Label search results can only be sorted by id");
+            }
+            descending = order.isDescending();
+        }
+        if (!projectRepository.existsById(projectId)) {
+            logger.warn("Project not found with id: {}", projectId);
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        Set<String> selection = FieldSelection.resolve(fields, TaskRepositoryCustom.PROJECTABLE_FIELDS);
+        TaskSearchFilter normalized = new TaskSearchFilter(normalizeFilterLabels(filter.getLabels()),
+                normalizeFilterLabels(filter.getAnyLabels()), normalizeFilterLabels(filter.getExcludedLabels()),
+                filter.getStatus(), filter.getBlocked());
+
+        Roaring64Bitmap matches = labelIndex.match(projectId, normalized);
+        if (filter.getBlocked() != null && !matches.isEmpty()) {
+            Roaring64Bitmap blocked = blockedTasks(projectId);
+            if (filter.getBlocked()) {
+                matches.and(blocked);
+            } else {
+                matches.andNot(blocked);
+            }
+        }
+
+        long total = matches.getLongCardinality();
+        List<Long> ids = new ArrayList<>();
+        long end = pageable.isPaged() ? Math.min(total, pageable.getOffset() + pageable.getPageSize()) : total;
+        for (long i = pageable.isPaged() ? pageable.getOffset() : 0; i < end; i++) {
+            ids.add(matches.select(descending ? total - 1 - i : i));
+        }
+        List<TaskDto> content = taskRepository.findProjectedByIds(projectId, ids, selection);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Tasks with at least one blocker that is not DONE, from the dependency graph and the status bitmaps
+    private Roaring64Bitmap blockedTasks(Long projectId) {
+        Roaring64Bitmap open = labelIndex.openTasks(projectId);
+        long version = taskDependencyRepository.findVersion(projectId).orElse(0L);
+        DependencyGraph graph = dependencyGraphCache.get(projectId, version);
+        Roaring64Bitmap blocked = new Roaring64Bitmap();
+        synchronized (graph) {
+            graph.forEachEdge((blockerId, blockedId) -> {
+                if (open.contains(blockerId)) {
+                    blocked.addLong(blockedId);
+                }
+            });
+        }
+        return blocked;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TaskDto> getUnblockedTasks(Long projectId, Pageable pageable) {
+        logger.info("Fetching unblocked tasks for project id: {}", projectId);
+        if (!projectRepository.existsById(projectId)) {
+            logger.warn("Project not found with id: {}", projectId);
+            throw new ResourceNotFoundException("Project not found with id: " + projectId);
+        }
+        return taskRepository.findUnblockedByProjectId(projectId, pageable);
+    }
+
+    public int bulkUpdateStatus(TaskFilter filter, Task.TaskStatus targetStatus) {
+        validateBulkFilter(filter);
+        logger.info("Bulk updating status to {} for tasks matching filter: projectId={}, status={}, ids={}..{}",
+                targetStatus, filter.getProjectId(), filter.getStatus(), filter.getMinId(), filter.getMaxId());
+        List<TaskStatusChangedEvent> transitions = taskRepository.updateStatusByFilter(filter, targetStatus);
+        appendToColumns(transitions, targetStatus);
+        // Recorded one by one, like single-task writes, so the history and the daily rollups see bulk moves
+        transitions.forEach(eventPublisher::publishEvent);
+        int affected = transitions.size();
+        if (affected > 0) {
+            eventPublisher.publishEvent(new TasksInvalidatedEvent(filter.getProjectId()));
+        }
+        logger.info("Bulk status update affected {} tasks", affected);
+        return affected;
+    }
+
+    public int bulkMoveTasks(TaskFilter filter, Long targetProjectId) {
+        validateBulkFilter(filter);
+        Project target = projectRepository.findById(targetProjectId)
+                .orElseThrow(() -> {
+                    logger.warn("Project not found with id: {}", targetProjectId);
+                    return new ResourceNotFoundException("Project not found with id: " + targetProjectId);
+                });
+        logger.info("Bulk moving tasks matching filter: projectId={}, status={}, ids={}..{} to project id: {}",
+                filter.getProjectId(), filter.getStatus(), filter.getMinId(), filter.getMaxId(), targetProjectId);
+        int affected = taskRepository.moveToProjectByFilter(filter, target);
+        if (affected > 0) {
+            eventPublisher.publishEvent(new TasksInvalidatedEvent(filter.getProjectId()));
+            eventPublisher.publishEvent(new TasksInvalidatedEvent(targetProjectId));
+        }
+        logger.info("Bulk move affected {} tasks", affected);
+        return affected;
+    }
+
+    // Like a single task changing column, moved tasks go to the end of their new column, in id order
+    private void appendToColumns(List<TaskStatusChangedEvent> transitions, Task.TaskStatus status) {
+        Map<Long, List<Long>> moved = new TreeMap<>();
+        for (TaskStatusChangedEvent transition : transitions) {
+            moved.computeIfAbsent(transition.projectId(), projectId -> new ArrayList<>()).add(transition.taskId());
+        }
+        moved.forEach((projectId, ids) -> {
+            ids.sort(null);
+            List<String> ranks = new ArrayList<>(ids.size());
+            String rank = taskRepository.findMaxRank(projectId, status);
+            for (int i = 0; i < ids.size(); i++) {
+                rank = RankKeys.after(rank);
+                ranks.add(rank);
+            }
+            taskRepository.updateRanks(projectId, ids, ranks);
+        });
+    }
+
+    private Task findTask(Long projectId, Long taskId) {
+        return taskRepository.findByIdAndProjectId(taskId, projectId)
+                .orElseThrow(() -> {
+                    logger.warn("Task not found with id: {} for project id: {}", taskId, projectId);
+                    return new ResourceNotFoundException("Task not found with id: " + taskId + " for project id: " + projectId);
+                });
+    }
+
+    // A new due date gets a new reminder
+    private static void applyDueAt(Task task, Instant dueAt) {
+        if (!Objects.equals(task.getDueAt(), dueAt)) {
+            task.setDueAt(dueAt);
+            task.setRemindedAt(null);
+        }
+    }
+
+    // Keeps completedAt, which drives archival, and startedAt, where cycle time starts, in step with the status
+    private static void applyStatus(Task task, Task.TaskStatus status, Instant now) {
+        if (status == Task.TaskStatus.DONE && (task.getStatus() != Task.TaskStatus.DONE || task.getCompletedAt() == null)) {
+            task.setCompletedAt(now);
+        } else if (status != Task.TaskStatus.DONE) {
+            task.setCompletedAt(null);
+        }
+        if (status == Task.TaskStatus.IN_PROGRESS && task.getStartedAt() == null) {
+            task.setStartedAt(now);
+        }
+        task.setStatus(status);
+    }
+
+    private void validateBulkFilter(TaskFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new BadRequestException("At least one filter criterion is required for bulk operations");
+        }
+        if (filter.getIds() != null && filter.getIds().size() > MAX_BULK_IDS) {
+            throw new BadRequestException("A bulk filter may list at most " + MAX_BULK_IDS + " task ids");
+        }
+    }
+
     private TaskDto convertToDto(Task task) {
         TaskDto dto = new TaskDto();
         dto.setId(task.getId());
@@ -101,6 +682,13 @@ public class TaskService {
         dto.setDescription(task.getDescription());
         dto.setStatus(task.getStatus());
         dto.setProjectId(task.getProject().getId());
+        dto.setParentId(task.getParentId());
+        dto.setLabels(new TreeSet<>(List.of(task.getLabels())));
+        dto.setAssignee(task.getAssignee());
+        dto.setDueAt(task.getDueAt());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setRank(task.getRank());
         return dto;
     }
 
@@ -110,7 +698,23 @@ public class TaskService {
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
         task.setStatus(dto.getStatus() != null ? dto.getStatus() : Task.TaskStatus.TODO);
+        task.setDueAt(dto.getDueAt());
+        if (dto.getLabels() != null) {
+            task.setLabels(normalizeLabels(dto.getLabels()));
+        }
         return task;
     }
+
+    private static String[] normalizeLabels(Collection<String> labels) {
+        return labels.stream()
+                .map(label -> label.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    private static Set<String> normalizeFilterLabels(Collection<String> labels) {
+        return labels == null ? null : new LinkedHashSet<>(List.of(normalizeLabels(labels)));
+    }
 }
 
@@ -0,0 +1,181 @@
+package com.example.taskmanager.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel of deadlines keyed by a long id, with one value each.
+ *
+ * <p>Time is cut into ticks of {@code tickMillis}. Level 0 has a slot per tick for the next 64 ticks,
+ * level 1 a slot per 64 ticks for the next 64 x 64, and so on; every slot is a doubly linked list. An
+ * entry goes to the lowest level whose slot span still separates its deadline from the current tick,
+ * so scheduling, rescheduling and cancelling are O(1) whatever the number of entries. Advancing the
+ * clock visits one level-0 slot per tick; whenever a higher-level slot comes due its entries cascade
+ * down a level, each entry moving at most once per level. With four levels and one-second ticks the
+ * wheel reaches about 190 days ahead.
+ *
+ * <p>The wheel has no clock or thread of its own: the owner calls {@link #advance} with the current
+ * time. Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final Entry<T>[][] wheels;
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private long currentTick;
+
+    private static final class Entry<T> {
+        final long key;
+        long deadlineTick;
+        T value;
+        Entry<T> previous;
+        Entry<T> next;
+
+        Entry(long key) {
+            this.key = key;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int levels, long nowMillis) {
+        if (tickMillis <= 0 || levels < 1 || levels * SLOT_BITS > 48) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick " + tickMillis + " ms, " + levels + " levels");
+        }
+        this.tickMillis = tickMillis;
+        this.wheels = new Entry[levels][SLOTS];
+        for (Entry<T>[] wheel : wheels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                // Sentinel of the slot's circular list
+                Entry<T> head = new Entry<>(0);
+                head.previous = head;
+                head.next = head;
+                wheel[slot] = head;
+            }
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * Latest deadline, in epoch milliseconds, that {@link #schedule} accepts right now.
+     */
+    long horizonMillis() {
+        int shift = SLOT_BITS * (wheels.length - 1);
+        return (((currentTick >> shift) + SLOTS) << shift) * tickMillis - 1;
+    }
+
+    /**
+     * Schedules {@code key} for {@code deadlineMillis}, replacing its previous deadline and value. A
+     * deadline that has already passed fires on the next tick.
+     *
+     * @return false, leaving the wheel unchanged, if the deadline lies beyond the wheel's reach
+     */
+    boolean schedule(long key, long deadlineMillis, T value) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis, tickMillis), currentTick + 1);
+        if (levelOf(deadlineTick) < 0) {
+            return false;
+        }
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key);
+            entries.put(key, entry);
+        } else {
+            unlink(entry);
+        }
+        entry.deadlineTick = deadlineTick;
+        entry.value = value;
+        link(entry);
+        return true;
+    }
+
+    /**
+     * @return the cancelled entry's value, or null if {@code key} was not scheduled
+     */
+    T cancel(long key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        unlink(entry);
+        return entry.value;
+    }
+
+    boolean contains(long key) {
+        return entries.containsKey(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        for (Entry<T> entry : entries.values()) {
+            unlink(entry);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis} and removes and returns the values of every entry whose
+     * deadline tick has been reached, ordered by tick. Moving backwards does nothing.
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Highest level first: its entries may cascade into a lower slot that is due at this very tick
+            for (int level = wheels.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(wheels[level][(int) (currentTick >> (SLOT_BITS * level)) & MASK]);
+                }
+            }
+            Entry<T> head = wheels[0][(int) currentTick & MASK];
+            for (Entry<T> entry = head.next; entry != head; entry = head.next) {
+                unlink(entry);
+                entries.remove(entry.key);
+                expired.add(entry.value);
+            }
+        }
+        return expired;
+    }
+
+    // Lowest level whose slot index (deadline relative to now) fits in one turn of the wheel, or -1
+    private int levelOf(long deadlineTick) {
+        for (int level = 0; level < wheels.length; level++) {
+            int shift = SLOT_BITS * level;
+            if ((deadlineTick >> shift) - (currentTick >> shift) < SLOTS) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    private void cascade(Entry<T> head) {
+        for (Entry<T> entry = head.next; entry != head; entry = head.next) {
+            unlink(entry);
+            link(entry);
+        }
+    }
+
+    private void link(Entry<T> entry) {
+        int level = levelOf(entry.deadlineTick);
+        Entry<T> head = wheels[level][(int) (entry.deadlineTick >> (SLOT_BITS * level)) & MASK];
+        entry.previous = head.previous;
+        entry.next = head;
+        head.previous.next = entry;
+        head.previous = entry;
+    }
+
+    private static <T> void unlink(Entry<T> entry) {
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+        entry.previous = null;
+        entry.next = null;
+    }
+}
@@ -0,0 +1,12 @@
+-- The user a task is assigned to, as the Cognito "sub" of their ID token; null for unassigned tasks.
+ALTER TABLE tasks ADD COLUMN assignee varchar(255);
+
+-- Carried through archival and restore
+ALTER TABLE tasks_archive ADD COLUMN assignee varchar(255);
+
+-- "My tasks": one index range scan per (assignee, status), newest id first, across all partitions.
+-- Partial, so unassigned tasks cost nothing to index.
+CREATE INDEX idx_tasks_assignee_status ON tasks (assignee, status, id) WHERE assignee IS NOT NULL;
+
+-- The same, narrowed to one project; the partition is pruned by project_id
+CREATE INDEX idx_tasks_project_assignee_status ON tasks (project_id, assignee, status, id) WHERE assignee IS NOT NULL;
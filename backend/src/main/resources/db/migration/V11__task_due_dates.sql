@@ -0,0 +1,20 @@
+-- Due dates and reminders. TaskReminderScheduler fires one reminder per task when its due date is
+-- reached and records it in reminded_at; changing the due date clears reminded_at again.
+ALTER TABLE tasks ADD COLUMN due_at timestamptz;
+ALTER TABLE tasks ADD COLUMN reminded_at timestamptz;
+
+-- Carried through archival and restore; archived tasks are done, so their reminders are not
+ALTER TABLE tasks_archive ADD COLUMN due_at timestamptz;
+
+-- Pending reminders in due order, read in keyset-paged batches as the scheduler's horizon moves.
+-- Partial, so tasks without a due date, done tasks and sent reminders cost nothing to index.
+CREATE INDEX idx_tasks_pending_reminders ON tasks (due_at, project_id, id)
+    WHERE due_at IS NOT NULL AND reminded_at IS NULL AND status <> 'DONE';
+
+-- Time-limited ownership of background work that must run on one instance at a time. The owner
+-- renews its row before expires_at; any instance may take over a row that has expired.
+CREATE TABLE scheduler_leases (
+    name       varchar(64)  PRIMARY KEY,
+    owner      varchar(64)  NOT NULL,
+    expires_at timestamptz  NOT NULL
+);
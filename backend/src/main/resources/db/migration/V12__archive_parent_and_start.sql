@@ -0,0 +1,5 @@
+-- Carried through archival and restore, so a restored subtask goes back below its parent and keeps
+-- the start of its cycle time. No foreign key: the parent may be archived or deleted in the meantime.
+ALTER TABLE tasks_archive
+    ADD COLUMN parent_id  bigint,
+    ADD COLUMN started_at timestamptz;
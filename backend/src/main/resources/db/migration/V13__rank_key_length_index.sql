@@ -0,0 +1,4 @@
+-- Lets TaskRankRebalancer find the columns that need new rank keys with one index range scan per
+-- partition instead of reading every task. On the expression rather than partial, because the
+-- length limit is configuration (tasks.rank.max-length); unranked tasks are the NULL entries.
+CREATE INDEX idx_tasks_rank_key_length ON tasks (length(rank_key), project_id, status);
@@ -0,0 +1,13 @@
+-- Dependencies of archived tasks. Deleting a task from the hot table cascades its task_dependencies
+-- rows, so archival copies them here first and restore puts back those whose other task is in the
+-- hot table again. A row stays here while its other task is archived too, and is dropped on restore
+-- once that task no longer exists anywhere.
+CREATE TABLE task_dependencies_archive (
+    project_id     bigint NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    task_id        bigint NOT NULL,
+    blocked_by_id  bigint NOT NULL,
+    CONSTRAINT task_dependencies_archive_pkey PRIMARY KEY (project_id, task_id, blocked_by_id)
+);
+
+-- Restore looks rows up from either side
+CREATE INDEX idx_task_dependencies_archive_blocked_by ON task_dependencies_archive (project_id, blocked_by_id);
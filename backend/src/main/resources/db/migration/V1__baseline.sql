@@ -0,0 +1,26 @@
+-- Baseline of the schema previously maintained by Hibernate's ddl-auto=update.
+-- Every statement is idempotent so the script can run against both empty databases and
+-- databases created by earlier versions of the application (baseline-on-migrate, version 0).
+
+CREATE TABLE IF NOT EXISTS projects (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        varchar(255) NOT NULL,
+    description text
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       varchar(255) NOT NULL,
+    description text,
+    status      varchar(255) NOT NULL,
+    rank_key    varchar(255) COLLATE "C",
+    project_id  bigint       NOT NULL REFERENCES projects (id)
+);
+
+-- Columns added or changed after the first release
+ALTER TABLE projects ALTER COLUMN description TYPE text;
+ALTER TABLE tasks ALTER COLUMN description TYPE text;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS rank_key varchar(255) COLLATE "C";
+
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id_id ON tasks (project_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_status_rank ON tasks (project_id, status, rank_key);
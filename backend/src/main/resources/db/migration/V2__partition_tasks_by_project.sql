@@ -0,0 +1,130 @@
+-- Hash-partitions tasks on project_id. Every TaskRepository query filters on project_id, so each
+-- one is pruned to a single partition. The primary key has to include the partition key; ids stay
+-- unique because they all come from one sequence.
+--
+-- Existing data is migrated online:
+--   1. this migration creates tasks_partitioned and a trigger that mirrors every write on tasks;
+--   2. CALL tasks_partition_backfill(); copies existing rows in small committed batches;
+--   3. CALL tasks_partition_cutover(); swaps the tables under a short exclusive lock and keeps
+--      the old table as tasks_legacy for rollback.
+-- An empty tasks table (new installations) is swapped immediately at the end of this migration.
+
+CREATE SEQUENCE tasks_partitioned_id_seq;
+
+CREATE TABLE tasks_partitioned (
+    id          bigint       NOT NULL DEFAULT nextval('tasks_partitioned_id_seq'),
+    title       varchar(255) NOT NULL,
+    description text,
+    status      varchar(255) NOT NULL,
+    rank_key    varchar(255) COLLATE "C",
+    project_id  bigint       NOT NULL REFERENCES projects (id),
+    CONSTRAINT tasks_partitioned_pkey PRIMARY KEY (project_id, id)
+) PARTITION BY HASH (project_id);
+
+ALTER SEQUENCE tasks_partitioned_id_seq OWNED BY tasks_partitioned.id;
+
+CREATE INDEX idx_tasks_partitioned_project_status_rank ON tasks_partitioned (project_id, status, rank_key);
+
+-- 32 partitions keep each one around 3M rows at 100M tasks
+DO $$
+BEGIN
+    FOR i IN 0..31 LOOP
+        EXECUTE format('CREATE TABLE tasks_p%s PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 32, REMAINDER %s)',
+                       lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+CREATE FUNCTION tasks_mirror_to_partitioned() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        IF TG_OP = 'DELETE' OR NEW.project_id <> OLD.project_id THEN
+            DELETE FROM tasks_partitioned WHERE project_id = OLD.project_id AND id = OLD.id;
+        END IF;
+        IF TG_OP = 'DELETE' THEN
+            RETURN OLD;
+        END IF;
+    END IF;
+    -- Upsert rather than insert: the row may or may not have been backfilled yet
+    INSERT INTO tasks_partitioned (id, title, description, status, rank_key, project_id)
+    VALUES (NEW.id, NEW.title, NEW.description, NEW.status, NEW.rank_key, NEW.project_id)
+    ON CONFLICT (project_id, id) DO UPDATE
+        SET title = EXCLUDED.title,
+            description = EXCLUDED.description,
+            status = EXCLUDED.status,
+            rank_key = EXCLUDED.rank_key;
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER tasks_mirror
+    AFTER INSERT OR UPDATE OR DELETE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION tasks_mirror_to_partitioned();
+
+-- Copies rows that existed before the trigger. Each batch commits on its own, so the procedure must
+-- be called outside an explicit transaction (psql autocommit). FOR SHARE makes concurrent updates
+-- wait for the batch and skips rows deleted meanwhile, so no stale row is copied.
+CREATE PROCEDURE tasks_partition_backfill(batch_size integer DEFAULT 10000)
+LANGUAGE plpgsql AS $$
+DECLARE
+    last_id bigint := 0;
+    max_id  bigint;
+BEGIN
+    SELECT coalesce(max(id), 0) INTO max_id FROM tasks;
+    WHILE last_id < max_id LOOP
+        WITH batch AS (
+            SELECT id, title, description, status, rank_key, project_id
+            FROM tasks
+            WHERE id > last_id AND id <= last_id + batch_size
+            FOR SHARE
+        )
+        INSERT INTO tasks_partitioned (id, title, description, status, rank_key, project_id)
+        SELECT id, title, description, status, rank_key, project_id FROM batch
+        ON CONFLICT (project_id, id) DO NOTHING;
+        last_id := last_id + batch_size;
+        COMMIT;
+    END LOOP;
+    RAISE NOTICE 'Backfilled tasks up to id %', max_id;
+END $$;
+
+-- Swaps the partitioned table in. With verify, the row counts are compared under the lock first.
+CREATE PROCEDURE tasks_partition_cutover(verify boolean DEFAULT true)
+LANGUAGE plpgsql AS $$
+DECLARE
+    legacy_count      bigint;
+    partitioned_count bigint;
+    fk                record;
+BEGIN
+    LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+    IF verify THEN
+        SELECT count(*) INTO legacy_count FROM tasks;
+        SELECT count(*) INTO partitioned_count FROM tasks_partitioned;
+        IF legacy_count <> partitioned_count THEN
+            RAISE EXCEPTION 'tasks has % rows but tasks_partitioned has %; run tasks_partition_backfill first',
+                legacy_count, partitioned_count;
+        END IF;
+    END IF;
+
+    DROP TRIGGER tasks_mirror ON tasks;
+    ALTER TABLE tasks RENAME TO tasks_legacy;
+    -- Project deletes only cascade into the live table, so the legacy copy must not block them
+    FOR fk IN SELECT conname FROM pg_constraint WHERE conrelid = 'tasks_legacy'::regclass AND contype = 'f' LOOP
+        EXECUTE format('ALTER TABLE tasks_legacy DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+    ALTER INDEX IF EXISTS tasks_pkey RENAME TO tasks_legacy_pkey;
+    ALTER INDEX IF EXISTS idx_tasks_project_id_id RENAME TO idx_tasks_legacy_project_id_id;
+    ALTER INDEX IF EXISTS idx_tasks_project_status_rank RENAME TO idx_tasks_legacy_project_status_rank;
+
+    ALTER TABLE tasks_partitioned RENAME TO tasks;
+    ALTER TABLE tasks RENAME CONSTRAINT tasks_partitioned_pkey TO tasks_pkey;
+    ALTER INDEX idx_tasks_partitioned_project_status_rank RENAME TO idx_tasks_project_status_rank;
+    ALTER SEQUENCE tasks_partitioned_id_seq RENAME TO tasks_id_seq_partitioned;
+    PERFORM setval('tasks_id_seq_partitioned', (SELECT coalesce(max(id), 0) + 1 FROM tasks_legacy), false);
+END $$;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM tasks) THEN
+        CALL tasks_partition_cutover(false);
+        DROP TABLE tasks_legacy;
+    END IF;
+END $$;
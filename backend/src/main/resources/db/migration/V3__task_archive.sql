@@ -0,0 +1,33 @@
+-- Archival tier for completed tasks. TaskArchiver moves DONE tasks whose completed_at is older than
+-- tasks.archive.after out of the hot table; reads can include them and single tasks can be restored.
+
+-- Everything from here on assumes the partitioned tasks table. On databases that held tasks before
+-- V2 the cutover is left to the operator, so stop until it has happened; the failed migration rolls
+-- back and is retried on the next start.
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'tasks'::regclass) <> 'p' THEN
+        RAISE EXCEPTION 'tasks has not been cut over to the partitioned table yet: run CALL tasks_partition_backfill(); and CALL tasks_partition_cutover(); then start the application again';
+    END IF;
+END $$;
+
+ALTER TABLE tasks ADD COLUMN completed_at timestamptz;
+
+-- Tasks that were already done start their archival clock now
+UPDATE tasks SET completed_at = now() WHERE status = 'DONE';
+
+-- Lets the archiver find candidates without scanning open tasks
+CREATE INDEX idx_tasks_done_completed_at ON tasks (completed_at) WHERE status = 'DONE';
+
+-- Append-only and read by primary key only: packed pages and no secondary indexes keep it compact
+CREATE TABLE tasks_archive (
+    id           bigint       NOT NULL,
+    title        varchar(255) NOT NULL,
+    description  text,
+    status       varchar(255) NOT NULL,
+    rank_key     varchar(255) COLLATE "C",
+    project_id   bigint       NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    completed_at timestamptz,
+    archived_at  timestamptz  NOT NULL DEFAULT now(),
+    PRIMARY KEY (project_id, id)
+) WITH (fillfactor = 100);
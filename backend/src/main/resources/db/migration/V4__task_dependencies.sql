@@ -0,0 +1,58 @@
+-- "Blocked by" relationships between tasks of the same project: task_id cannot start before
+-- blocked_by_id is done. Requires the partition cutover of V2 (the FKs reference tasks (project_id, id)).
+CREATE TABLE task_dependencies (
+    project_id     bigint NOT NULL,
+    task_id        bigint NOT NULL,
+    blocked_by_id  bigint NOT NULL,
+    CONSTRAINT task_dependencies_pkey PRIMARY KEY (project_id, task_id, blocked_by_id),
+    CONSTRAINT task_dependencies_task_fk FOREIGN KEY (project_id, task_id)
+        REFERENCES tasks (project_id, id) ON DELETE CASCADE,
+    CONSTRAINT task_dependencies_blocked_by_fk FOREIGN KEY (project_id, blocked_by_id)
+        REFERENCES tasks (project_id, id) ON DELETE CASCADE,
+    CONSTRAINT task_dependencies_not_self CHECK (task_id <> blocked_by_id)
+);
+
+-- Reverse direction: which tasks does a task block
+CREATE INDEX idx_task_dependencies_blocked_by ON task_dependencies (project_id, blocked_by_id);
+
+-- Bumped by every statement that changes a project's dependencies, including cascades from task
+-- deletes. Application instances compare it with their cached graph, and writers lock the row to
+-- serialize cycle checks per project.
+CREATE TABLE task_dependency_versions (
+    project_id  bigint PRIMARY KEY REFERENCES projects (id) ON DELETE CASCADE,
+    version     bigint NOT NULL DEFAULT 0
+);
+
+CREATE FUNCTION task_dependencies_bump_version() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE task_dependency_versions v SET version = v.version + 1
+        WHERE v.project_id IN (SELECT DISTINCT project_id FROM changed_new);
+    ELSE
+        UPDATE task_dependency_versions v SET version = v.version + 1
+        WHERE v.project_id IN (SELECT DISTINCT project_id FROM changed_old);
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER task_dependencies_inserted AFTER INSERT ON task_dependencies
+    REFERENCING NEW TABLE AS changed_new
+    FOR EACH STATEMENT EXECUTE FUNCTION task_dependencies_bump_version();
+
+CREATE TRIGGER task_dependencies_deleted AFTER DELETE ON task_dependencies
+    REFERENCING OLD TABLE AS changed_old
+    FOR EACH STATEMENT EXECUTE FUNCTION task_dependencies_bump_version();
+
+-- Dependencies never cross projects: a task moved to another project leaves its dependencies behind
+CREATE FUNCTION tasks_drop_dependencies_on_move() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    DELETE FROM task_dependencies
+    WHERE project_id = OLD.project_id AND (task_id = OLD.id OR blocked_by_id = OLD.id);
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER tasks_drop_dependencies_on_move BEFORE UPDATE OF project_id ON tasks
+    FOR EACH ROW WHEN (OLD.project_id IS DISTINCT FROM NEW.project_id)
+    EXECUTE FUNCTION tasks_drop_dependencies_on_move();
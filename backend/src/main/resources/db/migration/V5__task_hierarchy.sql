@@ -0,0 +1,75 @@
+-- Subtasks: tasks.parent_id is the source of truth, task_tree is its transitive closure
+-- (one row per ancestor/descendant pair, depth >= 1; a task is not stored as its own ancestor).
+-- Subtasks always live in their parent's project, so both reference tasks (project_id, id) and
+-- every tree query stays inside one partition.
+ALTER TABLE tasks ADD COLUMN parent_id bigint;
+
+-- Deleting a task deletes its subtasks
+ALTER TABLE tasks ADD CONSTRAINT tasks_parent_fk FOREIGN KEY (project_id, parent_id)
+    REFERENCES tasks (project_id, id) ON DELETE CASCADE;
+
+CREATE INDEX idx_tasks_project_parent ON tasks (project_id, parent_id) WHERE parent_id IS NOT NULL;
+
+CREATE TABLE task_tree (
+    project_id     bigint NOT NULL,
+    ancestor_id    bigint NOT NULL,
+    descendant_id  bigint NOT NULL,
+    depth          int    NOT NULL,
+    -- Subtree lookups (ancestor_id = ?) are answered from the index alone
+    CONSTRAINT task_tree_pkey PRIMARY KEY (project_id, ancestor_id, descendant_id) INCLUDE (depth),
+    CONSTRAINT task_tree_ancestor_fk FOREIGN KEY (project_id, ancestor_id)
+        REFERENCES tasks (project_id, id) ON DELETE CASCADE,
+    CONSTRAINT task_tree_descendant_fk FOREIGN KEY (project_id, descendant_id)
+        REFERENCES tasks (project_id, id) ON DELETE CASCADE,
+    CONSTRAINT task_tree_depth_positive CHECK (depth > 0)
+);
+
+-- Ancestor path lookups (descendant_id = ?)
+CREATE INDEX idx_task_tree_descendant ON task_tree (project_id, descendant_id) INCLUDE (ancestor_id, depth);
+
+-- Keeps task_tree in sync with parent_id. Re-parenting a task moves its whole subtree with two
+-- set-based statements: unlink the subtree from the old ancestors, then link it below the new parent.
+CREATE FUNCTION tasks_maintain_tree() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        -- Serializes re-parenting within a project so that two concurrent moves cannot form a cycle
+        PERFORM 1 FROM projects WHERE id = NEW.project_id FOR NO KEY UPDATE;
+
+        IF NEW.parent_id = NEW.id OR EXISTS (
+                SELECT 1 FROM task_tree
+                WHERE project_id = NEW.project_id AND ancestor_id = NEW.id AND descendant_id = NEW.parent_id) THEN
+            RAISE EXCEPTION 'task % cannot be moved below its own subtask %', NEW.id, NEW.parent_id
+                USING ERRCODE = 'check_violation';
+        END IF;
+
+        DELETE FROM task_tree link
+        WHERE link.project_id = NEW.project_id
+          AND link.ancestor_id IN (
+              SELECT ancestor_id FROM task_tree WHERE project_id = NEW.project_id AND descendant_id = NEW.id)
+          AND (link.descendant_id = NEW.id OR link.descendant_id IN (
+              SELECT descendant_id FROM task_tree WHERE project_id = NEW.project_id AND ancestor_id = NEW.id));
+    END IF;
+
+    IF NEW.parent_id IS NOT NULL THEN
+        INSERT INTO task_tree (project_id, ancestor_id, descendant_id, depth)
+        SELECT NEW.project_id, above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+        FROM (SELECT NEW.parent_id AS ancestor_id, 0 AS depth
+              UNION ALL
+              SELECT ancestor_id, depth FROM task_tree
+              WHERE project_id = NEW.project_id AND descendant_id = NEW.parent_id) above
+        CROSS JOIN (SELECT NEW.id AS descendant_id, 0 AS depth
+                    UNION ALL
+                    SELECT descendant_id, depth FROM task_tree
+                    WHERE project_id = NEW.project_id AND ancestor_id = NEW.id) below;
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER tasks_tree_inserted AFTER INSERT ON tasks
+    FOR EACH ROW WHEN (NEW.parent_id IS NOT NULL)
+    EXECUTE FUNCTION tasks_maintain_tree();
+
+CREATE TRIGGER tasks_tree_reparented AFTER UPDATE OF parent_id ON tasks
+    FOR EACH ROW WHEN (OLD.parent_id IS DISTINCT FROM NEW.parent_id)
+    EXECUTE FUNCTION tasks_maintain_tree();
@@ -0,0 +1,6 @@
+-- Free-form labels on tasks. Filtering by label combinations is answered by the in-memory bitmap
+-- index (LabelIndex), so no index is kept on the column; the archive carries labels through
+-- archival and restore.
+ALTER TABLE tasks ADD COLUMN labels text[] NOT NULL DEFAULT '{}';
+
+ALTER TABLE tasks_archive ADD COLUMN labels text[] NOT NULL DEFAULT '{}';
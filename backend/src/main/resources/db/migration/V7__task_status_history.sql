@@ -0,0 +1,50 @@
+-- Status history and the daily rollups the analytics endpoints read. StatusHistoryWriter appends
+-- transitions in batches after the task writes commit and adds each batch to the rollups in the same
+-- transaction, so burndown and cycle-time queries never scan task_status_history.
+
+-- Set the first time a task enters IN_PROGRESS; cycle time runs from here to DONE
+ALTER TABLE tasks ADD COLUMN started_at timestamptz;
+
+-- Append-only; kept when the task is deleted or archived, dropped with the project
+CREATE TABLE task_status_history (
+    id           bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    project_id   bigint       NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    task_id      bigint       NOT NULL,
+    from_status  varchar(255),
+    to_status    varchar(255) NOT NULL,
+    changed_at   timestamptz  NOT NULL
+);
+
+-- History of one task
+CREATE INDEX idx_task_status_history_task ON task_status_history (project_id, task_id, changed_at);
+
+-- Rows arrive in changed_at order, so a BRIN index serves time-range scans at almost no write cost
+CREATE INDEX idx_task_status_history_changed_at ON task_status_history USING brin (changed_at);
+
+-- Per project and UTC day: tasks that became open (created, or reopened from DONE), were completed,
+-- or were deleted while open. The open-task count on a day is the running sum of opened - closed - removed.
+CREATE TABLE project_daily_flow (
+    project_id  bigint NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    day         date   NOT NULL,
+    opened      int    NOT NULL DEFAULT 0,
+    closed      int    NOT NULL DEFAULT 0,
+    removed     int    NOT NULL DEFAULT 0,
+    CONSTRAINT project_daily_flow_pkey PRIMARY KEY (project_id, day)
+);
+
+-- Histogram of the cycle times of tasks completed per project and UTC day, in logarithmic buckets
+-- (see CycleTimeHistogram); percentiles over any range are read from the merged bucket counts.
+CREATE TABLE project_daily_cycle_times (
+    project_id  bigint   NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    day         date     NOT NULL,
+    bucket      smallint NOT NULL,
+    tasks       int      NOT NULL,
+    CONSTRAINT project_daily_cycle_times_pkey PRIMARY KEY (project_id, day, bucket)
+);
+
+-- Open tasks that predate the history count as opened today, so the burndown starts from the current backlog
+INSERT INTO project_daily_flow (project_id, day, opened)
+SELECT project_id, (now() AT TIME ZONE 'UTC')::date, count(*)
+FROM tasks
+WHERE status <> 'DONE'
+GROUP BY project_id;
@@ -0,0 +1,18 @@
+-- Creation and modification timestamps on projects and tasks, and the last time anything in a
+-- project changed. Existing rows start at the time of the migration.
+ALTER TABLE projects
+    ADD COLUMN created_at       timestamptz NOT NULL DEFAULT now(),
+    ADD COLUMN updated_at       timestamptz NOT NULL DEFAULT now(),
+    ADD COLUMN last_activity_at timestamptz NOT NULL DEFAULT now();
+
+ALTER TABLE tasks
+    ADD COLUMN created_at timestamptz NOT NULL DEFAULT now(),
+    ADD COLUMN updated_at timestamptz NOT NULL DEFAULT now();
+
+-- Carried through archival and restore
+ALTER TABLE tasks_archive
+    ADD COLUMN created_at timestamptz NOT NULL DEFAULT now(),
+    ADD COLUMN updated_at timestamptz NOT NULL DEFAULT now();
+
+-- "Recently active projects" feed: keyset pages on (last_activity_at, id), newest first
+CREATE INDEX idx_projects_last_activity ON projects (last_activity_at DESC, id DESC);
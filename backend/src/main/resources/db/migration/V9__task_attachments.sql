@@ -0,0 +1,45 @@
+-- File attachments on tasks. Contents live in a content-addressed file store (AttachmentStore) named
+-- by their SHA-256, so identical files uploaded to any task are stored once; these tables hold the
+-- metadata, which is only read by the attachment endpoints and never joined into task queries.
+
+-- One row per stored file. Inserted together with the first attachment that uses it and removed,
+-- together with the file, by AttachmentSweeper once no attachment refers to it.
+CREATE TABLE attachment_blobs (
+    sha256      char(64)    PRIMARY KEY,
+    size        bigint      NOT NULL,
+    created_at  timestamptz NOT NULL DEFAULT now()
+);
+
+-- Keyed by project like the other task-owned tables but without a foreign key to tasks: archival
+-- deletes the task row and restore brings it back, and the attachments stay put in between.
+-- Attachments of deleted tasks are removed by AttachmentSweeper.
+CREATE TABLE task_attachments (
+    id            bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    project_id    bigint       NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    task_id       bigint       NOT NULL,
+    file_name     varchar(255) NOT NULL,
+    content_type  varchar(255) NOT NULL,
+    size          bigint       NOT NULL,
+    sha256        char(64)     NOT NULL REFERENCES attachment_blobs (sha256),
+    created_at    timestamptz  NOT NULL DEFAULT now()
+);
+
+-- Attachments of one task
+CREATE INDEX idx_task_attachments_task ON task_attachments (project_id, task_id, id);
+
+-- Whether a blob is still referenced
+CREATE INDEX idx_task_attachments_sha256 ON task_attachments (sha256);
+
+-- A task moved to another project takes its attachments along. BEFORE UPDATE, as a move between
+-- partitions does not fire AFTER UPDATE triggers.
+CREATE FUNCTION tasks_move_attachments() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE task_attachments SET project_id = NEW.project_id
+    WHERE project_id = OLD.project_id AND task_id = OLD.id;
+    RETURN NEW;
+END $$;
+
+CREATE TRIGGER tasks_move_attachments BEFORE UPDATE OF project_id ON tasks
+    FOR EACH ROW WHEN (OLD.project_id IS DISTINCT FROM NEW.project_id)
+    EXECUTE FUNCTION tasks_move_attachments();
@@ -0,0 +1,49 @@
+package com.example.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void extendMessageConverters_WhenDefaultsRegistered_ShouldReplaceThemInPlace() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(
+                new MappingJackson2HttpMessageConverter(),
+                new MappingJackson2SmileHttpMessageConverter(),
+                new MappingJackson2CborHttpMessageConverter()));
+
+        new WebConfig(objectMapper).extendMessageConverters(converters);
+
+        assertEquals(3, converters.size());
+        MappingJackson2SmileHttpMessageConverter smile = (MappingJackson2SmileHttpMessageConverter) converters.get(1);
+        MappingJackson2CborHttpMessageConverter cbor = (MappingJackson2CborHttpMessageConverter) converters.get(2);
+        assertInstanceOf(SmileFactory.class, smile.getObjectMapper().getFactory());
+        assertInstanceOf(CBORFactory.class, cbor.getObjectMapper().getFactory());
+        assertFalse(cbor.getObjectMapper().isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    @Test
+    void extendMessageConverters_WhenMissing_ShouldAddThem() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new MappingJackson2HttpMessageConverter()));
+
+        new WebConfig(objectMapper).extendMessageConverters(converters);
+
+        assertEquals(3, converters.size());
+        assertEquals(1, converters.stream().filter(MappingJackson2CborHttpMessageConverter.class::isInstance).count());
+        assertEquals(1, converters.stream().filter(MappingJackson2SmileHttpMessageConverter.class::isInstance).count());
+    }
+}
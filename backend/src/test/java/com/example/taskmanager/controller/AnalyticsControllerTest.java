@@ -0,0 +1,80 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.BurndownPoint;
+import com.example.taskmanager.dto.CycleTimeStats;
+import com.example.taskmanager.dto.StatusTransitionDto;
+import com.example.taskmanager.dto.TaskCountsDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsControllerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private AnalyticsController analyticsController;
+
+    @Test
+    void getBurndown_ShouldReturnDailyPoints() {
+        List<BurndownPoint> points = List.of(new BurndownPoint(DAY, 2, 1, 0, 5));
+        when(analyticsService.getBurndown(1L, DAY, DAY)).thenReturn(points);
+
+        ResponseEntity<List<BurndownPoint>> response = analyticsController.getBurndown(1L, DAY, DAY);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(points, response.getBody());
+    }
+
+    @Test
+    void getCycleTime_ShouldReturnPercentiles() {
+        CycleTimeStats stats = new CycleTimeStats(DAY, DAY, 3, 60L, 120L, 180L);
+        when(analyticsService.getCycleTime(1L, null, null)).thenReturn(stats);
+
+        ResponseEntity<CycleTimeStats> response = analyticsController.getCycleTime(1L, null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(stats, response.getBody());
+    }
+
+    @Test
+    void getStatusHistory_ShouldReturnTransitions() {
+        List<StatusTransitionDto> history = List.of(
+                new StatusTransitionDto(null, Task.TaskStatus.TODO, Instant.parse("2026-03-01T10:00:00Z")));
+        when(analyticsService.getStatusHistory(1L, 2L)).thenReturn(history);
+
+        ResponseEntity<List<StatusTransitionDto>> response = analyticsController.getStatusHistory(1L, 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    void getTaskCounts_ShouldReturnCountsOfProject() {
+        TaskCountsDto counts = new TaskCountsDto(1L, 3, Map.of(Task.TaskStatus.TODO, 3L));
+        when(analyticsService.getTaskCounts(1L)).thenReturn(counts);
+
+        ResponseEntity<TaskCountsDto> response = analyticsController.getTaskCounts(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(counts, response.getBody());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.BulkMoveRequest;
+import com.example.taskmanager.dto.BulkOperationResult;
+import com.example.taskmanager.dto.BulkStatusUpdateRequest;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.IdempotencyService;
+import com.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTaskControllerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @InjectMocks
+    private BulkTaskController bulkTaskController;
+
+    @Test
+    void updateStatus_ShouldReturnAffectedCount() {
+        TaskFilter filter = new TaskFilter(1L, Task.TaskStatus.IN_PROGRESS, null, null, null);
+        runIdempotentActionsDirectly();
+        when(taskService.bulkUpdateStatus(filter, Task.TaskStatus.DONE)).thenReturn(42);
+
+        ResponseEntity<BulkOperationResult> response = bulkTaskController.updateStatus(null,
+                new BulkStatusUpdateRequest(filter, Task.TaskStatus.DONE));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(42, response.getBody().getAffected());
+        verify(taskService).bulkUpdateStatus(filter, Task.TaskStatus.DONE);
+    }
+
+    @Test
+    void moveTasks_ShouldReturnAffectedCount() {
+        TaskFilter filter = new TaskFilter(1L, Task.TaskStatus.DONE, null, null, null);
+        runIdempotentActionsDirectly();
+        when(taskService.bulkMoveTasks(filter, 2L)).thenReturn(7);
+
+        ResponseEntity<BulkOperationResult> response = bulkTaskController.moveTasks(null, new BulkMoveRequest(filter, 2L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(7, response.getBody().getAffected());
+        verify(taskService).bulkMoveTasks(filter, 2L);
+    }
+
+    @Test
+    void moveTasks_WithIdempotencyKey_ShouldRunThroughIdempotencyService() {
+        BulkMoveRequest request = new BulkMoveRequest(new TaskFilter(1L, null, null, null, null), 2L);
+        when(idempotencyService.execute(eq("key-1"), eq("bulkMoveTasks"), eq(request), any()))
+                .thenReturn(new BulkOperationResult(7));
+
+        ResponseEntity<BulkOperationResult> response = bulkTaskController.moveTasks("key-1", request);
+
+        assertEquals(7, response.getBody().getAffected());
+        verify(taskService, never()).bulkMoveTasks(any(), any());
+    }
+
+    private void runIdempotentActionsDirectly() {
+        when(idempotencyService.execute(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    }
+}
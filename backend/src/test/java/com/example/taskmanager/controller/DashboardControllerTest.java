@@ -0,0 +1,50 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskCountsDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    @Test
+    void getTaskCounts_ShouldReturnCountsOfAllProjects() {
+        TaskCountsDto counts = new TaskCountsDto(null, 7, Map.of(Task.TaskStatus.TODO, 7L));
+        when(analyticsService.getTaskCounts()).thenReturn(counts);
+
+        ResponseEntity<TaskCountsDto> response = dashboardController.getTaskCounts();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(counts, response.getBody());
+    }
+
+    @Test
+    void getTaskCountsByProject_ShouldPassStatusAndLimitToService() {
+        List<TaskCountsDto> counts = List.of(new TaskCountsDto(2L, 4, Map.of(Task.TaskStatus.DONE, 4L)));
+        when(analyticsService.getTaskCountsByProject(Task.TaskStatus.DONE, 5)).thenReturn(counts);
+
+        ResponseEntity<List<TaskCountsDto>> response = dashboardController.getTaskCountsByProject(Task.TaskStatus.DONE, 5);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(counts, response.getBody());
+    }
+}
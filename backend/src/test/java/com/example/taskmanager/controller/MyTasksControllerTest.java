@@ -0,0 +1,43 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskFeedDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MyTasksControllerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private MyTasksController myTasksController;
+
+    @Test
+    void getMyTasks_ShouldQueryBySubjectOfToken() {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "RS256").subject("user-sub").build();
+        TaskFeedDto feed = new TaskFeedDto(List.of(new TaskDto()), "42");
+        Set<Task.TaskStatus> statuses = Set.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS);
+        when(taskService.getAssignedTasks("user-sub", statuses, 3L, null, 20)).thenReturn(feed);
+
+        ResponseEntity<TaskFeedDto> response = myTasksController.getMyTasks(jwt, statuses, 3L, null, 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(feed, response.getBody());
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.taskmanager.controller;
 
 import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.ProjectFeedDto;
+import com.example.taskmanager.service.IdempotencyService;
+import com.example.taskmanager.service.ProjectReadModel;
 import com.example.taskmanager.service.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,13 +14,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +35,12 @@ class ProjectControllerTest {
     @Mock
     private ProjectService projectService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private ProjectReadModel readModel;
+
     @InjectMocks
     private ProjectController projectController;
 
@@ -42,14 +57,39 @@ class ProjectControllerTest {
     @Test
     void getAllProjects_ShouldReturnPageOfProjects() {
         Page<ProjectDto> projectPage = new PageImpl<>(Arrays.asList(projectDto));
-        when(projectService.getAllProjects(any())).thenReturn(projectPage);
+        when(projectService.getAllProjects(isNull(), any())).thenReturn(projectPage);
 
-        ResponseEntity<Page<ProjectDto>> response = projectController.getAllProjects(PageRequest.of(0, 10));
+        ResponseEntity<Page<ProjectDto>> response = projectController.getAllProjects(null, null, 3, "id,desc", PageRequest.of(0, 10));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getContent().size());
-        verify(projectService).getAllProjects(any());
+        verify(projectService).getAllProjects(isNull(), any());
+    }
+
+    @Test
+    void getAllProjects_WithTaskPreviews_ShouldUsePreviewQuery() {
+        Page<ProjectDto> projectPage = new PageImpl<>(Arrays.asList(projectDto));
+        when(projectService.getAllProjectsWithTaskPreviews(isNull(), eq(5), eq(Sort.by(Sort.Direction.ASC, "title")), any()))
+                .thenReturn(projectPage);
+
+        ResponseEntity<Page<ProjectDto>> response = projectController.getAllProjects(
+                null, Set.of("tasks"), 5, "title,asc", PageRequest.of(0, 10));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(projectService, never()).getAllProjects(any(), any());
+    }
+
+    @Test
+    void getRecentlyActiveProjects_ShouldReturnFeedPage() {
+        ProjectFeedDto feed = new ProjectFeedDto(List.of(projectDto), "next");
+        when(projectService.getRecentlyActiveProjects("cursor", 20)).thenReturn(feed);
+
+        ResponseEntity<ProjectFeedDto> response = projectController.getRecentlyActiveProjects("cursor", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(feed, response.getBody());
+        verify(projectService).getRecentlyActiveProjects("cursor", 20);
     }
 
     @Test
@@ -64,11 +104,24 @@ class ProjectControllerTest {
         verify(projectService).getProjectById(1L);
     }
 
+    @Test
+    void getAllProjects_WhenReadModelCanServe_ShouldNotCallService() {
+        PageRequest pageable = PageRequest.of(0, 10);
+        Page<ProjectDto> projectPage = new PageImpl<>(List.of(projectDto), pageable, 1);
+        when(readModel.findProjects(null, pageable)).thenReturn(Optional.of(projectPage));
+
+        ResponseEntity<Page<ProjectDto>> response = projectController.getAllProjects(null, null, 3, "id,desc", pageable);
+
+        assertSame(projectPage, response.getBody());
+        verifyNoInteractions(projectService);
+    }
+
     @Test
     void createProject_ShouldReturnCreatedProject() {
+        runIdempotentActionsDirectly();
         when(projectService.createProject(any(ProjectDto.class))).thenReturn(projectDto);
 
-        ResponseEntity<ProjectDto> response = projectController.createProject(projectDto);
+        ResponseEntity<ProjectDto> response = projectController.createProject(null, projectDto);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -95,5 +148,9 @@ class ProjectControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(projectService).deleteProject(1L);
     }
-}
 
+    private void runIdempotentActionsDirectly() {
+        when(idempotencyService.execute(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    }
+}
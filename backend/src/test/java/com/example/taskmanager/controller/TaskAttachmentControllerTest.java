@@ -0,0 +1,161 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskAttachmentDto;
+import com.example.taskmanager.service.AttachmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAttachmentControllerTest {
+
+    private static final String SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @InjectMocks
+    private TaskAttachmentController controller;
+
+    @TempDir
+    Path dir;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/projects/1/tasks/2/attachments/3");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void uploadAttachment_ShouldStreamRequestBody() throws Exception {
+        TaskAttachmentDto created = attachment(5);
+        MockHttpServletRequest upload = new MockHttpServletRequest("POST", "/api/projects/1/tasks/2/attachments");
+        upload.setContentType("image/png");
+        upload.setContent(new byte[]{1, 2, 3, 4, 5});
+        when(attachmentService.uploadAttachment(eq(1L), eq(2L), eq("shot.png"), eq("image/png"), eq(5L), any()))
+                .thenReturn(created);
+
+        ResponseEntity<TaskAttachmentDto> result = controller.uploadAttachment(1L, 2L, "shot.png", upload);
+
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertSame(created, result.getBody());
+    }
+
+    @Test
+    void downloadAttachment_ShouldSendWholeFileWithEtag() throws Exception {
+        givenContent("hello world");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + SHA256 + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(11, response.getContentLengthLong());
+        assertEquals("hello world", response.getContentAsString());
+    }
+
+    @Test
+    void downloadAttachment_WithRange_ShouldSendPartialContent() throws Exception {
+        givenContent("hello world");
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 6-10/11", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("world", response.getContentAsString());
+    }
+
+    @Test
+    void downloadAttachment_WithUnsatisfiableRange_ShouldReturn416() throws Exception {
+        givenContent("hello world");
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */11", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void downloadAttachment_WithRangeOnEmptyFile_ShouldReturn416() throws Exception {
+        givenContent("");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */0", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void downloadAttachment_WithStaleIfRange_ShouldSendWholeFile() throws Exception {
+        givenContent("hello world");
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("hello world", response.getContentAsString());
+    }
+
+    @Test
+    void downloadAttachment_WhenEtagMatches_ShouldReturnNotModified() throws Exception {
+        givenContent("hello world");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"" + SHA256 + "\"");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void downloadAttachment_WhenSendfileSupported_ShouldHandFileToContainer() throws Exception {
+        Path file = givenContent("hello world");
+        request.setAttribute(TaskAttachmentController.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-4");
+
+        controller.downloadAttachment(1L, 2L, 3L, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(file.toRealPath().toString(), request.getAttribute(TaskAttachmentController.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(TaskAttachmentController.SENDFILE_START));
+        assertEquals(5L, request.getAttribute(TaskAttachmentController.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private Path givenContent(String content) throws Exception {
+        Path file = Files.writeString(dir.resolve(SHA256), content);
+        when(attachmentService.getAttachmentContent(1L, 2L, 3L))
+                .thenReturn(new AttachmentService.Content(attachment(content.length()), file));
+        return file;
+    }
+
+    private static TaskAttachmentDto attachment(long size) {
+        return new TaskAttachmentDto(3L, 2L, "notes.txt", "text/plain", size, SHA256, Instant.parse("2026-03-01T10:00:00Z"));
+    }
+}
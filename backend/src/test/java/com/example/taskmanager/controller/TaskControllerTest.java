@@ -1,7 +1,14 @@
 package com.example.taskmanager.controller;
 
+import com.example.taskmanager.dto.TaskAssigneeRequest;
+import com.example.taskmanager.dto.TaskDueDateRequest;
 import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskParentRequest;
+import com.example.taskmanager.dto.TaskPositionRequest;
+import com.example.taskmanager.dto.TaskSearchFilter;
 import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.service.IdempotencyService;
+import com.example.taskmanager.service.ProjectReadModel;
 import com.example.taskmanager.service.TaskService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,14 +19,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +43,12 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private ProjectReadModel readModel;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -46,34 +67,85 @@ class TaskControllerTest {
     @Test
     void getTasksByProjectId_ShouldReturnPageOfTasks() {
         Page<TaskDto> taskPage = new PageImpl<>(Arrays.asList(taskDto));
-        when(taskService.getTasksByProjectId(eq(1L), any())).thenReturn(taskPage);
+        when(taskService.getTasksByProjectId(eq(1L), isNull(), eq(false), any())).thenReturn(taskPage);
 
-        ResponseEntity<Page<TaskDto>> response = taskController.getTasksByProjectId(1L, PageRequest.of(0, 10));
+        ResponseEntity<Page<TaskDto>> response = taskController.getTasksByProjectId(1L, null, false, PageRequest.of(0, 10));
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getContent().size());
-        verify(taskService).getTasksByProjectId(eq(1L), any());
+        verify(taskService).getTasksByProjectId(eq(1L), isNull(), eq(false), any());
+    }
+
+    @Test
+    void getTasksByProjectId_WithFields_ShouldPassSelectionToService() {
+        Set<String> fields = Set.of("id", "title", "status");
+        Page<TaskDto> taskPage = new PageImpl<>(Arrays.asList(taskDto));
+        when(taskService.getTasksByProjectId(eq(1L), eq(fields), eq(false), any())).thenReturn(taskPage);
+
+        ResponseEntity<Page<TaskDto>> response = taskController.getTasksByProjectId(1L, fields, false, PageRequest.of(0, 10));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskService).getTasksByProjectId(eq(1L), eq(fields), eq(false), any());
+    }
+
+    @Test
+    void getTasksByProjectId_WithIncludeArchived_ShouldPassFlagToService() {
+        Page<TaskDto> taskPage = new PageImpl<>(Arrays.asList(taskDto));
+        when(taskService.getTasksByProjectId(eq(1L), isNull(), eq(true), any())).thenReturn(taskPage);
+
+        ResponseEntity<Page<TaskDto>> response = taskController.getTasksByProjectId(1L, null, true, PageRequest.of(0, 10));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(taskService).getTasksByProjectId(eq(1L), isNull(), eq(true), any());
+    }
+
+    @Test
+    void searchTasks_ShouldPassFilterToService() {
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<TaskDto> page = new PageImpl<>(List.of(taskDto), pageable, 1);
+        when(taskService.searchTasks(eq(1L), any(TaskSearchFilter.class), isNull(), eq(pageable))).thenReturn(page);
+
+        ResponseEntity<Page<TaskDto>> response = taskController.searchTasks(
+                1L, Set.of("backend", "urgent"), null, Set.of("wontfix"), null, false, null, pageable);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(taskService).searchTasks(eq(1L), argThat(filter -> filter.getLabels().equals(Set.of("backend", "urgent"))
+                && filter.getExcludedLabels().equals(Set.of("wontfix")) && Boolean.FALSE.equals(filter.getBlocked())),
+                isNull(), eq(pageable));
     }
 
     @Test
     void getTaskById_ShouldReturnTask() {
-        when(taskService.getTaskById(1L, 1L)).thenReturn(taskDto);
+        when(taskService.getTaskById(1L, 1L, false)).thenReturn(taskDto);
 
-        ResponseEntity<TaskDto> response = taskController.getTaskById(1L, 1L);
+        ResponseEntity<TaskDto> response = taskController.getTaskById(1L, 1L, false);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1L, response.getBody().getId());
         assertEquals("Test Task", response.getBody().getTitle());
-        verify(taskService).getTaskById(1L, 1L);
+        verify(taskService).getTaskById(1L, 1L, false);
+    }
+
+    @Test
+    void getTaskById_WhenReadModelHasTask_ShouldNotCallService() {
+        when(readModel.findTask(1L, 1L)).thenReturn(Optional.of(taskDto));
+
+        ResponseEntity<TaskDto> response = taskController.getTaskById(1L, 1L, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(taskDto, response.getBody());
+        verifyNoInteractions(taskService);
     }
 
     @Test
     void createTask_ShouldReturnCreatedTask() {
+        runIdempotentActionsDirectly();
         when(taskService.createTask(eq(1L), any(TaskDto.class))).thenReturn(taskDto);
 
-        ResponseEntity<TaskDto> response = taskController.createTask(1L, taskDto);
+        ResponseEntity<TaskDto> response = taskController.createTask(1L, null, taskDto);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -81,6 +153,17 @@ class TaskControllerTest {
         verify(taskService).createTask(eq(1L), any(TaskDto.class));
     }
 
+    @Test
+    void createTask_WithIdempotencyKey_ShouldScopeKeyToProject() {
+        when(idempotencyService.execute(eq("key-1"), eq("createTask:1"), eq(taskDto), any())).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.createTask(1L, "key-1", taskDto);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(taskDto, response.getBody());
+        verify(taskService, never()).createTask(any(), any());
+    }
+
     @Test
     void updateTask_ShouldReturnUpdatedTask() {
         when(taskService.updateTask(eq(1L), eq(1L), any(TaskDto.class))).thenReturn(taskDto);
@@ -92,6 +175,80 @@ class TaskControllerTest {
         verify(taskService).updateTask(eq(1L), eq(1L), any(TaskDto.class));
     }
 
+    @Test
+    void moveTask_ShouldReturnMovedTask() {
+        TaskPositionRequest position = new TaskPositionRequest(Task.TaskStatus.DONE, 2L, 3L);
+        when(taskService.moveTask(1L, 1L, position)).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.moveTask(1L, 1L, position);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(taskDto, response.getBody());
+        verify(taskService).moveTask(1L, 1L, position);
+    }
+
+    @Test
+    void restoreTask_ShouldReturnRestoredTask() {
+        when(taskService.restoreTask(1L, 1L)).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.restoreTask(1L, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(taskDto, response.getBody());
+        verify(taskService).restoreTask(1L, 1L);
+    }
+
+    @Test
+    void moveSubtree_ShouldPassParentToService() {
+        when(taskService.moveSubtree(1L, 1L, 5L)).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.moveSubtree(1L, 1L, new TaskParentRequest(5L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(taskDto, response.getBody());
+        verify(taskService).moveSubtree(1L, 1L, 5L);
+    }
+
+    @Test
+    void assignTask_ShouldPassAssigneeToService() {
+        when(taskService.assignTask(1L, 1L, "user-sub")).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.assignTask(1L, 1L, new TaskAssigneeRequest("user-sub"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(taskDto, response.getBody());
+    }
+
+    @Test
+    void setDueDate_ShouldPassDueDateToService() {
+        Instant dueAt = Instant.parse("2026-03-02T09:00:00Z");
+        when(taskService.setDueDate(1L, 1L, dueAt)).thenReturn(taskDto);
+
+        ResponseEntity<TaskDto> response = taskController.setDueDate(1L, 1L, new TaskDueDateRequest(dueAt));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(taskDto, response.getBody());
+    }
+
+    @Test
+    void addDependency_ShouldReturnBlockers() {
+        when(taskService.addDependency(1L, 3L, 2L)).thenReturn(List.of(2L));
+
+        ResponseEntity<List<Long>> response = taskController.addDependency(1L, 3L, 2L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(2L), response.getBody());
+        verify(taskService).addDependency(1L, 3L, 2L);
+    }
+
+    @Test
+    void removeDependency_ShouldReturnNoContent() {
+        ResponseEntity<Void> response = taskController.removeDependency(1L, 3L, 2L);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(taskService).removeDependency(1L, 3L, 2L);
+    }
+
     @Test
     void deleteTask_ShouldReturnNoContent() {
         doNothing().when(taskService).deleteTask(1L, 1L);
@@ -101,5 +258,9 @@ class TaskControllerTest {
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
         verify(taskService).deleteTask(1L, 1L);
     }
-}
 
+    private void runIdempotentActionsDirectly() {
+        when(idempotencyService.execute(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+    }
+}
@@ -39,6 +39,18 @@ class ApiExceptionHandlerTest {
         assertNotNull(response.getBody().getTimestamp());
     }
 
+    @Test
+    void handleConflictException_ShouldReturnConflict() {
+        ConflictException exception = new ConflictException("Column TODO of project 1 has unranked tasks");
+
+        ResponseEntity<ApiExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleConflictException(exception);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(HttpStatus.CONFLICT.value(), response.getBody().getStatus());
+    }
+
     @Test
     void handleValidationExceptions_ShouldReturnBadRequest() {
         MethodArgumentNotValidException exception = mock(MethodArgumentNotValidException.class);
@@ -62,6 +74,18 @@ class ApiExceptionHandlerTest {
         assertNotNull(response.getBody().getTimestamp());
     }
 
+    @Test
+    void handleBadRequestException_ShouldReturnBadRequest() {
+        BadRequestException exception = new BadRequestException("Unknown field 'owner'");
+
+        ResponseEntity<ApiExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleBadRequestException(exception);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Unknown field 'owner'", response.getBody().getMessage());
+    }
+
     @Test
     void handleNoResourceFoundException_ShouldReturnNotFound() {
         NoResourceFoundException exception = new NoResourceFoundException(
@@ -0,0 +1,175 @@
+package com.example.taskmanager.grpc;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.grpc.proto.CreateTaskRequest;
+import com.example.taskmanager.grpc.proto.CreateTasksResponse;
+import com.example.taskmanager.grpc.proto.GetTaskRequest;
+import com.example.taskmanager.grpc.proto.ListTasksRequest;
+import com.example.taskmanager.grpc.proto.TaskMessage;
+import com.example.taskmanager.grpc.proto.TaskStatus;
+import com.example.taskmanager.service.TaskService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskGrpcServiceTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private StreamObserver<TaskMessage> taskObserver;
+
+    @Mock
+    private StreamObserver<CreateTasksResponse> createTasksObserver;
+
+    @InjectMocks
+    private TaskGrpcService taskGrpcService;
+
+    private TaskDto taskDto;
+
+    @BeforeEach
+    void setUp() {
+        taskDto = new TaskDto();
+        taskDto.setId(1L);
+        taskDto.setTitle("Test Task");
+        taskDto.setDescription("Test Description");
+        taskDto.setStatus(Task.TaskStatus.TODO);
+        taskDto.setProjectId(1L);
+    }
+
+    @Test
+    void listTasks_ShouldStreamEveryKeysetBatch() {
+        TaskDto secondTask = new TaskDto();
+        secondTask.setId(2L);
+        secondTask.setTitle("Second Task");
+        secondTask.setStatus(Task.TaskStatus.DONE);
+        secondTask.setProjectId(1L);
+
+        when(taskService.getTasksAfterId(1L, null, 1)).thenReturn(List.of(taskDto));
+        when(taskService.getTasksAfterId(1L, 1L, 1)).thenReturn(List.of(secondTask));
+        when(taskService.getTasksAfterId(1L, 2L, 1)).thenReturn(List.of());
+
+        taskGrpcService.listTasks(ListTasksRequest.newBuilder().setProjectId(1L).setBatchSize(1).build(), taskObserver);
+
+        ArgumentCaptor<TaskMessage> captor = ArgumentCaptor.forClass(TaskMessage.class);
+        verify(taskObserver, times(2)).onNext(captor.capture());
+        assertEquals(1L, captor.getAllValues().get(0).getId());
+        assertEquals(TaskStatus.DONE, captor.getAllValues().get(1).getStatus());
+        verify(taskObserver).onCompleted();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listTasks_ShouldOnlyReadAndSendWhileCallIsReady() {
+        ServerCallStreamObserver<TaskMessage> observer = mock(ServerCallStreamObserver.class);
+        TaskDto secondTask = new TaskDto();
+        secondTask.setId(2L);
+        secondTask.setTitle("Second Task");
+        secondTask.setStatus(Task.TaskStatus.TODO);
+        secondTask.setProjectId(1L);
+        when(taskService.getTasksAfterId(1L, null, 2)).thenReturn(List.of(taskDto, secondTask));
+        when(taskService.getTasksAfterId(1L, 2L, 2)).thenReturn(List.of());
+
+        taskGrpcService.listTasks(ListTasksRequest.newBuilder().setProjectId(1L).setBatchSize(2).build(), observer);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(observer).setOnReadyHandler(onReady.capture());
+        verifyNoInteractions(taskService);
+
+        // Ready for the first read and one message, then the client's window is full
+        when(observer.isReady()).thenReturn(true, true, false);
+        onReady.getValue().run();
+        verify(observer, times(1)).onNext(any());
+        verify(taskService, never()).getTasksAfterId(1L, 2L, 2);
+
+        when(observer.isReady()).thenReturn(true);
+        onReady.getValue().run();
+        verify(observer, times(2)).onNext(any());
+        verify(observer).onCompleted();
+    }
+
+    @Test
+    void listTasks_WhenProjectMissing_ShouldFailTheCall() {
+        when(taskService.getTasksAfterId(9L, null, 500))
+                .thenThrow(new ResourceNotFoundException("Project not found with id: 9"));
+
+        taskGrpcService.listTasks(ListTasksRequest.newBuilder().setProjectId(9L).build(), taskObserver);
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(taskObserver).onError(error.capture());
+        assertEquals(Status.Code.NOT_FOUND, Status.fromThrowable(error.getValue()).getCode());
+        verify(taskObserver, never()).onCompleted();
+    }
+
+    @Test
+    void getTask_ShouldReturnTask() {
+        when(taskService.getTaskById(1L, 1L)).thenReturn(taskDto);
+
+        taskGrpcService.getTask(GetTaskRequest.newBuilder().setProjectId(1L).setTaskId(1L).build(), taskObserver);
+
+        ArgumentCaptor<TaskMessage> captor = ArgumentCaptor.forClass(TaskMessage.class);
+        verify(taskObserver).onNext(captor.capture());
+        assertEquals("Test Task", captor.getValue().getTitle());
+        verify(taskObserver).onCompleted();
+    }
+
+    @Test
+    void createTasks_ShouldCreateEachStreamedTaskAndReturnIds() {
+        when(taskService.createTask(eq(1L), any(TaskDto.class))).thenReturn(taskDto);
+
+        StreamObserver<CreateTaskRequest> requests = taskGrpcService.createTasks(createTasksObserver);
+        CreateTaskRequest request = CreateTaskRequest.newBuilder()
+                .setProjectId(1L)
+                .setTask(TaskMessage.newBuilder().setTitle("Test Task").setStatus(TaskStatus.TODO))
+                .build();
+        requests.onNext(request);
+        requests.onNext(request);
+        requests.onCompleted();
+
+        ArgumentCaptor<CreateTasksResponse> captor = ArgumentCaptor.forClass(CreateTasksResponse.class);
+        verify(createTasksObserver).onNext(captor.capture());
+        assertEquals(2, captor.getValue().getCreatedCount());
+        verify(taskService, times(2)).createTask(eq(1L), any(TaskDto.class));
+        verify(createTasksObserver).onCompleted();
+    }
+
+    @Test
+    void createTasks_WhenProjectNotExists_ShouldFailWithNotFound() {
+        when(taskService.createTask(eq(1L), any(TaskDto.class)))
+                .thenThrow(new ResourceNotFoundException("Project not found with id: 1"));
+
+        StreamObserver<CreateTaskRequest> requests = taskGrpcService.createTasks(createTasksObserver);
+        requests.onNext(CreateTaskRequest.newBuilder()
+                .setProjectId(1L)
+                .setTask(TaskMessage.newBuilder().setTitle("Test Task"))
+                .build());
+        requests.onCompleted();
+
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(createTasksObserver).onError(captor.capture());
+        assertEquals(Status.Code.NOT_FOUND, ((StatusRuntimeException) captor.getValue()).getStatus().getCode());
+        verify(createTasksObserver, never()).onCompleted();
+    }
+}
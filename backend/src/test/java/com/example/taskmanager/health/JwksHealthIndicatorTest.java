@@ -0,0 +1,89 @@
+package com.example.taskmanager.health;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksHealthIndicatorTest {
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile String body;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        body = new JWKSet(new RSAKeyGenerator(2048).keyID("k1").generate().toPublicJWK()).toString();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void health_WhenKeySetIsAvailable_ShouldBeUpWithKeyCount() {
+        Health health = indicator(Duration.ofMinutes(1)).health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1, health.getDetails().get("keys"));
+    }
+
+    @Test
+    void health_WhenKeySetEndpointFails_ShouldBeDown() {
+        status = 500;
+
+        Health health = indicator(Duration.ofMinutes(1)).health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+
+    @Test
+    void health_WhenKeySetIsEmpty_ShouldBeDown() {
+        body = "{\"keys\":[]}";
+
+        Health health = indicator(Duration.ofMinutes(1)).health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+    }
+
+    @Test
+    void health_WithinCacheTtl_ShouldNotFetchAgain() {
+        JwksHealthIndicator indicator = indicator(Duration.ofMinutes(1));
+
+        indicator.health();
+        status = 500;
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1, requests.get());
+    }
+
+    private JwksHealthIndicator indicator(Duration cacheTtl) {
+        String uri = "http://localhost:" + server.getAddress().getPort() + "/jwks.json";
+        return new JwksHealthIndicator(uri, Duration.ofSeconds(2), cacheTtl);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.taskmanager.health;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.service.ProjectService;
+import com.example.taskmanager.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmUpTest {
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void run_ShouldExerciseReadPathsForEachIteration() {
+        ProjectDto project = new ProjectDto();
+        project.setId(7L);
+        project.setName("Warm");
+        when(projectService.getAllProjects(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(project), FIRST_PAGE, 1));
+        when(projectService.getProjectById(7L)).thenReturn(project);
+        when(taskService.getTasksByProjectId(eq(7L), any(Pageable.class))).thenReturn(Page.empty(FIRST_PAGE));
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("unknown key id"));
+
+        warmUp(5, Duration.ofMinutes(1)).run(null);
+
+        verify(jwtDecoder).decode(anyString());
+        verify(projectService, times(5)).getAllProjects(any(Pageable.class));
+        verify(projectService, times(5)).getProjectById(7L);
+        verify(taskService, times(5)).getTasksByProjectId(eq(7L), any(Pageable.class));
+    }
+
+    @Test
+    void run_WithoutProjects_ShouldOnlyReadProjectPages() {
+        when(projectService.getAllProjects(any(Pageable.class))).thenReturn(Page.empty(FIRST_PAGE));
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("unknown key id"));
+
+        warmUp(3, Duration.ofMinutes(1)).run(null);
+
+        verify(projectService, times(3)).getAllProjects(any(Pageable.class));
+        verify(projectService, never()).getProjectById(any());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void run_WhenReadFails_ShouldStopWithoutThrowing() {
+        when(projectService.getAllProjects(any(Pageable.class))).thenThrow(new IllegalStateException("database down"));
+        when(jwtDecoder.decode(anyString())).thenThrow(new BadJwtException("unknown key id"));
+
+        assertDoesNotThrow(() -> warmUp(5, Duration.ofMinutes(1)).run(null));
+        verify(projectService, times(1)).getAllProjects(any(Pageable.class));
+    }
+
+    private StartupWarmUp warmUp(int iterations, Duration maxDuration) {
+        return new StartupWarmUp(projectService, taskService, objectMapper, jwtDecoder,
+                new JwtAuthenticationConverter(), iterations, maxDuration);
+    }
+}
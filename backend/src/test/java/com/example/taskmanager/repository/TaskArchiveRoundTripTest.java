@@ -0,0 +1,155 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskDto;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archival and restore against the schema built by the Flyway migrations, on an embedded PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskArchiveRoundTripTest {
+
+    private static final Instant STARTED_AT = Instant.now().minus(Duration.ofDays(90)).truncatedTo(ChronoUnit.SECONDS);
+
+    @TestConfiguration
+    static class EmbeddedDatabase {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private long projectId;
+    private long parentId;
+    private long subtaskId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        projectId = jdbcTemplate.queryForObject("INSERT INTO projects (name) VALUES ('Website') RETURNING id", Long.class);
+        parentId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id) VALUES ('Launch', 'IN_PROGRESS', ?) RETURNING id",
+                Long.class, projectId);
+        subtaskId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id, parent_id, started_at, completed_at)"
+                        + " VALUES ('Copy', 'DONE', ?, ?, ?, now() - interval '60 days') RETURNING id",
+                Long.class, projectId, parentId, Timestamp.from(STARTED_AT));
+    }
+
+    @Test
+    void restoreFromArchive_WhenSubtask_ShouldRestoreBelowParentWithStart() {
+        assertEquals(1, taskRepository.archiveCompletedBefore(Instant.now().minus(Duration.ofDays(30)), 100));
+        TaskDto archived = taskRepository.findArchivedByIdAndProjectId(subtaskId, projectId).orElseThrow();
+        assertEquals(parentId, archived.getParentId());
+
+        assertEquals(1, taskRepository.restoreFromArchive(subtaskId, projectId, "n"));
+
+        Map<String, Object> restored = jdbcTemplate.queryForMap(
+                "SELECT parent_id, started_at FROM tasks WHERE project_id = ? AND id = ?", projectId, subtaskId);
+        assertEquals(parentId, ((Number) restored.get("parent_id")).longValue());
+        assertEquals(STARTED_AT, ((Timestamp) restored.get("started_at")).toInstant());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_tree WHERE project_id = ? AND ancestor_id = ? AND descendant_id = ?",
+                Integer.class, projectId, parentId, subtaskId));
+    }
+
+    @Test
+    void restoreFromArchive_WhenParentDeleted_ShouldRestoreAsTopLevelTask() {
+        taskRepository.archiveCompletedBefore(Instant.now().minus(Duration.ofDays(30)), 100);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ? AND id = ?", projectId, parentId);
+
+        assertEquals(1, taskRepository.restoreFromArchive(subtaskId, projectId, "n"));
+
+        Map<String, Object> restored = jdbcTemplate.queryForMap(
+                "SELECT parent_id, started_at FROM tasks WHERE project_id = ? AND id = ?", projectId, subtaskId);
+        assertNull(restored.get("parent_id"));
+        assertEquals(STARTED_AT, ((Timestamp) restored.get("started_at")).toInstant());
+    }
+
+    @Test
+    void restoreFromArchive_ShouldBringBackDependenciesOnceBothTasksAreHot() {
+        long draftId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id, completed_at)"
+                        + " VALUES ('Draft', 'DONE', ?, now() - interval '60 days') RETURNING id",
+                Long.class, projectId);
+        // The parent waits for its subtask, which waited for the draft
+        jdbcTemplate.update("INSERT INTO task_dependencies (project_id, task_id, blocked_by_id) VALUES (?, ?, ?), (?, ?, ?)",
+                projectId, parentId, subtaskId, projectId, subtaskId, draftId);
+
+        assertEquals(2, taskRepository.archiveCompletedBefore(Instant.now().minus(Duration.ofDays(30)), 100));
+        assertEquals(0, dependencyCount("task_dependencies"));
+        assertEquals(2, dependencyCount("task_dependencies_archive"));
+
+        taskRepository.restoreFromArchive(subtaskId, projectId, "n");
+        List<Object[]> restorable = taskDependencyRepository.findRestorableArchived(projectId, subtaskId);
+        assertEquals(1, restorable.size());
+        assertEquals(parentId, ((Number) restorable.get(0)[0]).longValue());
+        assertEquals(subtaskId, ((Number) restorable.get(0)[1]).longValue());
+        // The dependency on the draft stays archived until the draft is restored too
+        assertEquals(1, taskDependencyRepository.deleteArchived(projectId, subtaskId));
+        taskDependencyRepository.insertDependency(projectId, parentId, subtaskId);
+
+        taskRepository.restoreFromArchive(draftId, projectId, "o");
+        restorable = taskDependencyRepository.findRestorableArchived(projectId, draftId);
+        assertEquals(1, restorable.size());
+        assertEquals(subtaskId, ((Number) restorable.get(0)[0]).longValue());
+        assertEquals(draftId, ((Number) restorable.get(0)[1]).longValue());
+        assertEquals(1, taskDependencyRepository.deleteArchived(projectId, draftId));
+        assertEquals(0, dependencyCount("task_dependencies_archive"));
+    }
+
+    @Test
+    void deleteArchived_WhenOtherTaskDeleted_ShouldDropTheDependency() {
+        jdbcTemplate.update("INSERT INTO task_dependencies (project_id, task_id, blocked_by_id) VALUES (?, ?, ?)",
+                projectId, parentId, subtaskId);
+        taskRepository.archiveCompletedBefore(Instant.now().minus(Duration.ofDays(30)), 100);
+        jdbcTemplate.update("DELETE FROM tasks WHERE project_id = ? AND id = ?", projectId, parentId);
+
+        taskRepository.restoreFromArchive(subtaskId, projectId, "n");
+
+        assertTrue(taskDependencyRepository.findRestorableArchived(projectId, subtaskId).isEmpty());
+        assertEquals(1, taskDependencyRepository.deleteArchived(projectId, subtaskId));
+        assertEquals(0, dependencyCount("task_dependencies_archive"));
+    }
+
+    private int dependencyCount(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE project_id = ?",
+                Integer.class, projectId);
+    }
+}
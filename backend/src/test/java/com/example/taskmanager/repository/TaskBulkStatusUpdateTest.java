@@ -0,0 +1,150 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskPositionRequest;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.service.DependencyGraphCache;
+import com.example.taskmanager.service.LabelIndex;
+import com.example.taskmanager.service.RequestCoalescer;
+import com.example.taskmanager.service.TaskService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Bulk status updates against the schema built by the Flyway migrations, on an embedded PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskBulkStatusUpdateTest {
+
+    private static final Instant STARTED_AT = Instant.now().minus(Duration.ofDays(3)).truncatedTo(ChronoUnit.SECONDS);
+
+    @TestConfiguration
+    static class EmbeddedDatabase {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+    }
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private long projectId;
+    private long todoId;
+    private long startedId;
+    private long doneId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        projectId = jdbcTemplate.queryForObject("INSERT INTO projects (name) VALUES ('Website') RETURNING id", Long.class);
+        todoId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id) VALUES ('Copy', 'TODO', ?) RETURNING id",
+                Long.class, projectId);
+        startedId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id, started_at) VALUES ('Layout', 'IN_PROGRESS', ?, ?) RETURNING id",
+                Long.class, projectId, Timestamp.from(STARTED_AT));
+        doneId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id, completed_at) VALUES ('Logo', 'DONE', ?, now()) RETURNING id",
+                Long.class, projectId);
+    }
+
+    @Test
+    void updateStatusByFilter_ShouldReturnTransitionsWithPreviousStatus() {
+        TaskFilter filter = new TaskFilter(projectId, null, null, null, null);
+
+        List<TaskStatusChangedEvent> transitions = taskRepository.updateStatusByFilter(filter, Task.TaskStatus.DONE)
+                .stream().sorted(Comparator.comparing(TaskStatusChangedEvent::taskId)).toList();
+
+        assertEquals(2, transitions.size());
+        assertEquals(todoId, transitions.get(0).taskId());
+        assertEquals(Task.TaskStatus.TODO, transitions.get(0).previousStatus());
+        assertNull(transitions.get(0).cycleTime());
+        assertEquals(startedId, transitions.get(1).taskId());
+        assertEquals(Task.TaskStatus.IN_PROGRESS, transitions.get(1).previousStatus());
+        assertEquals(Task.TaskStatus.DONE, transitions.get(1).status());
+        assertEquals(STARTED_AT, transitions.get(1).startedAt());
+        assertNotNull(transitions.get(1).cycleTime());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks WHERE project_id = ? AND status = 'DONE' AND completed_at IS NOT NULL",
+                Integer.class, projectId));
+    }
+
+    @Test
+    void updateStatusByFilter_WhenStarting_ShouldStampFirstStartOnly() {
+        TaskFilter filter = new TaskFilter(projectId, null, null, null, List.of(todoId, doneId));
+
+        List<TaskStatusChangedEvent> transitions = taskRepository.updateStatusByFilter(filter, Task.TaskStatus.IN_PROGRESS);
+
+        assertEquals(2, transitions.size());
+        transitions.forEach(transition -> assertNotNull(transition.startedAt()));
+        Map<String, Object> done = jdbcTemplate.queryForMap(
+                "SELECT status, completed_at FROM tasks WHERE project_id = ? AND id = ?", projectId, doneId);
+        assertEquals("IN_PROGRESS", done.get("status"));
+        assertNull(done.get("completed_at"));
+        assertEquals(Timestamp.from(STARTED_AT), jdbcTemplate.queryForObject(
+                "SELECT started_at FROM tasks WHERE project_id = ? AND id = ?", Timestamp.class, projectId, startedId));
+    }
+
+    @Test
+    void bulkUpdateStatus_ShouldAppendToTargetColumnSoTasksCanBeMovedBetweenThem() {
+        jdbcTemplate.update("UPDATE tasks SET rank_key = 'V' WHERE project_id = ?", projectId);
+        TaskService taskService = new TaskService(taskRepository, projectRepository, mock(RequestCoalescer.class),
+                mock(TaskDependencyRepository.class), mock(DependencyGraphCache.class), mock(LabelIndex.class),
+                mock(ApplicationEventPublisher.class));
+
+        assertEquals(2, taskService.bulkUpdateStatus(
+                new TaskFilter(projectId, null, null, null, List.of(todoId, startedId)), Task.TaskStatus.DONE));
+
+        List<String> ranks = jdbcTemplate.queryForList(
+                "SELECT rank_key FROM tasks WHERE project_id = ? AND status = 'DONE' ORDER BY rank_key COLLATE \"C\", id",
+                String.class, projectId);
+        assertEquals(3, Set.copyOf(ranks).size());
+        assertEquals("V", ranks.get(0));
+        long otherId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, status, project_id, rank_key) VALUES ('Fonts', 'TODO', ?, 'V') RETURNING id",
+                Long.class, projectId);
+
+        String rank = taskService.moveTask(projectId, otherId,
+                new TaskPositionRequest(Task.TaskStatus.DONE, todoId, startedId)).getRank();
+
+        assertTrue(ranks.get(1).compareTo(rank) < 0 && rank.compareTo(ranks.get(2)) < 0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.BurndownPoint;
+import com.example.taskmanager.dto.CycleTimeStats;
+import com.example.taskmanager.dto.TaskCountsDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.repository.ProjectRepository;
+import com.example.taskmanager.repository.TaskAnalyticsRepository;
+import com.example.taskmanager.repository.TaskAnalyticsRepository.DailyFlow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 4);
+
+    @Mock
+    private TaskAnalyticsRepository analyticsRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskColumnIndex columnIndex;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @Test
+    void getBurndown_ShouldFillQuietDaysAndCarryRunningTotal() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(analyticsRepository.countOpenBefore(1L, FROM)).thenReturn(10L);
+        when(analyticsRepository.findDailyFlow(1L, FROM, TO)).thenReturn(List.of(
+                new DailyFlow(1L, FROM, 3, 1, 0),
+                new DailyFlow(1L, TO, 0, 4, 1)));
+
+        List<BurndownPoint> burndown = analyticsService.getBurndown(1L, FROM, TO);
+
+        assertEquals(List.of(FROM, FROM.plusDays(1), FROM.plusDays(2), TO),
+                burndown.stream().map(BurndownPoint::getDay).toList());
+        assertEquals(List.of(12L, 12L, 12L, 7L), burndown.stream().map(BurndownPoint::getRemaining).toList());
+        assertEquals(4, burndown.get(3).getClosed());
+    }
+
+    @Test
+    void getBurndown_WhenRangeTooLong_ShouldThrowException() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(BadRequestException.class,
+                () -> analyticsService.getBurndown(1L, FROM, FROM.plusDays(AnalyticsService.MAX_RANGE_DAYS)));
+        assertThrows(BadRequestException.class, () -> analyticsService.getBurndown(1L, TO, FROM));
+        verify(analyticsRepository, never()).findDailyFlow(any(), any(), any());
+    }
+
+    @Test
+    void getBurndown_WhenProjectNotFound_ShouldThrowException() {
+        when(projectRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> analyticsService.getBurndown(99L, FROM, TO));
+    }
+
+    @Test
+    void getCycleTime_ShouldReadPercentilesFromMergedBuckets() {
+        TreeMap<Integer, Long> buckets = new TreeMap<>();
+        buckets.put(CycleTimeHistogram.bucketOf(Duration.ofHours(1)), 50L);
+        buckets.put(CycleTimeHistogram.bucketOf(Duration.ofDays(1)), 40L);
+        buckets.put(CycleTimeHistogram.bucketOf(Duration.ofDays(10)), 10L);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(analyticsRepository.findCycleTimeBuckets(1L, FROM, TO)).thenReturn(buckets);
+
+        CycleTimeStats stats = analyticsService.getCycleTime(1L, FROM, TO);
+
+        assertEquals(100, stats.getTasks());
+        assertEquals(CycleTimeHistogram.upperBound(buckets.firstKey()).toSeconds(), stats.getP50Seconds());
+        assertTrue(stats.getP85Seconds() >= Duration.ofDays(1).toSeconds());
+        assertTrue(stats.getP85Seconds() < Duration.ofDays(2).toSeconds());
+        assertTrue(stats.getP95Seconds() >= Duration.ofDays(10).toSeconds());
+    }
+
+    @Test
+    void getCycleTime_WhenNoTasksCompleted_ShouldReturnEmptyPercentiles() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(analyticsRepository.findCycleTimeBuckets(1L, FROM, TO)).thenReturn(new TreeMap<>());
+
+        CycleTimeStats stats = analyticsService.getCycleTime(1L, FROM, TO);
+
+        assertEquals(0, stats.getTasks());
+        assertNull(stats.getP50Seconds());
+    }
+
+    @Test
+    void getTaskCountsByProject_ShouldOrderByCountOfStatusThenProjectId() {
+        when(columnIndex.countByProjectAndStatus()).thenReturn(new TaskColumnIndex.ProjectCounts(
+                new long[]{1L, 2L, 3L},
+                new long[]{5, 0, 1, /* project 2 */ 0, 2, 9, /* project 3 */ 1, 2, 0}));
+
+        List<TaskCountsDto> byInProgress = analyticsService.getTaskCountsByProject(Task.TaskStatus.IN_PROGRESS, 2);
+        List<TaskCountsDto> byTotal = analyticsService.getTaskCountsByProject(null, 10);
+
+        assertEquals(List.of(2L, 3L), byInProgress.stream().map(TaskCountsDto::getProjectId).toList());
+        assertEquals(List.of(2L, 1L, 3L), byTotal.stream().map(TaskCountsDto::getProjectId).toList());
+        assertEquals(11, byTotal.get(0).getTotal());
+        assertEquals(9L, byTotal.get(0).getByStatus().get(Task.TaskStatus.DONE));
+    }
+
+    @Test
+    void getTaskCountsByProject_WhenLimitOutOfRange_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> analyticsService.getTaskCountsByProject(null, 0));
+        assertThrows(BadRequestException.class,
+                () -> analyticsService.getTaskCountsByProject(null, AnalyticsService.MAX_PROJECT_COUNTS + 1));
+        verifyNoInteractions(columnIndex);
+    }
+
+    @Test
+    void getTaskCounts_WhenProjectNotFound_ShouldThrowException() {
+        when(projectRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> analyticsService.getTaskCounts(1L));
+        verifyNoInteractions(columnIndex);
+    }
+}
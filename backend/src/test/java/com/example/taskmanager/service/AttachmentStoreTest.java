@@ -0,0 +1,94 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentStoreTest {
+
+    // SHA-256 of "hello"
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path dir;
+
+    private AttachmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new AttachmentStore(dir, DataSize.ofBytes(1024));
+    }
+
+    @Test
+    void stage_ShouldHashAndCountContent() throws Exception {
+        AttachmentStore.StagedFile staged = store.stage(stream("hello"));
+
+        assertEquals(HELLO_SHA256, staged.sha256());
+        assertEquals(5, staged.size());
+        assertEquals("hello", Files.readString(staged.path()));
+    }
+
+    @Test
+    void stage_WhenLargerThanMaxSize_ShouldRejectAndRemoveStagingFile() {
+        assertThrows(BadRequestException.class, () -> store.stage(new ByteArrayInputStream(new byte[1025])));
+
+        assertEquals(0, stagingFiles());
+    }
+
+    @Test
+    void commit_WhenContentAlreadyStored_ShouldKeepOneCopy() throws Exception {
+        AttachmentStore.StagedFile first = store.stage(stream("hello"));
+        AttachmentStore.StagedFile second = store.stage(stream("hello"));
+
+        store.commit(first);
+        store.commit(second);
+
+        Path stored = store.pathOf(HELLO_SHA256);
+        assertEquals(dir.resolve("2c").resolve("f2").resolve(HELLO_SHA256), stored);
+        assertEquals("hello", Files.readString(stored));
+        assertEquals(0, stagingFiles());
+    }
+
+    @Test
+    void pathOf_WhenNotAHash_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> store.pathOf("../../etc/passwd"));
+    }
+
+    @Test
+    void purgeStaging_ShouldRemoveOnlyOldUploads() throws Exception {
+        AttachmentStore.StagedFile old = store.stage(stream("old"));
+        AttachmentStore.StagedFile recent = store.stage(stream("recent"));
+        Files.setLastModifiedTime(old.path(), FileTime.from(Instant.now().minusSeconds(7200)));
+
+        assertEquals(1, store.purgeStaging(Instant.now().minusSeconds(3600)));
+
+        assertFalse(Files.exists(old.path()));
+        assertTrue(Files.exists(recent.path()));
+    }
+
+    private long stagingFiles() {
+        try (Stream<Path> files = Files.list(dir.resolve("tmp"))) {
+            return files.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CycleTimeHistogramTest {
+
+    @Test
+    void upperBound_ShouldStayWithinTenPercentPlusSixSecondsOfValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long seconds = (long) Math.exp(random.nextDouble() * Math.log(Duration.ofDays(3650).toSeconds()));
+            Duration bound = CycleTimeHistogram.upperBound(CycleTimeHistogram.bucketOf(Duration.ofSeconds(seconds)));
+
+            assertTrue(bound.toSeconds() >= seconds, "bound below " + seconds);
+            assertTrue(bound.toSeconds() <= seconds * 1.1 + 7, "bound too far above " + seconds);
+        }
+    }
+
+    @Test
+    void percentile_ShouldUseNearestRank() {
+        TreeMap<Integer, Long> counts = new TreeMap<>();
+        counts.put(10, 9L);
+        counts.put(20, 1L);
+
+        assertEquals(CycleTimeHistogram.upperBound(10), CycleTimeHistogram.percentile(counts, 0.9));
+        assertEquals(CycleTimeHistogram.upperBound(20), CycleTimeHistogram.percentile(counts, 0.95));
+        assertNull(CycleTimeHistogram.percentile(new TreeMap<>(), 0.5));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    @Test
+    void addEdge_WhenEdgeAgainstCurrentOrder_ShouldReorder() {
+        DependencyGraph graph = new DependencyGraph(0);
+        graph.addEdge(1L, 2L);
+        graph.addEdge(3L, 4L);
+
+        assertTrue(graph.addEdge(4L, 1L));
+
+        assertValidOrder(graph, List.of(new long[]{1L, 2L}, new long[]{3L, 4L}, new long[]{4L, 1L}));
+    }
+
+    @Test
+    void addEdge_WhenEdgeClosesCycle_ShouldRejectAndKeepGraph() {
+        DependencyGraph graph = new DependencyGraph(0);
+        graph.addEdge(1L, 2L);
+        graph.addEdge(2L, 3L);
+
+        assertFalse(graph.addEdge(3L, 1L));
+        assertFalse(graph.addEdge(2L, 2L));
+
+        assertEquals(2, graph.edgeCount());
+        assertFalse(graph.hasEdge(3L, 1L));
+        assertValidOrder(graph, List.of(new long[]{1L, 2L}, new long[]{2L, 3L}));
+    }
+
+    @Test
+    void removeEdge_ShouldAllowFormerlyCyclicEdge() {
+        DependencyGraph graph = new DependencyGraph(0);
+        graph.addEdge(1L, 2L);
+        graph.addEdge(2L, 3L);
+
+        assertTrue(graph.removeEdge(2L, 3L));
+        assertFalse(graph.removeEdge(2L, 3L));
+
+        assertTrue(graph.addEdge(3L, 1L));
+        assertEquals(List.of(3L), graph.blockersOf(1L));
+    }
+
+    @Test
+    void topologicalOrder_AfterLastEdgeOfTaskRemoved_ShouldLeaveTaskOut() {
+        DependencyGraph graph = new DependencyGraph(0);
+        graph.addEdge(1L, 2L);
+        graph.addEdge(2L, 3L);
+
+        graph.removeEdge(2L, 3L);
+
+        assertArrayEquals(new long[]{1L, 2L}, graph.topologicalOrder());
+    }
+
+    @Test
+    void of_WhenEdgesContainCycle_ShouldThrowException() {
+        // rows are [taskId, blockedById]
+        List<long[]> rows = List.of(new long[]{2L, 1L}, new long[]{1L, 2L});
+
+        assertThrows(IllegalStateException.class, () -> DependencyGraph.of(1L, rows));
+    }
+
+    @Test
+    void addEdge_WhenRandomEdges_ShouldMatchReachabilityAndKeepValidOrder() {
+        Random random = new Random(42);
+        DependencyGraph graph = new DependencyGraph(0);
+        List<long[]> accepted = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long blocker = random.nextInt(60);
+            long blocked = random.nextInt(60);
+            boolean cyclic = blocker == blocked || reaches(accepted, blocked, blocker);
+
+            assertEquals(!cyclic, graph.addEdge(blocker, blocked));
+            if (!cyclic && accepted.stream().noneMatch(e -> e[0] == blocker && e[1] == blocked)) {
+                accepted.add(new long[]{blocker, blocked});
+            }
+        }
+
+        assertEquals(accepted.size(), graph.edgeCount());
+        assertValidOrder(graph, accepted);
+    }
+
+    private static void assertValidOrder(DependencyGraph graph, List<long[]> edges) {
+        Map<Long, Integer> positions = new HashMap<>();
+        long[] order = graph.topologicalOrder();
+        for (int i = 0; i < order.length; i++) {
+            positions.put(order[i], i);
+        }
+        assertEquals(graph.nodeCount(), positions.size());
+        for (long[] edge : edges) {
+            assertTrue(positions.get(edge[0]) < positions.get(edge[1]),
+                    "task " + edge[0] + " must come before task " + edge[1]);
+        }
+    }
+
+    private static boolean reaches(List<long[]> edges, long from, long to) {
+        List<Long> pending = new ArrayList<>(List.of(from));
+        List<Long> seen = new ArrayList<>(pending);
+        while (!pending.isEmpty()) {
+            long node = pending.remove(pending.size() - 1);
+            if (node == to) {
+                return true;
+            }
+            for (long[] edge : edges) {
+                if (edge[0] == node && !seen.contains(edge[1])) {
+                    seen.add(edge[1]);
+                    pending.add(edge[1]);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.exception.ConflictException;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyService idempotencyService;
+    private TaskDto taskDto;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(new ObjectMapper(), Duration.ofHours(1), 100, Duration.ofSeconds(5));
+        taskDto = new TaskDto();
+        taskDto.setTitle("Test Task");
+    }
+
+    @Test
+    void execute_WhenKeyRepeated_ShouldRunActionOnceAndReplayResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = idempotencyService.execute("key-1", "createTask:1", taskDto, () -> "created-" + calls.incrementAndGet());
+        String second = idempotencyService.execute("key-1", "createTask:1", taskDto, () -> "created-" + calls.incrementAndGet());
+
+        assertEquals("created-1", first);
+        assertEquals("created-1", second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldAlwaysRunAction() {
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute(null, "createTask:1", taskDto, calls::incrementAndGet);
+        idempotencyService.execute(null, "createTask:1", taskDto, calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_WhenKeyReusedForDifferentRequest_ShouldThrowConflict() {
+        idempotencyService.execute("key-1", "createTask:1", taskDto, () -> "created");
+        TaskDto other = new TaskDto();
+        other.setTitle("Other Task");
+
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key-1", "createTask:1", other, () -> "created again"));
+        assertThrows(ConflictException.class,
+                () -> idempotencyService.execute("key-1", "createTask:2", taskDto, () -> "created again"));
+    }
+
+    @Test
+    void execute_WhenDuplicateArrivesWhileInFlight_ShouldWaitForFirstResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("key-1", "createTask:1", taskDto, () -> {
+                    calls.incrementAndGet();
+                    started.countDown();
+                    awaitQuietly(release);
+                    return "created";
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("key-1", "createTask:1", taskDto, () -> {
+                    calls.incrementAndGet();
+                    return "created twice";
+                }));
+        release.countDown();
+
+        assertEquals("created", first.get(5, TimeUnit.SECONDS));
+        assertEquals("created", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_WhenActionFails_ShouldNotStoreFailure() {
+        assertThrows(ResourceNotFoundException.class, () -> idempotencyService.execute("key-1", "createTask:1", taskDto,
+                () -> {
+                    throw new ResourceNotFoundException("Project not found with id: 1");
+                }));
+
+        String retried = idempotencyService.execute("key-1", "createTask:1", taskDto, () -> "created");
+
+        assertEquals("created", retried);
+    }
+
+    @Test
+    void execute_WhenTtlElapsed_ShouldRunActionAgain() throws InterruptedException {
+        idempotencyService = new IdempotencyService(new ObjectMapper(), Duration.ofMillis(20), 100, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("key-1", "createTask:1", taskDto, calls::incrementAndGet);
+        Thread.sleep(50);
+        idempotencyService.execute("key-1", "createTask:1", taskDto, calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_WhenStoreFull_ShouldEvictOldestKey() {
+        idempotencyService = new IdempotencyService(new ObjectMapper(), Duration.ofHours(1), 2, Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyService.execute("key-1", "createTask:1", taskDto, calls::incrementAndGet);
+        idempotencyService.execute("key-2", "createTask:1", taskDto, calls::incrementAndGet);
+        idempotencyService.execute("key-3", "createTask:1", taskDto, calls::incrementAndGet);
+        idempotencyService.execute("key-1", "createTask:1", taskDto, calls::incrementAndGet);
+
+        assertEquals(4, calls.get());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationBusTest {
+
+    private static final String CHANNEL = "taskmanager_invalidation";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private InvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InvalidationBus(jdbcTemplate, new DataSourceProperties(), eventPublisher, new SimpleMeterRegistry(),
+                true, CHANNEL, Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofSeconds(30), 3);
+    }
+
+    @Test
+    void flush_ShouldSendCommittedChangesAsOneNotification() {
+        bus.onTaskChanged(TaskChangedEvent.deleted(1L, 7L, Task.TaskStatus.TODO, Set.of()));
+        bus.onTaskChanged(TaskChangedEvent.deleted(1L, 8L, Task.TaskStatus.TODO, Set.of()));
+        bus.onProjectChanged(new ProjectChangedEvent(2L, ProjectChangedEvent.Type.DELETED));
+        bus.onTasksInvalidated(new TasksInvalidatedEvent(3L, true));
+
+        assertEquals(1, bus.flush());
+        assertEquals(0, bus.flush());
+
+        String payload = capturePayloads(1)[0];
+        assertTrue(payload.startsWith(bus.instanceId() + ":1:"));
+        assertEquals(Set.of("t1", "d2"), Set.of(payload.substring(payload.lastIndexOf(':') + 1).split(",")));
+    }
+
+    @Test
+    void flush_WhenSendFails_ShouldKeepChangesAndSequenceForNextFlush() {
+        when(jdbcTemplate.query(any(String.class), any(ResultSetExtractor.class), eq(CHANNEL), any(String.class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(null);
+        bus.onTaskChanged(TaskChangedEvent.deleted(1L, 7L, Task.TaskStatus.TODO, Set.of()));
+
+        assertEquals(0, bus.flush());
+        assertEquals(1, bus.flush());
+
+        String[] payloads = capturePayloads(2);
+        assertEquals(bus.instanceId() + ":1:t1", payloads[1]);
+    }
+
+    @Test
+    void enqueue_WhenMorePendingThanAllowed_ShouldCollapseIntoFullInvalidation() {
+        for (long projectId = 1; projectId <= 4; projectId++) {
+            bus.onTasksInvalidated(new TasksInvalidatedEvent(projectId));
+        }
+
+        bus.flush();
+
+        assertEquals(bus.instanceId() + ":1:*", capturePayloads(1)[0]);
+    }
+
+    @Test
+    void receive_ShouldRepublishOtherInstancesChangesAsRemoteEvents() {
+        bus.receive("other:1:t1,p2,d3");
+        bus.receive(bus.instanceId() + ":1:t9");
+
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(1L, true));
+        verify(eventPublisher).publishEvent(new ProjectChangedEvent(2L, ProjectChangedEvent.Type.UPDATED, true));
+        verify(eventPublisher).publishEvent(new ProjectChangedEvent(3L, ProjectChangedEvent.Type.DELETED, true));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void receive_WhenSequenceSkips_ShouldInvalidateEverything() {
+        bus.receive("other:1:t1");
+        bus.receive("other:3:t2");
+
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(1L, true));
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(null, true));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void listen_WhenResuming_ShouldInvalidateEverythingAndPropagateConnectionFailure() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        PGNotification notification = mock(PGNotification.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(notification.getParameter()).thenReturn("other:5:t4");
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{notification})
+                .thenThrow(new SQLException("An I/O error occurred while sending to the backend."));
+        DataSourceProperties unreachable = new DataSourceProperties();
+        unreachable.setUrl("jdbc:postgresql://127.0.0.1:1/taskdb");
+        bus = new InvalidationBus(jdbcTemplate, unreachable, eventPublisher, new SimpleMeterRegistry(),
+                true, CHANNEL, Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofSeconds(30), 3);
+
+        bus.start();
+        try {
+            assertThrows(SQLException.class, () -> bus.listen(connection, true));
+        } finally {
+            bus.stop();
+        }
+
+        verify(statement).execute("LISTEN " + CHANNEL);
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(null, true));
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(4L, true));
+    }
+
+    @Test
+    void listen_WhenNotificationCannotBeApplied_ShouldInvalidateEverythingAndKeepListening() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        PGNotification malformed = mock(PGNotification.class);
+        PGNotification valid = mock(PGNotification.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(malformed.getParameter()).thenReturn("other:x:t4");
+        when(valid.getParameter()).thenReturn("other:1:t5");
+        when(pgConnection.getNotifications(anyInt()))
+                .thenReturn(new PGNotification[]{malformed})
+                .thenReturn(new PGNotification[]{valid})
+                .thenThrow(new SQLException("An I/O error occurred while sending to the backend."));
+        DataSourceProperties unreachable = new DataSourceProperties();
+        unreachable.setUrl("jdbc:postgresql://127.0.0.1:1/taskdb");
+        bus = new InvalidationBus(jdbcTemplate, unreachable, eventPublisher, new SimpleMeterRegistry(),
+                true, CHANNEL, Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofSeconds(30), 3);
+
+        bus.start();
+        try {
+            assertThrows(SQLException.class, () -> bus.listen(connection, false));
+        } finally {
+            bus.stop();
+        }
+
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(null, true));
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(5L, true));
+    }
+
+    @Test
+    void start_WhenDisabled_ShouldNeitherListenNorSend() {
+        bus = new InvalidationBus(jdbcTemplate, new DataSourceProperties(), eventPublisher, new SimpleMeterRegistry(),
+                false, CHANNEL, Duration.ofMillis(10), Duration.ofSeconds(1), Duration.ofSeconds(30), 3);
+
+        bus.start();
+        bus.onTaskChanged(TaskChangedEvent.deleted(1L, 7L, Task.TaskStatus.TODO, Set.of()));
+
+        assertFalse(bus.isRunning());
+        assertEquals(0, bus.flush());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void constructor_WhenChannelIsNotAnIdentifier_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new InvalidationBus(jdbcTemplate, new DataSourceProperties(),
+                eventPublisher, new SimpleMeterRegistry(), true, "drop table", Duration.ofMillis(10),
+                Duration.ofSeconds(1), Duration.ofSeconds(30), 3));
+    }
+
+    private String[] capturePayloads(int times) {
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(times)).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(CHANNEL), payloads.capture());
+        return payloads.getAllValues().toArray(String[]::new);
+    }
+}
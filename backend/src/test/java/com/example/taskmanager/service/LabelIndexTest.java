@@ -0,0 +1,106 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.TaskSearchFilter;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LabelIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LabelIndex labelIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        labelIndex = new LabelIndex(taskRepository, meterRegistry, Duration.ofMinutes(30));
+        when(taskRepository.streamLabelRows(1L)).thenAnswer(invocation -> Stream.of(
+                row(1L, Task.TaskStatus.TODO, "backend", "urgent"),
+                row(2L, Task.TaskStatus.TODO, "backend"),
+                row(3L, Task.TaskStatus.IN_PROGRESS, "backend", "urgent", "wontfix"),
+                row(4L, Task.TaskStatus.DONE, "frontend", "urgent"),
+                row(5L, Task.TaskStatus.TODO)));
+    }
+
+    @Test
+    void match_ShouldCombineAllAnyAndExcludedLabels() {
+        assertEquals(List.of(1L), ids(labelIndex.match(1L,
+                new TaskSearchFilter(Set.of("backend", "urgent"), null, Set.of("wontfix"), null, null))));
+        assertEquals(List.of(1L, 3L, 4L), ids(labelIndex.match(1L,
+                new TaskSearchFilter(null, Set.of("urgent", "missing"), null, null, null))));
+        assertEquals(List.of(1L, 2L), ids(labelIndex.match(1L,
+                new TaskSearchFilter(Set.of("backend"), null, null, Task.TaskStatus.TODO, null))));
+        assertEquals(List.of(), ids(labelIndex.match(1L,
+                new TaskSearchFilter(Set.of("backend", "missing"), null, null, null, null))));
+        assertEquals(List.of(1L, 2L, 3L, 5L), ids(labelIndex.openTasks(1L)));
+    }
+
+    @Test
+    void onTaskChanged_ShouldMoveTaskBetweenBitmaps() {
+        labelIndex.match(1L, new TaskSearchFilter());
+
+        labelIndex.onTaskChanged(new TaskChangedEvent(1L, 2L, TaskChangedEvent.Type.UPDATED,
+                Task.TaskStatus.TODO, Task.TaskStatus.DONE, Set.of("backend"), Set.of("urgent")));
+        labelIndex.onTaskChanged(new TaskChangedEvent(1L, 6L, TaskChangedEvent.Type.CREATED,
+                null, Task.TaskStatus.TODO, null, Set.of("backend")));
+        labelIndex.onTaskChanged(TaskChangedEvent.deleted(1L, 1L, Task.TaskStatus.TODO, Set.of("backend", "urgent")));
+
+        assertEquals(List.of(3L, 6L), ids(labelIndex.match(1L, new TaskSearchFilter(Set.of("backend"), null, null, null, null))));
+        assertEquals(List.of(2L, 3L, 4L), ids(labelIndex.match(1L, new TaskSearchFilter(Set.of("urgent"), null, null, null, null))));
+        assertEquals(List.of(3L, 5L, 6L), ids(labelIndex.openTasks(1L)));
+        verify(taskRepository, times(1)).streamLabelRows(1L);
+    }
+
+    @Test
+    void onTasksInvalidated_ShouldRebuildProjectOnNextUse() {
+        labelIndex.match(1L, new TaskSearchFilter());
+
+        labelIndex.onTasksInvalidated(new TasksInvalidatedEvent(1L));
+        labelIndex.match(1L, new TaskSearchFilter());
+
+        verify(taskRepository, times(2)).streamLabelRows(1L);
+    }
+
+    @Test
+    void sizeGauge_ShouldReportLoadedBitmaps() {
+        labelIndex.match(1L, new TaskSearchFilter());
+
+        assertEquals(5.0, meterRegistry.get("tasks.labels.index.tasks").gauge().value());
+        assertTrue(meterRegistry.get("tasks.labels.index.bytes").gauge().value() > 0);
+    }
+
+    private static Object[] row(long id, Task.TaskStatus status, String... labels) {
+        return new Object[]{id, status, labels};
+    }
+
+    private static List<Long> ids(Roaring64Bitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        LongIterator iterator = bitmap.getLongIterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectActivityTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ProjectActivityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ProjectActivityTracker(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void flush_ShouldWriteLatestTimestampOncePerProjectInIdOrder() {
+        runTransactionsInline();
+        tracker.record(2L, NOW);
+        tracker.record(1L, NOW.plusSeconds(5));
+        tracker.record(2L, NOW.plusSeconds(3));
+        tracker.record(2L, NOW.plusSeconds(1));
+
+        assertEquals(2, tracker.flush());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertArrayEquals(new Object[]{Timestamp.from(NOW.plusSeconds(5)), 1L, Timestamp.from(NOW.plusSeconds(5))},
+                rows.getValue().get(0));
+        assertArrayEquals(new Object[]{Timestamp.from(NOW.plusSeconds(3)), 2L, Timestamp.from(NOW.plusSeconds(3))},
+                rows.getValue().get(1));
+        assertEquals(0, tracker.flush());
+    }
+
+    @Test
+    void flush_WhenUpdateFails_ShouldKeepTimestampsForNextFlush() {
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doAnswer(invocation -> {
+                    invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                    return null;
+                })
+                .when(transactionTemplate).executeWithoutResult(any());
+        tracker.record(1L, NOW);
+
+        assertEquals(0, tracker.flush());
+        assertEquals(1, tracker.flush());
+    }
+
+    @Test
+    void onTasksInvalidated_WhenAllProjectsOrRemote_ShouldNotRecordActivity() {
+        tracker.onTasksInvalidated(TasksInvalidatedEvent.allProjects());
+        tracker.onTasksInvalidated(new TasksInvalidatedEvent(5L, true));
+        tracker.onTaskChanged(TaskChangedEvent.deleted(3L, 7L, Task.TaskStatus.TODO, Set.of()));
+
+        runTransactionsInline();
+        assertEquals(1, tracker.flush());
+    }
+
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectReadModelTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void refresh_ShouldLoadTasksAndServePagesSortedInMemory() {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        stubDatabase();
+
+        readModel.refresh();
+
+        Page<TaskDto> byRank = readModel.findTasks(1L, null, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "rank")))
+                .orElseThrow();
+        assertEquals(List.of(3L, 1L), byRank.map(TaskDto::getId).getContent());
+        assertEquals(3, byRank.getTotalElements());
+        assertNull(byRank.getContent().get(0).getParentId());
+
+        Page<TaskDto> narrowed = readModel.findTasks(1L, Set.of("title"), PageRequest.of(1, 2)).orElseThrow();
+        assertEquals(List.of(3L), narrowed.map(TaskDto::getId).getContent());
+        assertNull(narrowed.getContent().get(0).getStatus());
+
+        assertEquals(1L, readModel.findTask(1L, 3L).orElseThrow().getParentId());
+        assertEquals("Website", readModel.findProject(1L).map(ProjectDto::getName).orElseThrow());
+        // Title order depends on the database collation, unknown projects and tasks may be newer than the model
+        assertTrue(readModel.findTasks(1L, null, PageRequest.of(0, 10, Sort.by("title"))).isEmpty());
+        assertTrue(readModel.findTask(1L, 9L).isEmpty());
+        assertTrue(readModel.findTasks(2L, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void onTaskChanged_ShouldPublishNewSnapshotWithRowReadBack() {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        stubDatabase();
+        readModel.refresh();
+        Page<TaskDto> before = readModel.findTasks(1L, null, PageRequest.of(0, 10)).orElseThrow();
+        doReturn(List.of(task(2L, "Renamed", "a1", null, NOW.plusSeconds(60))))
+                .when(jdbcTemplate).query(contains("AND id = ?"), any(RowMapper.class), eq(1L), eq(2L));
+
+        readModel.onTaskChanged(new TaskChangedEvent(1L, 2L, TaskChangedEvent.Type.UPDATED,
+                Task.TaskStatus.TODO, Task.TaskStatus.TODO, Set.of(), Set.of()));
+        readModel.onTaskChanged(TaskChangedEvent.deleted(1L, 1L, Task.TaskStatus.TODO, Set.of()));
+
+        assertEquals("Renamed", readModel.findTask(1L, 2L).orElseThrow().getTitle());
+        assertEquals(List.of(2L, 3L), readModel.findTasks(1L, null, PageRequest.of(0, 10)).orElseThrow()
+                .map(TaskDto::getId).getContent());
+        assertEquals("Task 2", before.getContent().get(1).getTitle());
+        assertEquals(3, before.getTotalElements());
+    }
+
+    @Test
+    void onTasksInvalidated_ShouldFallBackToDatabaseUntilNextRefresh() {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        stubDatabase();
+        readModel.refresh();
+
+        readModel.onTasksInvalidated(TasksInvalidatedEvent.allProjects());
+
+        assertTrue(readModel.findTasks(1L, null, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, readModel.taskCount());
+        readModel.refresh();
+        assertTrue(readModel.findTasks(1L, null, PageRequest.of(0, 10)).isPresent());
+    }
+
+    @Test
+    void onTasksInvalidated_WhenRemoteForAllProjects_ShouldAlsoDropProjectList() {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        stubDatabase();
+        readModel.refresh();
+
+        readModel.onTasksInvalidated(new TasksInvalidatedEvent(null, true));
+
+        assertTrue(readModel.findProjects(null, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(readModel.findProject(1L).isEmpty());
+    }
+
+    @Test
+    void onProjectChanged_WhenDeleted_ShouldDropProjectAndTasks() {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        stubDatabase();
+        readModel.refresh();
+
+        readModel.onProjectChanged(new ProjectChangedEvent(1L, ProjectChangedEvent.Type.DELETED));
+
+        assertTrue(readModel.findProject(1L).isEmpty());
+        assertTrue(readModel.findTasks(1L, null, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, readModel.findProjects(null, PageRequest.of(0, 10)).orElseThrow().getTotalElements());
+        assertEquals(0, readModel.taskCount());
+    }
+
+    @Test
+    void refresh_WhenProjectExceedsBudget_ShouldNotLoadItAgain() {
+        ProjectReadModel readModel = readModel(DataSize.ofBytes(200), Duration.ofMinutes(1));
+        stubDatabase();
+
+        readModel.refresh();
+        readModel.refresh();
+
+        assertTrue(readModel.findTasks(1L, null, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(readModel.findProject(1L).isPresent());
+        assertEquals(0, readModel.taskCount());
+        verify(jdbcTemplate, times(1)).queryForStream(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    void refresh_WhenIdleProjectFingerprintMatches_ShouldKeepSnapshot() throws SQLException {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofNanos(1));
+        stubDatabase();
+        stubFingerprint(3, NOW);
+
+        readModel.refresh();
+        readModel.refresh();
+
+        assertEquals(3, readModel.taskCount());
+        verify(jdbcTemplate, times(1)).queryForStream(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    void refresh_WhenIdleProjectChangedWithoutActivity_ShouldReload() throws SQLException {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ofNanos(1));
+        stubDatabase();
+        // A task was archived: last_activity_at did not move but the project lost a task
+        stubFingerprint(2, NOW);
+
+        readModel.refresh();
+        readModel.refresh();
+
+        verify(jdbcTemplate, times(2)).queryForStream(any(PreparedStatementCreator.class), any(RowMapper.class));
+    }
+
+    @Test
+    void findTasks_WhenNotConfirmedWithinMaxStaleness_ShouldReturnEmpty() {
+        ProjectReadModel readModel = readModel(DataSize.ofMegabytes(1), Duration.ZERO);
+        stubDatabase();
+
+        readModel.refresh();
+
+        assertTrue(readModel.findTasks(1L, null, PageRequest.of(0, 10)).isEmpty());
+        assertTrue(readModel.findProjects(null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void refresh_WhenDisabled_ShouldNotTouchDatabase() {
+        ProjectReadModel readModel = new ProjectReadModel(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(),
+                false, Duration.ofMinutes(1), DataSize.ofMegabytes(1));
+
+        readModel.refresh();
+
+        assertTrue(readModel.findProject(1L).isEmpty());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    private ProjectReadModel readModel(DataSize maxBytes, Duration maxStaleness) {
+        return new ProjectReadModel(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(),
+                true, maxStaleness, maxBytes);
+    }
+
+    private void stubDatabase() {
+        doReturn(List.of(new ProjectReadModel.ProjectRow(1L, "Website", null, NOW, NOW, NOW)))
+                .when(jdbcTemplate).query(contains("ORDER BY id"), any(RowMapper.class));
+        doAnswer(invocation -> Stream.of(
+                task(1L, "Task 1", "b", null, NOW),
+                task(2L, "Task 2", "a", null, NOW),
+                task(3L, "Task 3", null, 1L, NOW)))
+                .when(jdbcTemplate).queryForStream(any(PreparedStatementCreator.class), any(RowMapper.class));
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void stubFingerprint(long tasks, Instant updatedAt) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(1L);
+        when(rs.getLong(2)).thenReturn(tasks);
+        when(rs.getTimestamp(3)).thenReturn(Timestamp.from(updatedAt));
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static ProjectReadModel.TaskRow task(long id, String title, String rank, Long parentId, Instant updatedAt) {
+        return new ProjectReadModel.TaskRow(id, title, null, Task.TaskStatus.TODO, 1L, parentId, rank,
+                new String[]{"backend"}, null, null, NOW, updatedAt);
+    }
+}
@@ -1,25 +1,41 @@
 package com.example.taskmanager.service;
 
 import com.example.taskmanager.dto.ProjectDto;
+import com.example.taskmanager.dto.ProjectFeedDto;
+import com.example.taskmanager.dto.TaskDto;
 import com.example.taskmanager.entity.Project;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.exception.BadRequestException;
 import com.example.taskmanager.exception.ResourceNotFoundException;
 import com.example.taskmanager.repository.ProjectRepository;
+import com.example.taskmanager.repository.ProjectRepositoryCustom;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +44,16 @@ class ProjectServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private RequestCoalescer requestCoalescer =
+            new RequestCoalescer(new SimpleMeterRegistry(), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ProjectService projectService;
 
@@ -50,16 +76,59 @@ class ProjectServiceTest {
     @Test
     void getAllProjects_ShouldReturnPageOfProjects() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Project> projectPage = new PageImpl<>(Arrays.asList(project));
+        Page<ProjectDto> projectPage = new PageImpl<>(Arrays.asList(projectDto));
+        Set<String> listFields = new LinkedHashSet<>(ProjectRepositoryCustom.PROJECTABLE_FIELDS);
+        listFields.remove("description");
 
-        when(projectRepository.findAll(pageable)).thenReturn(projectPage);
+        when(projectRepository.findAllProjected(listFields, pageable)).thenReturn(projectPage);
 
         Page<ProjectDto> result = projectService.getAllProjects(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getContent().size());
         assertEquals("Test Project", result.getContent().get(0).getName());
-        verify(projectRepository).findAll(pageable);
+        verify(projectRepository).findAllProjected(listFields, pageable);
+    }
+
+    @Test
+    void getAllProjects_WithFields_ShouldSelectOnlyRequestedFieldsAndId() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectRepository.findAllProjected(Set.of("id", "name"), pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(projectDto)));
+
+        Page<ProjectDto> result = projectService.getAllProjects(List.of("name"), pageable);
+
+        assertEquals(1, result.getContent().size());
+        verify(projectRepository).findAllProjected(Set.of("id", "name"), pageable);
+    }
+
+    @Test
+    void getAllProjectsWithTaskPreviews_ShouldAttachPreviewsFromSingleQuery() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Sort taskSort = Sort.by(Sort.Direction.DESC, "id");
+        ProjectDto emptyProject = new ProjectDto(2L, "Empty Project", null);
+        TaskDto preview = new TaskDto();
+        preview.setId(7L);
+        preview.setTitle("Top Task");
+        preview.setProjectId(1L);
+
+        when(projectRepository.findAllProjected(anySet(), eq(pageable)))
+                .thenReturn(new PageImpl<>(Arrays.asList(projectDto, emptyProject)));
+        when(taskRepository.findTopTasksByProjectIds(List.of(1L, 2L), 3, taskSort)).thenReturn(List.of(preview));
+
+        Page<ProjectDto> result = projectService.getAllProjectsWithTaskPreviews(null, 3, taskSort, pageable);
+
+        assertEquals(1, result.getContent().get(0).getTasks().size());
+        assertEquals("Top Task", result.getContent().get(0).getTasks().get(0).getTitle());
+        assertTrue(result.getContent().get(1).getTasks().isEmpty());
+        verify(taskRepository, times(1)).findTopTasksByProjectIds(anyCollection(), anyInt(), any(Sort.class));
+    }
+
+    @Test
+    void getAllProjectsWithTaskPreviews_WhenLimitOutOfRange_ShouldThrowException() {
+        assertThrows(BadRequestException.class,
+                () -> projectService.getAllProjectsWithTaskPreviews(null, 0, Sort.unsorted(), PageRequest.of(0, 10)));
+        verify(projectRepository, never()).findAllProjected(anySet(), any(Pageable.class));
     }
 
     @Test
@@ -74,6 +143,15 @@ class ProjectServiceTest {
         verify(projectRepository).findById(1L);
     }
 
+    @Test
+    void getProjectById_ShouldLoadThroughRequestCoalescer() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        projectService.getProjectById(1L);
+
+        verify(requestCoalescer).coalesce(eq("ProjectService.getProjectById"), any(), eq(1L));
+    }
+
     @Test
     void getProjectById_WhenNotExists_ShouldThrowException() {
         when(projectRepository.findById(1L)).thenReturn(Optional.empty());
@@ -91,18 +169,50 @@ class ProjectServiceTest {
         assertNotNull(result);
         assertEquals("Test Project", result.getName());
         verify(projectRepository).save(any(Project.class));
+        verify(eventPublisher).publishEvent(new ProjectChangedEvent(1L, ProjectChangedEvent.Type.CREATED));
     }
 
     @Test
     void updateProject_WhenExists_ShouldUpdateAndReturnProject() {
         when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
-        when(projectRepository.save(any(Project.class))).thenReturn(project);
+        when(projectRepository.saveAndFlush(any(Project.class))).thenReturn(project);
 
         ProjectDto result = projectService.updateProject(1L, projectDto);
 
         assertNotNull(result);
         verify(projectRepository).findById(1L);
-        verify(projectRepository).save(any(Project.class));
+        verify(projectRepository).saveAndFlush(any(Project.class));
+        verify(eventPublisher).publishEvent(new ProjectChangedEvent(1L, ProjectChangedEvent.Type.UPDATED));
+    }
+
+    @Test
+    void getRecentlyActiveProjects_WhenMoreProjects_ShouldReturnCursorOfLastProject() {
+        Instant now = Instant.parse("2026-03-01T10:00:00Z");
+        Project second = new Project();
+        second.setId(2L);
+        second.setName("Second");
+        second.setLastActivityAt(now.minusSeconds(60));
+        Project third = new Project();
+        third.setId(3L);
+        third.setName("Third");
+        third.setLastActivityAt(now.minusSeconds(120));
+        project.setLastActivityAt(now);
+        when(projectRepository.findMostRecentlyActive(3)).thenReturn(List.of(project, second, third));
+        when(projectRepository.findMostRecentlyActiveBefore(now.minusSeconds(60), 2L, 3)).thenReturn(List.of(third));
+
+        ProjectFeedDto first = projectService.getRecentlyActiveProjects(null, 2);
+        ProjectFeedDto next = projectService.getRecentlyActiveProjects(first.getNextCursor(), 2);
+
+        assertEquals(List.of(1L, 2L), first.getProjects().stream().map(ProjectDto::getId).toList());
+        assertEquals(List.of(3L), next.getProjects().stream().map(ProjectDto::getId).toList());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getRecentlyActiveProjects_WhenCursorInvalid_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> projectService.getRecentlyActiveProjects("not-a-cursor", 20));
+        assertThrows(BadRequestException.class, () -> projectService.getRecentlyActiveProjects(null, 0));
+        verifyNoInteractions(projectRepository);
     }
 
     @Test
@@ -111,7 +221,8 @@ class ProjectServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> projectService.updateProject(1L, projectDto));
         verify(projectRepository).findById(1L);
-        verify(projectRepository, never()).save(any(Project.class));
+        verify(projectRepository, never()).saveAndFlush(any(Project.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -123,6 +234,7 @@ class ProjectServiceTest {
 
         verify(projectRepository).existsById(1L);
         verify(projectRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new ProjectChangedEvent(1L, ProjectChangedEvent.Type.DELETED));
     }
 
     @Test
@@ -0,0 +1,56 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankKeysTest {
+
+    @Test
+    void between_ShouldReturnKeyStrictlyBetweenBounds() {
+        String key = RankKeys.between("A", "B");
+
+        assertTrue(key.compareTo("A") > 0);
+        assertTrue(key.compareTo("B") < 0);
+    }
+
+    @Test
+    void between_WhenRepeatedlyInsertingAtSameSpot_ShouldKeepOrder() {
+        String lower = "A";
+        String upper = "B";
+        for (int i = 0; i < 200; i++) {
+            String key = RankKeys.between(lower, upper);
+            assertTrue(key.compareTo(lower) > 0 && key.compareTo(upper) < 0);
+            assertFalse(key.endsWith("0"));
+            upper = key;
+        }
+    }
+
+    @Test
+    void between_WhenBoundsOutOfOrder_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("B", "A"));
+    }
+
+    @Test
+    void after_WhenAppendingManyTimes_ShouldStayShortAndOrdered() {
+        String key = RankKeys.after(null);
+        for (int i = 0; i < 100_000; i++) {
+            String next = RankKeys.after(key);
+            assertTrue(next.compareTo(key) > 0);
+            key = next;
+        }
+        assertTrue(key.length() <= 4);
+    }
+
+    @Test
+    void evenlySpaced_ShouldReturnAscendingKeys() {
+        List<String> keys = RankKeys.evenlySpaced(1000);
+
+        assertEquals(1000, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i).compareTo(keys.get(i - 1)) > 0);
+        }
+    }
+}
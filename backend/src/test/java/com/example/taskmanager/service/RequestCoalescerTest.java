@@ -0,0 +1,172 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry, mock(PlatformTransactionManager.class));
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void coalesce_WhenIdenticalCallsOverlap_ShouldShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.coalesce("getProjectById", () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "project";
+                }, 1L), executor);
+        waitForInFlight(1);
+
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(CompletableFuture.supplyAsync(() ->
+                    requestCoalescer.coalesce("getProjectById", () -> {
+                        loads.incrementAndGet();
+                        return "another load";
+                    }, 1L), executor));
+        }
+        waitForCount("joined", 5);
+        release.countDown();
+
+        assertEquals("project", leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> follower : followers) {
+            assertEquals("project", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, count("executed"));
+    }
+
+    @Test
+    void coalesce_WhenArgumentsDiffer_ShouldLoadSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        requestCoalescer.coalesce("getProjectById", loads::incrementAndGet, 1L);
+        requestCoalescer.coalesce("getProjectById", loads::incrementAndGet, 2L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void coalesce_AfterLoadCompletes_ShouldLoadAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        requestCoalescer.coalesce("getProjectById", loads::incrementAndGet, 1L);
+        requestCoalescer.coalesce("getProjectById", loads::incrementAndGet, 1L);
+
+        assertEquals(2, loads.get());
+        assertEquals(2.0, count("executed"));
+    }
+
+    @Test
+    void coalesce_WhenLoadFails_ShouldPropagateToAllWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.coalesce("getProjectById", () -> {
+                    awaitQuietly(release);
+                    throw new ResourceNotFoundException("Project not found with id: 1");
+                }, 1L), executor);
+        waitForInFlight(1);
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() ->
+                requestCoalescer.coalesce("getProjectById", () -> "unexpected", 1L), executor);
+        waitForCount("joined", 1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, leaderFailure.getCause());
+        assertInstanceOf(ResourceNotFoundException.class, followerFailure.getCause());
+    }
+
+    @Test
+    void coalesce_WhenAuthorizationScopeDiffers_ShouldNotShareLoads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Object> admin = CompletableFuture.supplyAsync(() -> {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("a", null, "ROLE_ADMIN"));
+            return requestCoalescer.coalesce("getProjectById", () -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                return "admin view";
+            }, 1L);
+        }, executor);
+        waitForInFlight(1);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("u", null, "ROLE_USER"));
+
+        Object user = requestCoalescer.coalesce("getProjectById", () -> {
+            loads.incrementAndGet();
+            return "user view";
+        }, 1L);
+        release.countDown();
+
+        assertEquals("user view", user);
+        assertEquals("admin view", admin.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("coalescer.requests", "operation", "getProjectById", "outcome", outcome).count();
+    }
+
+    private void waitForInFlight(int expected) throws InterruptedException {
+        waitUntil(() -> meterRegistry.get("coalescer.in.flight").gauge().value() >= expected);
+    }
+
+    private void waitForCount(String outcome, int expected) throws InterruptedException {
+        waitUntil(() -> count(outcome) >= expected);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.repository.TaskAnalyticsRepository;
+import com.example.taskmanager.repository.TaskAnalyticsRepository.CycleTimeCount;
+import com.example.taskmanager.repository.TaskAnalyticsRepository.DailyFlow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatusHistoryWriterTest {
+
+    private static final Instant DAY_ONE = Instant.parse("2026-03-02T10:00:00Z");
+    private static final Instant DAY_TWO = Instant.parse("2026-03-03T09:00:00Z");
+
+    @Mock
+    private TaskAnalyticsRepository analyticsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatusHistoryWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new StatusHistoryWriter(analyticsRepository, transactionTemplate, meterRegistry, 100, 50, Duration.ofMillis(10));
+    }
+
+    @Test
+    void write_ShouldAppendTransitionsAndAggregateDailyRollups() {
+        runTransactionsInline();
+        Instant started = DAY_ONE.plusSeconds(60);
+        List<Object> batch = List.of(
+                transition(1L, null, Task.TaskStatus.TODO, DAY_ONE, null),
+                transition(1L, Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS, started, started),
+                transition(2L, null, Task.TaskStatus.TODO, DAY_ONE, null),
+                transition(1L, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.DONE, DAY_TWO, started),
+                transition(2L, Task.TaskStatus.TODO, Task.TaskStatus.DONE, DAY_TWO, null),
+                transition(2L, Task.TaskStatus.DONE, Task.TaskStatus.TODO, DAY_TWO, null),
+                new StatusHistoryWriter.Removal(1L, DAY_TWO));
+
+        writer.write(batch);
+
+        verify(analyticsRepository).insertHistory(argThat(transitions -> transitions.size() == 6));
+        LocalDate dayOne = LocalDate.of(2026, 3, 2);
+        LocalDate dayTwo = LocalDate.of(2026, 3, 3);
+        verify(analyticsRepository).addDailyFlow(List.of(
+                new DailyFlow(1L, dayOne, 2, 0, 0),
+                new DailyFlow(1L, dayTwo, 1, 2, 1)));
+        verify(analyticsRepository).addCycleTimes(List.of(
+                new CycleTimeCount(1L, dayTwo, CycleTimeHistogram.bucketOf(Duration.between(started, DAY_TWO)), 1)));
+    }
+
+    @Test
+    void onTaskChanged_WhenOpenTaskDeleted_ShouldCountRemoval() {
+        writer.onTaskChanged(TaskChangedEvent.deleted(1L, 5L, Task.TaskStatus.TODO, Set.of()));
+        writer.onTaskChanged(TaskChangedEvent.deleted(1L, 6L, Task.TaskStatus.DONE, Set.of()));
+
+        assertEquals(1.0, meterRegistry.get("tasks.history.queue.size").gauge().value());
+    }
+
+    @Test
+    void onStatusChanged_WhenQueueFull_ShouldDropAndCount() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new StatusHistoryWriter(analyticsRepository, transactionTemplate, meterRegistry, 1, 50, Duration.ofMillis(10));
+
+        writer.onStatusChanged(transition(1L, null, Task.TaskStatus.TODO, DAY_ONE, null));
+        writer.onStatusChanged(transition(1L, null, Task.TaskStatus.TODO, DAY_ONE, null));
+
+        assertEquals(1.0, meterRegistry.get("tasks.history.dropped").counter().count());
+    }
+
+    @Test
+    void flush_WhenWriteFailsTwice_ShouldDropBatchAndCount() {
+        runTransactionsInline();
+        doThrow(new DataAccessResourceFailureException("connection lost"))
+                .when(analyticsRepository).insertHistory(any());
+
+        writer.flush(List.of(transition(1L, null, Task.TaskStatus.TODO, DAY_ONE, null)));
+
+        verify(analyticsRepository, times(2)).insertHistory(any());
+        assertEquals(1.0, meterRegistry.get("tasks.history.failed").counter().count());
+    }
+
+    @Test
+    void start_ShouldWriteQueuedChangesAndDrainOnStop() {
+        runTransactionsInline();
+        writer.start();
+        writer.onStatusChanged(transition(1L, null, Task.TaskStatus.TODO, DAY_ONE, null));
+        writer.onStatusChanged(transition(1L, Task.TaskStatus.TODO, Task.TaskStatus.DONE, DAY_ONE, null));
+        writer.stop();
+
+        verify(analyticsRepository, atLeastOnce()).insertHistory(any());
+        assertEquals(0.0, meterRegistry.get("tasks.history.queue.size").gauge().value());
+    }
+
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static TaskStatusChangedEvent transition(Long taskId, Task.TaskStatus from, Task.TaskStatus to,
+                                                     Instant at, Instant startedAt) {
+        return new TaskStatusChangedEvent(1L, taskId, from, to, at, startedAt);
+    }
+}
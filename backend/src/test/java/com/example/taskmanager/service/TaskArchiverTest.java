@@ -0,0 +1,66 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiverTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TaskArchiver taskArchiver;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        taskArchiver = new TaskArchiver(taskRepository, transactionTemplate, eventPublisher, Duration.ofDays(30), 100);
+    }
+
+    @Test
+    void archive_ShouldRunBatchesUntilOneComesBackShort() {
+        when(taskRepository.archiveCompletedBefore(any(Instant.class), eq(100))).thenReturn(100, 100, 42);
+
+        int archived = taskArchiver.archive();
+
+        assertEquals(242, archived);
+        verify(taskRepository, times(3)).archiveCompletedBefore(any(Instant.class), eq(100));
+        verify(eventPublisher).publishEvent(TasksInvalidatedEvent.allProjects());
+    }
+
+    @Test
+    void archive_ShouldOnlyArchiveTasksOlderThanConfiguredAge() {
+        Instant expectedCutoff = Instant.now().minus(Duration.ofDays(30));
+        when(taskRepository.archiveCompletedBefore(any(Instant.class), eq(100))).thenReturn(0);
+
+        taskArchiver.archive();
+
+        verify(taskRepository).archiveCompletedBefore(
+                argThat(cutoff -> !cutoff.isBefore(expectedCutoff) && cutoff.isBefore(Instant.now().minus(Duration.ofDays(29)))),
+                eq(100));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.ProjectChangedEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskColumnIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskColumnIndex columnIndex;
+
+    @BeforeEach
+    void setUp() {
+        columnIndex = new TaskColumnIndex(taskRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void countByStatus_ShouldLoadOnceAndCountPerProject() {
+        stubTasks();
+
+        assertArrayEquals(new long[]{2, 1, 1}, columnIndex.countByStatus());
+        assertArrayEquals(new long[]{1, 1, 1}, columnIndex.countByStatus(1L));
+        assertArrayEquals(new long[]{0, 0, 0}, columnIndex.countByStatus(3L));
+        verify(taskRepository, times(1)).streamStatusRows();
+    }
+
+    @Test
+    void onTaskChanged_ShouldMoveLastRowIntoDeletedRow() {
+        stubTasks();
+        columnIndex.countByStatus();
+
+        columnIndex.onTaskChanged(TaskChangedEvent.deleted(1L, 1L, Task.TaskStatus.TODO, Set.of()));
+        columnIndex.onTaskChanged(new TaskChangedEvent(2L, 4L, TaskChangedEvent.Type.UPDATED,
+                Task.TaskStatus.TODO, Task.TaskStatus.DONE, Set.of(), Set.of()));
+        columnIndex.onTaskChanged(new TaskChangedEvent(2L, 5L, TaskChangedEvent.Type.CREATED,
+                null, Task.TaskStatus.IN_PROGRESS, null, Set.of()));
+
+        assertArrayEquals(new long[]{0, 2, 2}, columnIndex.countByStatus());
+        assertArrayEquals(new long[]{0, 1, 1}, columnIndex.countByStatus(2L));
+        assertEquals(4, columnIndex.taskCount());
+    }
+
+    @Test
+    void countByProjectAndStatus_ShouldSkipProjectsWithoutTasks() {
+        stubTasks();
+        columnIndex.countByStatus();
+        columnIndex.onTaskChanged(TaskChangedEvent.deleted(2L, 4L, Task.TaskStatus.TODO, Set.of()));
+
+        TaskColumnIndex.ProjectCounts counts = columnIndex.countByProjectAndStatus();
+
+        assertArrayEquals(new long[]{1L}, counts.projectIds());
+        assertEquals(3, counts.total(0));
+        assertEquals(1, counts.count(0, Task.TaskStatus.DONE));
+    }
+
+    @Test
+    void onTasksInvalidated_ShouldReloadProjectBeforeNextScan() {
+        stubTasks();
+        columnIndex.countByStatus();
+        when(taskRepository.streamStatusRows(2L)).thenReturn(Stream.<Object[]>of(
+                new Object[]{4L, 2L, Task.TaskStatus.DONE}));
+
+        columnIndex.onTasksInvalidated(new TasksInvalidatedEvent(2L));
+
+        assertArrayEquals(new long[]{1, 1, 2}, columnIndex.countByStatus());
+        verify(taskRepository, times(1)).streamStatusRows();
+    }
+
+    @Test
+    void onProjectChanged_WhenDeleted_ShouldRemoveProjectRows() {
+        stubTasks();
+        columnIndex.countByStatus();
+
+        columnIndex.onProjectChanged(new ProjectChangedEvent(1L, ProjectChangedEvent.Type.DELETED));
+
+        assertArrayEquals(new long[]{1, 0, 0}, columnIndex.countByStatus());
+        assertArrayEquals(new long[]{0, 0, 0}, columnIndex.countByStatus(1L));
+    }
+
+    @Test
+    void countByStatus_WhenManyTasks_ShouldCountAllChunks() {
+        when(taskRepository.streamStatusRows()).thenAnswer(invocation -> LongStream.rangeClosed(1, 300_000)
+                .mapToObj(id -> new Object[]{id, id % 7, Task.TaskStatus.values()[(int) (id % 3)]}));
+
+        long[] counts = columnIndex.countByStatus();
+
+        assertArrayEquals(new long[]{100_000, 100_000, 100_000}, counts);
+        assertEquals(7, columnIndex.countByProjectAndStatus().projectIds().length);
+    }
+
+    @Test
+    void rowTable_ShouldKeepEntriesReachableAfterRemovals() {
+        TaskColumnIndex.RowTable table = new TaskColumnIndex.RowTable();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                table.put(key, i);
+                expected.put(key, i);
+            } else {
+                assertEquals(expected.containsKey(key) ? expected.remove(key) : -1, table.remove(key));
+            }
+        }
+        assertEquals(expected.size(), table.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1), table.get(key));
+        }
+    }
+
+    private void stubTasks() {
+        when(taskRepository.streamStatusRows()).thenReturn(Stream.of(
+                new Object[]{1L, 1L, Task.TaskStatus.TODO},
+                new Object[]{2L, 1L, Task.TaskStatus.IN_PROGRESS},
+                new Object[]{3L, 1L, Task.TaskStatus.DONE},
+                new Object[]{4L, 2L, Task.TaskStatus.TODO}));
+    }
+}
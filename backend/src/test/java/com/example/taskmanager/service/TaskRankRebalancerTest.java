@@ -0,0 +1,64 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRankRebalancerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void rebalanceColumn_ShouldRewriteKeysInOrderWithinProjectPartitionAndInvalidate() {
+        TaskRankRebalancer rebalancer = new TaskRankRebalancer(jdbcTemplate, transactionTemplate, eventPublisher, 24);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(7L), eq("TODO"))).thenReturn(List.of(30L, 10L, 20L));
+
+        assertEquals(3, rebalancer.rebalanceColumn(7L, "TODO"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE tasks SET rank_key = ?, updated_at = now() WHERE project_id = ? AND id = ?"), batch.capture());
+        List<String> keys = RankKeys.evenlySpaced(3);
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(new Object[]{keys.get(i), 7L, List.of(30L, 10L, 20L).get(i)}, batch.getValue().get(i));
+        }
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(7L));
+    }
+
+    @Test
+    void rebalanceColumn_WhenColumnEmpty_ShouldNotInvalidate() {
+        TaskRankRebalancer rebalancer = new TaskRankRebalancer(jdbcTemplate, transactionTemplate, eventPublisher, 24);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(7L), eq("TODO"))).thenReturn(List.of());
+
+        assertEquals(0, rebalancer.rebalanceColumn(7L, "TODO"));
+
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.taskmanager.service;
+
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskReminderChangedEvent;
+import com.example.taskmanager.event.TaskReminderEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReminderSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void tick_WhenLeaseAcquired_ShouldLoadFromIndexAndFireOnlyRecordedReminders() {
+        TaskReminderScheduler scheduler = scheduler(Duration.ofSeconds(30));
+        stubLease(1);
+        doReturn(List.of(reminder(1L, NOW.minusSeconds(3600)), reminder(2L, NOW.plusSeconds(30))))
+                .when(jdbcTemplate).query(contains("due_at < ? ORDER BY"), any(RowMapper.class), any(Object[].class));
+        doReturn(List.of(reminder(3L, NOW.plusSeconds(60))))
+                .when(jdbcTemplate).query(contains("(due_at, project_id, id) >"), any(RowMapper.class), any(Object[].class));
+        stubRecording();
+        when(jdbcTemplate.batchUpdate(contains("SET reminded_at = now()"), anyList())).thenReturn(new int[]{1, 0});
+
+        scheduler.tick(NOW.toEpochMilli());
+        assertTrue(scheduler.isOwner());
+        assertEquals(3, scheduler.scheduledCount());
+        scheduler.tick(NOW.plusSeconds(31).toEpochMilli());
+
+        // Task 2 no longer qualified in the database
+        verify(eventPublisher).publishEvent(new TaskReminderEvent(1L, 1L, NOW.minusSeconds(3600)));
+        verifyNoMoreInteractions(eventPublisher);
+        assertEquals(1, scheduler.scheduledCount());
+    }
+
+    @Test
+    void tick_WhenLeaseHeldElsewhere_ShouldNotLoadOrFire() {
+        TaskReminderScheduler scheduler = scheduler(Duration.ofSeconds(30));
+        stubLease(0);
+
+        scheduler.tick(NOW.toEpochMilli());
+
+        assertFalse(scheduler.isOwner());
+        verify(jdbcTemplate, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+        verifyNoInteractions(transactionTemplate, eventPublisher);
+    }
+
+    @Test
+    void tick_WhenLeaseLost_ShouldDropReminders() {
+        TaskReminderScheduler scheduler = scheduler(Duration.ZERO);
+        when(jdbcTemplate.update(contains("scheduler_leases"), any(Object[].class))).thenReturn(1, 0);
+        doReturn(List.of(reminder(1L, NOW.plusSeconds(30))))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+
+        scheduler.tick(NOW.toEpochMilli());
+        assertEquals(1, scheduler.scheduledCount());
+        scheduler.tick(NOW.plusSeconds(30).toEpochMilli());
+
+        assertFalse(scheduler.isOwner());
+        assertEquals(0, scheduler.scheduledCount());
+        verifyNoInteractions(transactionTemplate, eventPublisher);
+    }
+
+    @Test
+    void tick_WhenRecordingFails_ShouldRetryOnNextTick() {
+        TaskReminderScheduler scheduler = scheduler(Duration.ofSeconds(30));
+        stubLease(1);
+        doReturn(List.of(reminder(1L, NOW.minusSeconds(60))))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+        stubRecording();
+        when(jdbcTemplate.batchUpdate(contains("SET reminded_at = now()"), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+
+        scheduler.tick(NOW.toEpochMilli());
+        scheduler.tick(NOW.plusSeconds(1).toEpochMilli());
+        assertEquals(1, scheduler.scheduledCount());
+        scheduler.tick(NOW.plusSeconds(2).toEpochMilli());
+
+        verify(eventPublisher).publishEvent(new TaskReminderEvent(1L, 1L, NOW.minusSeconds(60)));
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void onReminderChanged_ShouldScheduleWithinLoadedRangeAndCancelOtherwise() {
+        TaskReminderScheduler scheduler = scheduler(Duration.ofSeconds(30));
+        stubLease(1);
+        doReturn(List.of()).when(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+        scheduler.tick(NOW.toEpochMilli());
+
+        scheduler.onReminderChanged(new TaskReminderChangedEvent(1L, 5L, NOW.plusSeconds(10)));
+        scheduler.onReminderChanged(new TaskReminderChangedEvent(1L, 6L, NOW.plusSeconds(20)));
+        assertEquals(2, scheduler.scheduledCount());
+        // Beyond the horizon: left to the index scan
+        scheduler.onReminderChanged(new TaskReminderChangedEvent(1L, 5L, NOW.plus(Duration.ofHours(2))));
+        scheduler.onTaskChanged(TaskChangedEvent.deleted(1L, 6L, Task.TaskStatus.TODO, Set.of()));
+
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    void onTasksInvalidated_ShouldReReadProjectWithinLoadedRange() {
+        TaskReminderScheduler scheduler = scheduler(Duration.ofSeconds(30));
+        stubLease(1);
+        doReturn(List.of()).when(jdbcTemplate).query(contains("ORDER BY"), any(RowMapper.class), any(Object[].class));
+        doReturn(List.of(reminder(4L, NOW.plusSeconds(5))))
+                .when(jdbcTemplate).query(contains("project_id = ?"), any(RowMapper.class), any(Object[].class));
+        scheduler.tick(NOW.toEpochMilli());
+
+        scheduler.onTasksInvalidated(new TasksInvalidatedEvent(1L, true));
+
+        assertEquals(1, scheduler.scheduledCount());
+    }
+
+    @Test
+    void constructor_WhenHorizonBeyondWheel_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskReminderScheduler(jdbcTemplate, transactionTemplate,
+                eventPublisher, new SimpleMeterRegistry(), Duration.ofSeconds(1), Duration.ofDays(365), 2, 100,
+                Duration.ofSeconds(30), Duration.ofMinutes(10)));
+    }
+
+    private TaskReminderScheduler scheduler(Duration leaseTtl) {
+        return new TaskReminderScheduler(jdbcTemplate, transactionTemplate, eventPublisher, new SimpleMeterRegistry(),
+                Duration.ofSeconds(1), Duration.ofHours(1), 2, 100, leaseTtl, Duration.ofMinutes(10));
+    }
+
+    private void stubLease(int updated) {
+        when(jdbcTemplate.update(contains("scheduler_leases"), any(Object[].class))).thenReturn(updated);
+    }
+
+    private void stubRecording() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static TaskReminderScheduler.Reminder reminder(long taskId, Instant dueAt) {
+        return new TaskReminderScheduler.Reminder(1L, taskId, dueAt);
+    }
+}
@@ -1,27 +1,54 @@
 package com.example.taskmanager.service;
 
 import com.example.taskmanager.dto.TaskDto;
+import com.example.taskmanager.dto.TaskFeedDto;
+import com.example.taskmanager.dto.TaskFilter;
+import com.example.taskmanager.dto.TaskPositionRequest;
+import com.example.taskmanager.dto.TaskSearchFilter;
 import com.example.taskmanager.entity.Project;
 import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.event.TaskReminderChangedEvent;
+import com.example.taskmanager.event.TaskStatusChangedEvent;
+import com.example.taskmanager.event.TasksInvalidatedEvent;
+import com.example.taskmanager.exception.BadRequestException;
+import com.example.taskmanager.exception.ConflictException;
 import com.example.taskmanager.exception.ResourceNotFoundException;
 import com.example.taskmanager.repository.ProjectRepository;
+import com.example.taskmanager.repository.TaskDependencyRepository;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskRepositoryCustom;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +60,22 @@ class TaskServiceTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Mock
+    private DependencyGraphCache dependencyGraphCache;
+
+    @Mock
+    private LabelIndex labelIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private RequestCoalescer requestCoalescer =
+            new RequestCoalescer(new SimpleMeterRegistry(), mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private TaskService taskService;
 
@@ -64,10 +107,13 @@ class TaskServiceTest {
     @Test
     void getTasksByProjectId_WhenProjectExists_ShouldReturnPageOfTasks() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Task> taskPage = new PageImpl<>(Arrays.asList(task));
+        Page<TaskDto> taskPage = new PageImpl<>(Arrays.asList(taskDto));
+
+        Set<String> listFields = new LinkedHashSet<>(TaskRepositoryCustom.PROJECTABLE_FIELDS);
+        listFields.remove("description");
 
         when(projectRepository.existsById(1L)).thenReturn(true);
-        when(taskRepository.findByProjectId(1L, pageable)).thenReturn(taskPage);
+        when(taskRepository.findProjectedByProjectId(1L, listFields, pageable)).thenReturn(taskPage);
 
         Page<TaskDto> result = taskService.getTasksByProjectId(1L, pageable);
 
@@ -75,7 +121,29 @@ class TaskServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals("Test Task", result.getContent().get(0).getTitle());
         verify(projectRepository).existsById(1L);
-        verify(taskRepository).findByProjectId(1L, pageable);
+        verify(taskRepository).findProjectedByProjectId(1L, listFields, pageable);
+    }
+
+    @Test
+    void getTasksByProjectId_WithFields_ShouldSelectOnlyRequestedFieldsAndId() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findProjectedByProjectId(eq(1L), anySet(), eq(pageable)))
+                .thenReturn(new PageImpl<>(Arrays.asList(taskDto)));
+
+        taskService.getTasksByProjectId(1L, List.of("title", "status"), pageable);
+
+        verify(taskRepository).findProjectedByProjectId(1L, Set.of("id", "title", "status"), pageable);
+    }
+
+    @Test
+    void getTasksByProjectId_WithUnknownField_ShouldThrowException() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(BadRequestException.class,
+                () -> taskService.getTasksByProjectId(1L, List.of("owner"), pageable));
+        verify(taskRepository, never()).findProjectedByProjectId(anyLong(), anySet(), any(Pageable.class));
     }
 
     @Test
@@ -85,7 +153,28 @@ class TaskServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> taskService.getTasksByProjectId(1L, pageable));
         verify(projectRepository).existsById(1L);
-        verify(taskRepository, never()).findByProjectId(anyLong(), any(Pageable.class));
+        verify(taskRepository, never()).findProjectedByProjectId(anyLong(), anySet(), any(Pageable.class));
+    }
+
+    @Test
+    void getTasksAfterId_ShouldCheckProjectOnlyForFirstBatch() {
+        Set<String> allFields = new LinkedHashSet<>(TaskRepositoryCustom.PROJECTABLE_FIELDS);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findProjectedAfterId(1L, null, allFields, 2)).thenReturn(List.of(taskDto));
+        when(taskRepository.findProjectedAfterId(1L, 1L, allFields, 2)).thenReturn(List.of());
+
+        assertEquals(1, taskService.getTasksAfterId(1L, null, 2).size());
+        assertTrue(taskService.getTasksAfterId(1L, 1L, 2).isEmpty());
+
+        verify(projectRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void getTasksAfterId_WhenProjectNotExists_ShouldThrowException() {
+        when(projectRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTasksAfterId(1L, null, 2));
+        verify(taskRepository, never()).findProjectedAfterId(anyLong(), any(), anySet(), anyInt());
     }
 
     @Test
@@ -100,6 +189,38 @@ class TaskServiceTest {
         verify(taskRepository).findByIdAndProjectId(1L, 1L);
     }
 
+    @Test
+    void getTasksByProjectId_WithIncludeArchived_ShouldQueryHotAndArchivedTasks() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findProjectedByProjectIdIncludingArchived(eq(1L), any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(taskDto)));
+
+        Page<TaskDto> result = taskService.getTasksByProjectId(1L, null, true, pageable);
+
+        assertEquals(1, result.getContent().size());
+        verify(taskRepository, never()).findProjectedByProjectId(any(), any(), any());
+    }
+
+    @Test
+    void getTaskById_WhenArchivedAndIncludeArchived_ShouldReturnArchivedTask() {
+        taskDto.setArchived(true);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.empty());
+        when(taskRepository.findArchivedByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(taskDto));
+
+        TaskDto result = taskService.getTaskById(1L, 1L, true);
+
+        assertTrue(result.getArchived());
+    }
+
+    @Test
+    void getTaskById_WhenArchivedWithoutIncludeArchived_ShouldThrowException() {
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(1L, 1L));
+        verify(taskRepository, never()).findArchivedByIdAndProjectId(any(), any());
+    }
+
     @Test
     void getTaskById_WhenNotExists_ShouldThrowException() {
         when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.empty());
@@ -133,13 +254,13 @@ class TaskServiceTest {
     @Test
     void updateTask_WhenExists_ShouldUpdateAndReturnTask() {
         when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
 
         TaskDto result = taskService.updateTask(1L, 1L, taskDto);
 
         assertNotNull(result);
         verify(taskRepository).findByIdAndProjectId(1L, 1L);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -148,7 +269,185 @@ class TaskServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> taskService.updateTask(1L, 1L, taskDto));
         verify(taskRepository).findByIdAndProjectId(1L, 1L);
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void createTask_ShouldAppendToEndOfColumn() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.TODO)).thenReturn("V");
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDto result = taskService.createTask(1L, taskDto);
+
+        assertTrue(result.getRank().compareTo("V") > 0);
+    }
+
+    @Test
+    void updateTask_WhenStatusChangesToDone_ShouldSetCompletedAt() {
+        taskDto.setStatus(Task.TaskStatus.DONE);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.updateTask(1L, 1L, taskDto);
+
+        assertEquals(Task.TaskStatus.DONE, task.getStatus());
+        assertNotNull(task.getCompletedAt());
+    }
+
+    @Test
+    void updateTask_WhenStatusChangesToInProgress_ShouldSetStartedAtAndPublishTransition() {
+        task.setStatus(Task.TaskStatus.TODO);
+        taskDto.setStatus(Task.TaskStatus.IN_PROGRESS);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        taskService.updateTask(1L, 1L, taskDto);
+
+        assertNotNull(task.getStartedAt());
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskStatusChangedEvent changed
+                && changed.previousStatus() == Task.TaskStatus.TODO
+                && changed.status() == Task.TaskStatus.IN_PROGRESS
+                && changed.startedAt().equals(changed.changedAt())));
+    }
+
+    @Test
+    void updateTask_WhenDueDateChanges_ShouldArmNewReminder() {
+        Instant dueAt = Instant.parse("2026-03-02T09:00:00Z");
+        task.setDueAt(dueAt.minusSeconds(3600));
+        task.setRemindedAt(dueAt.minusSeconds(3600));
+        taskDto.setDueAt(dueAt);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDto result = taskService.updateTask(1L, 1L, taskDto);
+
+        assertEquals(dueAt, result.getDueAt());
+        assertNull(task.getRemindedAt());
+        verify(eventPublisher).publishEvent(new TaskReminderChangedEvent(1L, 1L, dueAt));
+    }
+
+    @Test
+    void updateTask_WithoutDueDate_ShouldKeepDueDateAndReminder() {
+        Instant dueAt = Instant.parse("2026-03-02T09:00:00Z");
+        task.setDueAt(dueAt);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDto result = taskService.updateTask(1L, 1L, taskDto);
+
+        assertEquals(dueAt, result.getDueAt());
+        verify(eventPublisher, never()).publishEvent(any(TaskReminderChangedEvent.class));
+    }
+
+    @Test
+    void setDueDate_WhenNull_ShouldRemoveDueDateAndCancelReminder() {
+        task.setDueAt(Instant.parse("2026-03-02T09:00:00Z"));
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+        TaskDto result = taskService.setDueDate(1L, 1L, null);
+
+        assertNull(result.getDueAt());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+        verify(eventPublisher).publishEvent(new TaskReminderChangedEvent(1L, 1L, null));
+    }
+
+    @Test
+    void restoreTask_WhenArchived_ShouldMoveBackAndAppendToColumn() {
+        taskDto.setStatus(Task.TaskStatus.DONE);
+        taskDto.setArchived(true);
+        when(taskRepository.findArchivedByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(taskDto));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.DONE)).thenReturn("V");
+        when(taskRepository.restoreFromArchive(eq(1L), eq(1L), any())).thenReturn(1);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+
+        TaskDto result = taskService.restoreTask(1L, 1L);
+
+        assertNotNull(result);
+        verify(taskRepository).restoreFromArchive(eq(1L), eq(1L), argThat(rank -> rank.compareTo("V") > 0));
+    }
+
+    @Test
+    void restoreTask_WithArchivedDependencies_ShouldRestoreThoseThatCloseNoCycle() {
+        taskDto.setStatus(Task.TaskStatus.DONE);
+        when(taskRepository.findArchivedByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(taskDto));
+        when(taskRepository.restoreFromArchive(eq(1L), eq(1L), any())).thenReturn(1);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskDependencyRepository.lockVersion(1L)).thenReturn(4L);
+        // Task 1 was blocked by 2 and blocked 3; 2 has been blocked by 3 since
+        when(taskDependencyRepository.findRestorableArchived(1L, 1L))
+                .thenReturn(List.of(new Object[]{1L, 2L}, new Object[]{3L, 1L}));
+        DependencyGraph graph = DependencyGraph.of(4L, List.<long[]>of(new long[]{2L, 3L}));
+        when(dependencyGraphCache.get(1L, 4L)).thenReturn(graph);
+
+        taskService.restoreTask(1L, 1L);
+
+        verify(taskDependencyRepository).deleteArchived(1L, 1L);
+        verify(taskDependencyRepository).insertDependency(1L, 1L, 2L);
+        verify(taskDependencyRepository, never()).insertDependency(1L, 3L, 1L);
+        assertEquals(List.of(2L), graph.blockersOf(1L));
+        assertEquals(5L, graph.version());
+    }
+
+    @Test
+    void restoreTask_WhenNotArchived_ShouldThrowException() {
+        when(taskRepository.findArchivedByIdAndProjectId(1L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.restoreTask(1L, 1L));
+        verify(taskRepository, never()).restoreFromArchive(any(), any(), any());
+    }
+
+    @Test
+    void moveTask_BetweenNeighbours_ShouldOnlyRewriteMovedTask() {
+        Task previous = rankedTask(2L, Task.TaskStatus.IN_PROGRESS, "A");
+        Task next = rankedTask(3L, Task.TaskStatus.IN_PROGRESS, "B");
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndProjectId(2L, 1L)).thenReturn(Optional.of(previous));
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Optional.of(next));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDto result = taskService.moveTask(1L, 1L,
+                new TaskPositionRequest(Task.TaskStatus.IN_PROGRESS, 2L, 3L));
+
+        assertEquals(Task.TaskStatus.IN_PROGRESS, result.getStatus());
+        assertTrue(result.getRank().compareTo("A") > 0 && result.getRank().compareTo("B") < 0);
+        verify(taskRepository, times(1)).saveAndFlush(task);
+    }
+
+    @Test
+    void moveTask_WhenNeighbourInOtherColumn_ShouldThrowException() {
+        Task previous = rankedTask(2L, Task.TaskStatus.DONE, "A");
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndProjectId(2L, 1L)).thenReturn(Optional.of(previous));
+
+        assertThrows(BadRequestException.class, () -> taskService.moveTask(1L, 1L,
+                new TaskPositionRequest(Task.TaskStatus.TODO, 2L, null)));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void moveTask_WhenNeighboursReversed_ShouldThrowException() {
+        Task previous = rankedTask(2L, Task.TaskStatus.TODO, "B");
+        Task next = rankedTask(3L, Task.TaskStatus.TODO, "A");
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndProjectId(2L, 1L)).thenReturn(Optional.of(previous));
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Optional.of(next));
+
+        assertThrows(BadRequestException.class, () -> taskService.moveTask(1L, 1L,
+                new TaskPositionRequest(null, 2L, 3L)));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void moveTask_WhenNeighbourUnranked_ShouldThrowConflict() {
+        Task next = rankedTask(3L, Task.TaskStatus.TODO, null);
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndProjectId(3L, 1L)).thenReturn(Optional.of(next));
+
+        assertThrows(ConflictException.class, () -> taskService.moveTask(1L, 1L,
+                new TaskPositionRequest(null, null, 3L)));
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -170,5 +469,331 @@ class TaskServiceTest {
         verify(taskRepository).findByIdAndProjectId(1L, 1L);
         verify(taskRepository, never()).delete(any(Task.class));
     }
-}
 
+    @Test
+    void bulkUpdateStatus_ShouldRunSingleSetBasedUpdateAndRecordEachTransition() {
+        TaskFilter filter = new TaskFilter(1L, Task.TaskStatus.IN_PROGRESS, null, null, null);
+        Instant now = Instant.now();
+        List<TaskStatusChangedEvent> transitions = List.of(
+                new TaskStatusChangedEvent(1L, 10L, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.DONE, now, now.minusSeconds(60)),
+                new TaskStatusChangedEvent(1L, 11L, Task.TaskStatus.IN_PROGRESS, Task.TaskStatus.DONE, now, now.minusSeconds(30)));
+        when(taskRepository.updateStatusByFilter(filter, Task.TaskStatus.DONE)).thenReturn(transitions);
+
+        int affected = taskService.bulkUpdateStatus(filter, Task.TaskStatus.DONE);
+
+        assertEquals(2, affected);
+        verify(taskRepository).updateStatusByFilter(filter, Task.TaskStatus.DONE);
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(transitions.get(0));
+        verify(eventPublisher).publishEvent(transitions.get(1));
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(1L));
+    }
+
+    @Test
+    void bulkUpdateStatus_ShouldAppendChangedTasksToEndOfTargetColumn() {
+        TaskFilter filter = new TaskFilter(null, Task.TaskStatus.TODO, null, null, null);
+        Instant now = Instant.now();
+        when(taskRepository.updateStatusByFilter(filter, Task.TaskStatus.DONE)).thenReturn(List.of(
+                new TaskStatusChangedEvent(2L, 21L, Task.TaskStatus.TODO, Task.TaskStatus.DONE, now, null),
+                new TaskStatusChangedEvent(1L, 12L, Task.TaskStatus.TODO, Task.TaskStatus.DONE, now, null),
+                new TaskStatusChangedEvent(1L, 11L, Task.TaskStatus.TODO, Task.TaskStatus.DONE, now, null)));
+        when(taskRepository.findMaxRank(1L, Task.TaskStatus.DONE)).thenReturn("V");
+        when(taskRepository.findMaxRank(2L, Task.TaskStatus.DONE)).thenReturn(null);
+
+        taskService.bulkUpdateStatus(filter, Task.TaskStatus.DONE);
+
+        String first = RankKeys.after("V");
+        verify(taskRepository).updateRanks(1L, List.of(11L, 12L), List.of(first, RankKeys.after(first)));
+        verify(taskRepository).updateRanks(2L, List.of(21L), List.of(RankKeys.after(null)));
+    }
+
+    @Test
+    void bulkUpdateStatus_WhenNothingChanged_ShouldPublishNothing() {
+        TaskFilter filter = new TaskFilter(1L, Task.TaskStatus.DONE, null, null, null);
+        when(taskRepository.updateStatusByFilter(filter, Task.TaskStatus.DONE)).thenReturn(List.of());
+
+        assertEquals(0, taskService.bulkUpdateStatus(filter, Task.TaskStatus.DONE));
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void bulkUpdateStatus_WhenFilterEmpty_ShouldThrowException() {
+        assertThrows(BadRequestException.class,
+                () -> taskService.bulkUpdateStatus(new TaskFilter(), Task.TaskStatus.DONE));
+        verify(taskRepository, never()).updateStatusByFilter(any(), any());
+    }
+
+    @Test
+    void bulkMoveTasks_WhenTargetProjectExists_ShouldMoveTasks() {
+        Project target = new Project();
+        target.setId(2L);
+        TaskFilter filter = new TaskFilter(1L, null, 10L, 20L, null);
+        when(projectRepository.findById(2L)).thenReturn(Optional.of(target));
+        when(taskRepository.moveToProjectByFilter(filter, target)).thenReturn(11);
+
+        int affected = taskService.bulkMoveTasks(filter, 2L);
+
+        assertEquals(11, affected);
+        verify(taskRepository).moveToProjectByFilter(filter, target);
+    }
+
+    @Test
+    void bulkMoveTasks_WhenTargetProjectNotExists_ShouldThrowException() {
+        TaskFilter filter = new TaskFilter(null, null, null, null, List.of(1L, 2L));
+        when(projectRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.bulkMoveTasks(filter, 2L));
+        verify(taskRepository, never()).moveToProjectByFilter(any(), any());
+    }
+
+    @Test
+    void createTask_WithParent_ShouldLinkParentInSameProject() {
+        TaskDto subtask = new TaskDto();
+        subtask.setTitle("Subtask");
+        subtask.setParentId(1L);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDto created = taskService.createTask(1L, subtask);
+
+        assertEquals(1L, created.getParentId());
+        verify(taskRepository).save(argThat(saved -> Long.valueOf(1L).equals(saved.getParentId())));
+    }
+
+    @Test
+    void createTask_WithParentInOtherProject_ShouldThrowException() {
+        TaskDto subtask = new TaskDto();
+        subtask.setTitle("Subtask");
+        subtask.setParentId(9L);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskRepository.findByIdAndProjectId(9L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.createTask(1L, subtask));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void createTask_WithLabels_ShouldNormalizeAndPublishEvent() {
+        taskDto.setLabels(Set.of(" Backend", "urgent", "backend "));
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TaskDto created = taskService.createTask(1L, taskDto);
+
+        assertEquals(List.of("backend", "urgent"), List.copyOf(created.getLabels()));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                && changed.type() == TaskChangedEvent.Type.CREATED
+                && changed.labels().equals(Set.of("backend", "urgent"))));
+    }
+
+    @Test
+    void deleteTask_WhenTaskHasSubtasks_ShouldInvalidateProject() {
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.existsByProjectIdAndParentId(1L, 1L)).thenReturn(true);
+
+        taskService.deleteTask(1L, 1L);
+
+        verify(taskRepository).delete(task);
+        verify(eventPublisher).publishEvent(new TasksInvalidatedEvent(1L));
+    }
+
+    @Test
+    void searchTasks_WhenNotBlocked_ShouldSubtractBlockedTasksAndHydratePage() {
+        TaskSearchFilter filter = new TaskSearchFilter(Set.of("Backend"), null, null, null, false);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(labelIndex.match(eq(1L), argThat(normalized -> normalized.getLabels().equals(Set.of("backend")))))
+                .thenReturn(bitmap(1L, 2L, 3L, 5L));
+        when(labelIndex.openTasks(1L)).thenReturn(bitmap(1L, 2L, 5L));
+        when(taskDependencyRepository.findVersion(1L)).thenReturn(Optional.of(1L));
+        // 5 is blocked by the open task 1, 3 only by the finished task 4
+        when(dependencyGraphCache.get(1L, 1L))
+                .thenReturn(DependencyGraph.of(1L, List.of(new long[]{5L, 1L}, new long[]{3L, 4L})));
+        when(taskRepository.findProjectedByIds(eq(1L), eq(List.of(1L, 2L)), any()))
+                .thenReturn(List.of(dto(1L), dto(2L)));
+
+        Page<TaskDto> page = taskService.searchTasks(1L, filter, null, PageRequest.of(0, 2));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(1L, 2L), page.getContent().stream().map(TaskDto::getId).toList());
+    }
+
+    @Test
+    void searchTasks_WhenSortedByTitle_ShouldThrowException() {
+        TaskSearchFilter filter = new TaskSearchFilter(Set.of("backend"), null, null, null, null);
+
+        assertThrows(BadRequestException.class,
+                () -> taskService.searchTasks(1L, filter, null, PageRequest.of(0, 20, Sort.by("title"))));
+        verify(labelIndex, never()).match(anyLong(), any());
+    }
+
+    @Test
+    void moveSubtree_WhenNewParentIsValid_ShouldUpdateParentOnce() {
+        Task parent = rankedTask(2L, Task.TaskStatus.TODO, "m");
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndProjectId(2L, 1L)).thenReturn(Optional.of(parent));
+        when(taskRepository.isInSubtree(1L, 1L, 2L)).thenReturn(false);
+
+        taskService.moveSubtree(1L, 1L, 2L);
+
+        verify(taskRepository).updateParent(1L, 1L, 2L);
+    }
+
+    @Test
+    void moveSubtree_WhenNewParentIsOwnSubtask_ShouldThrowConflictException() {
+        Task subtask = rankedTask(2L, Task.TaskStatus.TODO, "m");
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdAndProjectId(2L, 1L)).thenReturn(Optional.of(subtask));
+        when(taskRepository.isInSubtree(1L, 1L, 2L)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> taskService.moveSubtree(1L, 1L, 2L));
+        verify(taskRepository, never()).updateParent(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void getTaskTree_WhenTaskNotExists_ShouldThrowException() {
+        when(taskRepository.findTree(1L, 99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskTree(1L, 99L));
+    }
+
+    @Test
+    void addDependency_WhenNoCycle_ShouldInsertAndReturnBlockers() {
+        when(taskRepository.findByIdAndProjectId(anyLong(), eq(1L)))
+                .thenAnswer(invocation -> Optional.of(rankedTask(invocation.getArgument(0), Task.TaskStatus.TODO, "m")));
+        when(taskDependencyRepository.lockVersion(1L)).thenReturn(3L);
+        DependencyGraph graph = DependencyGraph.of(3L, List.of(new long[]{2L, 1L}));
+        when(dependencyGraphCache.get(1L, 3L)).thenReturn(graph);
+
+        List<Long> blockers = taskService.addDependency(1L, 3L, 2L);
+
+        assertEquals(List.of(2L), blockers);
+        assertEquals(4L, graph.version());
+        verify(taskDependencyRepository).insertDependency(1L, 3L, 2L);
+    }
+
+    @Test
+    void addDependency_WhenCycle_ShouldThrowConflictException() {
+        when(taskRepository.findByIdAndProjectId(anyLong(), eq(1L)))
+                .thenAnswer(invocation -> Optional.of(rankedTask(invocation.getArgument(0), Task.TaskStatus.TODO, "m")));
+        when(taskDependencyRepository.lockVersion(1L)).thenReturn(2L);
+        // 3 is blocked by 2, 2 is blocked by 1: 1 cannot be blocked by 3
+        DependencyGraph graph = DependencyGraph.of(2L, List.of(new long[]{3L, 2L}, new long[]{2L, 1L}));
+        when(dependencyGraphCache.get(1L, 2L)).thenReturn(graph);
+
+        assertThrows(ConflictException.class, () -> taskService.addDependency(1L, 1L, 3L));
+        assertFalse(graph.hasEdge(3L, 1L));
+        verify(taskDependencyRepository, never()).insertDependency(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void addDependency_WhenSelfDependency_ShouldThrowConflictException() {
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+
+        assertThrows(ConflictException.class, () -> taskService.addDependency(1L, 1L, 1L));
+        verify(taskDependencyRepository, never()).lockVersion(anyLong());
+    }
+
+    @Test
+    void removeDependency_WhenNotExists_ShouldThrowException() {
+        when(taskDependencyRepository.lockVersion(1L)).thenReturn(0L);
+        when(taskDependencyRepository.deleteDependency(1L, 3L, 2L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> taskService.removeDependency(1L, 3L, 2L));
+        verify(dependencyGraphCache, never()).get(anyLong(), anyLong());
+    }
+
+    @Test
+    void getTasksInTopologicalOrder_ShouldPlaceBlockersFirst() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskDependencyRepository.findVersion(1L)).thenReturn(Optional.of(1L));
+        when(dependencyGraphCache.get(1L, 1L)).thenReturn(DependencyGraph.of(1L, List.of(new long[]{1L, 3L})));
+        when(taskRepository.findProjectedByIds(eq(1L), eq(List.of(3L, 1L)), any())).thenReturn(List.of(dto(3L), dto(1L)));
+        when(taskRepository.findProjectedWithoutDependencies(eq(1L), any(), any(), eq(0L), eq(8)))
+                .thenReturn(List.of(dto(2L)));
+
+        Page<TaskDto> ordered = taskService.getTasksInTopologicalOrder(1L, PageRequest.of(0, 10));
+
+        assertEquals(List.of(3L, 1L, 2L), ordered.getContent().stream().map(TaskDto::getId).toList());
+        assertEquals(3, ordered.getTotalElements());
+        verify(taskRepository, never()).countWithoutDependencies(anyLong());
+    }
+
+    @Test
+    void getTasksInTopologicalOrder_WhenPageStraddlesChains_ShouldReadOnlyThatPage() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskDependencyRepository.findVersion(1L)).thenReturn(Optional.of(1L));
+        // 4 is blocked by 3, which is blocked by 1: order 1, 3, 4
+        when(dependencyGraphCache.get(1L, 1L)).thenReturn(
+                DependencyGraph.of(1L, List.of(new long[]{3L, 1L}, new long[]{4L, 3L})));
+        when(taskRepository.findProjectedByIds(eq(1L), eq(List.of(4L)), any())).thenReturn(List.of(dto(4L)));
+        when(taskRepository.findProjectedWithoutDependencies(eq(1L), any(), any(), eq(0L), eq(1)))
+                .thenReturn(List.of(dto(2L)));
+        when(taskRepository.countWithoutDependencies(1L)).thenReturn(5L);
+
+        Page<TaskDto> page = taskService.getTasksInTopologicalOrder(1L, PageRequest.of(1, 2));
+
+        assertEquals(List.of(4L, 2L), page.getContent().stream().map(TaskDto::getId).toList());
+        assertEquals(8, page.getTotalElements());
+        verify(taskRepository, never()).findProjectedByProjectId(anyLong(), anySet(), any(Pageable.class));
+    }
+
+    private static Roaring64Bitmap bitmap(long... ids) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        for (long id : ids) {
+            bitmap.addLong(id);
+        }
+        return bitmap;
+    }
+
+    private TaskDto dto(Long id) {
+        TaskDto dto = new TaskDto();
+        dto.setId(id);
+        return dto;
+    }
+
+    private Task rankedTask(Long id, Task.TaskStatus status, String rank) {
+        Task ranked = new Task();
+        ranked.setId(id);
+        ranked.setStatus(status);
+        ranked.setRank(rank);
+        ranked.setProject(project);
+        return ranked;
+    }
+
+    @Test
+    void assignTask_WhenAssigneeChanges_ShouldSaveAndPublishEvent() {
+        when(taskRepository.findByIdAndProjectId(1L, 1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+        TaskDto result = taskService.assignTask(1L, 1L, "user-sub");
+
+        assertEquals("user-sub", result.getAssignee());
+        verify(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+    }
+
+    @Test
+    void getAssignedTasks_WhenMoreTasksThanPage_ShouldReturnCursorOfLastTask() {
+        TaskDto newer = new TaskDto();
+        newer.setId(9L);
+        TaskDto older = new TaskDto();
+        older.setId(4L);
+        TaskDto beyondPage = new TaskDto();
+        beyondPage.setId(2L);
+        when(taskRepository.findAssigned("user-sub", EnumSet.allOf(Task.TaskStatus.class), null, 10L, 3))
+                .thenReturn(List.of(newer, older, beyondPage));
+
+        TaskFeedDto result = taskService.getAssignedTasks("user-sub", null, null, "10", 2);
+
+        assertEquals(List.of(9L, 4L), result.getTasks().stream().map(TaskDto::getId).toList());
+        assertEquals("4", result.getNextCursor());
+    }
+
+    @Test
+    void getAssignedTasks_WhenCursorInvalid_ShouldThrowException() {
+        assertThrows(BadRequestException.class,
+                () -> taskService.getAssignedTasks("user-sub", Set.of(Task.TaskStatus.TODO), null, "abc", 20));
+        verify(taskRepository, never()).findAssigned(any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.taskmanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_ShouldReturnEntriesOnceTheirTickIsReached() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 0);
+        wheel.schedule(1L, 5_500, "a");
+        wheel.schedule(2L, 5_000, "b");
+        wheel.schedule(3L, 7_200_000, "c");
+
+        assertEquals(List.of(), wheel.advance(4_999));
+        assertEquals(List.of("a", "b"), wheel.advance(5_000));
+        assertEquals(List.of(), wheel.advance(7_199_999));
+        assertEquals(List.of("c"), wheel.advance(7_200_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_WhenKeyScheduled_ShouldReplaceDeadlineAndValue() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 0);
+        wheel.schedule(1L, 500_000, "old");
+
+        wheel.schedule(1L, 2_000, "new");
+
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("new"), wheel.advance(2_000));
+        assertEquals(List.of(), wheel.advance(600_000));
+    }
+
+    @Test
+    void schedule_WhenDeadlinePassed_ShouldFireOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 2, 10_000);
+
+        assertTrue(wheel.schedule(1L, 0, "overdue"));
+
+        assertEquals(List.of("overdue"), wheel.advance(11_000));
+    }
+
+    @Test
+    void schedule_WhenBeyondReach_ShouldRejectAndKeepWheel() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 2, 0);
+        wheel.schedule(1L, 1_000, "kept");
+
+        assertFalse(wheel.schedule(1L, wheel.horizonMillis() + 1, "too late"));
+        assertTrue(wheel.schedule(2L, wheel.horizonMillis(), "last"));
+
+        assertEquals(List.of("kept"), wheel.advance(1_000));
+        assertEquals(List.of("last"), wheel.advance(wheel.horizonMillis()));
+    }
+
+    @Test
+    void cancel_ShouldRemoveEntryAndReturnValue() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 0);
+        wheel.schedule(1L, 100_000, "a");
+
+        assertEquals("a", wheel.cancel(1L));
+        assertNull(wheel.cancel(1L));
+
+        assertFalse(wheel.contains(1L));
+        assertEquals(List.of(), wheel.advance(200_000));
+    }
+
+    @Test
+    void advance_ShouldMatchSortedReferenceUnderRandomOperations() {
+        Random random = new Random(42);
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 3, 0);
+        Map<Long, Long> deadlines = new HashMap<>();
+        long now = 0;
+        for (int step = 0; step < 20_000; step++) {
+            long key = random.nextInt(500);
+            int operation = random.nextInt(10);
+            if (operation < 5) {
+                long deadline = now + random.nextInt(operation == 0 ? 3_000_000 : 5_000);
+                if (wheel.schedule(key, deadline, key)) {
+                    deadlines.put(key, Math.max(deadline / 10, now / 10 + 1));
+                }
+            } else if (operation < 7) {
+                Long cancelled = wheel.cancel(key);
+                assertEquals(deadlines.remove(key) != null ? key : null, cancelled);
+            } else {
+                now += random.nextInt(operation == 9 ? 100_000 : 200);
+                long tick = now / 10;
+                List<Long> expected = new ArrayList<>();
+                deadlines.entrySet().stream()
+                        .filter(entry -> entry.getValue() <= tick)
+                        .sorted(Map.Entry.comparingByValue())
+                        .forEach(entry -> expected.add(entry.getKey()));
+                List<Long> fired = wheel.advance(now);
+                assertEquals(expected.size(), fired.size());
+                for (int i = 0; i < fired.size(); i++) {
+                    // Same tick, any order; otherwise by tick
+                    assertTrue(deadlines.get(fired.get(i)) <= tick);
+                    if (i > 0) {
+                        assertTrue(deadlines.get(fired.get(i - 1)) <= deadlines.get(fired.get(i)));
+                    }
+                }
+                fired.forEach(deadlines::remove);
+            }
+            assertEquals(deadlines.size(), wheel.size());
+        }
+    }
+}
@@ -25,6 +25,16 @@ const ProjectCard = ({ project, onEdit, onDelete }) => {
       {project.description && (
         <p className="project-description">{project.description}</p>
       )}
+      {project.tasks?.length > 0 && (
+        <ul className="project-task-previews">
+          {project.tasks.map((task) => (
+            <li key={task.id} className="project-task-preview">
+              <span className="project-task-preview-title">{task.title}</span>
+              <span className="project-task-preview-status">{task.status}</span>
+            </li>
+          ))}
+        </ul>
+      )}
       <button onClick={handleViewTasks} className="btn-view-tasks">
         View Tasks →
       </button>
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useMemo } from 'react';
 import { projectsApi } from '../services/api';
 import './ProjectForm.css';
 
@@ -9,6 +9,8 @@ const ProjectForm = ({ project, onClose }) => {
   });
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
+  // Same key while the form is unchanged, so resubmitting after a timeout cannot create a duplicate
+  const idempotencyKey = useMemo(() => crypto.randomUUID(), [formData]);
 
   useEffect(() => {
     if (project) {
@@ -28,7 +30,7 @@ const ProjectForm = ({ project, onClose }) => {
       if (project) {
         await projectsApi.update(project.id, formData);
       } else {
-        await projectsApi.create(formData);
+        await projectsApi.create(formData, idempotencyKey);
       }
       onClose();
     } catch (err) {
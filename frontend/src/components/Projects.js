@@ -23,7 +23,7 @@ const Projects = () => {
     try {
       setLoading(true);
       setError(null);
-      const response = await projectsApi.getAll(page, pageSize, 'id,desc');
+      const response = await projectsApi.getAllWithTaskPreviews(page, pageSize, 'id,desc');
       setProjects(response.data.content);
       setTotalPages(response.data.totalPages);
       setTotalElements(response.data.totalElements);
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useMemo } from 'react';
 import { tasksApi } from '../services/api';
 import './TaskForm.css';
 
@@ -10,6 +10,8 @@ const TaskForm = ({ projectId, task, onClose }) => {
   });
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
+  // Same key while the form is unchanged, so resubmitting after a timeout cannot create a duplicate
+  const idempotencyKey = useMemo(() => crypto.randomUUID(), [formData]);
 
   useEffect(() => {
     if (task) {
@@ -30,7 +32,7 @@ const TaskForm = ({ projectId, task, onClose }) => {
       if (task) {
         await tasksApi.update(projectId, task.id, formData);
       } else {
-        await tasksApi.create(projectId, formData);
+        await tasksApi.create(projectId, formData, idempotencyKey);
       }
       onClose();
     } catch (err) {
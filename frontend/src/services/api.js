@@ -38,16 +38,31 @@ api.interceptors.response.use(
   }
 );
 
+// Create requests carry an Idempotency-Key so a retried submission returns the
+// original result instead of creating a duplicate
+const idempotent = (idempotencyKey) =>
+  idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined;
+
+// Lists leave descriptions out unless they are asked for; the cards and forms show them
+const PROJECT_LIST_FIELDS = 'id,name,description,createdAt,updatedAt,lastActivityAt';
+const TASK_LIST_FIELDS = 'id,title,description,status,projectId,rank,labels,assignee,dueAt,createdAt,updatedAt';
+
 // Projects API
 export const projectsApi = {
   getAll: (page = 0, size = 10, sort = 'id,desc') => {
-    return api.get('/projects', { params: { page, size, sort } });
+    return api.get('/projects', { params: { page, size, sort, fields: PROJECT_LIST_FIELDS } });
+  },
+  // Projects with their first `taskLimit` tasks embedded, fetched by the backend in one query
+  getAllWithTaskPreviews: (page = 0, size = 10, sort = 'id,desc', taskLimit = 3, taskSort = 'id,desc') => {
+    return api.get('/projects', {
+      params: { page, size, sort, fields: PROJECT_LIST_FIELDS, include: 'tasks', taskLimit, taskSort },
+    });
   },
   getById: (id) => {
     return api.get(`/projects/${id}`);
   },
-  create: (project) => {
-    return api.post('/projects', project);
+  create: (project, idempotencyKey) => {
+    return api.post('/projects', project, idempotent(idempotencyKey));
   },
   update: (id, project) => {
     return api.put(`/projects/${id}`, project);
@@ -60,13 +75,13 @@ export const projectsApi = {
 // Tasks API
 export const tasksApi = {
   getAll: (projectId, page = 0, size = 10, sort = 'id,desc') => {
-    return api.get(`/projects/${projectId}/tasks`, { params: { page, size, sort } });
+    return api.get(`/projects/${projectId}/tasks`, { params: { page, size, sort, fields: TASK_LIST_FIELDS } });
   },
   getById: (projectId, taskId) => {
     return api.get(`/projects/${projectId}/tasks/${taskId}`);
   },
-  create: (projectId, task) => {
-    return api.post(`/projects/${projectId}/tasks`, task);
+  create: (projectId, task, idempotencyKey) => {
+    return api.post(`/projects/${projectId}/tasks`, task, idempotent(idempotencyKey));
   },
   update: (projectId, taskId, task) => {
     return api.put(`/projects/${projectId}/tasks/${taskId}`, task);